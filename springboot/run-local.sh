@@ -6,7 +6,7 @@ if [ -f "$SCRIPT_DIR/$ENV_FILE" ]; then
   export $(grep -v '^#' "$SCRIPT_DIR/$ENV_FILE" | xargs)
 fi
 if [ -z "${JAVA_HOME:-}" ] || [ ! -x "$JAVA_HOME/bin/java" ]; then
-  export JAVA_HOME=$(/usr/libexec/java_home -v 17)
+  export JAVA_HOME=$(/usr/libexec/java_home -v "${JAVA_VERSION:-17}")
 fi
 export SPRING_PROFILES_ACTIVE=${SPRING_PROFILES_ACTIVE:-prod}
-(cd "$SCRIPT_DIR/.." && ./gradlew :springboot:bootRun)
+(cd "$SCRIPT_DIR/.." && ./gradlew :springboot:bootRun -PjavaVersion="${JAVA_VERSION:-17}")
@@ -1,11 +1,14 @@
 package com.edufelip.meer;
 
+import com.edufelip.meer.datasource.ReadReplicaProperties;
+import com.edufelip.meer.datasource.ReplicaScope;
 import com.edufelip.meer.domain.CreateCategoryUseCase;
 import com.edufelip.meer.domain.CreateGuideContentCommentUseCase;
 import com.edufelip.meer.domain.CreateGuideContentUseCase;
 import com.edufelip.meer.domain.CreateOwnedGuideContentUseCase;
 import com.edufelip.meer.domain.CreateStoreGuideContentUseCase;
 import com.edufelip.meer.domain.CreateThriftStoreUseCase;
+import com.edufelip.meer.domain.DeleteAccountUseCase;
 import com.edufelip.meer.domain.DeleteGuideContentUseCase;
 import com.edufelip.meer.domain.DeleteThriftStoreUseCase;
 import com.edufelip.meer.domain.DeleteCategoryUseCase;
@@ -16,6 +19,7 @@ import com.edufelip.meer.domain.LikeGuideContentUseCase;
 import com.edufelip.meer.domain.GetStoreContentsUseCase;
 import com.edufelip.meer.domain.GetStoreDetailsUseCase;
 import com.edufelip.meer.domain.GetStoreListingsUseCase;
+import com.edufelip.meer.domain.GetStoresAfterUseCase;
 import com.edufelip.meer.domain.GetThriftStoreUseCase;
 import com.edufelip.meer.domain.GetThriftStoresUseCase;
 import com.edufelip.meer.domain.ReplaceStorePhotosUseCase;
@@ -49,39 +53,59 @@ import com.edufelip.meer.domain.repo.PasswordResetTokenRepository;
 import com.edufelip.meer.domain.repo.PushTokenRepository;
 import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.domain.port.ImageVariantPort;
 import com.edufelip.meer.domain.port.PhotoStoragePort;
+import com.edufelip.meer.domain.port.StorageCleanupPort;
 import com.edufelip.meer.domain.port.RateLimitPort;
+import com.edufelip.meer.logging.AccessLogProperties;
 import com.edufelip.meer.logging.RequestResponseLoggingFilter;
 import com.edufelip.meer.config.FirebaseProperties;
 import com.edufelip.meer.security.DashboardAdminGuardFilter;
 import com.edufelip.meer.security.GoogleClientProperties;
 import com.edufelip.meer.security.JwtProperties;
 import com.edufelip.meer.security.PasswordResetProperties;
+import com.edufelip.meer.security.PrincipalCache;
+import com.edufelip.meer.security.RateLimitFilter;
+import com.edufelip.meer.security.RateLimitProperties;
 import com.edufelip.meer.security.RequestGuardsFilter;
 import com.edufelip.meer.security.SecurityProperties;
+import com.edufelip.meer.security.ratelimit.InMemoryRateLimiter;
+import com.edufelip.meer.security.ratelimit.JdbcRateLimiter;
+import com.edufelip.meer.security.ratelimit.RateLimiter;
 import com.edufelip.meer.security.token.JwtTokenProvider;
 import com.edufelip.meer.security.token.TokenProvider;
+import com.edufelip.meer.service.FavoriteService;
 import com.edufelip.meer.service.GuideContentEngagementService;
 import com.edufelip.meer.service.GuideContentModerationService;
 import com.edufelip.meer.service.StoreFeedbackService;
+import com.edufelip.meer.service.StoreGeoIndex;
+import com.edufelip.meer.service.StoreSearchService;
 import java.time.Clock;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @EnableCaching
+@EnableScheduling
 @EnableConfigurationProperties({
   SecurityProperties.class,
   JwtProperties.class,
   GoogleClientProperties.class,
   PasswordResetProperties.class,
-  FirebaseProperties.class
+  FirebaseProperties.class,
+  RateLimitProperties.class,
+  AccessLogProperties.class,
+  ReadReplicaProperties.class
 })
 public class AppConfig {
 
@@ -95,9 +119,10 @@ public class AppConfig {
       ThriftStoreRepository repo,
       @org.springframework.beans.factory.annotation.Value("${spring.datasource.url:}")
           String datasourceUrl,
-      @org.springframework.beans.factory.annotation.Value("${meer.postgis.enabled:false}")
-          boolean postgisEnabled) {
-    return new GetThriftStoresUseCase(repo, datasourceUrl, postgisEnabled);
+      @org.springframework.beans.factory.annotation.Value("${meer.postgis.enabled:true}")
+          boolean postgisEnabled,
+      StoreGeoIndex storeGeoIndex) {
+    return new GetThriftStoresUseCase(repo, datasourceUrl, postgisEnabled, storeGeoIndex);
   }
 
   @Bean
@@ -120,14 +145,26 @@ public class AppConfig {
         getGuideContentsByThriftStoreUseCase, guideContentEngagementService);
   }
 
+  @Bean
+  public GetStoresAfterUseCase getStoresAfterUseCase(ThriftStoreRepository thriftStoreRepository) {
+    return new GetStoresAfterUseCase(thriftStoreRepository);
+  }
+
   @Bean
   public GetStoreListingsUseCase getStoreListingsUseCase(
       GetThriftStoresUseCase getThriftStoresUseCase,
       ThriftStoreRepository thriftStoreRepository,
       StoreFeedbackService storeFeedbackService,
-      CategoryRepository categoryRepository) {
+      CategoryRepository categoryRepository,
+      StoreSearchService storeSearchService,
+      FavoriteService favoriteService) {
     return new GetStoreListingsUseCase(
-        getThriftStoresUseCase, thriftStoreRepository, storeFeedbackService, categoryRepository);
+        getThriftStoresUseCase,
+        thriftStoreRepository,
+        storeFeedbackService,
+        categoryRepository,
+        storeSearchService,
+        favoriteService);
   }
 
   @Bean
@@ -135,12 +172,14 @@ public class AppConfig {
       GetThriftStoreUseCase getThriftStoreUseCase,
       StoreFeedbackService storeFeedbackService,
       StoreFeedbackRepository storeFeedbackRepository,
-      GetStoreContentsUseCase getStoreContentsUseCase) {
+      GetStoreContentsUseCase getStoreContentsUseCase,
+      FavoriteService favoriteService) {
     return new GetStoreDetailsUseCase(
         getThriftStoreUseCase,
         storeFeedbackService,
         storeFeedbackRepository,
-        getStoreContentsUseCase);
+        getStoreContentsUseCase,
+        favoriteService);
   }
 
   @Bean
@@ -154,16 +193,31 @@ public class AppConfig {
       ThriftStoreRepository thriftStoreRepository,
       AuthUserRepository authUserRepository,
       StoreFeedbackRepository storeFeedbackRepository,
-      PhotoStoragePort photoStoragePort,
+      StorageCleanupPort storageCleanupPort,
       StoreOwnershipService storeOwnershipService) {
     return new DeleteThriftStoreUseCase(
         thriftStoreRepository,
         authUserRepository,
         storeFeedbackRepository,
-        photoStoragePort,
+        storageCleanupPort,
         storeOwnershipService);
   }
 
+  @Bean
+  public DeleteAccountUseCase deleteAccountUseCase(
+      AuthUserRepository authUserRepository,
+      ThriftStoreRepository thriftStoreRepository,
+      StoreFeedbackRepository storeFeedbackRepository,
+      StoreFeedbackService storeFeedbackService,
+      StorageCleanupPort storageCleanupPort) {
+    return new DeleteAccountUseCase(
+        authUserRepository,
+        thriftStoreRepository,
+        storeFeedbackRepository,
+        storeFeedbackService,
+        storageCleanupPort);
+  }
+
   @Bean
   public RequestStorePhotoUploadsUseCase requestStorePhotoUploadsUseCase(
       ThriftStoreRepository thriftStoreRepository,
@@ -177,9 +231,15 @@ public class AppConfig {
   public ReplaceStorePhotosUseCase replaceStorePhotosUseCase(
       ThriftStoreRepository thriftStoreRepository,
       StoreOwnershipService storeOwnershipService,
-      PhotoStoragePort photoStoragePort) {
+      PhotoStoragePort photoStoragePort,
+      ImageVariantPort imageVariantPort,
+      StorageCleanupPort storageCleanupPort) {
     return new ReplaceStorePhotosUseCase(
-        thriftStoreRepository, storeOwnershipService, photoStoragePort);
+        thriftStoreRepository,
+        storeOwnershipService,
+        photoStoragePort,
+        imageVariantPort,
+        storageCleanupPort);
   }
 
   @Bean
@@ -249,8 +309,10 @@ public class AppConfig {
   @Bean
   public UpdateGuideContentUseCase updateGuideContentUseCase(
       GuideContentRepository guideContentRepository,
-      StoreOwnershipService storeOwnershipService) {
-    return new UpdateGuideContentUseCase(guideContentRepository, storeOwnershipService);
+      StoreOwnershipService storeOwnershipService,
+      ImageVariantPort imageVariantPort) {
+    return new UpdateGuideContentUseCase(
+        guideContentRepository, storeOwnershipService, imageVariantPort);
   }
 
   @Bean
@@ -391,33 +453,182 @@ public class AppConfig {
     return new JwtTokenProvider(props, clock);
   }
 
+  /**
+   * Runs the {@code /home} sections in parallel. Each task holds a pooled connection while it runs,
+   * so keep {@code meer.home.executor.threads} well below the Hikari pool size; when the queue is
+   * full the section is rejected and returned empty rather than run on the request thread.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor homeFeedExecutor(
+      @org.springframework.beans.factory.annotation.Value("${meer.home.executor.threads:8}")
+          int threads,
+      @org.springframework.beans.factory.annotation.Value("${spring.threads.virtual.enabled:false}")
+          boolean virtualThreads) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(threads * 8);
+    executor.setThreadNamePrefix("home-feed-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    // Sections of a request that may read from a replica keep doing so on the pool threads.
+    executor.setTaskDecorator(ReplicaScope::propagate);
+    executor.setVirtualThreads(virtualThreads);
+    return executor;
+  }
+
+  /**
+   * Builds image variants. Decoding holds a full-size bitmap, so the pool stays small; when the
+   * queue is full further uploads are served at their original size.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor imageVariantExecutor(
+      @org.springframework.beans.factory.annotation.Value("${meer.images.variants.workers:2}")
+          int workers,
+      @org.springframework.beans.factory.annotation.Value(
+              "${meer.images.variants.queue-capacity:200}")
+          int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(workers);
+    executor.setMaxPoolSize(workers);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("image-variants-");
+    return executor;
+  }
+
+  /**
+   * Signs upload URLs in parallel and pre-signs pooled slots. Tasks are short and mostly wait on
+   * IAM; when the queue is full the caller signs inline and pool refills are skipped.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor uploadSigningExecutor(
+      @org.springframework.beans.factory.annotation.Value("${storage.gcs.signing.threads:4}")
+          int threads,
+      @org.springframework.beans.factory.annotation.Value("${spring.threads.virtual.enabled:false}")
+          boolean virtualThreads) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(threads * 8);
+    executor.setThreadNamePrefix("upload-signing-");
+    executor.setVirtualThreads(virtualThreads);
+    return executor;
+  }
+
+  /**
+   * Sends batch deletes for the storage cleanup outbox. A drain started after a commit coordinates
+   * from one of these threads, so at least two are kept. When the queue is full the task is
+   * rejected rather than run on the caller, which would put the deletes back on the committing
+   * request's thread; the fixed-delay poll picks the rows up instead.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor storageCleanupExecutor(
+      @org.springframework.beans.factory.annotation.Value("${meer.storage.cleanup.workers:4}")
+          int workers,
+      @org.springframework.beans.factory.annotation.Value("${spring.threads.virtual.enabled:false}")
+          boolean virtualThreads) {
+    int threads = Math.max(2, workers);
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(threads * 4);
+    executor.setThreadNamePrefix("storage-cleanup-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    executor.setVirtualThreads(virtualThreads);
+    return executor;
+  }
+
+  /**
+   * Runs claimed push jobs. There is no queue: the dispatcher only claims as many jobs as there
+   * are idle threads, so a claimed job never waits behind others with its lease ticking.
+   */
+  @Bean
+  @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(
+      prefix = "firebase",
+      name = "enabled",
+      havingValue = "true")
+  public ThreadPoolTaskExecutor pushDispatchExecutor(
+      @org.springframework.beans.factory.annotation.Value("${meer.push.workers:4}") int workers,
+      @org.springframework.beans.factory.annotation.Value("${spring.threads.virtual.enabled:false}")
+          boolean virtualThreads) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(workers);
+    executor.setMaxPoolSize(workers);
+    executor.setQueueCapacity(0);
+    executor.setThreadNamePrefix("push-dispatch-");
+    executor.setVirtualThreads(virtualThreads);
+    return executor;
+  }
+
+  /**
+   * Opens the persistence context before the guards so the user they load for {@link
+   * com.edufelip.meer.security.AuthContext} stays attached for the rest of the request.
+   *
+   * <p>Servlet filters run in this order: open the persistence context, rate limit (keyed by IP and
+   * raw token, so floods are turned away before any token is verified), request guards, access
+   * log, the dashboard admin guard, and finally the read-replica filter when replicas are enabled.
+   */
+  @Bean
+  public FilterRegistrationBean<OpenEntityManagerInViewFilter> openEntityManagerInViewFilter() {
+    FilterRegistrationBean<OpenEntityManagerInViewFilter> registration =
+        new FilterRegistrationBean<>(new OpenEntityManagerInViewFilter());
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return registration;
+  }
+
   @Bean
   public FilterRegistrationBean<RequestGuardsFilter> requestGuardsFilter(
       SecurityProperties securityProps,
       TokenProvider tokenProvider,
-      AuthUserRepository authUserRepository) {
+      PrincipalCache principalCache) {
     FilterRegistrationBean<RequestGuardsFilter> registration =
         new FilterRegistrationBean<>(
-            new RequestGuardsFilter(securityProps, tokenProvider, authUserRepository));
-    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            new RequestGuardsFilter(securityProps, tokenProvider, principalCache));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2); // after rate limiting
     return registration;
   }
 
+  /**
+   * Shared by {@link RateLimitFilter} and {@link com.edufelip.meer.security.RateLimitService}.
+   * {@code POSTGRES} keeps buckets in the database so limits hold across replicas.
+   */
   @Bean
-  public FilterRegistrationBean<RequestResponseLoggingFilter> requestResponseLoggingFilter() {
+  public RateLimiter rateLimiter(
+      RateLimitProperties properties,
+      Clock clock,
+      org.springframework.beans.factory.ObjectProvider<
+              org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate>
+          jdbc) {
+    return switch (properties.getBackend()) {
+      case MEMORY ->
+          new InMemoryRateLimiter(clock, properties.getMaxKeys(), properties.longestPeriod());
+      case POSTGRES -> new JdbcRateLimiter(jdbc.getObject(), clock);
+    };
+  }
+
+  @Bean
+  public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+      RateLimiter rateLimiter, RateLimitProperties properties) {
+    FilterRegistrationBean<RateLimitFilter> registration =
+        new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter, properties.getRoutes()));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1); // before the guards
+    return registration;
+  }
+
+  @Bean
+  public FilterRegistrationBean<RequestResponseLoggingFilter> requestResponseLoggingFilter(
+      AccessLogProperties properties, Clock clock) {
     FilterRegistrationBean<RequestResponseLoggingFilter> registration =
-        new FilterRegistrationBean<>(new RequestResponseLoggingFilter());
-    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1); // run right after guards
+        new FilterRegistrationBean<>(new RequestResponseLoggingFilter(properties, clock));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3); // run right after guards
     return registration;
   }
 
   @Bean
   public FilterRegistrationBean<DashboardAdminGuardFilter> dashboardAdminGuardFilter(
-      TokenProvider tokenProvider, AuthUserRepository authUserRepository) {
+      TokenProvider tokenProvider, PrincipalCache principalCache) {
     FilterRegistrationBean<DashboardAdminGuardFilter> registration =
-        new FilterRegistrationBean<>(
-            new DashboardAdminGuardFilter(tokenProvider, authUserRepository));
-    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2); // after logging
+        new FilterRegistrationBean<>(new DashboardAdminGuardFilter(tokenProvider, principalCache));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 4); // after logging
     return registration;
   }
 }
@@ -5,12 +5,19 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Properties;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Every cache records stats, which Spring Boot publishes as the {@code cache.gets}, {@code
+ * cache.puts} and {@code cache.evictions} meters tagged with the cache name. Caches take part in
+ * the surrounding transaction: writes and evictions wait for its commit.
+ */
 @Configuration
 public class CacheConfig {
 
@@ -25,27 +32,32 @@ public class CacheConfig {
 
     var featuredTtl = parseDuration(props.getProperty("featuredTop10", "expireAfterWrite=10m"));
     var guideTtl = parseDuration(props.getProperty("guideTop10", "expireAfterWrite=10m"));
-    var ratingsTtl = parseDuration(props.getProperty("storeRatings", "expireAfterWrite=5m"));
     var categoriesTtl = parseDuration(props.getProperty("categoriesAll", "expireAfterWrite=60m"));
 
     var manager = new SimpleCacheManager();
     manager.setCaches(
         List.of(
-            new CaffeineCache(
-                "featuredTop10",
-                Caffeine.newBuilder().expireAfterWrite(featuredTtl).maximumSize(10).build()),
-            new CaffeineCache(
-                "guideTop10",
-                Caffeine.newBuilder().expireAfterWrite(guideTtl).maximumSize(10).build()),
-            new CaffeineCache(
-                "storeRatings",
-                Caffeine.newBuilder().expireAfterWrite(ratingsTtl).maximumSize(200).build()),
-            new CaffeineCache(
-                "categoriesAll",
-                Caffeine.newBuilder().expireAfterWrite(categoriesTtl).maximumSize(5).build())));
+            cache("featuredTop10", featuredTtl, 10),
+            cache("guideTop10", guideTtl, 10),
+            cache("categoriesAll", categoriesTtl, 5)));
     return manager;
   }
 
+  /**
+   * Puts and evictions made inside a transaction are applied once it commits, so a read racing the
+   * write cannot cache pre-commit data for the whole TTL.
+   */
+  private static Cache cache(String name, Duration ttl, long maximumSize) {
+    return new TransactionAwareCacheDecorator(
+        new CaffeineCache(
+            name,
+            Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build()));
+  }
+
   private Duration parseDuration(String spec) {
     // expects format expireAfterWrite=Nm or Ns
     var parts = spec.split("=");
@@ -1,5 +1,6 @@
 package com.edufelip.meer.config;
 
+import com.edufelip.meer.datasource.ReadReplicaFilter;
 import java.util.Arrays;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
@@ -36,6 +37,7 @@ public class CorsConfig implements WebMvcConfigurer {
         .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
         // Allow all headers to avoid preflight failures from browser client-hints (sec-ch-ua, etc.)
         .allowedHeaders("*")
+        .exposedHeaders(ReadReplicaFilter.LAST_WRITE_HEADER)
         .allowCredentials(allowCredentials)
         .maxAge(3600);
   }
@@ -0,0 +1,21 @@
+package com.edufelip.meer.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Backs {@code @Timed} on use cases and services: each annotated method records a {@code
+ * meer.usecase} timer tagged with its class, method and exception. Repository queries are timed
+ * by Spring Data ({@code spring.data.repository.invocations}), and Hikari and cache metrics are
+ * bound by Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+  @Bean
+  public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+    return new TimedAspect(meterRegistry);
+  }
+}
@@ -0,0 +1,95 @@
+package com.edufelip.meer.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier, i.e. block inside {@code
+ * synchronized} or native code, for longer than {@code meer.threads.pinned-threshold}. Each pin is
+ * recorded in the {@code meer.threads.pinned} timer from the JFR {@code jdk.VirtualThreadPinned}
+ * event, and the first pin at every call site is logged with its stack so hot spots can be
+ * replaced with {@code java.util.concurrent} locks. Only active in virtual-thread mode.
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+  private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final int LOGGED_FRAMES = 8;
+  private static final int MAX_LOGGED_SITES = 500;
+
+  private final MeterRegistry meterRegistry;
+  private final Duration threshold;
+  private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+  private RecordingStream stream;
+
+  public VirtualThreadPinningMonitor(
+      MeterRegistry meterRegistry,
+      @Value("${meer.threads.pinned-threshold:20ms}") Duration threshold) {
+    this.meterRegistry = meterRegistry;
+    this.threshold = threshold;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void start() {
+    if (stream != null) return;
+    stream = new RecordingStream();
+    stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    stream.onEvent(PINNED_EVENT, this::record);
+    stream.startAsync();
+    log.info("Watching for virtual threads pinned longer than {}", threshold);
+  }
+
+  @PreDestroy
+  public synchronized void stop() {
+    if (stream == null) return;
+    stream.close();
+    stream = null;
+  }
+
+  private void record(RecordedEvent event) {
+    List<String> frames =
+        event.getStackTrace() == null
+            ? List.of()
+            : event.getStackTrace().getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::describe)
+                .toList();
+    String site = frames.isEmpty() ? "unknown" : frames.get(0);
+    Timer.builder("meer.threads.pinned").register(meterRegistry).record(event.getDuration());
+    if (loggedSites.size() < MAX_LOGGED_SITES && loggedSites.add(site)) {
+      log.warn(
+          "Virtual thread pinned for {} ms at {}\n\tat {}",
+          event.getDuration().toMillis(),
+          site,
+          frames.stream().collect(Collectors.joining("\n\tat ")));
+    }
+  }
+
+  private static String describe(RecordedFrame frame) {
+    return frame.getMethod().getType().getName()
+        + "."
+        + frame.getMethod().getName()
+        + ":"
+        + frame.getLineNumber();
+  }
+}
@@ -4,10 +4,14 @@ import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.util.Uuid7;
 import jakarta.persistence.*;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.DomainEvents;
 
 @Entity
 public class AuthUser {
@@ -23,6 +27,9 @@ public class AuthUser {
 
   private String photoUrl;
 
+  @Column(length = 2048)
+  private String photoThumbUrl;
+
   @Column(length = 1000)
   private String bio;
 
@@ -75,6 +82,15 @@ public class AuthUser {
     }
   }
 
+  /**
+   * Published by the repository on every save and delete, so caches and indexes kept outside the
+   * row can follow it.
+   */
+  @DomainEvents
+  Collection<Object> changeEvents() {
+    return List.of(new AuthUserChangedEvent(id));
+  }
+
   public UUID getId() {
     return id;
   }
@@ -135,10 +151,20 @@ public class AuthUser {
     this.displayName = displayName;
   }
 
+  /** A different photo drops the thumbnail, which belonged to the previous one. */
   public void setPhotoUrl(String photoUrl) {
+    if (!Objects.equals(this.photoUrl, photoUrl)) this.photoThumbUrl = null;
     this.photoUrl = photoUrl;
   }
 
+  public String getPhotoThumbUrl() {
+    return photoThumbUrl;
+  }
+
+  public void setPhotoThumbUrl(String photoThumbUrl) {
+    this.photoThumbUrl = photoThumbUrl;
+  }
+
   public void setBio(String bio) {
     this.bio = bio;
   }
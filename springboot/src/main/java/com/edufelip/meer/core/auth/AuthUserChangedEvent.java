@@ -0,0 +1,6 @@
+package com.edufelip.meer.core.auth;
+
+import java.util.UUID;
+
+/** A user row was saved (profile or role change) or deleted through its repository. */
+public record AuthUserChangedEvent(UUID userId) {}
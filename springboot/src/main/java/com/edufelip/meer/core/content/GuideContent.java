@@ -3,13 +3,18 @@ package com.edufelip.meer.core.content;
 import com.edufelip.meer.core.store.ThriftStore;
 import jakarta.persistence.*;
 import java.time.Instant;
+import java.util.Objects;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
 public class GuideContent {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "guide_content_id")
+  @SequenceGenerator(
+      name = "guide_content_id",
+      sequenceName = "guide_content_id_seq",
+      allocationSize = 50)
   private Integer id;
 
   @Column(nullable = false)
@@ -27,6 +32,12 @@ public class GuideContent {
   @Column(nullable = false, length = 512)
   private String imageUrl;
 
+  @Column(length = 2048)
+  private String imageThumbUrl;
+
+  @Column(length = 2048)
+  private String imageCardUrl;
+
   @Column(name = "like_count", nullable = false)
   private Long likeCount = 0L;
 
@@ -150,10 +161,31 @@ public class GuideContent {
     this.type = type;
   }
 
+  /** A different image drops the variants, which belonged to the previous one. */
   public void setImageUrl(String imageUrl) {
+    if (!Objects.equals(this.imageUrl, imageUrl)) {
+      this.imageThumbUrl = null;
+      this.imageCardUrl = null;
+    }
     this.imageUrl = imageUrl;
   }
 
+  public String getImageThumbUrl() {
+    return imageThumbUrl;
+  }
+
+  public void setImageThumbUrl(String imageThumbUrl) {
+    this.imageThumbUrl = imageThumbUrl;
+  }
+
+  public String getImageCardUrl() {
+    return imageCardUrl;
+  }
+
+  public void setImageCardUrl(String imageCardUrl) {
+    this.imageCardUrl = imageCardUrl;
+  }
+
   public void setLikeCount(Long likeCount) {
     this.likeCount = likeCount;
   }
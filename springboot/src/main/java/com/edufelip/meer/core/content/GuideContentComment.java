@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.Instant;
 import org.hibernate.annotations.CreationTimestamp;
@@ -18,7 +19,11 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Table(name = "guide_content_comment")
 public class GuideContentComment {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "guide_content_comment_id")
+  @SequenceGenerator(
+      name = "guide_content_comment_id",
+      sequenceName = "guide_content_comment_id_seq",
+      allocationSize = 50)
   private Integer id;
 
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import java.time.Instant;
@@ -20,7 +21,11 @@ import org.hibernate.annotations.CreationTimestamp;
     uniqueConstraints = {@UniqueConstraint(columnNames = {"auth_user_id", "content_id"})})
 public class GuideContentLike {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "guide_content_like_id")
+  @SequenceGenerator(
+      name = "guide_content_like_id",
+      sequenceName = "guide_content_like_id_seq",
+      allocationSize = 50)
   private Integer id;
 
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -0,0 +1,14 @@
+package com.edufelip.meer.core.push;
+
+/** Who a {@link PushJob} is delivered to. */
+public enum PushAudience {
+  /** Every token of {@link PushJob#getTargetUserId()} in the job's environment. */
+  USER,
+  /** Tokens of every user who favorited {@link PushJob#getTargetStoreId()}. */
+  STORE_FAVORITES,
+  /**
+   * Tokens whose last reported location lies within {@link PushJob#getRadiusMeters()} of {@link
+   * PushJob#getTargetStoreId()}.
+   */
+  NEAR_STORE
+}
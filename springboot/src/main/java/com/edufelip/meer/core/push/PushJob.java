@@ -0,0 +1,304 @@
+package com.edufelip.meer.core.push;
+
+import com.edufelip.meer.util.Uuid7;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * A queued push send. The dispatcher walks the audience's tokens in keyset order and records the
+ * last token handled in {@code cursorUserId}/{@code cursorTokenId}, so a retried or recovered job
+ * resumes where it stopped.
+ */
+@Entity
+@Table(name = "push_job")
+public class PushJob {
+  @Id
+  @Column(columnDefinition = "uuid")
+  private UUID id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private PushAudience audience;
+
+  @Column(name = "target_user_id", columnDefinition = "uuid")
+  private UUID targetUserId;
+
+  @Column(name = "target_store_id", columnDefinition = "uuid")
+  private UUID targetStoreId;
+
+  @Column(name = "radius_meters")
+  private Integer radiusMeters;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private PushEnvironment environment;
+
+  @Column(nullable = false, length = 120)
+  private String title;
+
+  @Column(nullable = false, length = 2000)
+  private String body;
+
+  @ElementCollection(fetch = FetchType.EAGER)
+  @CollectionTable(name = "push_job_data", joinColumns = @JoinColumn(name = "push_job_id"))
+  @MapKeyColumn(name = "data_key", length = 64)
+  @Column(name = "data_value", nullable = false, length = 1024)
+  private Map<String, String> data = new HashMap<>();
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private PushJobStatus status = PushJobStatus.PENDING;
+
+  @Column(nullable = false)
+  private Integer attempts = 0;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private Instant nextAttemptAt;
+
+  @Column(name = "lease_until")
+  private Instant leaseUntil;
+
+  @Column(name = "lease_owner", columnDefinition = "uuid")
+  private UUID leaseOwner;
+
+  @Column(name = "cursor_token_id", columnDefinition = "uuid")
+  private UUID cursorTokenId;
+
+  @Column(name = "cursor_user_id", columnDefinition = "uuid")
+  private UUID cursorUserId;
+
+  @Column(name = "sent_count", nullable = false)
+  private Integer sentCount = 0;
+
+  @Column(name = "failed_count", nullable = false)
+  private Integer failedCount = 0;
+
+  @Column(name = "removed_token_count", nullable = false)
+  private Integer removedTokenCount = 0;
+
+  @Column(name = "last_error", length = 1024)
+  private String lastError;
+
+  @Column(name = "created_by_user_id", columnDefinition = "uuid")
+  private UUID createdByUserId;
+
+  @CreationTimestamp
+  @Column(name = "created_at", updatable = false)
+  private Instant createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at")
+  private Instant updatedAt;
+
+  @Column(name = "completed_at")
+  private Instant completedAt;
+
+  public PushJob() {}
+
+  public UUID getId() {
+    return id;
+  }
+
+  public PushAudience getAudience() {
+    return audience;
+  }
+
+  public UUID getTargetUserId() {
+    return targetUserId;
+  }
+
+  public UUID getTargetStoreId() {
+    return targetStoreId;
+  }
+
+  public Integer getRadiusMeters() {
+    return radiusMeters;
+  }
+
+  public PushEnvironment getEnvironment() {
+    return environment;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public Map<String, String> getData() {
+    return data;
+  }
+
+  public PushJobStatus getStatus() {
+    return status;
+  }
+
+  public Integer getAttempts() {
+    return attempts;
+  }
+
+  public Instant getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  public Instant getLeaseUntil() {
+    return leaseUntil;
+  }
+
+  public UUID getLeaseOwner() {
+    return leaseOwner;
+  }
+
+  public UUID getCursorTokenId() {
+    return cursorTokenId;
+  }
+
+  public UUID getCursorUserId() {
+    return cursorUserId;
+  }
+
+  public Integer getSentCount() {
+    return sentCount;
+  }
+
+  public Integer getFailedCount() {
+    return failedCount;
+  }
+
+  public Integer getRemovedTokenCount() {
+    return removedTokenCount;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public UUID getCreatedByUserId() {
+    return createdByUserId;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public Instant getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public Instant getCompletedAt() {
+    return completedAt;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public void setAudience(PushAudience audience) {
+    this.audience = audience;
+  }
+
+  public void setTargetUserId(UUID targetUserId) {
+    this.targetUserId = targetUserId;
+  }
+
+  public void setTargetStoreId(UUID targetStoreId) {
+    this.targetStoreId = targetStoreId;
+  }
+
+  public void setRadiusMeters(Integer radiusMeters) {
+    this.radiusMeters = radiusMeters;
+  }
+
+  public void setEnvironment(PushEnvironment environment) {
+    this.environment = environment;
+  }
+
+  public void setTitle(String title) {
+    this.title = title;
+  }
+
+  public void setBody(String body) {
+    this.body = body;
+  }
+
+  public void setData(Map<String, String> data) {
+    this.data = data;
+  }
+
+  public void setStatus(PushJobStatus status) {
+    this.status = status;
+  }
+
+  public void setAttempts(Integer attempts) {
+    this.attempts = attempts;
+  }
+
+  public void setNextAttemptAt(Instant nextAttemptAt) {
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  public void setLeaseUntil(Instant leaseUntil) {
+    this.leaseUntil = leaseUntil;
+  }
+
+  public void setLeaseOwner(UUID leaseOwner) {
+    this.leaseOwner = leaseOwner;
+  }
+
+  public void setCursorTokenId(UUID cursorTokenId) {
+    this.cursorTokenId = cursorTokenId;
+  }
+
+  public void setCursorUserId(UUID cursorUserId) {
+    this.cursorUserId = cursorUserId;
+  }
+
+  public void setSentCount(Integer sentCount) {
+    this.sentCount = sentCount;
+  }
+
+  public void setFailedCount(Integer failedCount) {
+    this.failedCount = failedCount;
+  }
+
+  public void setRemovedTokenCount(Integer removedTokenCount) {
+    this.removedTokenCount = removedTokenCount;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+
+  public void setCreatedByUserId(UUID createdByUserId) {
+    this.createdByUserId = createdByUserId;
+  }
+
+  public void setCompletedAt(Instant completedAt) {
+    this.completedAt = completedAt;
+  }
+
+  @PrePersist
+  public void ensureId() {
+    if (this.id == null) {
+      this.id = Uuid7.next();
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package com.edufelip.meer.core.push;
+
+public enum PushJobStatus {
+  PENDING,
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
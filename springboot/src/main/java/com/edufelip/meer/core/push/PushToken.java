@@ -50,6 +50,15 @@ public class PushToken {
   @Column(name = "last_token_refresh_at")
   private Instant lastTokenRefreshAt;
 
+  @Column(name = "last_latitude")
+  private Double lastLatitude;
+
+  @Column(name = "last_longitude")
+  private Double lastLongitude;
+
+  @Column(name = "last_location_at")
+  private Instant lastLocationAt;
+
   @CreationTimestamp
   @Column(name = "created_at", updatable = false)
   private Instant createdAt;
@@ -96,6 +105,18 @@ public class PushToken {
     return lastTokenRefreshAt;
   }
 
+  public Double getLastLatitude() {
+    return lastLatitude;
+  }
+
+  public Double getLastLongitude() {
+    return lastLongitude;
+  }
+
+  public Instant getLastLocationAt() {
+    return lastLocationAt;
+  }
+
   public Instant getCreatedAt() {
     return createdAt;
   }
@@ -140,6 +161,18 @@ public class PushToken {
     this.lastTokenRefreshAt = lastTokenRefreshAt;
   }
 
+  public void setLastLatitude(Double lastLatitude) {
+    this.lastLatitude = lastLatitude;
+  }
+
+  public void setLastLongitude(Double lastLongitude) {
+    this.lastLongitude = lastLongitude;
+  }
+
+  public void setLastLocationAt(Instant lastLocationAt) {
+    this.lastLocationAt = lastLocationAt;
+  }
+
   public void setCreatedAt(Instant createdAt) {
     this.createdAt = createdAt;
   }
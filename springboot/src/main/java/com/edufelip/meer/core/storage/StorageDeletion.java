@@ -0,0 +1,109 @@
+package com.edufelip.meer.core.storage;
+
+import com.edufelip.meer.util.Uuid7;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * A storage object waiting to be deleted. Rows are written alongside the change that orphans the
+ * object and removed once the delete succeeds; {@code nextAttemptAt} doubles as the claim lease
+ * and is cleared when the worker gives up.
+ */
+@Entity
+@Table(name = "storage_deletion")
+public class StorageDeletion {
+  @Id
+  @Column(columnDefinition = "uuid")
+  private UUID id;
+
+  @Column(name = "object_key", nullable = false, length = 1024)
+  private String objectKey;
+
+  @Column(nullable = false)
+  private Integer attempts = 0;
+
+  @Column(name = "next_attempt_at")
+  private Instant nextAttemptAt;
+
+  @Column(name = "claim_token", columnDefinition = "uuid")
+  private UUID claimToken;
+
+  @Column(name = "last_error", length = 1024)
+  private String lastError;
+
+  @CreationTimestamp
+  @Column(name = "created_at")
+  private Instant createdAt;
+
+  public StorageDeletion() {}
+
+  public StorageDeletion(String objectKey, Instant nextAttemptAt) {
+    this.objectKey = objectKey;
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public String getObjectKey() {
+    return objectKey;
+  }
+
+  public void setObjectKey(String objectKey) {
+    this.objectKey = objectKey;
+  }
+
+  public Integer getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(Integer attempts) {
+    this.attempts = attempts;
+  }
+
+  public Instant getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  public void setNextAttemptAt(Instant nextAttemptAt) {
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  public UUID getClaimToken() {
+    return claimToken;
+  }
+
+  public void setClaimToken(UUID claimToken) {
+    this.claimToken = claimToken;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  @PrePersist
+  public void ensureId() {
+    if (this.id == null) {
+      this.id = Uuid7.next();
+    }
+  }
+}
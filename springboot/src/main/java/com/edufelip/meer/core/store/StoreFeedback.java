@@ -10,7 +10,11 @@ import java.time.Instant;
     uniqueConstraints = @UniqueConstraint(columnNames = {"auth_user_id", "thrift_store_id"}))
 public class StoreFeedback {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "store_feedback_id")
+  @SequenceGenerator(
+      name = "store_feedback_id",
+      sequenceName = "store_feedback_id_seq",
+      allocationSize = 50)
   private Integer id;
 
   @ManyToOne(optional = false)
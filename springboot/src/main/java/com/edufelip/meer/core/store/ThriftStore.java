@@ -5,11 +5,13 @@ import com.edufelip.meer.util.Uuid7;
 import jakarta.persistence.*;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.DomainEvents;
 
 @Entity
 public class ThriftStore {
@@ -73,6 +75,14 @@ public class ThriftStore {
   @JoinColumn(name = "owner_id", columnDefinition = "uuid")
   private com.edufelip.meer.core.auth.AuthUser owner;
 
+  // Denormalized rating counters; written only through ThriftStoreRepository.adjustRating and
+  // reconcileRatings so a stale entity save never overwrites them.
+  @Column(name = "rating_sum", nullable = false, updatable = false)
+  private Long ratingSum = 0L;
+
+  @Column(name = "rating_count", nullable = false, updatable = false)
+  private Long ratingCount = 0L;
+
   public ThriftStore() {}
 
   public ThriftStore(
@@ -276,10 +286,35 @@ public class ThriftStore {
     this.owner = owner;
   }
 
+  public Long getRatingSum() {
+    return ratingSum;
+  }
+
+  public void setRatingSum(Long ratingSum) {
+    this.ratingSum = ratingSum;
+  }
+
+  public Long getRatingCount() {
+    return ratingCount;
+  }
+
+  public void setRatingCount(Long ratingCount) {
+    this.ratingCount = ratingCount;
+  }
+
   @PrePersist
   public void ensureId() {
     if (this.id == null) {
       this.id = Uuid7.next();
     }
   }
+
+  /**
+   * Published by the repository on every save and delete, so caches and indexes kept outside the
+   * row can follow it.
+   */
+  @DomainEvents
+  Collection<Object> changeEvents() {
+    return List.of(new ThriftStoreChangedEvent(id));
+  }
 }
@@ -0,0 +1,6 @@
+package com.edufelip.meer.core.store;
+
+import java.util.UUID;
+
+/** A store row was saved or deleted through its repository. */
+public record ThriftStoreChangedEvent(UUID storeId) {}
@@ -1,11 +1,18 @@
 package com.edufelip.meer.core.store;
 
 import jakarta.persistence.*;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Entity
 public class ThriftStorePhoto {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "thrift_store_photo_id")
+  @SequenceGenerator(
+      name = "thrift_store_photo_id",
+      sequenceName = "thrift_store_photo_id_seq",
+      allocationSize = 50)
   private Integer id;
 
   @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -18,6 +25,15 @@ public class ThriftStorePhoto {
   @Column(name = "display_order", nullable = false)
   private Integer displayOrder = 0;
 
+  @Column(name = "thumb_url", length = 2048)
+  private String thumbUrl;
+
+  @Column(name = "card_url", length = 2048)
+  private String cardUrl;
+
+  @Column(name = "full_url", length = 2048)
+  private String fullUrl;
+
   public ThriftStorePhoto() {}
 
   public ThriftStorePhoto(ThriftStore thriftStore, String url, Integer displayOrder) {
@@ -42,6 +58,23 @@ public class ThriftStorePhoto {
     return displayOrder;
   }
 
+  public String getThumbUrl() {
+    return thumbUrl;
+  }
+
+  public String getCardUrl() {
+    return cardUrl;
+  }
+
+  public String getFullUrl() {
+    return fullUrl;
+  }
+
+  /** The original and its generated variants, for deleting them together. */
+  public List<String> objectUrls() {
+    return Stream.of(url, thumbUrl, cardUrl, fullUrl).filter(Objects::nonNull).toList();
+  }
+
   public void setId(Integer id) {
     this.id = id;
   }
@@ -57,4 +90,16 @@ public class ThriftStorePhoto {
   public void setDisplayOrder(Integer displayOrder) {
     this.displayOrder = displayOrder;
   }
+
+  public void setThumbUrl(String thumbUrl) {
+    this.thumbUrl = thumbUrl;
+  }
+
+  public void setCardUrl(String cardUrl) {
+    this.cardUrl = cardUrl;
+  }
+
+  public void setFullUrl(String fullUrl) {
+    this.fullUrl = fullUrl;
+  }
 }
@@ -8,7 +8,11 @@ import java.time.Instant;
 public class SupportContact {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "support_contact_id")
+  @SequenceGenerator(
+      name = "support_contact_id",
+      sequenceName = "support_contact_id_seq",
+      allocationSize = 50)
   private Integer id;
 
   @Column(nullable = false)
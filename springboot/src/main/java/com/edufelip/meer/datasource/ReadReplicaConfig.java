@@ -0,0 +1,73 @@
+package com.edufelip.meer.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+/**
+ * Routes {@code @Transactional(readOnly = true)} work to the replicas in {@code
+ * meer.read-replicas.urls} while everything else keeps using {@code spring.datasource}. Off by
+ * default; see {@link ReadReplicaRouter} and {@link ReadReplicaFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "meer.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+  /** Name of the data source Spring Boot configures from {@code spring.datasource}. */
+  static final String PRIMARY_DATA_SOURCE = "dataSource";
+
+  @Bean(destroyMethod = "close")
+  public ReadReplicaRouter readReplicaRouter(
+      ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+    if (properties.getUrls().isEmpty()) {
+      throw new IllegalStateException("meer.read-replicas.urls must list at least one replica");
+    }
+    return ReadReplicaRouter.fromProperties(properties, meterRegistry);
+  }
+
+  @Bean
+  public static BeanPostProcessor readReplicaDataSourceRouting(
+      ObjectProvider<ReadReplicaRouter> router) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+          // Spring holds a session's connection until the request ends by default; releasing it
+          // after each transaction lets one request read from a replica and then write to the
+          // primary.
+          entityManagerFactory
+              .getJpaPropertyMap()
+              .put(
+                  "hibernate.connection.handling_mode",
+                  "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+        }
+        return bean;
+      }
+
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource primary && PRIMARY_DATA_SOURCE.equals(beanName)) {
+          return router.getObject().wrap(primary);
+        }
+        return bean;
+      }
+    };
+  }
+
+  @Bean
+  public FilterRegistrationBean<ReadReplicaFilter> readReplicaFilter(
+      ReadReplicaProperties properties, Clock clock) {
+    FilterRegistrationBean<ReadReplicaFilter> registration =
+        new FilterRegistrationBean<>(new ReadReplicaFilter(properties.getReadYourWrites(), clock));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5); // last of the AppConfig filters
+    return registration;
+  }
+}
@@ -0,0 +1,130 @@
+package com.edufelip.meer.datasource;
+
+import com.edufelip.meer.security.AuthContext;
+import com.edufelip.meer.security.guards.FirebaseAuthGuard;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Opens {@link ReplicaScope} for GET and HEAD requests. Mutating requests stay on the primary, and
+ * so do a caller's reads for {@code readYourWrites} after one of their mutating requests, so they
+ * never see a replica that has not caught up with their own change.
+ *
+ * <p>Every mutating response carries the write time (epoch millis) in the {@value
+ * #LAST_WRITE_COOKIE} cookie and the {@value #LAST_WRITE_HEADER} header. Any instance honors it
+ * when it comes back as that cookie or request header, so the guarantee holds behind a load
+ * balancer. Authenticated writers are also remembered on the instance that served the write, for
+ * clients that keep neither. Runs after the guards, which resolve the caller into {@link
+ * AuthContext}, and after the dashboard admin guard, so their user and role lookups always read the
+ * primary.
+ */
+public class ReadReplicaFilter extends OncePerRequestFilter {
+
+  public static final String LAST_WRITE_HEADER = "X-Meer-Last-Write";
+  public static final String LAST_WRITE_COOKIE = "meer_last_write";
+
+  private static final String BEARER = "Bearer ";
+
+  private final Duration readYourWrites;
+  private final Clock clock;
+  private final Cache<UUID, Boolean> recentWriters;
+
+  public ReadReplicaFilter(Duration readYourWrites) {
+    this(readYourWrites, Clock.systemUTC());
+  }
+
+  ReadReplicaFilter(Duration readYourWrites, Clock clock) {
+    this.readYourWrites = readYourWrites;
+    this.clock = clock;
+    this.recentWriters =
+        Caffeine.newBuilder()
+            .expireAfterWrite(readYourWrites)
+            .maximumSize(100_000)
+            .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+            .build();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    UUID userId = callerId(request);
+    String method = request.getMethod();
+    if (!"GET".equalsIgnoreCase(method) && !"HEAD".equalsIgnoreCase(method)) {
+      // Marked before and after: concurrent reads see the write in flight, and the window starts
+      // once it has committed. The response is usually committed by the time the chain returns,
+      // so the client-side mark is set up front.
+      if (userId != null) recentWriters.put(userId, Boolean.TRUE);
+      markWrite(response);
+      try {
+        filterChain.doFilter(request, response);
+      } finally {
+        if (userId != null) recentWriters.put(userId, Boolean.TRUE);
+      }
+      return;
+    }
+    if (wroteRecently(request, userId)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    ReplicaScope.allow();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReplicaScope.clear();
+    }
+  }
+
+  private void markWrite(HttpServletResponse response) {
+    String now = Long.toString(clock.millis());
+    response.setHeader(LAST_WRITE_HEADER, now);
+    Cookie cookie = new Cookie(LAST_WRITE_COOKIE, now);
+    cookie.setPath("/");
+    cookie.setHttpOnly(true);
+    cookie.setMaxAge((int) Math.max(1, readYourWrites.toSeconds()));
+    response.addCookie(cookie);
+  }
+
+  private boolean wroteRecently(HttpServletRequest request, UUID userId) {
+    if (userId != null && recentWriters.getIfPresent(userId) != null) return true;
+    Long lastWrite = lastWrite(request);
+    if (lastWrite == null) return false;
+    // Client-supplied, so a timestamp far in the future is ignored rather than pinning forever.
+    long age = clock.millis() - lastWrite;
+    return Math.abs(age) < readYourWrites.toMillis();
+  }
+
+  private static Long lastWrite(HttpServletRequest request) {
+    String value = request.getHeader(LAST_WRITE_HEADER);
+    if (value == null && request.getCookies() != null) {
+      for (Cookie cookie : request.getCookies()) {
+        if (LAST_WRITE_COOKIE.equals(cookie.getName())) value = cookie.getValue();
+      }
+    }
+    if (value == null) return null;
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+
+  private static UUID callerId(HttpServletRequest request) {
+    String header = request.getHeader(FirebaseAuthGuard.AUTH_HEADER);
+    if (header == null || !header.startsWith(BEARER)) return null;
+    return AuthContext.get(request, header.substring(BEARER.length()).trim())
+        .map(auth -> auth.user().getId())
+        .orElse(null);
+  }
+}
@@ -0,0 +1,73 @@
+package com.edufelip.meer.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Read replicas that serve read-only transactions; see {@link ReadReplicaConfig}. */
+@ConfigurationProperties(prefix = "meer.read-replicas")
+public class ReadReplicaProperties {
+
+  private boolean enabled = false;
+
+  /** JDBC URLs of the replicas; reads rotate across the ones that pass the health check. */
+  private List<String> urls = new ArrayList<>();
+
+  private String username = "";
+  private String password = "";
+
+  /** Connections per replica pool. */
+  private int maxPoolSize = 10;
+
+  /** How long a user's reads stay on the primary after one of their writes. */
+  private Duration readYourWrites = Duration.ofSeconds(5);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public List<String> getUrls() {
+    return urls;
+  }
+
+  public void setUrls(List<String> urls) {
+    this.urls = urls;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  public String getPassword() {
+    return password;
+  }
+
+  public void setPassword(String password) {
+    this.password = password;
+  }
+
+  public int getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  public void setMaxPoolSize(int maxPoolSize) {
+    this.maxPoolSize = maxPoolSize;
+  }
+
+  public Duration getReadYourWrites() {
+    return readYourWrites;
+  }
+
+  public void setReadYourWrites(Duration readYourWrites) {
+    this.readYourWrites = readYourWrites;
+  }
+}
@@ -0,0 +1,172 @@
+package com.edufelip.meer.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to replicas. {@link #wrap} routes on {@link
+ * TransactionSynchronizationManager#isCurrentTransactionReadOnly()} behind a {@link
+ * LazyConnectionDataSourceProxy}: JPA opens its connection before the transaction is registered
+ * as read-only, so the physical connection is only picked at the first statement. Read-only
+ * transactions inside {@link ReplicaScope} then take a connection from the next healthy replica
+ * and all other work takes one from the primary. A replica that fails to hand out a connection is
+ * skipped until {@link #checkHealth} sees it answer again; with none left, reads fail over to the
+ * primary.
+ *
+ * <p>Every read-only connection is counted in {@code meer.datasource.routes} by target and reason,
+ * replica health is the {@code meer.datasource.replica.healthy} gauge, and each replica pool
+ * reports its own {@code hikaricp.connections.*} metrics.
+ */
+public class ReadReplicaRouter implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ReadReplicaRouter.class);
+
+  static final String PRIMARY = "primary";
+  private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+  private static final long REPLICA_CONNECTION_TIMEOUT_MS = 2_000;
+
+  private record Replica(String name, DataSource dataSource, AtomicBoolean healthy) {}
+
+  private final List<Replica> replicas = new ArrayList<>();
+  private final AtomicInteger next = new AtomicInteger();
+  private final MeterRegistry meterRegistry;
+
+  /** Replicas by name, in rotation order. */
+  public ReadReplicaRouter(Map<String, DataSource> replicas, MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    replicas.forEach(
+        (name, dataSource) -> {
+          Replica replica = new Replica(name, dataSource, new AtomicBoolean(true));
+          this.replicas.add(replica);
+          Gauge.builder("meer.datasource.replica.healthy", replica.healthy(), h -> h.get() ? 1 : 0)
+              .tag("replica", name)
+              .register(meterRegistry);
+        });
+  }
+
+  /** One Hikari pool per configured URL, named {@code meer-replica-<n>}. */
+  public static ReadReplicaRouter fromProperties(
+      ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+    Map<String, DataSource> pools = new LinkedHashMap<>();
+    List<String> urls = properties.getUrls();
+    for (int i = 0; i < urls.size(); i++) {
+      String name = "meer-replica-" + (i + 1);
+      HikariConfig config = new HikariConfig();
+      config.setPoolName(name);
+      config.setJdbcUrl(urls.get(i));
+      config.setUsername(properties.getUsername());
+      config.setPassword(properties.getPassword());
+      config.setMaximumPoolSize(properties.getMaxPoolSize());
+      config.setReadOnly(true);
+      // A slow or saturated replica should fail over quickly instead of stalling the request.
+      config.setConnectionTimeout(REPLICA_CONNECTION_TIMEOUT_MS);
+      // Start even if a replica is down; the health check brings it back.
+      config.setInitializationFailTimeout(-1);
+      config.setMetricRegistry(meterRegistry);
+      pools.put(name, new HikariDataSource(config));
+    }
+    return new ReadReplicaRouter(pools, meterRegistry);
+  }
+
+  /** The data source the application uses: the primary, with read-only work routed here. */
+  public DataSource wrap(DataSource primary) {
+    LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+    proxy.setTargetDataSource(new Route(primary));
+    // Known up front so the proxy does not open a connection at startup to look them up.
+    proxy.setDefaultAutoCommit(true);
+    proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    proxy.afterPropertiesSet();
+    return proxy;
+  }
+
+  /** Marks each replica healthy or not depending on whether it hands out a valid connection. */
+  @Scheduled(fixedDelayString = "${meer.read-replicas.health-check-delay-ms:5000}")
+  public void checkHealth() {
+    for (Replica replica : replicas) {
+      boolean up;
+      try (Connection connection = replica.dataSource().getConnection()) {
+        up = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+      } catch (SQLException ex) {
+        up = false;
+      }
+      if (replica.healthy().getAndSet(up) != up) {
+        log.warn("Read replica {} is now {}", replica.name(), up ? "up" : "down");
+      }
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    for (Replica replica : replicas) {
+      if (replica.dataSource() instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+  }
+
+  private Connection connection(DataSource primary) throws SQLException {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return primary.getConnection();
+    }
+    if (!ReplicaScope.isAllowed()) {
+      return routed(primary, PRIMARY, "pinned");
+    }
+    for (int attempt = 0; attempt < replicas.size(); attempt++) {
+      Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+      if (!replica.healthy().get()) continue;
+      try {
+        return routed(replica.dataSource(), replica.name(), "replica");
+      } catch (SQLException ex) {
+        if (replica.healthy().getAndSet(false)) {
+          log.warn("Read replica {} is now down: {}", replica.name(), ex.getMessage());
+        }
+      }
+    }
+    return routed(primary, PRIMARY, "failover");
+  }
+
+  private Connection routed(DataSource dataSource, String target, String reason)
+      throws SQLException {
+    Connection connection = dataSource.getConnection();
+    Counter.builder("meer.datasource.routes")
+        .tag("target", target)
+        .tag("reason", reason)
+        .register(meterRegistry)
+        .increment();
+    return connection;
+  }
+
+  /**
+   * Target of the proxy built by {@link #wrap}. Delegates everything else, such as {@code unwrap},
+   * to the primary so its pool metrics and health checks keep working.
+   */
+  private final class Route extends DelegatingDataSource {
+
+    private Route(DataSource primary) {
+      super(primary);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      return connection(obtainTargetDataSource());
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.edufelip.meer.datasource;
+
+/**
+ * Whether read-only transactions on the current thread may go to a replica. {@link
+ * ReadReplicaFilter} opens it for reads that do not need to see the caller's own recent writes;
+ * everything else (mutating requests, scheduled jobs, startup) stays on the primary.
+ */
+public final class ReplicaScope {
+
+  private static final ThreadLocal<Boolean> ALLOWED = new ThreadLocal<>();
+
+  private ReplicaScope() {}
+
+  public static boolean isAllowed() {
+    return Boolean.TRUE.equals(ALLOWED.get());
+  }
+
+  static void allow() {
+    ALLOWED.set(Boolean.TRUE);
+  }
+
+  static void clear() {
+    ALLOWED.remove();
+  }
+
+  /** Carries the current thread's scope into {@code task}, for executors that fan reads out. */
+  public static Runnable propagate(Runnable task) {
+    if (!isAllowed()) return task;
+    return () -> {
+      boolean alreadyAllowed = isAllowed();
+      allow();
+      try {
+        task.run();
+      } finally {
+        if (!alreadyAllowed) clear();
+      }
+    };
+  }
+}
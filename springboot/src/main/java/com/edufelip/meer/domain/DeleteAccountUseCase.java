@@ -0,0 +1,94 @@
+package com.edufelip.meer.domain;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.port.StorageCleanupPort;
+import com.edufelip.meer.domain.repo.AuthUserRepository;
+import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.service.StoreFeedbackService;
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Deletes a user together with the stores they own, their favorites and feedback. The store photos
+ * and avatar are queued for removal from storage in the same transaction as the row deletes, so
+ * either both happen or neither does.
+ */
+public class DeleteAccountUseCase {
+  private final AuthUserRepository authUserRepository;
+  private final ThriftStoreRepository thriftStoreRepository;
+  private final StoreFeedbackRepository storeFeedbackRepository;
+  private final StoreFeedbackService storeFeedbackService;
+  private final StorageCleanupPort storageCleanupPort;
+
+  public DeleteAccountUseCase(
+      AuthUserRepository authUserRepository,
+      ThriftStoreRepository thriftStoreRepository,
+      StoreFeedbackRepository storeFeedbackRepository,
+      StoreFeedbackService storeFeedbackService,
+      StorageCleanupPort storageCleanupPort) {
+    this.authUserRepository = authUserRepository;
+    this.thriftStoreRepository = thriftStoreRepository;
+    this.storeFeedbackRepository = storeFeedbackRepository;
+    this.storeFeedbackService = storeFeedbackService;
+    this.storageCleanupPort = storageCleanupPort;
+  }
+
+  @Transactional
+  public void execute(UUID userId) {
+    AuthUser user =
+        authUserRepository
+            .findById(userId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+
+    // Clear owned thrift store links before deleting stores to satisfy FK constraints
+    ThriftStore owned = user.getOwnedThriftStore();
+    if (owned != null) {
+      user.setOwnedThriftStore(null);
+      authUserRepository.save(user);
+    }
+
+    List<String> objectUrls = new ArrayList<>();
+    Set<UUID> processed = new HashSet<>();
+    Optional.ofNullable(owned)
+        .flatMap(store -> thriftStoreRepository.findById(store.getId()))
+        .ifPresent(store -> deleteStore(store, processed, objectUrls));
+    thriftStoreRepository
+        .findByOwnerId(user.getId())
+        .forEach(store -> deleteStore(store, processed, objectUrls));
+
+    // Drop favorites join entries
+    user.getFavorites().clear();
+    authUserRepository.save(user);
+
+    Stream.of(user.getPhotoUrl(), user.getPhotoThumbUrl())
+        .filter(Objects::nonNull)
+        .forEach(objectUrls::add);
+
+    storeFeedbackService.deleteAllByUser(user.getId());
+    authUserRepository.delete(user);
+    storageCleanupPort.deleteLater(objectUrls);
+  }
+
+  private void deleteStore(ThriftStore store, Set<UUID> processed, List<String> objectUrls) {
+    if (!processed.add(store.getId())) return; // avoid duplicate deletes
+    // Remove dependent rows first to satisfy FK constraints
+    authUserRepository.deleteFavoritesByStoreId(store.getId());
+    storeFeedbackRepository.deleteByThriftStoreId(store.getId());
+
+    if (store.getPhotos() != null) {
+      store.getPhotos().forEach(p -> objectUrls.addAll(p.objectUrls()));
+    }
+    thriftStoreRepository.delete(store);
+  }
+}
@@ -2,11 +2,13 @@ package com.edufelip.meer.domain;
 
 import com.edufelip.meer.core.auth.AuthUser;
 import com.edufelip.meer.core.store.ThriftStore;
-import com.edufelip.meer.domain.port.PhotoStoragePort;
+import com.edufelip.meer.core.store.ThriftStorePhoto;
+import com.edufelip.meer.domain.port.StorageCleanupPort;
 import com.edufelip.meer.domain.repo.AuthUserRepository;
 import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import jakarta.transaction.Transactional;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
@@ -15,19 +17,19 @@ public class DeleteThriftStoreUseCase {
   private final ThriftStoreRepository thriftStoreRepository;
   private final AuthUserRepository authUserRepository;
   private final StoreFeedbackRepository storeFeedbackRepository;
-  private final PhotoStoragePort photoStoragePort;
+  private final StorageCleanupPort storageCleanupPort;
   private final StoreOwnershipService storeOwnershipService;
 
   public DeleteThriftStoreUseCase(
       ThriftStoreRepository thriftStoreRepository,
       AuthUserRepository authUserRepository,
       StoreFeedbackRepository storeFeedbackRepository,
-      PhotoStoragePort photoStoragePort,
+      StorageCleanupPort storageCleanupPort,
       StoreOwnershipService storeOwnershipService) {
     this.thriftStoreRepository = thriftStoreRepository;
     this.authUserRepository = authUserRepository;
     this.storeFeedbackRepository = storeFeedbackRepository;
-    this.photoStoragePort = photoStoragePort;
+    this.storageCleanupPort = storageCleanupPort;
     this.storeOwnershipService = storeOwnershipService;
   }
 
@@ -59,7 +61,11 @@ public class DeleteThriftStoreUseCase {
     storeFeedbackRepository.deleteByThriftStoreId(storeId);
 
     if (store.getPhotos() != null) {
-      store.getPhotos().forEach(p -> photoStoragePort.deleteByUrl(p.getUrl()));
+      storageCleanupPort.deleteLater(
+          store.getPhotos().stream()
+              .map(ThriftStorePhoto::objectUrls)
+              .flatMap(List::stream)
+              .toList());
     }
     thriftStoreRepository.delete(store);
   }
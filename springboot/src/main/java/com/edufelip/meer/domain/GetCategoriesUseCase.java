@@ -4,7 +4,9 @@ import com.edufelip.meer.core.category.Category;
 import com.edufelip.meer.domain.repo.CategoryRepository;
 import java.util.List;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.transaction.annotation.Transactional;
 
+@Transactional(readOnly = true)
 public class GetCategoriesUseCase {
   private final CategoryRepository categoryRepository;
 
@@ -4,7 +4,9 @@ import com.edufelip.meer.core.content.GuideContent;
 import com.edufelip.meer.domain.repo.GuideContentRepository;
 import java.util.List;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.transaction.annotation.Transactional;
 
+@Transactional(readOnly = true)
 public class GetGuideContentUseCase {
   private final GuideContentRepository guideContentRepository;
 
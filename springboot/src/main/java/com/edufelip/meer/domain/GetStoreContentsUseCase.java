@@ -4,7 +4,9 @@ import com.edufelip.meer.core.content.GuideContent;
 import com.edufelip.meer.service.GuideContentEngagementService;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.transaction.annotation.Transactional;
 
+@Transactional(readOnly = true)
 public class GetStoreContentsUseCase {
 
   public record ContentItem(
@@ -5,10 +5,14 @@ import com.edufelip.meer.core.store.StoreFeedback;
 import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.domain.GetStoreContentsUseCase.ContentItem;
 import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
+import com.edufelip.meer.service.FavoriteService;
 import com.edufelip.meer.service.StoreFeedbackService;
+import io.micrometer.core.annotation.Timed;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.transaction.annotation.Transactional;
 
+@Transactional(readOnly = true)
 public class GetStoreDetailsUseCase {
 
   public record StoreDetails(
@@ -23,27 +27,30 @@ public class GetStoreDetailsUseCase {
   private final StoreFeedbackService storeFeedbackService;
   private final StoreFeedbackRepository storeFeedbackRepository;
   private final GetStoreContentsUseCase getStoreContentsUseCase;
+  private final FavoriteService favoriteService;
 
   public GetStoreDetailsUseCase(
       GetThriftStoreUseCase getThriftStoreUseCase,
       StoreFeedbackService storeFeedbackService,
       StoreFeedbackRepository storeFeedbackRepository,
-      GetStoreContentsUseCase getStoreContentsUseCase) {
+      GetStoreContentsUseCase getStoreContentsUseCase,
+      FavoriteService favoriteService) {
     this.getThriftStoreUseCase = getThriftStoreUseCase;
     this.storeFeedbackService = storeFeedbackService;
     this.storeFeedbackRepository = storeFeedbackRepository;
     this.getStoreContentsUseCase = getStoreContentsUseCase;
+    this.favoriteService = favoriteService;
   }
 
+  @Timed("meer.usecase")
   public StoreDetails execute(UUID storeId, AuthUser user) {
     ThriftStore store = getThriftStoreUseCase.execute(storeId);
     if (store == null) return null;
-    var summary = storeFeedbackService.getSummaries(List.of(store.getId())).get(store.getId());
+    var summary = storeFeedbackService.summariesOf(List.of(store)).get(store.getId());
     Double rating = summary != null ? summary.rating() : null;
     Integer reviewCount =
         summary != null && summary.reviewCount() != null ? summary.reviewCount().intValue() : null;
-    boolean isFav =
-        user != null && user.getFavorites().stream().anyMatch(f -> f.getId().equals(store.getId()));
+    boolean isFav = favoriteService.isFavorite(user, store.getId());
     Integer myRating =
         user != null
             ? storeFeedbackRepository
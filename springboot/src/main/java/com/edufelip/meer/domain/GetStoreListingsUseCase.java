@@ -4,17 +4,65 @@ import com.edufelip.meer.core.auth.AuthUser;
 import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.domain.repo.CategoryRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.service.FavoriteService;
 import com.edufelip.meer.service.StoreFeedbackService;
+import com.edufelip.meer.service.StoreSearchService;
+import io.micrometer.core.annotation.Timed;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+@Transactional(readOnly = true)
 public class GetStoreListingsUseCase {
 
+  /**
+   * Listing parameters. A non-null {@code cursor} switches to keyset pagination: an empty value
+   * requests the first page and {@code page} is ignored. The radius and bounding box only apply to
+   * nearby listings.
+   */
   public record ListingQuery(
-      String type, String categoryId, String q, Double lat, Double lng, int page, int pageSize) {}
+      String type,
+      String categoryId,
+      String q,
+      Double lat,
+      Double lng,
+      int page,
+      int pageSize,
+      String cursor,
+      Double radiusMeters,
+      Double minLat,
+      Double minLng,
+      Double maxLat,
+      Double maxLng) {
+    public ListingQuery(
+        String type, String categoryId, String q, Double lat, Double lng, int page, int pageSize) {
+      this(type, categoryId, q, lat, lng, page, pageSize, null);
+    }
+
+    public ListingQuery(
+        String type,
+        String categoryId,
+        String q,
+        Double lat,
+        Double lng,
+        int page,
+        int pageSize,
+        String cursor) {
+      this(type, categoryId, q, lat, lng, page, pageSize, cursor, null, null, null, null, null);
+    }
+
+    NearbyArea nearbyArea() {
+      return NearbyArea.of(lat, lng, radiusMeters, minLat, minLng, maxLat, maxLng);
+    }
+  }
 
   public record StoreListItem(
       ThriftStore store,
@@ -23,34 +71,54 @@ public class GetStoreListingsUseCase {
       boolean isFavorite,
       Double distanceMeters) {}
 
-  public record StoreListResult(List<StoreListItem> items, boolean hasNext) {}
+  public record StoreListResult(List<StoreListItem> items, boolean hasNext, String nextCursor) {
+    public StoreListResult(List<StoreListItem> items, boolean hasNext) {
+      this(items, hasNext, null);
+    }
+  }
 
   private final GetThriftStoresUseCase getThriftStoresUseCase;
   private final ThriftStoreRepository thriftStoreRepository;
   private final StoreFeedbackService storeFeedbackService;
   private final CategoryRepository categoryRepository;
+  private final StoreSearchService storeSearchService;
+  private final FavoriteService favoriteService;
 
   public GetStoreListingsUseCase(
       GetThriftStoresUseCase getThriftStoresUseCase,
       ThriftStoreRepository thriftStoreRepository,
       StoreFeedbackService storeFeedbackService,
-      CategoryRepository categoryRepository) {
+      CategoryRepository categoryRepository,
+      StoreSearchService storeSearchService,
+      FavoriteService favoriteService) {
     this.getThriftStoresUseCase = getThriftStoresUseCase;
     this.thriftStoreRepository = thriftStoreRepository;
     this.storeFeedbackService = storeFeedbackService;
     this.categoryRepository = categoryRepository;
+    this.storeSearchService = storeSearchService;
+    this.favoriteService = favoriteService;
   }
 
+  @Timed("meer.usecase")
   public StoreListResult execute(ListingQuery query, AuthUser user) {
     validateQuery(query);
+    if (query.cursor() != null) {
+      return executeKeyset(query, user);
+    }
+    if ("nearby".equalsIgnoreCase(query.type())) {
+      var nearby =
+          getThriftStoresUseCase.executeNearby(
+              query.lat(), query.lng(), query.nearbyArea(), query.page() - 1, query.pageSize());
+      Map<UUID, Double> distances = new HashMap<>();
+      nearby.forEach(n -> distances.put(n.store().getId(), n.distanceMeters()));
+      List<ThriftStore> stores =
+          nearby.getContent().stream().map(GetThriftStoresUseCase.NearbyStore::store).toList();
+      return new StoreListResult(toItems(stores, distances, query, user), nearby.hasNext());
+    }
     var pageable = PageRequest.of(query.page() - 1, query.pageSize());
-    var result =
-        "nearby".equalsIgnoreCase(query.type())
-            ? getThriftStoresUseCase.executeNearby(
-                query.lat(), query.lng(), query.page() - 1, query.pageSize())
-            : null;
-    if (result == null && query.q() != null && !query.q().isBlank()) {
-      result = thriftStoreRepository.searchRanked(query.q().trim(), pageable);
+    Slice<ThriftStore> result = null;
+    if (query.q() != null && !query.q().isBlank()) {
+      result = storeSearchService.search(query.q(), pageable);
     }
     if (result == null && query.categoryId() != null) {
       result = thriftStoreRepository.findByCategoryId(query.categoryId(), pageable);
@@ -59,41 +127,107 @@ public class GetStoreListingsUseCase {
       result = getThriftStoresUseCase.executePaged(query.page() - 1, query.pageSize());
     }
 
-    var storesPage = result.getContent();
-    var ids = storesPage.stream().map(ThriftStore::getId).toList();
-    var summaries = storeFeedbackService.getSummaries(ids);
-    Set<ThriftStore> favorites = user != null ? user.getFavorites() : Set.of();
-
-    var items =
-        storesPage.stream()
-            .map(
-                store -> {
-                  var summary = summaries.get(store.getId());
-                  Double rating = summary != null ? summary.rating() : null;
-                  Integer reviewCount =
-                      summary != null && summary.reviewCount() != null
-                          ? summary.reviewCount().intValue()
-                          : null;
-                  boolean isFav =
-                      user != null
-                          && favorites.stream().anyMatch(f -> f.getId().equals(store.getId()));
-                  Double distanceMeters =
-                      (query.lat() != null
-                              && query.lng() != null
-                              && store.getLatitude() != null
-                              && store.getLongitude() != null)
-                          ? distanceKm(
-                                  query.lat(),
-                                  query.lng(),
-                                  store.getLatitude(),
-                                  store.getLongitude())
-                              * 1000
-                          : null;
-                  return new StoreListItem(store, rating, reviewCount, isFav, distanceMeters);
-                })
-            .toList();
-
-    return new StoreListResult(items, result.hasNext());
+    return new StoreListResult(
+        toItems(result.getContent(), Map.of(), query, user), result.hasNext());
+  }
+
+  private StoreListResult executeKeyset(ListingQuery query, AuthUser user) {
+    int limit = query.pageSize() + 1;
+    var pageable = PageRequest.of(0, limit);
+    List<ThriftStore> stores;
+    Map<UUID, Double> distances = new HashMap<>();
+    Map<UUID, Double> scores = new HashMap<>();
+    String kind;
+
+    if ("nearby".equalsIgnoreCase(query.type())) {
+      kind = StoreCursor.NEARBY;
+      var after = StoreCursor.decode(query.cursor(), kind);
+      var nearby =
+          getThriftStoresUseCase.executeNearbyAfter(
+              query.lat(),
+              query.lng(),
+              query.nearbyArea(),
+              after != null ? after.rank() : -1,
+              after != null ? after.id() : StoreCursor.MIN_ID,
+              limit);
+      nearby.forEach(n -> distances.put(n.store().getId(), n.distanceMeters()));
+      stores = nearby.stream().map(GetThriftStoresUseCase.NearbyStore::store).toList();
+    } else if (query.q() != null && !query.q().isBlank()) {
+      kind = storeSearchService.cursorKind();
+      var after = StoreCursor.decode(query.cursor(), kind);
+      var hits = storeSearchService.searchAfter(query.q(), after, limit);
+      hits.forEach(hit -> scores.put(hit.storeId(), hit.score()));
+      stores = hydrateInOrder(hits.stream().map(StoreSearchService.SearchHit::storeId).toList());
+    } else {
+      kind = StoreCursor.RECENT;
+      var after = StoreCursor.decode(query.cursor(), kind);
+      var createdAt = after != null ? after.createdAt() : StoreCursor.MAX_CREATED_AT;
+      var id = after != null ? after.id() : StoreCursor.MAX_ID;
+      stores =
+          query.categoryId() != null
+              ? thriftStoreRepository.findByCategoryIdAfter(
+                  query.categoryId(), createdAt, id, pageable)
+              : thriftStoreRepository.findNewestAfter(createdAt, id, pageable);
+    }
+
+    boolean hasNext = stores.size() > query.pageSize();
+    List<ThriftStore> page = hasNext ? stores.subList(0, query.pageSize()) : stores;
+    String nextCursor = null;
+    if (hasNext) {
+      ThriftStore last = page.get(page.size() - 1);
+      StoreCursor cursor =
+          switch (kind) {
+            case StoreCursor.NEARBY ->
+                StoreCursor.nearby(distances.get(last.getId()), last.getId());
+            case StoreCursor.RECENT -> StoreCursor.recent(last.getCreatedAt(), last.getId());
+            default ->
+                StoreCursor.search(
+                    kind, scores.get(last.getId()), last.getCreatedAt(), last.getId());
+          };
+      nextCursor = cursor.encode();
+    }
+    return new StoreListResult(toItems(page, distances, query, user), hasNext, nextCursor);
+  }
+
+  private List<ThriftStore> hydrateInOrder(List<UUID> ids) {
+    if (ids.isEmpty()) return List.of();
+    Map<UUID, ThriftStore> byId = new HashMap<>();
+    thriftStoreRepository.findAllById(ids).forEach(store -> byId.put(store.getId(), store));
+    return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+  }
+
+  private List<StoreListItem> toItems(
+      List<ThriftStore> storesPage,
+      Map<UUID, Double> knownDistances,
+      ListingQuery query,
+      AuthUser user) {
+    var summaries = storeFeedbackService.summariesOf(storesPage);
+    List<UUID> ids = storesPage.stream().map(ThriftStore::getId).toList();
+    Set<UUID> favoriteIds = favoriteService.favoriteIdsAmong(user, ids);
+
+    return storesPage.stream()
+        .map(
+            store -> {
+              var summary = summaries.get(store.getId());
+              Double rating = summary != null ? summary.rating() : null;
+              Integer reviewCount =
+                  summary != null && summary.reviewCount() != null
+                      ? summary.reviewCount().intValue()
+                      : null;
+              boolean isFav = favoriteIds.contains(store.getId());
+              Double distanceMeters = knownDistances.get(store.getId());
+              if (distanceMeters == null
+                  && query.lat() != null
+                  && query.lng() != null
+                  && store.getLatitude() != null
+                  && store.getLongitude() != null) {
+                distanceMeters =
+                    distanceKm(query.lat(), query.lng(), store.getLatitude(), store.getLongitude())
+                        * 1000;
+              }
+              return new StoreListItem(store, rating, reviewCount, isFav, distanceMeters);
+            })
+        .toList();
   }
 
   private void validateQuery(ListingQuery query) {
@@ -105,6 +239,8 @@ public class GetStoreListingsUseCase {
         throw new ResponseStatusException(
             HttpStatus.BAD_REQUEST, "lat and lng are required for nearby search");
       }
+      // Rejects a malformed radius or bounding box before any query runs.
+      query.nearbyArea();
       return;
     }
     if ((query.q() == null || query.q().isBlank())
@@ -0,0 +1,84 @@
+package com.edufelip.meer.domain;
+
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keyset pages of stores by creation time for the category and dashboard listings. Each call reads
+ * {@code pageSize + 1} rows after the decoded cursor and returns the cursor of the page's last row
+ * when more follow. A blank cursor asks for the first page.
+ */
+@Transactional(readOnly = true)
+public class GetStoresAfterUseCase {
+
+  public record StorePage(List<ThriftStore> stores, boolean hasNext, String nextCursor) {}
+
+  private final ThriftStoreRepository thriftStoreRepository;
+
+  public GetStoresAfterUseCase(ThriftStoreRepository thriftStoreRepository) {
+    this.thriftStoreRepository = thriftStoreRepository;
+  }
+
+  /** Newest first; a blank {@code term} lists every store without a text filter. */
+  public StorePage newest(String term, String cursor, int pageSize) {
+    StoreCursor after = StoreCursor.decode(cursor, StoreCursor.RECENT);
+    var createdAt = after != null ? after.createdAt() : StoreCursor.MAX_CREATED_AT;
+    var id = after != null ? after.id() : StoreCursor.MAX_ID;
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+    List<ThriftStore> rows =
+        isBlank(term)
+            ? thriftStoreRepository.findNewestAfter(createdAt, id, limit)
+            : thriftStoreRepository.searchNewestAfter(term.trim(), createdAt, id, limit);
+    return page(rows, pageSize, StoreCursor::recent);
+  }
+
+  /** Oldest first; a blank {@code term} lists every store without a text filter. */
+  public StorePage oldest(String term, String cursor, int pageSize) {
+    StoreCursor after = StoreCursor.decode(cursor, StoreCursor.OLDEST);
+    var createdAt = after != null ? after.createdAt() : StoreCursor.MIN_CREATED_AT;
+    var id = after != null ? after.id() : StoreCursor.MIN_ID;
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+    List<ThriftStore> rows =
+        isBlank(term)
+            ? thriftStoreRepository.findOldestAfter(createdAt, id, limit)
+            : thriftStoreRepository.searchOldestAfter(term.trim(), createdAt, id, limit);
+    return page(rows, pageSize, StoreCursor::oldest);
+  }
+
+  /** Newest first within one category. */
+  public StorePage inCategory(String categoryId, String cursor, int pageSize) {
+    StoreCursor after = StoreCursor.decode(cursor, StoreCursor.RECENT);
+    List<ThriftStore> rows =
+        thriftStoreRepository.findByCategoryIdAfter(
+            categoryId,
+            after != null ? after.createdAt() : StoreCursor.MAX_CREATED_AT,
+            after != null ? after.id() : StoreCursor.MAX_ID,
+            PageRequest.of(0, pageSize + 1));
+    return page(rows, pageSize, StoreCursor::recent);
+  }
+
+  private static StorePage page(
+      List<ThriftStore> rows,
+      int pageSize,
+      BiFunction<Instant, UUID, StoreCursor> cursorOf) {
+    boolean hasNext = rows.size() > pageSize;
+    List<ThriftStore> stores = hasNext ? rows.subList(0, pageSize) : rows;
+    String nextCursor = null;
+    if (hasNext) {
+      ThriftStore last = stores.get(stores.size() - 1);
+      nextCursor = cursorOf.apply(last.getCreatedAt(), last.getId()).encode();
+    }
+    return new StorePage(stores, hasNext, nextCursor);
+  }
+
+  private static boolean isBlank(String term) {
+    return term == null || term.isBlank();
+  }
+}
@@ -3,7 +3,9 @@ package com.edufelip.meer.domain;
 import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import java.util.UUID;
+import org.springframework.transaction.annotation.Transactional;
 
+@Transactional(readOnly = true)
 public class GetThriftStoreUseCase {
   private final ThriftStoreRepository thriftStoreRepository;
 
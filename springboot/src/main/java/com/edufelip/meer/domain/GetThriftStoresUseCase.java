@@ -2,25 +2,57 @@ package com.edufelip.meer.domain;
 
 import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.service.StoreGeoIndex;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+@Transactional(readOnly = true)
 public class GetThriftStoresUseCase {
+  private static final Logger log = LoggerFactory.getLogger(GetThriftStoresUseCase.class);
+
+  public record NearbyStore(ThriftStore store, double distanceMeters) {}
+
+  /** How nearby queries reach the database when the in-memory geo index is not ready. */
+  public enum NearbyStrategy {
+    /** KNN on the indexed {@code geog} column. */
+    POSTGIS,
+    /** Portable great-circle sort over every store. */
+    HAVERSINE
+  }
+
   private final ThriftStoreRepository thriftStoreRepository;
   private final boolean preferPostgres;
   private final boolean postgisEnabled;
+  private final StoreGeoIndex storeGeoIndex;
+  private volatile NearbyStrategy nearbyStrategy = NearbyStrategy.HAVERSINE;
 
   public GetThriftStoresUseCase(
       ThriftStoreRepository thriftStoreRepository,
       @Value("${spring.datasource.url:}") String datasourceUrl,
-      @Value("${meer.postgis.enabled:false}") boolean postgisEnabled) {
+      @Value("${meer.postgis.enabled:false}") boolean postgisEnabled,
+      StoreGeoIndex storeGeoIndex) {
     this.thriftStoreRepository = thriftStoreRepository;
     this.preferPostgres = datasourceUrl != null && datasourceUrl.contains("postgresql");
     this.postgisEnabled = postgisEnabled;
+    this.storeGeoIndex = storeGeoIndex;
   }
 
   public List<ThriftStore> execute() {
@@ -36,20 +68,136 @@ public class GetThriftStoresUseCase {
     return thriftStoreRepository.findTop10ByOrderByCreatedAtDesc();
   }
 
-  public Page<ThriftStore> executeNearby(double lat, double lng, int page, int pageSize) {
-    if (preferPostgres && postgisEnabled) {
-      try {
-        // Prefer PostGIS geography KNN if extension + index are present
-        return thriftStoreRepository.findNearbyGeography(lat, lng, PageRequest.of(page, pageSize));
-      } catch (DataAccessException ex) {
-        // fall through to point KNN if geography unavailable
+  /**
+   * Picks the database strategy once the schema is migrated: PostGIS when running on Postgres with
+   * {@code meer.postgis.enabled} and the V17 geography index present, Haversine otherwise. Runs
+   * outside the class's read-only transaction so a failed check cannot mark it rollback-only.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void detectNearbyStrategy() {
+    nearbyStrategy =
+        preferPostgres && postgisEnabled && hasGeographyIndex()
+            ? NearbyStrategy.POSTGIS
+            : NearbyStrategy.HAVERSINE;
+    if (storeGeoIndex != null && storeGeoIndex.isEnabled()) {
+      log.info("Nearby stores served by the geo index, {} until it is ready", nearbyStrategy);
+    } else {
+      log.info("Nearby stores served by {}", nearbyStrategy);
+    }
+  }
+
+  public NearbyStrategy nearbyStrategy() {
+    return nearbyStrategy;
+  }
+
+  private boolean hasGeographyIndex() {
+    try {
+      return thriftStoreRepository.hasGeographyIndex();
+    } catch (DataAccessException ex) {
+      log.warn("PostGIS geography index check failed: {}", ex.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Offset-paged nearby lookup limited to {@code area}, nearest first. Distances come from the
+   * index or the query that ranked the stores; a slice avoids counting every candidate. Pages
+   * reaching past {@link StoreGeoIndex#MAX_DEPTH} are empty on either path.
+   */
+  public Slice<NearbyStore> executeNearby(
+      double lat, double lng, NearbyArea area, int page, int pageSize) {
+    PageRequest pageable = PageRequest.of(page, pageSize);
+    // One extra row tells whether another page follows.
+    long depth = pageable.getOffset() + pageSize + 1;
+    if (area.isEmpty() || depth > StoreGeoIndex.MAX_DEPTH) {
+      return new SliceImpl<>(List.of(), pageable, false);
+    }
+    if (storeGeoIndex != null && storeGeoIndex.isReady()) {
+      List<StoreGeoIndex.Neighbor> neighbors =
+          storeGeoIndex.nearest(lat, lng, area, (int) pageable.getOffset(), pageSize + 1);
+      boolean hasNext = neighbors.size() > pageSize;
+      Map<UUID, Double> distances = new LinkedHashMap<>();
+      for (StoreGeoIndex.Neighbor neighbor : hasNext ? neighbors.subList(0, pageSize) : neighbors) {
+        distances.put(neighbor.storeId(), neighbor.distanceMeters());
       }
-      try {
-        return thriftStoreRepository.findNearbyKnn(lat, lng, PageRequest.of(page, pageSize));
-      } catch (DataAccessException ex) {
-        // fall through to portable query if index missing
+      return new SliceImpl<>(load(distances), pageable, hasNext);
+    }
+    Slice<ThriftStoreRepository.NearbyHit> hits =
+        findNearby(lat, lng, area, -1, StoreCursor.MIN_ID, pageable);
+    return new SliceImpl<>(load(distancesOf(hits)), pageable, hits.hasNext());
+  }
+
+  public List<NearbyStore> executeNearbyAfter(
+      double lat, double lng, double afterDistance, UUID afterId, int limit) {
+    return executeNearbyAfter(lat, lng, NearbyArea.ANYWHERE, afterDistance, afterId, limit);
+  }
+
+  /**
+   * Keyset nearby lookup: up to {@code limit} stores in {@code area} strictly after the (distance,
+   * id) position, nearest first. Pass a negative distance to start from the origin.
+   */
+  public List<NearbyStore> executeNearbyAfter(
+      double lat, double lng, NearbyArea area, double afterDistance, UUID afterId, int limit) {
+    if (limit <= 0 || area.isEmpty()) return List.of();
+    if (storeGeoIndex != null && storeGeoIndex.isReady()) {
+      Map<UUID, Double> distances = new LinkedHashMap<>();
+      for (StoreGeoIndex.Neighbor neighbor :
+          storeGeoIndex.nearestAfter(lat, lng, area, afterDistance, afterId, limit)) {
+        distances.put(neighbor.storeId(), neighbor.distanceMeters());
       }
+      return load(distances);
+    }
+    return load(
+        distancesOf(findNearby(lat, lng, area, afterDistance, afterId, PageRequest.of(0, limit))));
+  }
+
+  private Slice<ThriftStoreRepository.NearbyHit> findNearby(
+      double lat, double lng, NearbyArea area, double afterDistance, UUID afterId, Pageable page) {
+    return nearbyStrategy == NearbyStrategy.POSTGIS
+        ? thriftStoreRepository.findNearbyGeographyWithin(
+            lat,
+            lng,
+            area.radiusMeters(),
+            area.minLat(),
+            area.minLng(),
+            area.maxLat(),
+            area.maxLng(),
+            afterDistance,
+            afterId,
+            page)
+        : thriftStoreRepository.findNearbyWithin(
+            lat,
+            lng,
+            area.radiusMeters(),
+            area.minLat(),
+            area.minLng(),
+            area.maxLat(),
+            area.maxLng(),
+            afterDistance,
+            afterId,
+            page);
+  }
+
+  private static Map<UUID, Double> distancesOf(Slice<ThriftStoreRepository.NearbyHit> hits) {
+    Map<UUID, Double> distances = new LinkedHashMap<>();
+    for (ThriftStoreRepository.NearbyHit hit : hits) {
+      distances.put(hit.getId(), hit.getDistance());
     }
-    return thriftStoreRepository.findNearbyHaversine(lat, lng, PageRequest.of(page, pageSize));
+    return distances;
+  }
+
+  /** Loads the ranked stores by id, keeping the ranking and the distances it was computed with. */
+  private List<NearbyStore> load(Map<UUID, Double> distances) {
+    if (distances.isEmpty()) return List.of();
+    Map<UUID, ThriftStore> byId = new HashMap<>();
+    thriftStoreRepository.findAllById(distances.keySet()).forEach(s -> byId.put(s.getId(), s));
+    List<NearbyStore> result = new ArrayList<>(distances.size());
+    distances.forEach(
+        (id, distance) -> {
+          ThriftStore store = byId.get(id);
+          if (store != null) result.add(new NearbyStore(store, distance));
+        });
+    return result;
   }
 }
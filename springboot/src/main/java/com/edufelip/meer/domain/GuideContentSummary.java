@@ -8,7 +8,11 @@ public record GuideContentSummary(
     String title,
     String description,
     String imageUrl,
+    String imageThumbUrl,
+    String imageCardUrl,
     UUID thriftStoreId,
     String thriftStoreName,
     String thriftStoreCoverImageUrl,
-    Instant createdAt) {}
+    Instant createdAt,
+    Long likeCount,
+    Long commentCount) {}
@@ -0,0 +1,115 @@
+package com.edufelip.meer.domain;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Where a nearby query may look: stores at most {@code radiusMeters} from the origin and inside the
+ * lat/lng box. The box is the caller's viewport intersected with the box that circumscribes the
+ * radius, so the database and the geo index can prune on plain coordinate ranges before computing
+ * exact distances.
+ */
+public record NearbyArea(
+    double radiusMeters, double minLat, double minLng, double maxLat, double maxLng) {
+
+  static final double EARTH_RADIUS_METERS = 6_371_000.0;
+
+  /** Longer than any great-circle distance, so it never filters anything out. */
+  static final double UNBOUNDED_RADIUS_METERS = Math.PI * EARTH_RADIUS_METERS + 100_000;
+
+  public static final double MAX_RADIUS_METERS = 500_000;
+
+  public static final NearbyArea ANYWHERE =
+      new NearbyArea(UNBOUNDED_RADIUS_METERS, -90, -180, 90, 180);
+
+  /**
+   * Validates the optional request filters. The box needs all four corners and must not cross the
+   * antimeridian; the radius must be positive and at most {@link #MAX_RADIUS_METERS}.
+   */
+  public static NearbyArea of(
+      double lat,
+      double lng,
+      Double radiusMeters,
+      Double minLat,
+      Double minLng,
+      Double maxLat,
+      Double maxLng) {
+    boolean anyCorner = minLat != null || minLng != null || maxLat != null || maxLng != null;
+    boolean allCorners = minLat != null && minLng != null && maxLat != null && maxLng != null;
+    if (anyCorner && !allCorners) {
+      throw badRequest("minLat, minLng, maxLat and maxLng must be sent together");
+    }
+    if (allCorners
+        && (!validLat(minLat)
+            || !validLat(maxLat)
+            || !validLng(minLng)
+            || !validLng(maxLng)
+            || minLat > maxLat
+            || minLng > maxLng)) {
+      throw badRequest("Invalid bounding box");
+    }
+    if (radiusMeters != null && (!(radiusMeters > 0) || radiusMeters > MAX_RADIUS_METERS)) {
+      throw badRequest("radiusMeters must be between 0 and " + (long) MAX_RADIUS_METERS);
+    }
+    if (radiusMeters == null && !allCorners) return ANYWHERE;
+
+    NearbyArea area =
+        allCorners
+            ? new NearbyArea(UNBOUNDED_RADIUS_METERS, minLat, minLng, maxLat, maxLng)
+            : ANYWHERE;
+    return radiusMeters == null ? area : area.within(lat, lng, radiusMeters);
+  }
+
+  public boolean isAnywhere() {
+    return equals(ANYWHERE);
+  }
+
+  /** True when the radius and the viewport do not overlap, so no store can match. */
+  public boolean isEmpty() {
+    return minLat > maxLat || minLng > maxLng;
+  }
+
+  public boolean containsCoordinates(double lat, double lng) {
+    return lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+  }
+
+  /**
+   * Narrows the box to the one circumscribing a circle of {@code radius} around the origin,
+   * widening longitude to the full range when the circle reaches a pole.
+   */
+  private NearbyArea within(double lat, double lng, double radius) {
+    double angular = radius / EARTH_RADIUS_METERS;
+    double latRadians = Math.toRadians(lat);
+    double circleMinLat = Math.toDegrees(latRadians - angular);
+    double circleMaxLat = Math.toDegrees(latRadians + angular);
+    double circleMinLng = -180;
+    double circleMaxLng = 180;
+    if (circleMinLat > -90 && circleMaxLat < 90) {
+      double deltaLng =
+          Math.toDegrees(Math.asin(Math.min(1, Math.sin(angular) / Math.cos(latRadians))));
+      // Circles crossing the antimeridian keep the full longitude range rather than two boxes.
+      if (lng - deltaLng >= -180 && lng + deltaLng <= 180) {
+        circleMinLng = lng - deltaLng;
+        circleMaxLng = lng + deltaLng;
+      }
+    }
+    return new NearbyArea(
+        Math.min(radiusMeters, radius),
+        Math.max(minLat, circleMinLat),
+        Math.max(minLng, circleMinLng),
+        Math.min(maxLat, circleMaxLat),
+        Math.min(maxLng, circleMaxLng));
+  }
+
+  private static boolean validLat(double value) {
+    return value >= -90 && value <= 90;
+  }
+
+  private static boolean validLng(double value) {
+    return value >= -180 && value <= 180;
+  }
+
+  private static ResponseStatusException badRequest(String message) {
+    return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+  }
+}
@@ -0,0 +1,13 @@
+package com.edufelip.meer.domain;
+
+import com.edufelip.meer.core.push.PushToken;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one batched send. {@code invalidTokenIds} are tokens FCM reported as unregistered and
+ * should be deleted; {@code retryable} failed with a transient error and may be sent again;
+ * {@code failed} counts the remaining permanent failures.
+ */
+public record PushBatchResult(
+    int sent, int failed, List<UUID> invalidTokenIds, List<PushToken> retryable) {}
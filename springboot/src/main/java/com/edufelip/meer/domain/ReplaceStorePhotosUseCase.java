@@ -3,7 +3,9 @@ package com.edufelip.meer.domain;
 import com.edufelip.meer.core.auth.AuthUser;
 import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.core.store.ThriftStorePhoto;
+import com.edufelip.meer.domain.port.ImageVariantPort;
 import com.edufelip.meer.domain.port.PhotoStoragePort;
+import com.edufelip.meer.domain.port.StorageCleanupPort;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -24,14 +26,20 @@ public class ReplaceStorePhotosUseCase {
   private final ThriftStoreRepository thriftStoreRepository;
   private final StoreOwnershipService storeOwnershipService;
   private final PhotoStoragePort photoStoragePort;
+  private final ImageVariantPort imageVariantPort;
+  private final StorageCleanupPort storageCleanupPort;
 
   public ReplaceStorePhotosUseCase(
       ThriftStoreRepository thriftStoreRepository,
       StoreOwnershipService storeOwnershipService,
-      PhotoStoragePort photoStoragePort) {
+      PhotoStoragePort photoStoragePort,
+      ImageVariantPort imageVariantPort,
+      StorageCleanupPort storageCleanupPort) {
     this.thriftStoreRepository = thriftStoreRepository;
     this.storeOwnershipService = storeOwnershipService;
     this.photoStoragePort = photoStoragePort;
+    this.imageVariantPort = imageVariantPort;
+    this.storageCleanupPort = storageCleanupPort;
   }
 
   public ThriftStore execute(AuthUser user, UUID storeId, Command command) {
@@ -78,19 +86,21 @@ public class ReplaceStorePhotosUseCase {
       existingById.put(p.getId(), p);
     }
 
-    // handle deletions
+    // handle deletions; objects are only removed once the new photo list is saved
+    List<ThriftStorePhoto> removedPhotos = new ArrayList<>();
     List<Integer> deleteIds = command.deletePhotoIds();
     if (deleteIds != null && !deleteIds.isEmpty()) {
       for (Integer delId : deleteIds) {
         var removed = existingById.remove(delId);
         if (removed != null) {
           log.info("Deleting store photo (explicit) storeId={} photoId={}", storeId, delId);
-          photoStoragePort.deleteByUrl(removed.getUrl());
+          removedPhotos.add(removed);
         }
       }
     }
 
     List<ThriftStorePhoto> finalPhotos = new ArrayList<>();
+    List<String> addedUrls = new ArrayList<>();
     items.sort(Comparator.comparing(PhotoItem::position));
 
     for (var item : items) {
@@ -122,6 +132,7 @@ public class ReplaceStorePhotosUseCase {
       validateStoredObject(storedObject, item.fileKey());
       String viewUrl = photoStoragePort.publicUrl(item.fileKey());
       finalPhotos.add(new ThriftStorePhoto(store, viewUrl, item.position()));
+      addedUrls.add(viewUrl);
     }
 
     // Mutate managed collection in place to avoid orphanRemoval issues
@@ -142,6 +153,8 @@ public class ReplaceStorePhotosUseCase {
       store.setCoverImageUrl(null);
     }
     thriftStoreRepository.save(store);
+    addedUrls.forEach(
+        url -> imageVariantPort.requestVariants(ImageVariantPort.Target.STORE_PHOTO, url));
 
     // Clean up any photos not kept nor explicitly deleted (implicit removals)
     if (!existingById.isEmpty()) {
@@ -153,9 +166,13 @@ public class ReplaceStorePhotosUseCase {
                     "Deleting store photo (implicit) storeId={} photoId={}",
                     storeId,
                     photo.getId());
-                photoStoragePort.deleteByUrl(photo.getUrl());
+                removedPhotos.add(photo);
               });
     }
+    if (!removedPhotos.isEmpty()) {
+      storageCleanupPort.deleteLater(
+          removedPhotos.stream().map(ThriftStorePhoto::objectUrls).flatMap(List::stream).toList());
+    }
 
     return thriftStoreRepository.findById(storeId).orElseThrow();
   }
@@ -0,0 +1,96 @@
+package com.edufelip.meer.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Opaque keyset position for store listings. {@code kind} pins the cursor to the ordering it was
+ * issued for; {@code rank} carries the search score or the distance in meters, {@code createdAt}
+ * the recency key, and {@code id} breaks ties.
+ */
+public record StoreCursor(String kind, Double rank, Instant createdAt, UUID id) {
+
+  public static final String RECENT = "recent";
+  public static final String OLDEST = "oldest";
+  public static final String NEARBY = "nearby";
+  public static final String SEARCH = "search";
+  public static final String FULL_TEXT = "fts";
+
+  /** Upper bounds used as the position before the first row of a descending scan. */
+  public static final Instant MAX_CREATED_AT = Instant.parse("9999-12-31T23:59:59Z");
+
+  public static final Instant MIN_CREATED_AT = Instant.EPOCH;
+  public static final UUID MAX_ID = new UUID(-1L, -1L);
+  public static final UUID MIN_ID = new UUID(0L, 0L);
+
+  private static final String SEPARATOR = "|";
+
+  public static StoreCursor recent(Instant createdAt, UUID id) {
+    return new StoreCursor(RECENT, null, createdAt, id);
+  }
+
+  public static StoreCursor oldest(Instant createdAt, UUID id) {
+    return new StoreCursor(OLDEST, null, createdAt, id);
+  }
+
+  public static StoreCursor nearby(double distanceMeters, UUID id) {
+    return new StoreCursor(NEARBY, distanceMeters, null, id);
+  }
+
+  /** Search position; {@code kind} is {@link #SEARCH} (LIKE bucket) or {@link #FULL_TEXT}. */
+  public static StoreCursor search(String kind, double score, Instant createdAt, UUID id) {
+    return new StoreCursor(kind, score, createdAt, id);
+  }
+
+  public String encode() {
+    String raw =
+        String.join(
+            SEPARATOR,
+            kind,
+            rank != null ? Double.toString(rank) : "",
+            createdAt != null ? createdAt.toString() : "",
+            id.toString());
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a cursor issued for {@code expectedKind}. Returns null for a blank value, which asks
+   * for the first keyset page.
+   */
+  public static StoreCursor decode(String value, String expectedKind) {
+    if (value == null || value.isBlank()) return null;
+    try {
+      String raw =
+          new String(Base64.getUrlDecoder().decode(value.trim()), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|", -1);
+      if (parts.length != 4 || !parts[0].equals(expectedKind)) {
+        throw invalid();
+      }
+      Double rank = parts[1].isEmpty() ? null : Double.valueOf(parts[1]);
+      Instant createdAt = parts[2].isEmpty() ? null : Instant.parse(parts[2]);
+      StoreCursor cursor = new StoreCursor(parts[0], rank, createdAt, UUID.fromString(parts[3]));
+      boolean needsRank =
+          NEARBY.equals(expectedKind)
+              || SEARCH.equals(expectedKind)
+              || FULL_TEXT.equals(expectedKind);
+      boolean needsCreatedAt = !NEARBY.equals(expectedKind);
+      if ((needsRank && rank == null) || (needsCreatedAt && createdAt == null)) {
+        throw invalid();
+      }
+      return cursor;
+    } catch (IllegalArgumentException | DateTimeParseException ex) {
+      throw invalid();
+    }
+  }
+
+  private static ResponseStatusException invalid() {
+    return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+  }
+}
@@ -1,6 +1,7 @@
 package com.edufelip.meer.domain;
 
 import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.domain.port.ImageVariantPort;
 import com.edufelip.meer.domain.repo.GuideContentRepository;
 import com.edufelip.meer.util.UrlValidatorUtil;
 import org.springframework.http.HttpStatus;
@@ -12,12 +13,15 @@ public class UpdateGuideContentUseCase {
 
   private final GuideContentRepository guideContentRepository;
   private final StoreOwnershipService storeOwnershipService;
+  private final ImageVariantPort imageVariantPort;
 
   public UpdateGuideContentUseCase(
       GuideContentRepository guideContentRepository,
-      StoreOwnershipService storeOwnershipService) {
+      StoreOwnershipService storeOwnershipService,
+      ImageVariantPort imageVariantPort) {
     this.guideContentRepository = guideContentRepository;
     this.storeOwnershipService = storeOwnershipService;
+    this.imageVariantPort = imageVariantPort;
   }
 
   public com.edufelip.meer.core.content.GuideContent execute(
@@ -50,7 +54,9 @@ public class UpdateGuideContentUseCase {
     if (command.description() != null) {
       content.setDescription(command.description());
     }
+    boolean imageChanged = false;
     if (command.imageUrl() != null) {
+      imageChanged = !command.imageUrl().equals(content.getImageUrl());
       try {
         UrlValidatorUtil.ensureHttpUrl(command.imageUrl(), "imageUrl");
       } catch (IllegalArgumentException ex) {
@@ -64,7 +70,11 @@ public class UpdateGuideContentUseCase {
     if (content.getType() == null) {
       content.setType(DEFAULT_TYPE);
     }
-    return guideContentRepository.save(content);
+    var saved = guideContentRepository.save(content);
+    if (imageChanged) {
+      imageVariantPort.requestVariants(ImageVariantPort.Target.GUIDE_IMAGE, saved.getImageUrl());
+    }
+    return saved;
   }
 
   public record Command(String title, String description, String imageUrl) {}
@@ -27,6 +27,22 @@ public class UpsertPushTokenUseCase {
       PushPlatform platform,
       String appVersion,
       PushEnvironment environment) {
+    execute(userId, deviceId, fcmToken, platform, appVersion, environment, null, null);
+  }
+
+  /**
+   * Also records the device's location for location-targeted pushes when both coordinates are
+   * given and in range; otherwise the last known location is kept.
+   */
+  public void execute(
+      UUID userId,
+      String deviceId,
+      String fcmToken,
+      PushPlatform platform,
+      String appVersion,
+      PushEnvironment environment,
+      Double latitude,
+      Double longitude) {
     if (userId == null) {
       throw new IllegalArgumentException("userId is required");
     }
@@ -76,7 +92,21 @@ public class UpsertPushTokenUseCase {
     token.setPlatform(platform);
     token.setAppVersion(normalizedAppVersion);
     token.setLastSeenAt(now);
+    if (isValidLocation(latitude, longitude)) {
+      token.setLastLatitude(latitude);
+      token.setLastLongitude(longitude);
+      token.setLastLocationAt(now);
+    }
 
     pushTokenRepository.save(token);
   }
+
+  private static boolean isValidLocation(Double latitude, Double longitude) {
+    return latitude != null
+        && longitude != null
+        && latitude >= -90
+        && latitude <= 90
+        && longitude >= -180
+        && longitude <= 180;
+  }
 }
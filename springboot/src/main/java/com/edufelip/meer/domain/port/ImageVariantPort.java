@@ -0,0 +1,22 @@
+package com.edufelip.meer.domain.port;
+
+/** Generates resized variants of uploaded images in the background. */
+public interface ImageVariantPort {
+
+  /** Where an image is referenced from, which decides the variants it gets. */
+  enum Target {
+    /** Store gallery photos and covers: thumb, card and full. */
+    STORE_PHOTO,
+    /** Profile pictures: thumb. */
+    AVATAR,
+    /** Guide content images: thumb and card. */
+    GUIDE_IMAGE
+  }
+
+  /**
+   * Schedules variants for the image at {@code url} once the current transaction commits. URLs
+   * outside our storage are ignored, and so is a request the pool has no room for; the image is
+   * then served at its original size.
+   */
+  void requestVariants(Target target, String url);
+}
@@ -1,19 +1,51 @@
 package com.edufelip.meer.domain.port;
 
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PhotoStoragePort {
 
+  /** Most keys {@link #deleteAll} takes in one call, the GCS batch request limit. */
+  int MAX_DELETE_BATCH = 100;
+
   record UploadSlot(String uploadUrl, String fileKey, String contentType) {}
 
   record StoredObject(String contentType, Long size) {}
 
+  /** A listed object; {@code createdAt} is null when the backend does not report it. */
+  record ListedObject(String fileKey, Instant createdAt) {}
+
   List<UploadSlot> createUploadSlots(UUID storeId, int count, List<String> contentTypes);
 
   StoredObject fetchRequired(String fileKey);
 
   String publicUrl(String fileKey);
 
+  /** Object key behind one of our URLs, or null when the URL does not point to our storage. */
+  String fileKeyOf(String url);
+
+  byte[] download(String fileKey);
+
+  /** Streams the object for readers that only need its beginning; the caller closes it. */
+  InputStream openStream(String fileKey);
+
+  /** Stores {@code content} under {@code fileKey} and returns its public URL. */
+  String upload(String fileKey, String contentType, byte[] content);
+
   void deleteByUrl(String url);
+
+  /**
+   * Deletes up to {@link #MAX_DELETE_BATCH} objects in one round trip. Objects that are already
+   * gone count as deleted; returns the keys whose delete failed and should be retried.
+   */
+  List<String> deleteAll(List<String> fileKeys);
+
+  /** Key prefixes clients upload to directly through signed URLs. */
+  List<String> uploadPrefixes();
+
+  /** Objects under {@code prefix}, fetched page by page as the stream is consumed. */
+  Stream<ListedObject> listObjects(String prefix);
 }
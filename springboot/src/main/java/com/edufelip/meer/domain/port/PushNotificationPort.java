@@ -1,22 +1,27 @@
 package com.edufelip.meer.domain.port;
 
-import com.edufelip.meer.core.push.PushEnvironment;
+import com.edufelip.meer.core.push.PushToken;
+import com.edufelip.meer.domain.PushBatchResult;
 import com.edufelip.meer.domain.PushNotificationException;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 public interface PushNotificationPort {
 
+  /** Largest number of tokens {@link #sendToTokens} accepts in one call (the FCM limit). */
+  int MAX_BATCH_SIZE = 500;
+
   String sendTestPush(String token, String title, String body, String type, String id)
       throws PushNotificationException;
 
   String sendToTopic(String topic, String title, String body, Map<String, String> data)
       throws PushNotificationException;
 
-  int sendToUser(
-      UUID userId,
-      PushEnvironment environment,
-      String title,
-      String body,
-      Map<String, String> data);
+  /**
+   * Sends one message per token in a single FCM request. Per-token failures are reported in the
+   * result; the exception means the whole request failed and nothing is known to be delivered.
+   */
+  PushBatchResult sendToTokens(
+      List<PushToken> tokens, String title, String body, Map<String, String> data)
+      throws PushNotificationException;
 }
@@ -0,0 +1,15 @@
+package com.edufelip.meer.domain.port;
+
+import java.util.Collection;
+
+/** Deletes storage objects once the change that orphaned them has committed. */
+public interface StorageCleanupPort {
+  /**
+   * Queues the objects behind {@code urls} for deletion in the current transaction; nulls are
+   * ignored. If the transaction rolls back, nothing is deleted.
+   */
+  void deleteLater(Collection<String> urls);
+
+  /** Same as {@link #deleteLater} for object keys that are already known. */
+  void deleteKeysLater(Collection<String> fileKeys);
+}
@@ -2,6 +2,8 @@ package com.edufelip.meer.domain.repo;
 
 import com.edufelip.meer.core.auth.AuthUser;
 import jakarta.transaction.Transactional;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,10 +18,55 @@ public interface AuthUserRepository extends JpaRepository<AuthUser, UUID> {
   Page<AuthUser> findByEmailContainingIgnoreCaseOrDisplayNameContainingIgnoreCase(
       String email, String name, Pageable pageable);
 
+  /** Attaches a generated thumbnail to the users whose photo is still {@code url}. */
+  @Modifying
+  @Transactional
+  @Query("update AuthUser u set u.photoThumbUrl = :thumbUrl where u.photoUrl = :url")
+  int updatePhotoThumb(@Param("url") String url, @Param("thumbUrl") String thumbUrl);
+
   @Modifying
   @Transactional
   @Query(
       value = "delete from auth_user_favorites where thrift_store_id = :storeId",
       nativeQuery = true)
   void deleteFavoritesByStoreId(@Param("storeId") UUID storeId);
+
+  @Query(
+      value = "select thrift_store_id from auth_user_favorites where auth_user_id = :userId",
+      nativeQuery = true)
+  List<UUID> findFavoriteStoreIds(@Param("userId") UUID userId);
+
+  /** Which of {@code storeIds} the user has favorited; served by the (user, store) primary key. */
+  @Query(
+      value =
+          """
+        select thrift_store_id from auth_user_favorites
+        where auth_user_id = :userId and thrift_store_id in (:storeIds)
+        """,
+      nativeQuery = true)
+  List<UUID> findFavoriteStoreIdsIn(
+      @Param("userId") UUID userId, @Param("storeIds") Collection<UUID> storeIds);
+
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          """
+        insert into auth_user_favorites (auth_user_id, thrift_store_id)
+        select :userId, :storeId
+        where not exists (
+            select 1 from auth_user_favorites
+            where auth_user_id = :userId and thrift_store_id = :storeId)
+        """,
+      nativeQuery = true)
+  int addFavorite(@Param("userId") UUID userId, @Param("storeId") UUID storeId);
+
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "delete from auth_user_favorites"
+              + " where auth_user_id = :userId and thrift_store_id = :storeId",
+      nativeQuery = true)
+  int removeFavorite(@Param("userId") UUID userId, @Param("storeId") UUID storeId);
 }
@@ -13,15 +13,6 @@ import org.springframework.data.repository.query.Param;
 public interface GuideContentCommentRepository extends JpaRepository<GuideContentComment, Integer> {
   Page<GuideContentComment> findByContentId(Integer contentId, Pageable pageable);
 
-  @Query(
-      """
-            select c.content.id as contentId, count(c) as cnt
-            from GuideContentComment c
-            where c.content.id in :contentIds
-            group by c.content.id
-            """)
-  List<CountView> countByContentIds(@Param("contentIds") List<Integer> contentIds);
-
   @Query(
       value =
           """
@@ -63,10 +54,4 @@ public interface GuideContentCommentRepository extends JpaRepository<GuideConten
       @Param("to") Instant to,
       @Param("search") String search,
       Pageable pageable);
-
-  interface CountView {
-    Integer getContentId();
-
-    Long getCnt();
-  }
 }
@@ -11,16 +11,6 @@ public interface GuideContentLikeRepository extends JpaRepository<GuideContentLi
 
   boolean existsByUserIdAndContentId(UUID userId, Integer contentId);
 
-  @org.springframework.data.jpa.repository.Query(
-      """
-            select l.content.id as contentId, count(l) as cnt
-            from GuideContentLike l
-            where l.content.id in :contentIds
-            group by l.content.id
-            """)
-  List<CountView> countByContentIds(
-      @org.springframework.data.repository.query.Param("contentIds") List<Integer> contentIds);
-
   @org.springframework.data.jpa.repository.Query(
       """
             select l.content.id
@@ -30,10 +20,4 @@ public interface GuideContentLikeRepository extends JpaRepository<GuideContentLi
   List<Integer> findLikedContentIds(
       @org.springframework.data.repository.query.Param("userId") UUID userId,
       @org.springframework.data.repository.query.Param("contentIds") List<Integer> contentIds);
-
-  interface CountView {
-    Integer getContentId();
-
-    Long getCnt();
-  }
 }
@@ -2,6 +2,7 @@ package com.edufelip.meer.domain.repo;
 
 import com.edufelip.meer.core.content.GuideContent;
 import com.edufelip.meer.domain.GuideContentSummary;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -38,6 +39,49 @@ public interface GuideContentRepository extends JpaRepository<GuideContent, Inte
       "update GuideContent c set c.commentCount = case when c.commentCount > 0 then c.commentCount - 1 else 0 end where c.id = :contentId")
   void decrementCommentCount(@Param("contentId") Integer contentId);
 
+  /** Attaches generated variants to the contents whose image is still {@code url}. */
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update GuideContent c
+      set c.imageThumbUrl = :thumbUrl, c.imageCardUrl = :cardUrl
+      where c.imageUrl = :url
+      """)
+  int updateImageVariants(
+      @Param("url") String url,
+      @Param("thumbUrl") String thumbUrl,
+      @Param("cardUrl") String cardUrl);
+
+  /** Denormalized like/comment counters for the given contents, read straight from the rows. */
+  @Query(
+      """
+      select c.id as id, c.likeCount as likeCount, c.commentCount as commentCount
+      from GuideContent c
+      where c.id in :contentIds
+      """)
+  List<CounterView> findCounters(@Param("contentIds") Collection<Integer> contentIds);
+
+  /**
+   * Recomputes {@code like_count}/{@code comment_count} for every content whose stored values
+   * drifted from the like and comment tables. Returns the number of contents corrected.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          """
+        UPDATE guide_content c
+        SET like_count = (SELECT COUNT(*) FROM guide_content_like l WHERE l.content_id = c.id),
+            comment_count = (SELECT COUNT(*) FROM guide_content_comment m
+                             WHERE m.content_id = c.id)
+        WHERE c.like_count <> (SELECT COUNT(*) FROM guide_content_like l WHERE l.content_id = c.id)
+           OR c.comment_count <> (SELECT COUNT(*) FROM guide_content_comment m
+                                  WHERE m.content_id = c.id)
+        """,
+      nativeQuery = true)
+  int reconcileCounters();
+
   List<GuideContent> findByThriftStoreId(UUID thriftStoreId);
 
   List<GuideContent> findByThriftStoreIdAndDeletedAtIsNull(UUID thriftStoreId);
@@ -61,10 +105,14 @@ public interface GuideContentRepository extends JpaRepository<GuideContent, Inte
                 c.title,
                 c.description,
                 c.imageUrl,
+                c.imageThumbUrl,
+                c.imageCardUrl,
                 s.id,
                 s.name,
                 s.coverImageUrl,
-                c.createdAt
+                c.createdAt,
+                c.likeCount,
+                c.commentCount
             )
             from GuideContent c
             left join c.thriftStore s
@@ -79,10 +127,14 @@ public interface GuideContentRepository extends JpaRepository<GuideContent, Inte
                 c.title,
                 c.description,
                 c.imageUrl,
+                c.imageThumbUrl,
+                c.imageCardUrl,
                 s.id,
                 s.name,
                 s.coverImageUrl,
-                c.createdAt
+                c.createdAt,
+                c.likeCount,
+                c.commentCount
             )
             from GuideContent c
             left join c.thriftStore s
@@ -96,10 +148,14 @@ public interface GuideContentRepository extends JpaRepository<GuideContent, Inte
                 c.title,
                 c.description,
                 c.imageUrl,
+                c.imageThumbUrl,
+                c.imageCardUrl,
                 s.id,
                 s.name,
                 s.coverImageUrl,
-                c.createdAt
+                c.createdAt,
+                c.likeCount,
+                c.commentCount
             )
             from GuideContent c
             left join c.thriftStore s
@@ -116,10 +172,14 @@ public interface GuideContentRepository extends JpaRepository<GuideContent, Inte
                 c.title,
                 c.description,
                 c.imageUrl,
+                c.imageThumbUrl,
+                c.imageCardUrl,
                 s.id,
                 s.name,
                 s.coverImageUrl,
-                c.createdAt
+                c.createdAt,
+                c.likeCount,
+                c.commentCount
             )
             from GuideContent c
             left join c.thriftStore s
@@ -135,10 +195,14 @@ public interface GuideContentRepository extends JpaRepository<GuideContent, Inte
                 c.title,
                 c.description,
                 c.imageUrl,
+                c.imageThumbUrl,
+                c.imageCardUrl,
                 s.id,
                 s.name,
                 s.coverImageUrl,
-                c.createdAt
+                c.createdAt,
+                c.likeCount,
+                c.commentCount
             )
             from GuideContent c
             left join c.thriftStore s
@@ -156,10 +220,14 @@ public interface GuideContentRepository extends JpaRepository<GuideContent, Inte
                 c.title,
                 c.description,
                 c.imageUrl,
+                c.imageThumbUrl,
+                c.imageCardUrl,
                 s.id,
                 s.name,
                 s.coverImageUrl,
-                c.createdAt
+                c.createdAt,
+                c.likeCount,
+                c.commentCount
             )
             from GuideContent c
             left join c.thriftStore s
@@ -176,10 +244,14 @@ public interface GuideContentRepository extends JpaRepository<GuideContent, Inte
                 c.title,
                 c.description,
                 c.imageUrl,
+                c.imageThumbUrl,
+                c.imageCardUrl,
                 s.id,
                 s.name,
                 s.coverImageUrl,
-                c.createdAt
+                c.createdAt,
+                c.likeCount,
+                c.commentCount
             )
             from GuideContent c
             left join c.thriftStore s
@@ -202,10 +274,14 @@ public interface GuideContentRepository extends JpaRepository<GuideContent, Inte
                 c.title,
                 c.description,
                 c.imageUrl,
+                c.imageThumbUrl,
+                c.imageCardUrl,
                 s.id,
                 s.name,
                 s.coverImageUrl,
-                c.createdAt
+                c.createdAt,
+                c.likeCount,
+                c.commentCount
             )
             from GuideContent c
             left join c.thriftStore s
@@ -219,4 +295,12 @@ public interface GuideContentRepository extends JpaRepository<GuideContent, Inte
       @org.springframework.data.repository.query.Param("storeId") UUID storeId,
       @org.springframework.data.repository.query.Param("q") String q,
       Pageable pageable);
+
+  interface CounterView {
+    Integer getId();
+
+    Long getLikeCount();
+
+    Long getCommentCount();
+  }
 }
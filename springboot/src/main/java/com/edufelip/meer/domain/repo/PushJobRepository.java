@@ -0,0 +1,158 @@
+package com.edufelip.meer.domain.repo;
+
+import com.edufelip.meer.core.push.PushJob;
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PushJobRepository extends JpaRepository<PushJob, UUID> {
+
+  /** Jobs ready to run: pending and due, or running under a lease that has expired. */
+  @Query(
+      """
+      select j.id from PushJob j
+      where (j.status = com.edufelip.meer.core.push.PushJobStatus.PENDING
+             and j.nextAttemptAt <= :now)
+         or (j.status = com.edufelip.meer.core.push.PushJobStatus.RUNNING
+             and j.leaseUntil < :now)
+      order by j.nextAttemptAt
+      """)
+  List<UUID> findDueIds(@Param("now") Instant now, Pageable pageable);
+
+  /**
+   * Takes the job if it is still due. The conditional update is the lock: of several instances
+   * polling the same row only one sees an update count of 1. {@code owner} is a fresh token per
+   * claim that every later write must present, so a worker whose lease was taken over can no longer
+   * touch the job.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update PushJob j
+      set j.status = com.edufelip.meer.core.push.PushJobStatus.RUNNING,
+          j.leaseOwner = :owner,
+          j.leaseUntil = :leaseUntil,
+          j.attempts = j.attempts + 1
+      where j.id = :id
+        and ((j.status = com.edufelip.meer.core.push.PushJobStatus.PENDING
+              and j.nextAttemptAt <= :now)
+          or (j.status = com.edufelip.meer.core.push.PushJobStatus.RUNNING
+              and j.leaseUntil < :now))
+      """)
+  int claim(
+      @Param("id") UUID id,
+      @Param("owner") UUID owner,
+      @Param("now") Instant now,
+      @Param("leaseUntil") Instant leaseUntil);
+
+  /**
+   * Records a finished batch and extends the lease, provided {@code owner} still holds an unexpired
+   * one. Zero means the job was lost and the caller must stop sending.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update PushJob j
+      set j.cursorUserId = :cursorUserId,
+          j.cursorTokenId = :cursorTokenId,
+          j.sentCount = j.sentCount + :sent,
+          j.failedCount = j.failedCount + :failed,
+          j.removedTokenCount = j.removedTokenCount + :removed,
+          j.leaseUntil = :leaseUntil
+      where j.id = :id
+        and j.leaseOwner = :owner
+        and j.leaseUntil > :now
+      """)
+  int recordProgress(
+      @Param("id") UUID id,
+      @Param("owner") UUID owner,
+      @Param("cursorUserId") UUID cursorUserId,
+      @Param("cursorTokenId") UUID cursorTokenId,
+      @Param("sent") int sent,
+      @Param("failed") int failed,
+      @Param("removed") int removed,
+      @Param("now") Instant now,
+      @Param("leaseUntil") Instant leaseUntil);
+
+  /** Marks the job done if {@code owner} still holds an unexpired lease on it. */
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update PushJob j
+      set j.status = com.edufelip.meer.core.push.PushJobStatus.COMPLETED,
+          j.completedAt = :now,
+          j.leaseOwner = null,
+          j.leaseUntil = null,
+          j.lastError = null
+      where j.id = :id
+        and j.leaseOwner = :owner
+        and j.leaseUntil > :now
+      """)
+  int complete(@Param("id") UUID id, @Param("owner") UUID owner, @Param("now") Instant now);
+
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update PushJob j
+      set j.status = com.edufelip.meer.core.push.PushJobStatus.PENDING,
+          j.nextAttemptAt = :nextAttemptAt,
+          j.leaseOwner = null,
+          j.leaseUntil = null,
+          j.lastError = :error
+      where j.id = :id
+        and j.leaseOwner = :owner
+      """)
+  int reschedule(
+      @Param("id") UUID id,
+      @Param("owner") UUID owner,
+      @Param("nextAttemptAt") Instant nextAttemptAt,
+      @Param("error") String error);
+
+  /**
+   * Hands back a job claimed but never started (the executor rejected it) without using up an
+   * attempt, so it is due again right away.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update PushJob j
+      set j.status = com.edufelip.meer.core.push.PushJobStatus.PENDING,
+          j.nextAttemptAt = :now,
+          j.leaseOwner = null,
+          j.leaseUntil = null,
+          j.attempts = j.attempts - 1
+      where j.id = :id
+        and j.leaseOwner = :owner
+      """)
+  int release(@Param("id") UUID id, @Param("owner") UUID owner, @Param("now") Instant now);
+
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update PushJob j
+      set j.status = com.edufelip.meer.core.push.PushJobStatus.FAILED,
+          j.completedAt = :now,
+          j.leaseOwner = null,
+          j.leaseUntil = null,
+          j.lastError = :error
+      where j.id = :id
+        and j.leaseOwner = :owner
+      """)
+  int fail(
+      @Param("id") UUID id,
+      @Param("owner") UUID owner,
+      @Param("now") Instant now,
+      @Param("error") String error);
+}
@@ -6,6 +6,7 @@ import jakarta.transaction.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -17,6 +18,75 @@ public interface PushTokenRepository extends JpaRepository<PushToken, UUID> {
 
   List<PushToken> findByUserIdAndEnvironment(UUID userId, PushEnvironment environment);
 
+  /** Next page of a user's tokens after {@code afterId}, in id order. */
+  @Query(
+      """
+      select t from PushToken t
+      where t.userId = :userId and t.environment = :environment and t.id > :afterId
+      order by t.id
+      """)
+  List<PushToken> findUserBatch(
+      @Param("userId") UUID userId,
+      @Param("environment") PushEnvironment environment,
+      @Param("afterId") UUID afterId,
+      Pageable pageable);
+
+  /**
+   * Next page of tokens of users who favorited {@code storeId}, after the ({@code afterUserId},
+   * {@code afterId}) keyset position. Ordered by user first so the scan follows the store's
+   * favoriters index instead of re-reading the whole audience for every page.
+   */
+  @Query(
+      value =
+          """
+          SELECT t.* FROM auth_user_favorites f
+          JOIN push_token t ON t.auth_user_id = f.auth_user_id
+          WHERE f.thrift_store_id = :storeId
+            AND t.environment = :environment
+            AND f.auth_user_id >= :afterUserId
+            AND (f.auth_user_id > :afterUserId OR t.id > :afterId)
+          ORDER BY f.auth_user_id, t.id
+          """,
+      nativeQuery = true)
+  List<PushToken> findStoreFavoritesBatch(
+      @Param("storeId") UUID storeId,
+      @Param("environment") String environment,
+      @Param("afterUserId") UUID afterUserId,
+      @Param("afterId") UUID afterId,
+      Pageable pageable);
+
+  /**
+   * Next page of tokens last seen within {@code radiusMeters} of a point, in id order. The bounding
+   * box narrows the rows before the Haversine distance is evaluated.
+   */
+  @Query(
+      value =
+          """
+          SELECT t.* FROM push_token t
+          WHERE t.environment = :environment
+            AND t.id > :afterId
+            AND t.last_latitude IS NOT NULL AND t.last_longitude IS NOT NULL
+            AND t.last_latitude BETWEEN :minLat AND :maxLat
+            AND t.last_longitude BETWEEN :minLng AND :maxLng
+            AND 6371000 * acos(LEAST(1,
+                    cos(radians(:lat)) * cos(radians(t.last_latitude)) *
+                    cos(radians(t.last_longitude) - radians(:lng)) +
+                    sin(radians(:lat)) * sin(radians(t.last_latitude)))) <= :radiusMeters
+          ORDER BY t.id
+          """,
+      nativeQuery = true)
+  List<PushToken> findNearBatch(
+      @Param("environment") String environment,
+      @Param("lat") double lat,
+      @Param("lng") double lng,
+      @Param("radiusMeters") double radiusMeters,
+      @Param("minLat") double minLat,
+      @Param("maxLat") double maxLat,
+      @Param("minLng") double minLng,
+      @Param("maxLng") double maxLng,
+      @Param("afterId") UUID afterId,
+      Pageable pageable);
+
   @Modifying
   @Transactional
   @Query(
@@ -0,0 +1,63 @@
+package com.edufelip.meer.domain.repo;
+
+import com.edufelip.meer.core.storage.StorageDeletion;
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StorageDeletionRepository extends JpaRepository<StorageDeletion, UUID> {
+
+  @Query(
+      """
+      select d.id from StorageDeletion d
+      where d.nextAttemptAt <= :now
+      order by d.nextAttemptAt
+      """)
+  List<UUID> findDueIds(@Param("now") Instant now, Pageable pageable);
+
+  /**
+   * Tags the rows that are still due with {@code token} and pushes them out to {@code leaseUntil},
+   * so another instance polling the same ids skips them and a crashed worker's rows come due again.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update StorageDeletion d
+      set d.claimToken = :token,
+          d.nextAttemptAt = :leaseUntil,
+          d.attempts = d.attempts + 1
+      where d.id in :ids
+        and d.nextAttemptAt <= :now
+      """)
+  int claim(
+      @Param("ids") Collection<UUID> ids,
+      @Param("token") UUID token,
+      @Param("now") Instant now,
+      @Param("leaseUntil") Instant leaseUntil);
+
+  List<StorageDeletion> findByClaimToken(UUID claimToken);
+
+  /** Schedules another attempt, or gives up on the row when {@code nextAttemptAt} is null. */
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update StorageDeletion d
+      set d.nextAttemptAt = :nextAttemptAt,
+          d.claimToken = null,
+          d.lastError = :error
+      where d.id = :id
+      """)
+  int retry(
+      @Param("id") UUID id,
+      @Param("nextAttemptAt") Instant nextAttemptAt,
+      @Param("error") String error);
+}
@@ -26,6 +26,16 @@ public interface StoreFeedbackRepository extends JpaRepository<StoreFeedback, In
 
   void deleteByThriftStoreId(UUID storeId);
 
+  interface UserScoreView {
+    UUID getStoreId();
+
+    Integer getScore();
+  }
+
+  @Query(
+      "select f.thriftStore.id as storeId, f.score as score from StoreFeedback f where f.user.id = :userId and f.score is not null")
+  List<UserScoreView> findScoresByUserId(@Param("userId") UUID userId);
+
   @Query(
       "select f.thriftStore.id as storeId, avg(f.score) as avgScore, count(f) as cnt from StoreFeedback f where f.thriftStore.id in :storeIds and f.score is not null group by f.thriftStore.id")
   List<AggregateView> aggregateByStoreIds(@Param("storeIds") List<UUID> storeIds);
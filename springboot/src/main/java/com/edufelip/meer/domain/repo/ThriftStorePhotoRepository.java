@@ -1,6 +1,26 @@
 package com.edufelip.meer.domain.repo;
 
 import com.edufelip.meer.core.store.ThriftStorePhoto;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ThriftStorePhotoRepository extends JpaRepository<ThriftStorePhoto, Integer> {}
+public interface ThriftStorePhotoRepository extends JpaRepository<ThriftStorePhoto, Integer> {
+
+  /** Attaches generated variants to the photos still pointing at {@code url}. */
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update ThriftStorePhoto p
+      set p.thumbUrl = :thumbUrl, p.cardUrl = :cardUrl, p.fullUrl = :fullUrl
+      where p.url = :url
+      """)
+  int updateVariants(
+      @Param("url") String url,
+      @Param("thumbUrl") String thumbUrl,
+      @Param("cardUrl") String cardUrl,
+      @Param("fullUrl") String fullUrl);
+}
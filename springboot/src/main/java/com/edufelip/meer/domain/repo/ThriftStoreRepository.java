@@ -1,14 +1,19 @@
 package com.edufelip.meer.domain.repo;
 
 import com.edufelip.meer.core.store.ThriftStore;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface ThriftStoreRepository extends JpaRepository<ThriftStore, UUID> {
 
@@ -19,65 +24,22 @@ public interface ThriftStoreRepository extends JpaRepository<ThriftStore, UUID>
   @EntityGraph(attributePaths = "photos")
   List<ThriftStore> findTop10ByOrderByCreatedAtDesc();
 
-  /** Preferred KNN using PostGIS geography (requires postgis extension). */
+  /** Whether the V17 geography index exists; fails on databases without {@code to_regclass}. */
   @Query(
-      value =
-          """
-                SELECT * FROM thrift_store ts
-                WHERE ts.latitude IS NOT NULL AND ts.longitude IS NOT NULL
-                ORDER BY geography(ST_SetSRID(ST_MakePoint(ts.longitude, ts.latitude), 4326))
-                         <-> geography(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326))
-                """,
-      countQuery =
-          """
-                SELECT count(*) FROM thrift_store ts
-                WHERE ts.latitude IS NOT NULL AND ts.longitude IS NOT NULL
-                """,
-      nativeQuery = true)
-  Page<ThriftStore> findNearbyGeography(
-      @Param("lat") double lat, @Param("lng") double lng, Pageable pageable);
-
-  /**
-   * Fast path for Postgres using KNN on point; expects a GiST index on point(longitude, latitude).
-   */
-  @Query(
-      value =
-          """
-                SELECT * FROM thrift_store ts
-                WHERE ts.latitude IS NOT NULL AND ts.longitude IS NOT NULL
-                ORDER BY point(ts.longitude, ts.latitude) <-> point(:lng, :lat)
-                """,
-      countQuery =
-          """
-                SELECT count(*) FROM thrift_store ts
-                WHERE ts.latitude IS NOT NULL AND ts.longitude IS NOT NULL
-                """,
+      value = "SELECT to_regclass('public.thrift_store_geog_idx') IS NOT NULL",
       nativeQuery = true)
-  Page<ThriftStore> findNearbyKnn(
-      @Param("lat") double lat, @Param("lng") double lng, Pageable pageable);
+  boolean hasGeographyIndex();
 
-  /**
-   * Portable fallback using Haversine; works on H2 and Postgres but without KNN index acceleration.
-   */
+  /** Whether the V10 search function and indexes exist; fails on databases without them. */
   @Query(
       value =
           """
-                SELECT * FROM thrift_store ts
-                WHERE ts.latitude IS NOT NULL AND ts.longitude IS NOT NULL
-                ORDER BY (6371 * acos(
-                    LEAST(1, cos(radians(:lat)) * cos(radians(ts.latitude)) *
-                              cos(radians(ts.longitude) - radians(:lng)) +
-                              sin(radians(:lat)) * sin(radians(ts.latitude))
-                    ))) ASC
-                """,
-      countQuery =
-          """
-                SELECT count(*) FROM thrift_store ts
-                WHERE ts.latitude IS NOT NULL AND ts.longitude IS NOT NULL
-                """,
+          SELECT to_regprocedure('public.meer_unaccent(text)') IS NOT NULL
+             AND to_regclass('public.idx_thrift_store_search_vector') IS NOT NULL
+             AND to_regclass('public.idx_thrift_store_name_trgm') IS NOT NULL
+          """,
       nativeQuery = true)
-  Page<ThriftStore> findNearbyHaversine(
-      @Param("lat") double lat, @Param("lng") double lng, Pageable pageable);
+  boolean hasFullTextObjects();
 
   @Query(
       """
@@ -110,7 +72,353 @@ public interface ThriftStoreRepository extends JpaRepository<ThriftStore, UUID>
             length(t.name),
             t.createdAt desc
         """)
-  Page<ThriftStore> searchRanked(@Param("q") String q, Pageable pageable);
+  Slice<ThriftStore> searchRanked(@Param("q") String q, Pageable pageable);
+
+  /**
+   * Postgres full-text search (V10): weighted tsvector match on name/neighborhood/tagline/
+   * description plus trigram-backed substring match on the name, ranked by ts_rank + similarity.
+   * {@code tsquery} is a prefix query such as {@code "brecho:* & centro:*"}.
+   */
+  @Query(
+      value =
+          """
+                SELECT ts.* FROM thrift_store ts
+                WHERE ts.search_vector @@ to_tsquery('portuguese', meer_unaccent(:tsquery))
+                   OR meer_unaccent(lower(ts.name)) LIKE concat('%', meer_unaccent(lower(:q)), '%')
+                ORDER BY ts_rank(ts.search_vector, to_tsquery('portuguese', meer_unaccent(:tsquery)))
+                         + similarity(meer_unaccent(lower(ts.name)), meer_unaccent(lower(:q))) DESC,
+                         ts.created_at DESC,
+                         ts.id DESC
+                """,
+      nativeQuery = true)
+  Slice<ThriftStore> searchFullText(
+      @Param("q") String q, @Param("tsquery") String tsquery, Pageable pageable);
+
+  /** Keyset counterpart of {@link #searchFullText}; scores descend, ties fall back to recency. */
+  @Query(
+      value =
+          """
+                SELECT r.id AS id, r.score AS score FROM (
+                    SELECT ts.id, ts.created_at,
+                        CAST(ts_rank(ts.search_vector,
+                                     to_tsquery('portuguese', meer_unaccent(:tsquery)))
+                             + similarity(meer_unaccent(lower(ts.name)),
+                                          meer_unaccent(lower(:q))) AS double precision) AS score
+                    FROM thrift_store ts
+                    WHERE ts.search_vector @@ to_tsquery('portuguese', meer_unaccent(:tsquery))
+                       OR meer_unaccent(lower(ts.name)) LIKE concat('%', meer_unaccent(lower(:q)), '%')
+                ) r
+                WHERE r.score < :score
+                   OR (r.score = :score AND (r.created_at, r.id) < (:createdAt, :id))
+                ORDER BY r.score DESC, r.created_at DESC, r.id DESC
+                """,
+      nativeQuery = true)
+  List<FullTextHit> searchFullTextAfter(
+      @Param("q") String q,
+      @Param("tsquery") String tsquery,
+      @Param("score") double score,
+      @Param("createdAt") Instant createdAt,
+      @Param("id") UUID id,
+      Pageable pageable);
 
   List<ThriftStore> findByOwnerId(UUID ownerId);
+
+  // Keyset (seek) variants: callers pass the last row of the previous page and ask for
+  // pageSize + 1 rows, so no OFFSET scan or count query is needed.
+
+  /** Newest first, every store. */
+  @Query(
+      value =
+          """
+                SELECT ts.* FROM thrift_store ts
+                WHERE (ts.created_at, ts.id) < (:createdAt, :id)
+                ORDER BY ts.created_at DESC, ts.id DESC
+                """,
+      nativeQuery = true)
+  List<ThriftStore> findNewestAfter(
+      @Param("createdAt") Instant createdAt, @Param("id") UUID id, Pageable pageable);
+
+  /** Newest first among stores matching a case-insensitive term. */
+  @Query(
+      value =
+          """
+                SELECT ts.* FROM thrift_store ts
+                WHERE (lower(ts.name) LIKE concat('%', lower(:q), '%')
+                       OR lower(ts.tagline) LIKE concat('%', lower(:q), '%')
+                       OR lower(ts.description) LIKE concat('%', lower(:q), '%')
+                       OR lower(ts.neighborhood) LIKE concat('%', lower(:q), '%'))
+                  AND (ts.created_at, ts.id) < (:createdAt, :id)
+                ORDER BY ts.created_at DESC, ts.id DESC
+                """,
+      nativeQuery = true)
+  List<ThriftStore> searchNewestAfter(
+      @Param("q") String q,
+      @Param("createdAt") Instant createdAt,
+      @Param("id") UUID id,
+      Pageable pageable);
+
+  /** Oldest first, every store. */
+  @Query(
+      value =
+          """
+                SELECT ts.* FROM thrift_store ts
+                WHERE (ts.created_at, ts.id) > (:createdAt, :id)
+                ORDER BY ts.created_at ASC, ts.id ASC
+                """,
+      nativeQuery = true)
+  List<ThriftStore> findOldestAfter(
+      @Param("createdAt") Instant createdAt, @Param("id") UUID id, Pageable pageable);
+
+  /** Oldest first among stores matching a case-insensitive term. */
+  @Query(
+      value =
+          """
+                SELECT ts.* FROM thrift_store ts
+                WHERE (lower(ts.name) LIKE concat('%', lower(:q), '%')
+                       OR lower(ts.tagline) LIKE concat('%', lower(:q), '%')
+                       OR lower(ts.description) LIKE concat('%', lower(:q), '%')
+                       OR lower(ts.neighborhood) LIKE concat('%', lower(:q), '%'))
+                  AND (ts.created_at, ts.id) > (:createdAt, :id)
+                ORDER BY ts.created_at ASC, ts.id ASC
+                """,
+      nativeQuery = true)
+  List<ThriftStore> searchOldestAfter(
+      @Param("q") String q,
+      @Param("createdAt") Instant createdAt,
+      @Param("id") UUID id,
+      Pageable pageable);
+
+  @Query(
+      value =
+          """
+                SELECT ts.* FROM thrift_store ts
+                WHERE EXISTS (
+                        SELECT 1 FROM thrift_store_categories c
+                        WHERE c.thrift_store_id = ts.id
+                          AND lower(c.categories) = lower(:categoryId))
+                  AND (ts.created_at, ts.id) < (:createdAt, :id)
+                ORDER BY ts.created_at DESC, ts.id DESC
+                """,
+      nativeQuery = true)
+  List<ThriftStore> findByCategoryIdAfter(
+      @Param("categoryId") String categoryId,
+      @Param("createdAt") Instant createdAt,
+      @Param("id") UUID id,
+      Pageable pageable);
+
+  /**
+   * Keyset counterpart of {@link #searchRanked}: ranks by match bucket, then newest first. Only ids
+   * and buckets are returned; callers hydrate the page with {@code findAllById}.
+   */
+  @Query(
+      value =
+          """
+                SELECT r.id AS id, r.score AS score FROM (
+                    SELECT ts.id, ts.created_at,
+                        CASE
+                            WHEN lower(ts.name) = lower(:q) THEN 0
+                            WHEN lower(ts.name) LIKE concat(lower(:q), '%') THEN 1
+                            WHEN lower(ts.name) LIKE concat('%', lower(:q), '%') THEN 2
+                            WHEN lower(ts.tagline) LIKE concat('%', lower(:q), '%') THEN 3
+                            WHEN lower(ts.description) LIKE concat('%', lower(:q), '%') THEN 4
+                            ELSE 5
+                        END AS score
+                    FROM thrift_store ts
+                    WHERE lower(ts.name) LIKE concat('%', lower(:q), '%')
+                       OR lower(ts.tagline) LIKE concat('%', lower(:q), '%')
+                       OR lower(ts.description) LIKE concat('%', lower(:q), '%')
+                       OR lower(ts.neighborhood) LIKE concat('%', lower(:q), '%')
+                ) r
+                WHERE r.score > :score
+                   OR (r.score = :score AND (r.created_at, r.id) < (:createdAt, :id))
+                ORDER BY r.score ASC, r.created_at DESC, r.id DESC
+                """,
+      nativeQuery = true)
+  List<SearchHit> searchRankedAfter(
+      @Param("q") String q,
+      @Param("score") int score,
+      @Param("createdAt") Instant createdAt,
+      @Param("id") UUID id,
+      Pageable pageable);
+
+  /**
+   * Keyset nearby scan ordered by great-circle distance in meters, then id. Portable across H2 and
+   * Postgres; returns ids with their distance so the next cursor matches the ordering exactly. The
+   * lat/lng range (served by the V18 index) prunes candidates before distances are computed, and
+   * {@code radius} drops the corners of the box. Pass a negative distance to start from the origin.
+   */
+  @Query(
+      value =
+          """
+                SELECT n.id AS id, n.distance AS distance FROM (
+                    SELECT ts.id,
+                        6371000 * acos(
+                            LEAST(1, cos(radians(:lat)) * cos(radians(ts.latitude)) *
+                                      cos(radians(ts.longitude) - radians(:lng)) +
+                                      sin(radians(:lat)) * sin(radians(ts.latitude))
+                            )) AS distance
+                    FROM thrift_store ts
+                    WHERE ts.latitude BETWEEN :minLat AND :maxLat
+                      AND ts.longitude BETWEEN :minLng AND :maxLng
+                ) n
+                WHERE n.distance <= :radius
+                  AND (n.distance > :distance OR (n.distance = :distance AND n.id > :id))
+                ORDER BY n.distance ASC, n.id ASC
+                """,
+      nativeQuery = true)
+  Slice<NearbyHit> findNearbyWithin(
+      @Param("lat") double lat,
+      @Param("lng") double lng,
+      @Param("radius") double radius,
+      @Param("minLat") double minLat,
+      @Param("minLng") double minLng,
+      @Param("maxLat") double maxLat,
+      @Param("maxLng") double maxLng,
+      @Param("distance") double distance,
+      @Param("id") UUID id,
+      Pageable pageable);
+
+  /**
+   * {@link #findNearbyWithin} on the {@code geog} column (V17): {@code ST_DWithin} and the KNN
+   * ordering are both answered by its GiST index, so only stores inside the radius are ever read.
+   * Only used once {@link #hasGeographyIndex()} confirmed the column exists. Distances are on the
+   * sphere, in meters.
+   */
+  @Query(
+      value =
+          """
+                SELECT ts.id AS id,
+                    ts.geog <-> ST_MakePoint(:lng, :lat)::geography AS distance
+                FROM thrift_store ts
+                WHERE ST_DWithin(ts.geog, ST_MakePoint(:lng, :lat)::geography, :radius, false)
+                  AND ts.latitude BETWEEN :minLat AND :maxLat
+                  AND ts.longitude BETWEEN :minLng AND :maxLng
+                  AND (ts.geog <-> ST_MakePoint(:lng, :lat)::geography > :distance
+                    OR (ts.geog <-> ST_MakePoint(:lng, :lat)::geography = :distance
+                        AND ts.id > :id))
+                ORDER BY ts.geog <-> ST_MakePoint(:lng, :lat)::geography, ts.id
+                """,
+      nativeQuery = true)
+  Slice<NearbyHit> findNearbyGeographyWithin(
+      @Param("lat") double lat,
+      @Param("lng") double lng,
+      @Param("radius") double radius,
+      @Param("minLat") double minLat,
+      @Param("minLng") double minLng,
+      @Param("maxLat") double maxLat,
+      @Param("maxLng") double maxLng,
+      @Param("distance") double distance,
+      @Param("id") UUID id,
+      Pageable pageable);
+
+  interface SearchHit {
+    UUID getId();
+
+    Integer getScore();
+  }
+
+  interface FullTextHit {
+    UUID getId();
+
+    Double getScore();
+  }
+
+  interface NearbyHit {
+    UUID getId();
+
+    Double getDistance();
+  }
+
+  /** Lightweight coordinate scan used to build the in-memory geo index. */
+  @Query(
+      """
+        select t.id as id, t.latitude as latitude, t.longitude as longitude
+        from ThriftStore t
+        where t.latitude is not null and t.longitude is not null
+        """)
+  List<StoreCoordinateView> findAllCoordinates();
+
+  /** One store's coordinates, to refresh its entry in the geo index after a write. */
+  @Query(
+      """
+        select t.id as id, t.latitude as latitude, t.longitude as longitude
+        from ThriftStore t
+        where t.id = :id
+        """)
+  Optional<StoreCoordinateView> findCoordinatesById(@Param("id") UUID id);
+
+  /** Coordinates inside a lat/lng box, for map tiles while the geo index is not loaded. */
+  @Query(
+      """
+        select t.id as id, t.latitude as latitude, t.longitude as longitude
+        from ThriftStore t
+        where t.latitude between :minLat and :maxLat
+          and t.longitude between :minLng and :maxLng
+        """)
+  List<StoreCoordinateView> findCoordinatesWithin(
+      @Param("minLat") double minLat,
+      @Param("minLng") double minLng,
+      @Param("maxLat") double maxLat,
+      @Param("maxLng") double maxLng);
+
+  interface StoreCoordinateView {
+    UUID getId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+  }
+
+  /** Applies a rating delta in place; counters never drop below zero. */
+  @Modifying
+  @Transactional
+  @Query(
+      """
+        update ThriftStore t
+        set t.ratingSum = case when t.ratingSum + :sumDelta > 0 then t.ratingSum + :sumDelta else 0 end,
+            t.ratingCount = case when t.ratingCount + :countDelta > 0 then t.ratingCount + :countDelta else 0 end
+        where t.id = :storeId
+        """)
+  int adjustRating(
+      @Param("storeId") UUID storeId,
+      @Param("sumDelta") long sumDelta,
+      @Param("countDelta") long countDelta);
+
+  @Query(
+      """
+        select t.id as id, t.ratingSum as ratingSum, t.ratingCount as ratingCount
+        from ThriftStore t
+        where t.id in :ids and t.ratingCount > 0
+        """)
+  List<RatingCounterView> findRatingCounters(@Param("ids") List<UUID> ids);
+
+  interface RatingCounterView {
+    UUID getId();
+
+    Long getRatingSum();
+
+    Long getRatingCount();
+  }
+
+  /**
+   * Recomputes the rating counters of every store whose stored values drifted from {@code
+   * store_feedback}. Returns the number of stores corrected.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          """
+        UPDATE thrift_store s
+        SET rating_sum = COALESCE((SELECT SUM(f.score) FROM store_feedback f
+                                   WHERE f.thrift_store_id = s.id AND f.score IS NOT NULL), 0),
+            rating_count = (SELECT COUNT(*) FROM store_feedback f
+                            WHERE f.thrift_store_id = s.id AND f.score IS NOT NULL)
+        WHERE s.rating_sum <> COALESCE((SELECT SUM(f.score) FROM store_feedback f
+                                        WHERE f.thrift_store_id = s.id AND f.score IS NOT NULL), 0)
+           OR s.rating_count <> (SELECT COUNT(*) FROM store_feedback f
+                                 WHERE f.thrift_store_id = s.id AND f.score IS NOT NULL)
+        """,
+      nativeQuery = true)
+  int reconcileRatings();
 }
@@ -1,6 +1,8 @@
 package com.edufelip.meer.dto;
 
 import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.core.store.ThriftStorePhoto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.UUID;
 
 public record FavoriteStoreDto(
@@ -11,7 +13,8 @@ public record FavoriteStoreDto(
     Double latitude,
     Double longitude,
     Boolean isFavorite,
-    Double distanceMeters) {
+    Double distanceMeters,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String coverThumbUrl) {
 
   public FavoriteStoreDto(ThriftStore store, Double originLat, Double originLng, Boolean isFavorite) {
     this(
@@ -23,6 +26,7 @@ public record FavoriteStoreDto(
         store.getLongitude(),
         isFavorite,
         StoreDtoCalculations.distanceMeters(
-            originLat, originLng, store.getLatitude(), store.getLongitude()));
+            originLat, originLng, store.getLatitude(), store.getLongitude()),
+        StoreDtoCalculations.firstPhotoVariant(store, ThriftStorePhoto::getThumbUrl));
   }
 }
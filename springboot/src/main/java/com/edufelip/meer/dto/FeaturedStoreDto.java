@@ -1,10 +1,20 @@
 package com.edufelip.meer.dto;
 
 import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.core.store.ThriftStorePhoto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.UUID;
 
-public record FeaturedStoreDto(UUID id, String name, String coverImageUrl) {
+public record FeaturedStoreDto(
+    UUID id,
+    String name,
+    String coverImageUrl,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String coverThumbUrl) {
   public FeaturedStoreDto(ThriftStore store) {
-    this(store.getId(), store.getName(), StoreDtoCalculations.firstPhotoOrCover(store));
+    this(
+        store.getId(),
+        store.getName(),
+        StoreDtoCalculations.firstPhotoOrCover(store),
+        StoreDtoCalculations.firstPhotoVariant(store, ThriftStorePhoto::getThumbUrl));
   }
 }
@@ -1,5 +1,7 @@
 package com.edufelip.meer.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public record GuideContentDto(
     Integer id,
     String title,
@@ -11,4 +13,6 @@ public record GuideContentDto(
     java.time.Instant createdAt,
     Long likeCount,
     Long commentCount,
-    Boolean likedByMe) {}
+    Boolean likedByMe,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String imageThumbUrl,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String imageCardUrl) {}
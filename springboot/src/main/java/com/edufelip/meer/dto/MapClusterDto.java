@@ -0,0 +1,7 @@
+package com.edufelip.meer.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/** A map marker: a single store when {@code count} is 1, otherwise a cluster at its centroid. */
+public record MapClusterDto(double latitude, double longitude, int count, List<UUID> storeIds) {}
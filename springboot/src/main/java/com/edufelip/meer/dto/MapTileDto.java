@@ -0,0 +1,5 @@
+package com.edufelip.meer.dto;
+
+import java.util.List;
+
+public record MapTileDto(int z, int x, int y, List<MapClusterDto> clusters) {}
@@ -1,6 +1,8 @@
 package com.edufelip.meer.dto;
 
 import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.core.store.ThriftStorePhoto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,7 +20,9 @@ public record NearbyStoreDto(
     Double rating,
     Integer reviewCount,
     Double distanceMeters,
-    Integer walkTimeMinutes) {
+    Integer walkTimeMinutes,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String coverThumbUrl,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String coverCardUrl) {
 
   private record NearbyStoreParts(
       UUID id,
@@ -34,16 +38,18 @@ public record NearbyStoreDto(
       Double rating,
       Integer reviewCount,
       Double distanceMeters,
-      Integer walkTimeMinutes) {}
+      Integer walkTimeMinutes,
+      String coverThumbUrl,
+      String coverCardUrl) {}
 
+  /** {@code distanceMeters} is the distance the store was ranked by, not recomputed here. */
   public NearbyStoreDto(
       ThriftStore store,
-      Double originLat,
-      Double originLng,
+      Double distanceMeters,
       Boolean isFavorite,
       Double rating,
       Integer reviewCount) {
-    this(buildParts(store, originLat, originLng, isFavorite, rating, reviewCount));
+    this(buildParts(store, distanceMeters, isFavorite, rating, reviewCount));
   }
 
   private NearbyStoreDto(NearbyStoreParts parts) {
@@ -61,19 +67,17 @@ public record NearbyStoreDto(
         parts.rating(),
         parts.reviewCount(),
         parts.distanceMeters(),
-        parts.walkTimeMinutes());
+        parts.walkTimeMinutes(),
+        parts.coverThumbUrl(),
+        parts.coverCardUrl());
   }
 
   private static NearbyStoreParts buildParts(
       ThriftStore store,
-      Double originLat,
-      Double originLng,
+      Double distanceMeters,
       Boolean isFavorite,
       Double rating,
       Integer reviewCount) {
-    Double distanceMeters =
-        StoreDtoCalculations.distanceMeters(
-            originLat, originLng, store.getLatitude(), store.getLongitude());
     return new NearbyStoreParts(
         store.getId(),
         store.getName(),
@@ -88,6 +92,8 @@ public record NearbyStoreDto(
         rating,
         reviewCount,
         distanceMeters,
-        StoreDtoCalculations.walkMinutes(distanceMeters));
+        StoreDtoCalculations.walkMinutes(distanceMeters),
+        StoreDtoCalculations.firstPhotoVariant(store, ThriftStorePhoto::getThumbUrl),
+        StoreDtoCalculations.firstPhotoVariant(store, ThriftStorePhoto::getCardUrl));
   }
 }
@@ -1,5 +1,15 @@
 package com.edufelip.meer.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 
-public record PageResponse<T>(List<T> items, int page, boolean hasNext) {}
+public record PageResponse<T>(
+    List<T> items,
+    int page,
+    boolean hasNext,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String nextCursor) {
+
+  public PageResponse(List<T> items, int page, boolean hasNext) {
+    this(items, page, hasNext, null);
+  }
+}
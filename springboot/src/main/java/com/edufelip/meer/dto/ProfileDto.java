@@ -1,5 +1,7 @@
 package com.edufelip.meer.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public record ProfileDto(
     java.util.UUID id,
     String name,
@@ -10,4 +12,5 @@ public record ProfileDto(
     boolean notifyNewStores,
     boolean notifyPromos,
     ThriftStoreDto ownedThriftStore,
-    java.time.Instant createdAt) {}
+    java.time.Instant createdAt,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String avatarThumbUrl) {}
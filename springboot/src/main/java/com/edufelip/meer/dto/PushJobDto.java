@@ -0,0 +1,38 @@
+package com.edufelip.meer.dto;
+
+import com.edufelip.meer.core.push.PushJob;
+import java.time.Instant;
+import java.util.UUID;
+
+public record PushJobDto(
+    UUID id,
+    String status,
+    String audience,
+    String environment,
+    int sent,
+    int failed,
+    int removedTokens,
+    int attempts,
+    Instant createdAt,
+    Instant completedAt,
+    String lastError) {
+
+  public PushJobDto(PushJob job) {
+    this(
+        job.getId(),
+        job.getStatus().name(),
+        job.getAudience().name(),
+        job.getEnvironment().name(),
+        orZero(job.getSentCount()),
+        orZero(job.getFailedCount()),
+        orZero(job.getRemovedTokenCount()),
+        orZero(job.getAttempts()),
+        job.getCreatedAt(),
+        job.getCompletedAt(),
+        job.getLastError());
+  }
+
+  private static int orZero(Integer value) {
+    return value != null ? value : 0;
+  }
+}
@@ -8,4 +8,6 @@ public record PushTokenRequest(
     @NotBlank(message = "fcmToken is required") @Size(max = 4096) String fcmToken,
     @NotBlank(message = "platform is required") @Size(max = 32) String platform,
     @Size(max = 64) String appVersion,
-    @NotBlank(message = "environment is required") @Size(max = 32) String environment) {}
+    @NotBlank(message = "environment is required") @Size(max = 32) String environment,
+    Double latitude,
+    Double longitude) {}
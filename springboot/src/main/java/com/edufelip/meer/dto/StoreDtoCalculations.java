@@ -1,6 +1,8 @@
 package com.edufelip.meer.dto;
 
 import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.core.store.ThriftStorePhoto;
+import java.util.function.Function;
 
 final class StoreDtoCalculations {
   private StoreDtoCalculations() {}
@@ -13,6 +15,12 @@ final class StoreDtoCalculations {
     return store.getCoverImageUrl();
   }
 
+  /** Variant of the first photo, or null until it has been generated. */
+  static String firstPhotoVariant(ThriftStore store, Function<ThriftStorePhoto, String> variant) {
+    if (store == null || store.getPhotos() == null || store.getPhotos().isEmpty()) return null;
+    return variant.apply(store.getPhotos().get(0));
+  }
+
   static Double distanceMeters(Double lat1, Double lon1, Double lat2, Double lon2) {
     if (lat1 == null || lon1 == null || lat2 == null || lon2 == null) return null;
     double R = 6371.0;
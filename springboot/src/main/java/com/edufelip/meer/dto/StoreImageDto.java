@@ -1,3 +1,12 @@
 package com.edufelip.meer.dto;
 
-public record StoreImageDto(Integer id, String url, Integer displayOrder, Boolean isCover) {}
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public record StoreImageDto(
+    Integer id,
+    String url,
+    Integer displayOrder,
+    Boolean isCover,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String thumbUrl,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String cardUrl,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String fullUrl) {}
@@ -0,0 +1,5 @@
+package com.edufelip.meer.dto;
+
+import java.util.List;
+
+public record StoreMapDto(int zoom, List<MapClusterDto> clusters) {}
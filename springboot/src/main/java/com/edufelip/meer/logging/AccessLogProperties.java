@@ -0,0 +1,86 @@
+package com.edufelip.meer.logging;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Access log settings for {@link RequestResponseLoggingFilter}. */
+@ConfigurationProperties(prefix = "meer.access-log")
+public class AccessLogProperties {
+
+  public static class Body {
+    /** Path prefixes whose request and response bodies are logged. */
+    private List<String> paths = new ArrayList<>();
+
+    /** Also log bodies of requests answered with a 4xx/5xx status. */
+    private boolean onError = false;
+
+    /** Bytes of each body kept for the log line. */
+    private int maxBytes = 4000;
+
+    public List<String> getPaths() {
+      return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+      this.paths = paths;
+    }
+
+    public boolean isOnError() {
+      return onError;
+    }
+
+    public void setOnError(boolean onError) {
+      this.onError = onError;
+    }
+
+    public int getMaxBytes() {
+      return maxBytes;
+    }
+
+    public void setMaxBytes(int maxBytes) {
+      this.maxBytes = maxBytes;
+    }
+  }
+
+  private boolean enabled = true;
+
+  /** Fraction of successful, fast requests that are logged; errors and slow requests always are. */
+  private double sampleRate = 1.0;
+
+  private Duration slowThreshold = Duration.ofSeconds(1);
+  private Body body = new Body();
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public double getSampleRate() {
+    return sampleRate;
+  }
+
+  public void setSampleRate(double sampleRate) {
+    this.sampleRate = sampleRate;
+  }
+
+  public Duration getSlowThreshold() {
+    return slowThreshold;
+  }
+
+  public void setSlowThreshold(Duration slowThreshold) {
+    this.slowThreshold = slowThreshold;
+  }
+
+  public Body getBody() {
+    return body;
+  }
+
+  public void setBody(Body body) {
+    this.body = body;
+  }
+}
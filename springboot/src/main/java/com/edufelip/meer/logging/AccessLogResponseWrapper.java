@@ -0,0 +1,118 @@
+package com.edufelip.meer.logging;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Counts the bytes written to the response and keeps a copy of at most {@code captureLimit} of
+ * them. Unlike {@link org.springframework.web.util.ContentCachingResponseWrapper} every write goes
+ * straight to the client, so the body is never buffered whole.
+ */
+class AccessLogResponseWrapper extends HttpServletResponseWrapper {
+
+  private final int captureLimit;
+  private final ByteArrayOutputStream captured;
+  private long bytesWritten;
+  private ServletOutputStream outputStream;
+  private PrintWriter writer;
+
+  AccessLogResponseWrapper(HttpServletResponse response, int captureLimit) {
+    super(response);
+    this.captureLimit = Math.max(0, captureLimit);
+    this.captured = new ByteArrayOutputStream(Math.min(this.captureLimit, 1024));
+  }
+
+  long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  byte[] getCapturedBody() {
+    return captured.toByteArray();
+  }
+
+  boolean isTruncated() {
+    return bytesWritten > captured.size();
+  }
+
+  @Override
+  public ServletOutputStream getOutputStream() throws IOException {
+    if (outputStream == null) {
+      outputStream = new CountingOutputStream(super.getOutputStream());
+    }
+    return outputStream;
+  }
+
+  @Override
+  public PrintWriter getWriter() throws IOException {
+    if (writer == null) {
+      Charset charset = Charset.forName(getCharacterEncoding());
+      writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), charset));
+    }
+    return writer;
+  }
+
+  @Override
+  public void flushBuffer() throws IOException {
+    if (writer != null) writer.flush();
+    super.flushBuffer();
+  }
+
+  /** Pushes characters still held by {@link #getWriter()} to the client. */
+  void flush() {
+    if (writer != null) writer.flush();
+  }
+
+  private void capture(byte[] bytes, int offset, int length) {
+    int room = captureLimit - captured.size();
+    if (room > 0) captured.write(bytes, offset, Math.min(room, length));
+    bytesWritten += length;
+  }
+
+  private final class CountingOutputStream extends ServletOutputStream {
+    private final ServletOutputStream delegate;
+
+    CountingOutputStream(ServletOutputStream delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      delegate.write(b);
+      if (captured.size() < captureLimit) captured.write(b);
+      bytesWritten++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      delegate.write(b, off, len);
+      capture(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+
+    @Override
+    public boolean isReady() {
+      return delegate.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener listener) {
+      delegate.setWriteListener(listener);
+    }
+  }
+}
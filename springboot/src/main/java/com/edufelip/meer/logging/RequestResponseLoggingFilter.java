@@ -6,119 +6,149 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.nio.charset.Charset;
-import java.time.Duration;
-import java.util.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 /**
- * Logs request headers/body and response status/body for debugging. Masks Authorization header and
- * truncates large payloads to avoid log bloat.
+ * Writes one JSON line per request to the {@code meer.access} logger: method, route template,
+ * status, latency and body sizes. The response streams straight through, only counted. Bodies
+ * are logged only for the path prefixes in {@code meer.access-log.body.paths}, or for error
+ * responses when {@code meer.access-log.body.on-error} is set, and never for auth, profile,
+ * support or upload routes. Successful fast requests can be sampled with {@code
+ * meer.access-log.sample-rate}. The logger goes to a non-blocking async appender
+ * ({@code logback-spring.xml}), so request threads never wait on log I/O.
  */
 public class RequestResponseLoggingFilter extends OncePerRequestFilter {
 
-  private static final Logger log = LoggerFactory.getLogger(RequestResponseLoggingFilter.class);
+  static final String LOGGER_NAME = "meer.access";
 
-  private static final int MAX_LOG_BYTES = 4000; // per body
+  private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+
+  private final AccessLogProperties properties;
+  private final Clock clock;
+
+  public RequestResponseLoggingFilter(AccessLogProperties properties, Clock clock) {
+    this.properties = properties;
+    this.clock = clock;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !properties.isEnabled() || !accessLog.isInfoEnabled();
+  }
 
   @Override
   protected void doFilterInternal(
       HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
+    String path = request.getRequestURI();
+    boolean bodyAllowed = !isSensitivePath(path);
+    boolean bodyRoute = bodyAllowed && matchesBodyPath(path);
+    boolean captureBody = bodyRoute || (bodyAllowed && properties.getBody().isOnError());
+    int maxBytes = properties.getBody().getMaxBytes();
 
-    var wrappedRequest = new ContentCachingRequestWrapper(request, MAX_LOG_BYTES);
-    var wrappedResponse = new ContentCachingResponseWrapper(response);
+    HttpServletRequest wrappedRequest =
+        captureBody ? new ContentCachingRequestWrapper(request, maxBytes) : request;
+    AccessLogResponseWrapper wrappedResponse =
+        new AccessLogResponseWrapper(response, captureBody ? maxBytes : 0);
 
     long start = System.nanoTime();
+    boolean failed = true;
     try {
       filterChain.doFilter(wrappedRequest, wrappedResponse);
+      failed = false;
     } finally {
-      long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
-      logRequestAndResponse(wrappedRequest, wrappedResponse, elapsedMs);
-      wrappedResponse.copyBodyToResponse();
+      wrappedResponse.flush();
+      long elapsedNanos = System.nanoTime() - start;
+      int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+      boolean error = status >= 400;
+      if (shouldLog(error, elapsedNanos)) {
+        boolean logBody = bodyRoute || (captureBody && error);
+        accessLog.info(toJson(wrappedRequest, wrappedResponse, status, elapsedNanos, logBody));
+      }
     }
   }
 
-  private void logRequestAndResponse(
-      ContentCachingRequestWrapper request,
-      ContentCachingResponseWrapper response,
-      long elapsedMs) {
-    String method = request.getMethod();
-    String uri = request.getRequestURI();
-    boolean skipBody = isSensitivePath(uri);
-
-    String reqHeaders = headersToString(Collections.list(request.getHeaderNames()), request);
-    String reqBody =
-        bodyToString(
-            request.getContentAsByteArray(),
-            request.getCharacterEncoding(),
-            request.getContentType(),
-            skipBody);
-
-    String resHeaders = headersToString(response.getHeaderNames(), response);
-    String resBody =
-        bodyToString(
-            response.getContentAsByteArray(),
-            response.getCharacterEncoding(),
-            response.getContentType(),
-            skipBody);
-
-    log.info(
-        "HTTP {} {} | status={} | {} ms\nreqHeaders={}\nreqBody={}\nresHeaders={}\nresBody={}",
-        method,
-        uri,
-        response.getStatus(),
-        elapsedMs,
-        reqHeaders,
-        reqBody,
-        resHeaders,
-        resBody);
+  private boolean shouldLog(boolean error, long elapsedNanos) {
+    if (error || elapsedNanos >= properties.getSlowThreshold().toNanos()) return true;
+    double rate = properties.getSampleRate();
+    return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
   }
 
-  private String headersToString(Collection<String> names, HttpServletRequest request) {
-    Map<String, String> map = new LinkedHashMap<>();
-    for (String name : names) {
-      String value = request.getHeader(name);
-      if (HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name)) {
-        value = "***masked***";
-      }
-      map.put(name, value);
+  private String toJson(
+      HttpServletRequest request,
+      AccessLogResponseWrapper response,
+      int status,
+      long elapsedNanos,
+      boolean logBody) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    StringBuilder json = new StringBuilder(256);
+    json.append('{');
+    field(json, "ts", clock.instant().toString()).append(',');
+    field(json, "method", request.getMethod()).append(',');
+    field(json, "route", pattern != null ? pattern.toString() : null).append(',');
+    field(json, "path", request.getRequestURI()).append(',');
+    json.append("\"status\":").append(status).append(',');
+    json.append("\"durationMs\":").append(elapsedNanos / 100_000 / 10.0).append(',');
+    json.append("\"requestBytes\":").append(Math.max(0, request.getContentLengthLong()));
+    json.append(",\"responseBytes\":").append(response.getBytesWritten());
+    if (logBody) {
+      byte[] requestBody =
+          request instanceof ContentCachingRequestWrapper caching
+              ? caching.getContentAsByteArray()
+              : new byte[0];
+      json.append(',');
+      field(
+          json,
+          "requestBody",
+          bodyToString(
+              requestBody,
+              request.getCharacterEncoding(),
+              request.getContentType(),
+              requestBody.length < request.getContentLengthLong()));
+      json.append(',');
+      field(
+          json,
+          "responseBody",
+          bodyToString(
+              response.getCapturedBody(),
+              response.getCharacterEncoding(),
+              response.getContentType(),
+              response.isTruncated()));
     }
-    return map.toString();
+    return json.append('}').toString();
   }
 
-  private String headersToString(Collection<String> names, HttpServletResponse response) {
-    Map<String, String> map = new LinkedHashMap<>();
-    for (String name : names) {
-      String value = String.join(",", response.getHeaders(name));
-      map.put(name, value);
+  private String bodyToString(
+      byte[] content, String encoding, String contentType, boolean truncated) {
+    if (content.length == 0) return null;
+    if (contentType != null
+        && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+      return "<multipart skipped>";
     }
-    return map.toString();
+    Charset charset =
+        StringUtils.hasText(encoding) ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    String body = new String(content, charset);
+    return truncated ? body + "...<truncated>" : body;
   }
 
-  private String bodyToString(
-      byte[] content, String encoding, String contentType, boolean skipBody) {
-    if (skipBody) return "<skipped>";
-    if (content == null || content.length == 0) return "<empty>";
-    if (contentType != null) {
-      // Avoid logging multipart/binary bodies
-      if (contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
-        return "<multipart skipped>";
-      }
-    }
-    int length = Math.min(content.length, MAX_LOG_BYTES);
-    String charset = StringUtils.hasText(encoding) ? encoding : Charset.defaultCharset().name();
-    String body = new String(content, 0, length, Charset.forName(charset));
-    if (content.length > MAX_LOG_BYTES) {
-      body = body + "...<truncated>";
+  private boolean matchesBodyPath(String path) {
+    List<String> prefixes = properties.getBody().getPaths();
+    if (path == null || prefixes == null) return false;
+    for (String prefix : prefixes) {
+      if (StringUtils.hasText(prefix) && path.startsWith(prefix)) return true;
     }
-    return body;
+    return false;
   }
 
   private boolean isSensitivePath(String path) {
@@ -130,4 +160,28 @@ public class RequestResponseLoggingFilter extends OncePerRequestFilter {
         || lower.startsWith("/support")
         || lower.startsWith("/uploads");
   }
+
+  private static StringBuilder field(StringBuilder json, String name, String value) {
+    json.append('"').append(name).append("\":");
+    if (value == null) return json.append("null");
+    json.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> json.append("\\\"");
+        case '\\' -> json.append("\\\\");
+        case '\n' -> json.append("\\n");
+        case '\r' -> json.append("\\r");
+        case '\t' -> json.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            json.append(String.format("\\u%04x", (int) c));
+          } else {
+            json.append(c);
+          }
+        }
+      }
+    }
+    return json.append('"');
+  }
 }
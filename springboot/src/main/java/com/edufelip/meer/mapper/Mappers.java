@@ -15,6 +15,7 @@ import com.edufelip.meer.dto.CategoryDto;
 import com.edufelip.meer.dto.DashboardCommentDto;
 import com.edufelip.meer.dto.GuideContentCommentDto;
 import com.edufelip.meer.dto.GuideContentDto;
+import com.edufelip.meer.dto.MapClusterDto;
 import com.edufelip.meer.dto.PhotoRegisterRequest;
 import com.edufelip.meer.dto.PhotoUploadSlot;
 import com.edufelip.meer.dto.PhotoUploadResponse;
@@ -23,8 +24,8 @@ import com.edufelip.meer.dto.StoreRatingDto;
 import com.edufelip.meer.dto.StoreRequest;
 import com.edufelip.meer.dto.StoreImageDto;
 import com.edufelip.meer.dto.ThriftStoreDto;
+import com.edufelip.meer.service.StoreMapService;
 import java.util.List;
-import java.util.UUID;
 
 public class Mappers {
   public static CategoryDto toDto(Category category) {
@@ -50,9 +51,11 @@ public class Mappers {
         summary.thriftStoreName(),
         summary.thriftStoreCoverImageUrl(),
         summary.createdAt(),
-        0L,
-        0L,
-        false);
+        summary.likeCount() != null ? summary.likeCount() : 0L,
+        summary.commentCount() != null ? summary.commentCount() : 0L,
+        false,
+        summary.imageThumbUrl(),
+        summary.imageCardUrl());
   }
 
   public static GuideContentDto toDto(
@@ -68,7 +71,9 @@ public class Mappers {
         content.getCreatedAt(),
         likeCount != null ? likeCount : 0L,
         commentCount != null ? commentCount : 0L,
-        likedByMe != null ? likedByMe : false);
+        likedByMe != null ? likedByMe : false,
+        content.getImageThumbUrl(),
+        content.getImageCardUrl());
   }
 
   public static GuideContentDto withCounts(
@@ -84,7 +89,14 @@ public class Mappers {
         base.createdAt(),
         likeCount != null ? likeCount : 0L,
         commentCount != null ? commentCount : 0L,
-        likedByMe != null ? likedByMe : false);
+        likedByMe != null ? likedByMe : false,
+        base.imageThumbUrl(),
+        base.imageCardUrl());
+  }
+
+  public static MapClusterDto toDto(StoreMapService.Cluster cluster) {
+    return new MapClusterDto(
+        cluster.latitude(), cluster.longitude(), cluster.count(), cluster.storeIds());
   }
 
   public static StoreRatingDto toDto(StoreRatingView view) {
@@ -131,19 +143,6 @@ public class Mappers {
     return toDto(store, includeContents, null, null, null, null, null);
   }
 
-  public static ThriftStoreDto toDtoForUser(
-      ThriftStore store, AuthUser user, boolean includeContents) {
-    return toDto(
-        store,
-        includeContents,
-        isFavorite(user, store != null ? store.getId() : null),
-        null,
-        null,
-        null,
-        null,
-        null);
-  }
-
   public static ThriftStoreDto toDto(
       ThriftStore store, boolean includeContents, Boolean isFavoriteOverride) {
     return toDto(store, includeContents, isFavoriteOverride, null, null, null, null);
@@ -203,7 +202,10 @@ public class Mappers {
                             p.getId(),
                             p.getUrl(),
                             p.getDisplayOrder(),
-                            p.getDisplayOrder() != null && p.getDisplayOrder() == 0))
+                            p.getDisplayOrder() != null && p.getDisplayOrder() == 0,
+                            p.getThumbUrl(),
+                            p.getCardUrl(),
+                            p.getFullUrl()))
                 .toList()
             : List.of();
     Integer derivedWalkMinutes =
@@ -255,7 +257,8 @@ public class Mappers {
         user.isNotifyNewStores(),
         user.isNotifyPromos(),
         owned,
-        user.getCreatedAt());
+        user.getCreatedAt(),
+        user.getPhotoThumbUrl());
   }
 
   public static CreateThriftStoreUseCase.Command toCreateCommand(StoreRequest body) {
@@ -336,9 +339,4 @@ public class Mappers {
     return new PhotoUploadResponse(uploads);
   }
 
-  public static Boolean isFavorite(AuthUser user, UUID storeId) {
-    if (user == null || storeId == null || user.getFavorites() == null) return false;
-    return user.getFavorites().stream().anyMatch(f -> storeId.equals(f.getId()));
-  }
-
 }
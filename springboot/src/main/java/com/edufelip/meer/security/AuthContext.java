@@ -0,0 +1,51 @@
+package com.edufelip.meer.security;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.security.token.TokenPayload;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Optional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Per-request authentication placed on the request by the guards once the bearer token has been
+ * verified and its user loaded, so {@link AuthUserResolver} and later filters do not parse the
+ * token or query the user again.
+ */
+public final class AuthContext {
+  private static final String KEY = "authContext";
+
+  /** The verified token together with its payload and user. */
+  public record Authentication(String token, TokenPayload payload, AuthUser user) {}
+
+  private AuthContext() {}
+
+  public static Authentication set(
+      HttpServletRequest request, String token, TokenPayload payload, AuthUser user) {
+    Authentication auth = new Authentication(token, payload, user);
+    request.setAttribute(KEY, auth);
+    return auth;
+  }
+
+  /** Returns the authentication stored on {@code request} if it was made for {@code token}. */
+  public static Optional<Authentication> get(HttpServletRequest request, String token) {
+    return matching(request.getAttribute(KEY), token);
+  }
+
+  /** Same as {@link #get} for the request bound to the current thread. */
+  public static Optional<Authentication> current(String token) {
+    try {
+      var attrs = RequestContextHolder.currentRequestAttributes();
+      return matching(attrs.getAttribute(KEY, RequestAttributes.SCOPE_REQUEST), token);
+    } catch (IllegalStateException ignored) {
+    }
+    return Optional.empty();
+  }
+
+  private static Optional<Authentication> matching(Object cached, String token) {
+    if (cached instanceof Authentication auth && auth.token().equals(token)) {
+      return Optional.of(auth);
+    }
+    return Optional.empty();
+  }
+}
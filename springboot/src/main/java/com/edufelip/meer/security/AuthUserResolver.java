@@ -1,7 +1,6 @@
 package com.edufelip.meer.security;
 
 import com.edufelip.meer.core.auth.AuthUser;
-import com.edufelip.meer.domain.repo.AuthUserRepository;
 import com.edufelip.meer.security.token.InvalidTokenException;
 import com.edufelip.meer.security.token.TokenPayload;
 import com.edufelip.meer.security.token.TokenProvider;
@@ -11,15 +10,22 @@ import org.springframework.stereotype.Component;
 public class AuthUserResolver {
 
   private final TokenProvider tokenProvider;
-  private final AuthUserRepository authUserRepository;
+  private final PrincipalCache principalCache;
 
-  public AuthUserResolver(TokenProvider tokenProvider, AuthUserRepository authUserRepository) {
+  public AuthUserResolver(TokenProvider tokenProvider, PrincipalCache principalCache) {
     this.tokenProvider = tokenProvider;
-    this.authUserRepository = authUserRepository;
+    this.principalCache = principalCache;
   }
 
+  /**
+   * Returns the user for the bearer token, reusing the one the guards already resolved. Throws
+   * {@link PrincipalNotFoundException} if a cached user's row has been deleted since.
+   */
   public AuthUser requireUser(String authHeader) {
-    return loadUser(requirePayload(authHeader));
+    String token = requireBearer(authHeader);
+    var auth = AuthContext.current(token);
+    if (auth.isPresent()) return principalCache.load(auth.get().user());
+    return principalCache.load(loadUser(parsePayload(token)));
   }
 
   public AuthUser optionalUser(String authHeader) {
@@ -28,7 +34,10 @@ public class AuthUserResolver {
   }
 
   public TokenPayload requirePayload(String authHeader) {
-    return parsePayload(requireBearer(authHeader));
+    String token = requireBearer(authHeader);
+    var auth = AuthContext.current(token);
+    if (auth.isPresent()) return auth.get().payload();
+    return parsePayload(token);
   }
 
   public TokenPayload optionalPayload(String authHeader) {
@@ -59,6 +68,6 @@ public class AuthUserResolver {
   }
 
   private AuthUser loadUser(TokenPayload payload) {
-    return authUserRepository.findById(payload.getUserId()).orElseThrow(InvalidTokenException::new);
+    return principalCache.findUser(payload.getUserId()).orElseThrow(InvalidTokenException::new);
   }
 }
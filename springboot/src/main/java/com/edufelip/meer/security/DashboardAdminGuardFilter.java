@@ -1,7 +1,6 @@
 package com.edufelip.meer.security;
 
 import com.edufelip.meer.core.auth.Role;
-import com.edufelip.meer.domain.repo.AuthUserRepository;
 import com.edufelip.meer.security.token.InvalidTokenException;
 import com.edufelip.meer.security.token.TokenPayload;
 import com.edufelip.meer.security.token.TokenProvider;
@@ -12,16 +11,18 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-/** Ensures all /dashboard/** routes (except /dashboard/login) are accessed by ADMIN users only. */
+/**
+ * Ensures all /dashboard/** routes (except /dashboard/login) and the actuator endpoints other than
+ * health and info are accessed by ADMIN users only.
+ */
 public class DashboardAdminGuardFilter extends OncePerRequestFilter {
 
   private final TokenProvider tokenProvider;
-  private final AuthUserRepository authUserRepository;
+  private final PrincipalCache principalCache;
 
-  public DashboardAdminGuardFilter(
-      TokenProvider tokenProvider, AuthUserRepository authUserRepository) {
+  public DashboardAdminGuardFilter(TokenProvider tokenProvider, PrincipalCache principalCache) {
     this.tokenProvider = tokenProvider;
-    this.authUserRepository = authUserRepository;
+    this.principalCache = principalCache;
   }
 
   @Override
@@ -30,7 +31,7 @@ public class DashboardAdminGuardFilter extends OncePerRequestFilter {
       return true; // always allow preflight
     }
     String path = request.getServletPath();
-    return path == null || !isDashboardPath(path);
+    return path == null || !isAdminPath(path);
   }
 
   @Override
@@ -46,17 +47,24 @@ public class DashboardAdminGuardFilter extends OncePerRequestFilter {
 
     String token = authHeader.substring("Bearer ".length()).trim();
     try {
-      TokenPayload payload = tokenProvider.parseAccessToken(token);
-      var userOpt = authUserRepository.findById(payload.getUserId());
-      if (userOpt.isEmpty()) {
-        sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "User not found");
-        return;
+      var auth = AuthContext.get(request, token).orElse(null);
+      if (auth == null) {
+        TokenPayload parsed = tokenProvider.parseAccessToken(token);
+        var userOpt = principalCache.findUser(parsed.getUserId());
+        if (userOpt.isEmpty()) {
+          sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "User not found");
+          return;
+        }
+        auth = AuthContext.set(request, token, parsed, userOpt.get());
       }
-      var user = userOpt.get();
+      // the role is read from the row, never the cache, so a demotion applies on every node
+      var user = principalCache.load(auth.user());
+      var payload = auth.payload();
 
+      Role userRole = user.getRole();
       Role role =
-          user.getRole() != null
-              ? user.getRole()
+          userRole != null
+              ? userRole
               : (payload.getRole() != null ? payload.getRole() : Role.USER);
       if (role != Role.ADMIN) {
         sendError(response, HttpServletResponse.SC_FORBIDDEN, "Admin only");
@@ -68,16 +76,22 @@ public class DashboardAdminGuardFilter extends OncePerRequestFilter {
       filterChain.doFilter(request, response);
     } catch (InvalidTokenException ex) {
       sendError(response, HttpServletResponse.SC_UNAUTHORIZED, ex.getMessage());
+    } catch (PrincipalNotFoundException ex) {
+      sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "User not found");
     } catch (Exception ex) {
       sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized");
     }
   }
 
-  private boolean isDashboardPath(String path) {
+  private boolean isAdminPath(String path) {
     if (path == null) return false;
     String lower = path.toLowerCase();
     if ("/dashboard/login".equals(lower)) return false; // public dashboard auth
-    return lower.startsWith("/dashboard");
+    if (lower.startsWith("/dashboard")) return true;
+    // metrics, caches (DELETE clears them) and prometheus; probes stay public
+    if (lower.equals("/actuator/health") || lower.startsWith("/actuator/health/")) return false;
+    if (lower.equals("/actuator/info")) return false;
+    return lower.equals("/actuator") || lower.startsWith("/actuator/");
   }
 
   private void sendError(HttpServletResponse response, int status, String message)
@@ -0,0 +1,77 @@
+package com.edufelip.meer.security;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.domain.repo.AuthUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.PersistenceException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived set of users known to exist, so authenticated requests skip the user lookup. On a hit
+ * the caller gets a lazy reference bound to the request's persistence context: guards and handlers
+ * that only read the token payload never touch the database, and {@link #load} reads the row before
+ * a handler gets the user, throwing {@link PrincipalNotFoundException} if it was deleted elsewhere
+ * in the meantime. Roles are never served from the cache, so admin checks always see the current
+ * one. {@link PrincipalCacheListener} evicts users when their row is updated or deleted; entries
+ * otherwise expire after the configured TTL.
+ */
+@Component
+public class PrincipalCache {
+
+  private final AuthUserRepository authUserRepository;
+  private final boolean enabled;
+  private final Cache<UUID, Boolean> principals;
+
+  public PrincipalCache(
+      AuthUserRepository authUserRepository,
+      @Value("${meer.auth.principal-cache.enabled:false}") boolean enabled,
+      @Value("${meer.auth.principal-cache.ttl:60s}") Duration ttl,
+      @Value("${meer.auth.principal-cache.max-size:100000}") long maxSize) {
+    this.authUserRepository = authUserRepository;
+    this.enabled = enabled;
+    this.principals = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Resolves the user for a verified token; empty if the user no longer exists. */
+  public Optional<AuthUser> findUser(UUID userId) {
+    if (!enabled) return authUserRepository.findById(userId);
+    if (principals.getIfPresent(userId) != null) {
+      return Optional.of(authUserRepository.getReferenceById(userId));
+    }
+    Optional<AuthUser> user = authUserRepository.findById(userId);
+    user.ifPresent(found -> principals.put(userId, Boolean.TRUE));
+    return user;
+  }
+
+  /**
+   * Returns {@code user} with its row loaded, initializing a reference handed out on a cache hit.
+   * Throws {@link PrincipalNotFoundException} when the row is gone.
+   */
+  public AuthUser load(AuthUser user) {
+    if (Hibernate.isInitialized(user)) return user;
+    UUID userId = user.getId();
+    try {
+      Hibernate.initialize(user);
+      return user;
+    } catch (PersistenceException | DataAccessException ex) {
+      if (authUserRepository.existsById(userId)) throw ex;
+      evict(userId);
+      throw new PrincipalNotFoundException(userId);
+    }
+  }
+
+  public void evict(UUID userId) {
+    if (userId != null) principals.invalidate(userId);
+  }
+}
@@ -0,0 +1,30 @@
+package com.edufelip.meer.security;
+
+import com.edufelip.meer.core.auth.AuthUserChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops updated users (profile edits, role changes) and deleted users from {@link PrincipalCache}.
+ */
+@Component
+public class PrincipalCacheListener {
+
+  private final PrincipalCache principalCache;
+
+  public PrincipalCacheListener(PrincipalCache principalCache) {
+    this.principalCache = principalCache;
+  }
+
+  @EventListener
+  public void onChange(AuthUserChangedEvent event) {
+    principalCache.evict(event.userId());
+  }
+
+  /** Evicts again after commit so a concurrent request cannot re-cache the pre-commit row. */
+  @TransactionalEventListener
+  public void afterCommit(AuthUserChangedEvent event) {
+    principalCache.evict(event.userId());
+  }
+}
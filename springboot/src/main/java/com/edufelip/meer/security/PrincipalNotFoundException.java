@@ -0,0 +1,10 @@
+package com.edufelip.meer.security;
+
+import java.util.UUID;
+
+/** The user behind a verified token no longer exists, for instance deleted on another node. */
+public class PrincipalNotFoundException extends RuntimeException {
+  public PrincipalNotFoundException(UUID userId) {
+    super("User " + userId + " not found");
+  }
+}
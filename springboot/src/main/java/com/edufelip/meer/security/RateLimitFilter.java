@@ -1,97 +1,65 @@
 package com.edufelip.meer.security;
 
+import com.edufelip.meer.security.ratelimit.RateLimitRule;
+import com.edufelip.meer.security.ratelimit.RateLimiter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.time.Clock;
-import java.time.Instant;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import org.springframework.core.Ordered;
-import org.springframework.core.annotation.Order;
+import java.util.List;
 import org.springframework.http.HttpStatus;
-import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-@Component
-@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+/**
+ * Throttles the routes listed under {@code meer.rate-limit.routes} (by default the login, signup
+ * and password endpoints), per route, client IP and bearer token.
+ */
 public class RateLimitFilter extends OncePerRequestFilter {
 
-  private static final Set<String> GUARDED_POST_PATHS =
-      Set.of(
-          "/auth/login",
-          "/auth/signup",
-          "/auth/forgot-password",
-          "/auth/reset-password",
-          "/auth/refresh",
-          "/auth/google",
-          "/auth/apple",
-          "/dashboard/login");
+  private record GuardedRoute(String method, String path, RateLimitRule rule) {
 
-  private static final int WINDOW_SECONDS = 60;
-  private static final int MAX_REQUESTS = 10;
-
-  private static class Counter {
-    int count;
-    long windowStartEpochSec;
-  }
-
-  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
-  private final Clock clock;
-
-  public RateLimitFilter(Clock clock) {
-    this.clock = clock;
+    boolean matches(HttpServletRequest request) {
+      return method.equalsIgnoreCase(request.getMethod())
+          && request.getRequestURI().startsWith(path);
+    }
   }
 
-  private boolean isAllowed(String key) {
-    long now = Instant.now(clock).getEpochSecond();
-    Counter c =
-        counters.computeIfAbsent(
-            key,
-            k -> {
-              Counter n = new Counter();
-              n.windowStartEpochSec = now;
-              n.count = 0;
-              return n;
-            });
+  private final RateLimiter rateLimiter;
+  private final List<GuardedRoute> routes;
 
-    synchronized (c) {
-      if (now - c.windowStartEpochSec >= WINDOW_SECONDS) {
-        c.windowStartEpochSec = now;
-        c.count = 0;
-      }
-      c.count++;
-      return c.count <= MAX_REQUESTS;
-    }
+  public RateLimitFilter(RateLimiter rateLimiter, List<RateLimitProperties.Route> routes) {
+    this.rateLimiter = rateLimiter;
+    this.routes =
+        routes.stream()
+            .map(route -> new GuardedRoute(route.getMethod(), route.getPath(), route.toRule()))
+            .toList();
   }
 
   @Override
   protected boolean shouldNotFilter(HttpServletRequest request) {
-    if (!"POST".equalsIgnoreCase(request.getMethod())) {
-      return true;
-    }
-    String path = request.getRequestURI();
-    return GUARDED_POST_PATHS.stream().noneMatch(path::startsWith);
+    return match(request) == null;
   }
 
   @Override
   protected void doFilterInternal(
       HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
+    GuardedRoute route = match(request);
+    if (route == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
 
-    String path = request.getRequestURI();
     String ip = request.getRemoteAddr();
     String token = request.getHeader("Authorization");
 
-    String key = path + "|" + ip;
+    String key = route.path() + "|" + ip;
     if (token != null && !token.isBlank()) {
       key = key + "|" + token.hashCode();
     }
 
-    if (!isAllowed(key)) {
+    if (!rateLimiter.tryAcquire(key, route.rule())) {
       response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
       response.getWriter().write("Too many requests. Please try again later.");
       return;
@@ -99,4 +67,11 @@ public class RateLimitFilter extends OncePerRequestFilter {
 
     filterChain.doFilter(request, response);
   }
+
+  private GuardedRoute match(HttpServletRequest request) {
+    for (GuardedRoute route : routes) {
+      if (route.matches(request)) return route;
+    }
+    return null;
+  }
 }
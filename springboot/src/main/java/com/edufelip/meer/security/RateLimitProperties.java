@@ -0,0 +1,164 @@
+package com.edufelip.meer.security;
+
+import com.edufelip.meer.security.ratelimit.RateLimitRule;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Rate limits for {@link RateLimitFilter} ({@code routes}) and {@link RateLimitService} ({@code
+ * actions}). Both default to the limits the app has always applied; setting either list or map
+ * in configuration replaces the defaults.
+ */
+@ConfigurationProperties(prefix = "meer.rate-limit")
+public class RateLimitProperties {
+
+  public enum Backend {
+    /** Buckets in this instance's memory; limits apply per replica. */
+    MEMORY,
+    /** Buckets in the {@code rate_limit_bucket} table, shared by every replica. */
+    POSTGRES
+  }
+
+  public static class Limit {
+    private int limit;
+    private Duration period;
+
+    public Limit() {}
+
+    public Limit(int limit, Duration period) {
+      this.limit = limit;
+      this.period = period;
+    }
+
+    public int getLimit() {
+      return limit;
+    }
+
+    public void setLimit(int limit) {
+      this.limit = limit;
+    }
+
+    public Duration getPeriod() {
+      return period;
+    }
+
+    public void setPeriod(Duration period) {
+      this.period = period;
+    }
+
+    public RateLimitRule toRule() {
+      return new RateLimitRule(limit, period);
+    }
+  }
+
+  /** Requests whose method matches and whose path starts with {@code path}. */
+  public static class Route extends Limit {
+    private String method = "POST";
+    private String path;
+
+    public Route() {}
+
+    public Route(String path, int limit, Duration period) {
+      super(limit, period);
+      this.path = path;
+    }
+
+    public String getMethod() {
+      return method;
+    }
+
+    public void setMethod(String method) {
+      this.method = method;
+    }
+
+    public String getPath() {
+      return path;
+    }
+
+    public void setPath(String path) {
+      this.path = path;
+    }
+  }
+
+  private Backend backend = Backend.MEMORY;
+  private long maxKeys = 100_000;
+  private List<Route> routes = new ArrayList<>(defaultRoutes());
+  private Map<String, Limit> actions = new LinkedHashMap<>(defaultActions());
+
+  public Backend getBackend() {
+    return backend;
+  }
+
+  public void setBackend(Backend backend) {
+    this.backend = backend;
+  }
+
+  public long getMaxKeys() {
+    return maxKeys;
+  }
+
+  public void setMaxKeys(long maxKeys) {
+    this.maxKeys = maxKeys;
+  }
+
+  public List<Route> getRoutes() {
+    return routes;
+  }
+
+  public void setRoutes(List<Route> routes) {
+    this.routes = routes;
+  }
+
+  public Map<String, Limit> getActions() {
+    return actions;
+  }
+
+  public void setActions(Map<String, Limit> actions) {
+    this.actions = actions;
+  }
+
+  /** The action's limit, falling back to the built-in default when not configured. */
+  public RateLimitRule action(String name) {
+    Limit limit = actions.get(name);
+    if (limit == null) limit = defaultActions().get(name);
+    return limit.toRule();
+  }
+
+  /** Longest configured period; idle in-memory buckets are kept at least this long. */
+  public Duration longestPeriod() {
+    Duration longest = Duration.ofMinutes(1);
+    for (Limit limit : routes) longest = max(longest, limit.getPeriod());
+    for (Limit limit : actions.values()) longest = max(longest, limit.getPeriod());
+    return longest;
+  }
+
+  private static Duration max(Duration a, Duration b) {
+    return b != null && b.compareTo(a) > 0 ? b : a;
+  }
+
+  private static List<Route> defaultRoutes() {
+    Duration minute = Duration.ofMinutes(1);
+    return List.of(
+        new Route("/auth/login", 10, minute),
+        new Route("/auth/signup", 10, minute),
+        new Route("/auth/forgot-password", 10, minute),
+        new Route("/auth/reset-password", 10, minute),
+        new Route("/auth/refresh", 10, minute),
+        new Route("/auth/google", 10, minute),
+        new Route("/auth/apple", 10, minute),
+        new Route("/dashboard/login", 10, minute));
+  }
+
+  private static Map<String, Limit> defaultActions() {
+    Duration minute = Duration.ofMinutes(1);
+    return Map.of(
+        RateLimitService.COMMENT_CREATE, new Limit(10, minute),
+        RateLimitService.COMMENT_EDIT, new Limit(20, minute),
+        RateLimitService.LIKE, new Limit(60, minute),
+        RateLimitService.SUPPORT_CONTACT, new Limit(3, Duration.ofHours(1)));
+  }
+}
@@ -1,50 +1,47 @@
 package com.edufelip.meer.security;
 
 import com.edufelip.meer.domain.port.RateLimitPort;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import java.time.Duration;
-import java.util.concurrent.atomic.AtomicInteger;
+import com.edufelip.meer.security.ratelimit.RateLimiter;
 import org.springframework.stereotype.Service;
 
+/** Per-user and per-client action limits, configured under {@code meer.rate-limit.actions}. */
 @Service
 public class RateLimitService implements RateLimitPort {
 
-  private static final int COMMENT_CREATE_LIMIT = 10;
-  private static final int COMMENT_EDIT_LIMIT = 20;
-  private static final int LIKE_LIMIT = 60;
-  private static final int SUPPORT_CONTACT_LIMIT = 3;
+  static final String COMMENT_CREATE = "comment-create";
+  static final String COMMENT_EDIT = "comment-edit";
+  static final String LIKE = "like";
+  static final String SUPPORT_CONTACT = "support-contact";
 
-  private final Cache<String, AtomicInteger> perMinuteCache =
-      Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(1)).maximumSize(100_000).build();
+  private final RateLimiter rateLimiter;
+  private final RateLimitProperties properties;
 
-  private final Cache<String, AtomicInteger> perHourCache =
-      Caffeine.newBuilder().expireAfterWrite(Duration.ofHours(1)).maximumSize(50_000).build();
+  public RateLimitService(RateLimiter rateLimiter, RateLimitProperties properties) {
+    this.rateLimiter = rateLimiter;
+    this.properties = properties;
+  }
 
   @Override
   public boolean allowCommentCreate(String userKey) {
-    return incrementWithinLimit(perMinuteCache, "comment:create:" + userKey, COMMENT_CREATE_LIMIT);
+    return allow(COMMENT_CREATE, userKey);
   }
 
   @Override
   public boolean allowCommentEdit(String userKey) {
-    return incrementWithinLimit(perMinuteCache, "comment:edit:" + userKey, COMMENT_EDIT_LIMIT);
+    return allow(COMMENT_EDIT, userKey);
   }
 
   @Override
   public boolean allowLikeAction(String userKey) {
-    return incrementWithinLimit(perMinuteCache, "content:like:" + userKey, LIKE_LIMIT);
+    return allow(LIKE, userKey);
   }
 
   @Override
   public boolean allowSupportContact(String clientKey) {
-    return incrementWithinLimit(
-        perHourCache, "support:contact:" + clientKey, SUPPORT_CONTACT_LIMIT);
+    return allow(SUPPORT_CONTACT, clientKey);
   }
 
-  private boolean incrementWithinLimit(Cache<String, AtomicInteger> cache, String key, int limit) {
-    AtomicInteger counter = cache.get(key, k -> new AtomicInteger(0));
-    int count = counter.incrementAndGet();
-    return count <= limit;
+  private boolean allow(String action, String key) {
+    return rateLimiter.tryAcquire(action + ":" + key, properties.action(action));
   }
 }
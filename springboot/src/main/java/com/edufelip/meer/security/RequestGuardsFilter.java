@@ -1,6 +1,5 @@
 package com.edufelip.meer.security;
 
-import com.edufelip.meer.domain.repo.AuthUserRepository;
 import com.edufelip.meer.security.guards.AppHeaderGuard;
 import com.edufelip.meer.security.guards.FirebaseAuthGuard;
 import com.edufelip.meer.security.guards.GuardException;
@@ -18,9 +17,9 @@ public class RequestGuardsFilter extends OncePerRequestFilter {
   public RequestGuardsFilter(
       SecurityProperties securityProps,
       TokenProvider tokenProvider,
-      AuthUserRepository authUserRepository) {
+      PrincipalCache principalCache) {
     this.appHeaderGuard = new AppHeaderGuard(securityProps);
-    this.authGuard = new FirebaseAuthGuard(securityProps, tokenProvider, authUserRepository);
+    this.authGuard = new FirebaseAuthGuard(securityProps, tokenProvider, principalCache);
   }
 
   @Override
@@ -69,6 +68,7 @@ public class RequestGuardsFilter extends OncePerRequestFilter {
         return true;
       }
       if (path.startsWith("/categories/") && path.endsWith("/stores")) return true;
+      if (path.startsWith("/stores/map/tiles/")) return true;
       if (path.startsWith("/stores/")) {
         if (path.endsWith("/contents") || path.endsWith("/ratings")) return true;
         String suffix = path.substring("/stores/".length());
@@ -1,6 +1,7 @@
 package com.edufelip.meer.security.guards;
 
-import com.edufelip.meer.domain.repo.AuthUserRepository;
+import com.edufelip.meer.security.AuthContext;
+import com.edufelip.meer.security.PrincipalCache;
 import com.edufelip.meer.security.SecurityProperties;
 import com.edufelip.meer.security.token.TokenPayload;
 import com.edufelip.meer.security.token.TokenProvider;
@@ -10,15 +11,13 @@ public class FirebaseAuthGuard {
   public static final String AUTH_HEADER = "Authorization";
   private final SecurityProperties props;
   private final TokenProvider tokenProvider;
-  private final AuthUserRepository authUserRepository;
+  private final PrincipalCache principalCache;
 
   public FirebaseAuthGuard(
-      SecurityProperties props,
-      TokenProvider tokenProvider,
-      AuthUserRepository authUserRepository) {
+      SecurityProperties props, TokenProvider tokenProvider, PrincipalCache principalCache) {
     this.props = props;
     this.tokenProvider = tokenProvider;
-    this.authUserRepository = authUserRepository;
+    this.principalCache = principalCache;
   }
 
   public void validate(HttpServletRequest request) {
@@ -31,11 +30,14 @@ public class FirebaseAuthGuard {
     if (token.isBlank()) {
       throw new GuardException("Missing or invalid " + AUTH_HEADER + " header");
     }
+    if (AuthContext.get(request, token).isPresent()) return;
     try {
       TokenPayload payload = tokenProvider.parseAccessToken(token);
-      if (authUserRepository.findById(payload.getUserId()).isEmpty()) {
-        throw new GuardException("User not found");
-      }
+      var user =
+          principalCache
+              .findUser(payload.getUserId())
+              .orElseThrow(() -> new GuardException("User not found"));
+      AuthContext.set(request, token, payload, user);
     } catch (GuardException ex) {
       throw ex;
     } catch (RuntimeException ex) {
@@ -0,0 +1,41 @@
+package com.edufelip.meer.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-instance GCRA limiter. Each bucket is a single theoretical arrival time advanced with a
+ * compare-and-set, so admission takes no locks. Buckets live in a size-bounded cache and are
+ * dropped once idle for {@code idleTtl}; by then they have refilled, so forgetting them is
+ * harmless.
+ */
+public class InMemoryRateLimiter implements RateLimiter {
+
+  private final Cache<String, AtomicLong> buckets;
+  private final Clock clock;
+
+  public InMemoryRateLimiter(Clock clock, long maxKeys, Duration idleTtl) {
+    this.clock = clock;
+    this.buckets = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(idleTtl).build();
+  }
+
+  @Override
+  public boolean tryAcquire(String key, RateLimitRule rule) {
+    long now = clock.millis() * 1_000_000L;
+    AtomicLong tat = buckets.get(key, k -> new AtomicLong(now));
+    while (true) {
+      long current = tat.get();
+      long base = Math.max(current, now);
+      if (base - now > rule.toleranceNanos()) return false;
+      if (tat.compareAndSet(current, base + rule.emissionIntervalNanos())) return true;
+    }
+  }
+
+  long size() {
+    buckets.cleanUp();
+    return buckets.estimatedSize();
+  }
+}
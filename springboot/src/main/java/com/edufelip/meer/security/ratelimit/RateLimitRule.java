@@ -0,0 +1,28 @@
+package com.edufelip.meer.security.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * At most {@code limit} requests per {@code period}, enforced as a GCRA token bucket: a full
+ * bucket allows a burst of {@code limit}, after which one request is admitted every {@code period
+ * / limit}.
+ */
+public record RateLimitRule(int limit, Duration period) {
+
+  public RateLimitRule {
+    if (limit < 1) throw new IllegalArgumentException("limit must be at least 1");
+    if (period == null || period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException("period must be positive");
+    }
+  }
+
+  /** Time one request adds to the bucket's theoretical arrival time. */
+  public long emissionIntervalNanos() {
+    return period.toNanos() / limit;
+  }
+
+  /** How far ahead of now the theoretical arrival time may run before requests are refused. */
+  public long toleranceNanos() {
+    return period.toNanos() - emissionIntervalNanos();
+  }
+}
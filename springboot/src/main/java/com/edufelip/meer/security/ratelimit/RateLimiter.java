@@ -0,0 +1,7 @@
+package com.edufelip.meer.security.ratelimit;
+
+/** Admits or refuses one request against the bucket named {@code key}. */
+public interface RateLimiter {
+
+  boolean tryAcquire(String key, RateLimitRule rule);
+}
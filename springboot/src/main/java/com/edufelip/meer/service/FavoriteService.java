@@ -0,0 +1,60 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.domain.repo.AuthUserRepository;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Favorite flags computed from {@code auth_user_favorites} ids, so listings and details never
+ * hydrate the {@link AuthUser#getFavorites()} collection just to answer "is this a favorite".
+ */
+@Service
+public class FavoriteService {
+
+  private final AuthUserRepository authUserRepository;
+
+  public FavoriteService(AuthUserRepository authUserRepository) {
+    this.authUserRepository = authUserRepository;
+  }
+
+  /** The subset of {@code storeIds} favorited by {@code user}; empty for anonymous callers. */
+  public Set<UUID> favoriteIdsAmong(AuthUser user, Collection<UUID> storeIds) {
+    if (user == null || storeIds == null || storeIds.isEmpty()) return Set.of();
+    return new HashSet<>(
+        authUserRepository.findFavoriteStoreIdsIn(user.getId(), new HashSet<>(storeIds)));
+  }
+
+  public boolean isFavorite(AuthUser user, UUID storeId) {
+    if (storeId == null) return false;
+    return favoriteIdsAmong(user, List.of(storeId)).contains(storeId);
+  }
+
+  public List<UUID> favoriteIds(UUID userId) {
+    return authUserRepository.findFavoriteStoreIds(userId);
+  }
+
+  /**
+   * Idempotent: favoriting a store twice keeps a single row. Two concurrent first requests can both
+   * pass the insert's NOT EXISTS check; the one that then hits the primary key has its favorite
+   * already, so the violation counts as success once the row is confirmed.
+   */
+  public void add(UUID userId, UUID storeId) {
+    try {
+      authUserRepository.addFavorite(userId, storeId);
+    } catch (DataIntegrityViolationException ex) {
+      if (!authUserRepository.findFavoriteStoreIdsIn(userId, List.of(storeId)).contains(storeId)) {
+        throw ex;
+      }
+    }
+  }
+
+  public void remove(UUID userId, UUID storeId) {
+    authUserRepository.removeFavorite(userId, storeId);
+  }
+}
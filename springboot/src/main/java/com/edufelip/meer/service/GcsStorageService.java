@@ -1,21 +1,29 @@
 package com.edufelip.meer.service;
 
 import com.edufelip.meer.domain.port.PhotoStoragePort;
+import com.google.api.gax.paging.Page;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
-import com.google.cloud.storage.HttpMethod;
+import com.google.cloud.BatchResult;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Storage;
-import com.google.cloud.storage.Storage.SignUrlOption;
-import java.net.URL;
+import com.google.cloud.storage.Storage.BlobField;
+import com.google.cloud.storage.Storage.BlobListOption;
+import com.google.cloud.storage.StorageBatch;
+import com.google.cloud.storage.StorageException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -28,21 +36,24 @@ public class GcsStorageService implements PhotoStoragePort {
 
   private static final Logger log = LoggerFactory.getLogger(GcsStorageService.class);
 
+  private static final int LIST_PAGE_SIZE = 1000;
+  private static final int STREAM_CHUNK_BYTES = 256 * 1024;
+
   private final Storage storage;
+  private final UploadUrlSigner uploadUrlSigner;
   private final String bucket;
-  private final Duration signedUrlTtl;
   private final String publicBaseUrl;
   private final String avatarsPrefix;
 
   public GcsStorageService(
       Storage storage,
+      UploadUrlSigner uploadUrlSigner,
       @Value("${storage.gcs.bucket}") String bucket,
-      @Value("${storage.gcs.signed-url-ttl-minutes:120}") long signedUrlTtlMinutes,
       @Value("${storage.gcs.public-base-url:}") String publicBaseUrl,
       @Value("${storage.gcs.avatars-prefix:avatars}") String avatarsPrefix) {
     this.storage = storage;
+    this.uploadUrlSigner = uploadUrlSigner;
     this.bucket = bucket;
-    this.signedUrlTtl = Duration.ofMinutes(signedUrlTtlMinutes);
     this.publicBaseUrl =
         (publicBaseUrl == null || publicBaseUrl.isBlank())
             ? "https://storage.googleapis.com/" + bucket
@@ -54,40 +65,19 @@ public class GcsStorageService implements PhotoStoragePort {
 
   public List<PhotoStoragePort.UploadSlot> createUploadSlots(
       UUID storeId, int count, List<String> contentTypes) {
-    List<PhotoStoragePort.UploadSlot> slots = new ArrayList<>();
+    List<String> ctypes = new ArrayList<>(count);
     for (int i = 0; i < count; i++) {
-      String ctype =
+      ctypes.add(
           contentTypes != null && contentTypes.size() > i && contentTypes.get(i) != null
               ? contentTypes.get(i)
-              : "image/jpeg";
-      String objectName = "stores/%s/photos/%s".formatted(storeId, UUID.randomUUID());
-      BlobInfo blobInfo = BlobInfo.newBuilder(bucket, objectName).setContentType(ctype).build();
-      URL url =
-          storage.signUrl(
-              blobInfo,
-              signedUrlTtl.toMinutes(),
-              TimeUnit.MINUTES,
-              SignUrlOption.httpMethod(HttpMethod.PUT),
-              SignUrlOption.withV4Signature(),
-              SignUrlOption.withContentType());
-      slots.add(new PhotoStoragePort.UploadSlot(url.toString(), objectName, ctype));
+              : "image/jpeg");
     }
-    return slots;
+    return uploadUrlSigner.sign("stores/%s/photos/".formatted(storeId), ctypes);
   }
 
   public PhotoStoragePort.UploadSlot createAvatarSlot(String userId, String contentType) {
     String ctype = contentType != null ? contentType : "image/jpeg";
-    String objectName = "%s/%s-%s".formatted(avatarsPrefix, userId, UUID.randomUUID());
-    BlobInfo blobInfo = BlobInfo.newBuilder(bucket, objectName).setContentType(ctype).build();
-    URL url =
-        storage.signUrl(
-            blobInfo,
-            signedUrlTtl.toMinutes(),
-            TimeUnit.MINUTES,
-            SignUrlOption.httpMethod(HttpMethod.PUT),
-            SignUrlOption.withV4Signature(),
-            SignUrlOption.withContentType());
-    return new PhotoStoragePort.UploadSlot(url.toString(), objectName, ctype);
+    return uploadUrlSigner.sign("%s/%s-".formatted(avatarsPrefix, userId), List.of(ctype)).get(0);
   }
 
   public Blob fetchRequiredObject(String fileKey) {
@@ -109,6 +99,36 @@ public class GcsStorageService implements PhotoStoragePort {
     return publicBaseUrl + "/" + fileKey;
   }
 
+  @Override
+  public String fileKeyOf(String url) {
+    return deriveKey(url);
+  }
+
+  @Override
+  public byte[] download(String fileKey) {
+    return storage.readAllBytes(BlobId.of(bucket, fileKey));
+  }
+
+  @Override
+  public InputStream openStream(String fileKey) {
+    ReadChannel reader = storage.reader(BlobId.of(bucket, fileKey));
+    // Small chunks: callers typically read a header and close.
+    reader.setChunkSize(STREAM_CHUNK_BYTES);
+    return Channels.newInputStream(reader);
+  }
+
+  /** Generated objects never change under the same key, so they are cached for a year. */
+  @Override
+  public String upload(String fileKey, String contentType, byte[] content) {
+    BlobInfo blobInfo =
+        BlobInfo.newBuilder(bucket, fileKey)
+            .setContentType(contentType)
+            .setCacheControl("public, max-age=31536000, immutable")
+            .build();
+    storage.create(blobInfo, content);
+    return publicUrl(fileKey);
+  }
+
   public String publicBaseUrl() {
     return publicBaseUrl;
   }
@@ -152,6 +172,54 @@ public class GcsStorageService implements PhotoStoragePort {
     deleteByFileKey(key);
   }
 
+  @Override
+  public List<String> deleteAll(List<String> fileKeys) {
+    if (fileKeys.isEmpty()) return List.of();
+    StorageBatch batch = storage.batch();
+    List<String> failed = Collections.synchronizedList(new ArrayList<>());
+    for (String fileKey : fileKeys) {
+      batch
+          .delete(BlobId.of(bucket, fileKey))
+          .notify(
+              new BatchResult.Callback<Boolean, StorageException>() {
+                @Override
+                public void success(Boolean deleted) {}
+
+                @Override
+                public void error(StorageException ex) {
+                  if (ex.getCode() != 404) failed.add(fileKey);
+                }
+              });
+    }
+    batch.submit();
+    log.info(
+        "GCS batch delete bucket={} keys={} failed={}", bucket, fileKeys.size(), failed.size());
+    return List.copyOf(failed);
+  }
+
+  @Override
+  public List<String> uploadPrefixes() {
+    return List.of("stores/", avatarsPrefix + "/");
+  }
+
+  @Override
+  public Stream<ListedObject> listObjects(String prefix) {
+    Page<Blob> page =
+        storage.list(
+            bucket,
+            BlobListOption.prefix(prefix),
+            BlobListOption.pageSize(LIST_PAGE_SIZE),
+            BlobListOption.fields(BlobField.NAME, BlobField.TIME_CREATED));
+    return StreamSupport.stream(page.iterateAll().spliterator(), false)
+        .map(
+            blob ->
+                new ListedObject(
+                    blob.getName(),
+                    blob.getCreateTime() != null
+                        ? Instant.ofEpochMilli(blob.getCreateTime())
+                        : null));
+  }
+
   private String deriveKey(String url) {
     if (url == null) return null;
     // Strip bucket-hosted URL patterns
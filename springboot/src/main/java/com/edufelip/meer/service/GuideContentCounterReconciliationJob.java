@@ -0,0 +1,40 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.domain.repo.GuideContentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes the denormalized {@code like_count}/{@code comment_count} columns from
+ * {@code guide_content_like} and {@code guide_content_comment}, fixing drift left by cascading
+ * deletes (for example account removal) or failed writes.
+ */
+@Component
+public class GuideContentCounterReconciliationJob {
+
+  private static final Logger log =
+      LoggerFactory.getLogger(GuideContentCounterReconciliationJob.class);
+
+  private final GuideContentRepository guideContentRepository;
+
+  public GuideContentCounterReconciliationJob(GuideContentRepository guideContentRepository) {
+    this.guideContentRepository = guideContentRepository;
+  }
+
+  @Scheduled(cron = "${meer.contents.reconcile-cron:0 45 3 * * *}")
+  public int reconcile() {
+    long start = System.nanoTime();
+    int corrected = guideContentRepository.reconcileCounters();
+    if (corrected > 0) {
+      log.warn(
+          "Guide content counters reconciled corrected={} in {} ms",
+          corrected,
+          (System.nanoTime() - start) / 1_000_000);
+    } else {
+      log.debug("Guide content counters in sync");
+    }
+    return corrected;
+  }
+}
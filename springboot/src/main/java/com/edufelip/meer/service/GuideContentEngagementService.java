@@ -1,7 +1,8 @@
 package com.edufelip.meer.service;
 
-import com.edufelip.meer.domain.repo.GuideContentCommentRepository;
 import com.edufelip.meer.domain.repo.GuideContentLikeRepository;
+import com.edufelip.meer.domain.repo.GuideContentRepository;
+import io.micrometer.core.annotation.Timed;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -9,50 +10,53 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Like/comment counts and the caller's liked flag for guide contents. Counts come from the
+ * denormalized {@code like_count}/{@code comment_count} columns, kept in step by the like and
+ * comment use cases and repaired by {@link GuideContentCounterReconciliationJob}.
+ */
 @Service
+@Transactional(readOnly = true)
 public class GuideContentEngagementService {
 
   public record EngagementSummary(long likeCount, long commentCount, boolean likedByMe) {}
 
   private final GuideContentLikeRepository guideContentLikeRepository;
-  private final GuideContentCommentRepository guideContentCommentRepository;
+  private final GuideContentRepository guideContentRepository;
 
   public GuideContentEngagementService(
       GuideContentLikeRepository guideContentLikeRepository,
-      GuideContentCommentRepository guideContentCommentRepository) {
+      GuideContentRepository guideContentRepository) {
     this.guideContentLikeRepository = guideContentLikeRepository;
-    this.guideContentCommentRepository = guideContentCommentRepository;
+    this.guideContentRepository = guideContentRepository;
   }
 
+  @Timed("meer.usecase")
   public Map<Integer, EngagementSummary> getEngagement(List<Integer> contentIds, UUID userId) {
     Map<Integer, EngagementSummary> result = new HashMap<>();
     if (contentIds == null || contentIds.isEmpty()) return result;
 
-    Map<Integer, Long> likeCounts = new HashMap<>();
-    for (GuideContentLikeRepository.CountView view :
-        guideContentLikeRepository.countByContentIds(contentIds)) {
-      likeCounts.put(view.getContentId(), view.getCnt());
+    Set<Integer> likedIds = likedContentIds(contentIds, userId);
+    for (GuideContentRepository.CounterView view :
+        guideContentRepository.findCounters(contentIds)) {
+      long likes = view.getLikeCount() != null ? view.getLikeCount() : 0L;
+      long comments = view.getCommentCount() != null ? view.getCommentCount() : 0L;
+      boolean likedByMe = likedIds.contains(view.getId());
+      result.put(view.getId(), new EngagementSummary(likes, comments, likedByMe));
     }
-
-    Map<Integer, Long> commentCounts = new HashMap<>();
-    for (GuideContentCommentRepository.CountView view :
-        guideContentCommentRepository.countByContentIds(contentIds)) {
-      commentCounts.put(view.getContentId(), view.getCnt());
-    }
-
-    Set<Integer> likedIds = new HashSet<>();
-    if (userId != null) {
-      likedIds.addAll(guideContentLikeRepository.findLikedContentIds(userId, contentIds));
-    }
-
-    for (Integer contentId : contentIds) {
-      long likes = likeCounts.getOrDefault(contentId, 0L);
-      long comments = commentCounts.getOrDefault(contentId, 0L);
-      boolean likedByMe = userId != null && likedIds.contains(contentId);
-      result.put(contentId, new EngagementSummary(likes, comments, likedByMe));
-    }
-
     return result;
   }
+
+  /**
+   * The subset of {@code contentIds} liked by {@code userId}; empty for anonymous callers. Lists
+   * built from {@link com.edufelip.meer.domain.GuideContentSummary} already carry the counts and
+   * only need this.
+   */
+  @Timed("meer.usecase")
+  public Set<Integer> likedContentIds(List<Integer> contentIds, UUID userId) {
+    if (userId == null || contentIds == null || contentIds.isEmpty()) return Set.of();
+    return new HashSet<>(guideContentLikeRepository.findLikedContentIds(userId, contentIds));
+  }
 }
@@ -0,0 +1,181 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.core.content.GuideContent;
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.GetGuideContentUseCase;
+import com.edufelip.meer.domain.GetThriftStoresUseCase;
+import com.edufelip.meer.domain.StoreCursor;
+import com.edufelip.meer.dto.FeaturedStoreDto;
+import com.edufelip.meer.dto.GuideContentDto;
+import com.edufelip.meer.dto.HomeResponse;
+import com.edufelip.meer.dto.NearbyStoreDto;
+import com.edufelip.meer.mapper.Mappers;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Assembles {@code /home}. The featured, nearby and guide sections are independent, so each runs
+ * on {@code homeFeedExecutor} in its own read-only transaction and is mapped to DTOs there. Every
+ * section has a latency budget; a section that overruns it, fails or finds the pool saturated is
+ * returned empty instead of holding up or failing the whole screen. An overrunning section is also
+ * cancelled, and its transaction carries the budget (rounded up to whole seconds, the JDBC
+ * granularity) as a statement timeout so a slow query gives its connection back.
+ */
+@Service
+public class HomeFeedService {
+
+  private static final Logger log = LoggerFactory.getLogger(HomeFeedService.class);
+
+  static final int SECTION_SIZE = 10;
+
+  private static final GuideContentEngagementService.EngagementSummary NO_ENGAGEMENT =
+      new GuideContentEngagementService.EngagementSummary(0L, 0L, false);
+
+  private final GetThriftStoresUseCase getThriftStoresUseCase;
+  private final GetGuideContentUseCase getGuideContentUseCase;
+  private final StoreFeedbackService storeFeedbackService;
+  private final GuideContentEngagementService guideContentEngagementService;
+  private final FavoriteService favoriteService;
+  private final PlatformTransactionManager transactionManager;
+  private final AsyncTaskExecutor executor;
+  private final Duration featuredBudget;
+  private final Duration nearbyBudget;
+  private final Duration contentBudget;
+
+  public HomeFeedService(
+      GetThriftStoresUseCase getThriftStoresUseCase,
+      GetGuideContentUseCase getGuideContentUseCase,
+      StoreFeedbackService storeFeedbackService,
+      GuideContentEngagementService guideContentEngagementService,
+      FavoriteService favoriteService,
+      PlatformTransactionManager transactionManager,
+      @Qualifier("homeFeedExecutor") AsyncTaskExecutor executor,
+      @Value("${meer.home.budget.featured:250ms}") Duration featuredBudget,
+      @Value("${meer.home.budget.nearby:400ms}") Duration nearbyBudget,
+      @Value("${meer.home.budget.content:300ms}") Duration contentBudget) {
+    this.getThriftStoresUseCase = getThriftStoresUseCase;
+    this.getGuideContentUseCase = getGuideContentUseCase;
+    this.storeFeedbackService = storeFeedbackService;
+    this.guideContentEngagementService = guideContentEngagementService;
+    this.favoriteService = favoriteService;
+    this.transactionManager = transactionManager;
+    this.executor = executor;
+    this.featuredBudget = featuredBudget;
+    this.nearbyBudget = nearbyBudget;
+    this.contentBudget = contentBudget;
+  }
+
+  public HomeResponse load(AuthUser user, double lat, double lng) {
+    UUID userId = user != null ? user.getId() : null;
+    var featured = section("featured", featuredBudget, this::featured);
+    var nearby = section("nearby", nearbyBudget, () -> nearby(user, lat, lng));
+    var content = section("content", contentBudget, () -> content(userId));
+    return new HomeResponse(featured.join(), nearby.join(), content.join());
+  }
+
+  private List<FeaturedStoreDto> featured() {
+    return getThriftStoresUseCase.executeRecentTop10().stream().map(FeaturedStoreDto::new).toList();
+  }
+
+  /** Keyset lookup from the origin, so no count query is issued for the first page. */
+  private List<NearbyStoreDto> nearby(AuthUser user, double lat, double lng) {
+    List<GetThriftStoresUseCase.NearbyStore> nearby =
+        getThriftStoresUseCase.executeNearbyAfter(lat, lng, -1, StoreCursor.MIN_ID, SECTION_SIZE);
+    List<ThriftStore> stores =
+        nearby.stream().map(GetThriftStoresUseCase.NearbyStore::store).toList();
+    var summaries = storeFeedbackService.summariesOf(stores);
+    var favoriteIds =
+        favoriteService.favoriteIdsAmong(user, stores.stream().map(ThriftStore::getId).toList());
+    return nearby.stream()
+        .map(
+            hit -> {
+              ThriftStore store = hit.store();
+              var summary = summaries.get(store.getId());
+              Double rating = summary != null ? summary.rating() : null;
+              Integer reviewCount =
+                  summary != null && summary.reviewCount() != null
+                      ? summary.reviewCount().intValue()
+                      : null;
+              return new NearbyStoreDto(
+                  store,
+                  hit.distanceMeters(),
+                  favoriteIds.contains(store.getId()),
+                  rating,
+                  reviewCount);
+            })
+        .toList();
+  }
+
+  /**
+   * The top-10 list is cached, so its counters may be stale; fresh ones come from the denormalized
+   * columns in a single lookup rather than from aggregates over the like and comment tables.
+   */
+  private List<GuideContentDto> content(UUID userId) {
+    List<GuideContent> contents = getGuideContentUseCase.executeRecentTop10();
+    var engagement =
+        guideContentEngagementService.getEngagement(
+            contents.stream().map(GuideContent::getId).toList(), userId);
+    return contents.stream()
+        .map(
+            gc -> {
+              var summary = engagement.getOrDefault(gc.getId(), NO_ENGAGEMENT);
+              return Mappers.toDto(
+                  gc, summary.likeCount(), summary.commentCount(), summary.likedByMe());
+            })
+        .toList();
+  }
+
+  private <T> CompletableFuture<List<T>> section(
+      String name, Duration budget, Supplier<List<T>> loader) {
+    TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+    readOnlyTx.setReadOnly(true);
+    readOnlyTx.setTimeout((int) Math.max(1, (budget.toMillis() + 999) / 1000));
+    CompletableFuture<List<T>> result = new CompletableFuture<>();
+    Future<?> task;
+    try {
+      task =
+          executor.submit(
+              () -> {
+                try {
+                  result.complete(readOnlyTx.execute(status -> loader.get()));
+                } catch (Throwable ex) {
+                  result.completeExceptionally(ex);
+                }
+              });
+    } catch (TaskRejectedException ex) {
+      log.warn("Home section {} skipped: homeFeedExecutor is saturated", name);
+      return CompletableFuture.completedFuture(List.of());
+    }
+    return result
+        .orTimeout(budget.toMillis(), TimeUnit.MILLISECONDS)
+        .exceptionally(
+            ex -> {
+              Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+              if (cause instanceof TimeoutException) {
+                // Drops a queued section and interrupts a running one.
+                task.cancel(true);
+                log.warn("Home section {} exceeded its {} ms budget", name, budget.toMillis());
+              } else {
+                log.warn("Home section {} failed: {}", name, String.valueOf(cause));
+              }
+              return List.of();
+            });
+  }
+}
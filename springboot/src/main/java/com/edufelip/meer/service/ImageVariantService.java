@@ -0,0 +1,261 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.domain.port.ImageVariantPort;
+import com.edufelip.meer.domain.port.PhotoStoragePort;
+import com.edufelip.meer.domain.repo.AuthUserRepository;
+import com.edufelip.meer.domain.repo.GuideContentRepository;
+import com.edufelip.meer.domain.repo.ThriftStorePhotoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import net.coobird.thumbnailator.Thumbnails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Builds downscaled variants of uploaded images on {@code imageVariantExecutor}, stores them next
+ * to the original ({@code <key>-thumb.webp}, or {@code .jpg} without a WebP writer, ...) and
+ * records their URLs on the rows that still reference the original. Images are decoded once, EXIF
+ * orientation applied, and never upscaled. Sources over {@code meer.images.variants.max-bytes}
+ * (from the object metadata) or {@code max-pixels} (from the streamed header) are skipped before
+ * being downloaded, and keep serving at original size only.
+ * Variants are WebP when an ImageIO WebP writer is installed and JPEG otherwise. Generation time
+ * is published as {@code meer.images.variants}, tagged by target and outcome.
+ */
+@Service
+public class ImageVariantService implements ImageVariantPort {
+
+  private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+  enum Size {
+    THUMB("thumb", 240),
+    CARD("card", 720),
+    FULL("full", 1600);
+
+    final String suffix;
+    final int maxEdge;
+
+    Size(String suffix, int maxEdge) {
+      this.suffix = suffix;
+      this.maxEdge = maxEdge;
+    }
+  }
+
+  /** Largest first, so each variant is scaled from the previous one. */
+  private static final Map<Target, List<Size>> SIZES =
+      Map.of(
+          Target.STORE_PHOTO, List.of(Size.FULL, Size.CARD, Size.THUMB),
+          Target.AVATAR, List.of(Size.THUMB),
+          Target.GUIDE_IMAGE, List.of(Size.CARD, Size.THUMB));
+
+  private record Format(String name, String contentType, String extension) {}
+
+  private static final Format WEBP = new Format("webp", "image/webp", "webp");
+  private static final Format JPEG = new Format("jpeg", "image/jpeg", "jpg");
+
+  private final PhotoStoragePort photoStoragePort;
+  private final ThriftStorePhotoRepository thriftStorePhotoRepository;
+  private final AuthUserRepository authUserRepository;
+  private final GuideContentRepository guideContentRepository;
+  private final ThreadPoolTaskExecutor executor;
+  private final MeterRegistry meterRegistry;
+  private final boolean enabled;
+  private final float quality;
+  private final long maxBytes;
+  private final long maxPixels;
+  private final Format format;
+
+  public ImageVariantService(
+      PhotoStoragePort photoStoragePort,
+      ThriftStorePhotoRepository thriftStorePhotoRepository,
+      AuthUserRepository authUserRepository,
+      GuideContentRepository guideContentRepository,
+      @Qualifier("imageVariantExecutor") ThreadPoolTaskExecutor executor,
+      MeterRegistry meterRegistry,
+      @Value("${meer.images.variants.enabled:true}") boolean enabled,
+      @Value("${meer.images.variants.quality:0.8}") float quality,
+      @Value("${meer.images.variants.max-bytes:20971520}") long maxBytes,
+      @Value("${meer.images.variants.max-pixels:40000000}") long maxPixels) {
+    this.photoStoragePort = photoStoragePort;
+    this.thriftStorePhotoRepository = thriftStorePhotoRepository;
+    this.authUserRepository = authUserRepository;
+    this.guideContentRepository = guideContentRepository;
+    this.executor = executor;
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    this.quality = Math.max(0.1f, Math.min(quality, 1.0f));
+    this.maxBytes = maxBytes;
+    this.maxPixels = maxPixels;
+    this.format = ImageIO.getImageWritersByFormatName(WEBP.name()).hasNext() ? WEBP : JPEG;
+  }
+
+  @Override
+  public void requestVariants(Target target, String url) {
+    if (!enabled || url == null || url.isBlank()) return;
+    String fileKey = photoStoragePort.fileKeyOf(url);
+    if (fileKey == null) return;
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              submit(target, url, fileKey);
+            }
+          });
+    } else {
+      submit(target, url, fileKey);
+    }
+  }
+
+  private void submit(Target target, String url, String fileKey) {
+    try {
+      executor.execute(() -> generate(target, url, fileKey));
+    } catch (TaskRejectedException ex) {
+      log.warn("Image variant queue full, serving original only key={}", fileKey);
+      record(target, "rejected", 0);
+    }
+  }
+
+  /** Generates, stores and records the target's variants of the object at {@code fileKey}. */
+  void generate(Target target, String url, String fileKey) {
+    long start = System.nanoTime();
+    String outcome = "failed";
+    try {
+      Long bytes = photoStoragePort.fetchRequired(fileKey).size();
+      if (bytes == null || bytes > maxBytes) {
+        log.warn("Skipping image variants key={}: {} bytes over the limit", fileKey, bytes);
+        outcome = "oversized";
+        return;
+      }
+      long pixels = pixelCount(fileKey);
+      if (pixels > maxPixels) {
+        log.warn("Skipping image variants key={}: {} pixels over the limit", fileKey, pixels);
+        outcome = "oversized";
+        return;
+      }
+      BufferedImage image =
+          Thumbnails.of(new ByteArrayInputStream(photoStoragePort.download(fileKey)))
+              .scale(1.0)
+              .asBufferedImage();
+      Map<Size, String> urls = new EnumMap<>(Size.class);
+      for (Size size : SIZES.get(target)) {
+        image = fitWithin(image, size.maxEdge);
+        String key = fileKey + "-" + size.suffix + "." + format.extension();
+        urls.put(size, photoStoragePort.upload(key, format.contentType(), encode(image)));
+      }
+      int updated =
+          switch (target) {
+            case STORE_PHOTO ->
+                thriftStorePhotoRepository.updateVariants(
+                    url, urls.get(Size.THUMB), urls.get(Size.CARD), urls.get(Size.FULL));
+            case AVATAR -> authUserRepository.updatePhotoThumb(url, urls.get(Size.THUMB));
+            case GUIDE_IMAGE ->
+                guideContentRepository.updateImageVariants(
+                    url, urls.get(Size.THUMB), urls.get(Size.CARD));
+          };
+      if (updated == 0) {
+        // The image was replaced or removed while its variants were being built.
+        urls.values().forEach(photoStoragePort::deleteByUrl);
+        outcome = "stale";
+      } else {
+        outcome = "generated";
+      }
+    } catch (IOException | RuntimeException ex) {
+      log.warn("Failed to generate image variants key={}: {}", fileKey, ex.getMessage());
+    } finally {
+      record(target, outcome, System.nanoTime() - start);
+    }
+  }
+
+  /** Width times height as declared by the image header; only the header is read. */
+  private long pixelCount(String fileKey) throws IOException {
+    try (InputStream in = photoStoragePort.openStream(fileKey);
+        ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+      Iterator<ImageReader> readers = stream != null ? ImageIO.getImageReaders(stream) : null;
+      if (readers == null || !readers.hasNext()) throw new IOException("Unsupported image format");
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(stream, true, true);
+        return (long) reader.getWidth(0) * reader.getHeight(0);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  private static BufferedImage fitWithin(BufferedImage image, int maxEdge) throws IOException {
+    if (Math.max(image.getWidth(), image.getHeight()) <= maxEdge) return image;
+    return Thumbnails.of(image).size(maxEdge, maxEdge).asBufferedImage();
+  }
+
+  private byte[] encode(BufferedImage image) throws IOException {
+    Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format.name());
+    if (!writers.hasNext()) throw new IOException("No ImageIO writer for " + format.name());
+    ImageWriter writer = writers.next();
+    BufferedImage source = format == JPEG ? opaque(image) : image;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+      writer.setOutput(stream);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      if (param.canWriteCompressed()) {
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        String[] types = param.getCompressionTypes();
+        if (types != null && types.length > 0 && param.getCompressionType() == null) {
+          param.setCompressionType(types[0]);
+        }
+        param.setCompressionQuality(quality);
+      }
+      writer.write(null, new IIOImage(source, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return out.toByteArray();
+  }
+
+  /** JPEG has no alpha channel; transparent areas become white. */
+  private static BufferedImage opaque(BufferedImage image) {
+    if (image.getType() == BufferedImage.TYPE_INT_RGB) return image;
+    BufferedImage rgb =
+        new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = rgb.createGraphics();
+    try {
+      g.drawImage(image, 0, 0, Color.WHITE, null);
+    } finally {
+      g.dispose();
+    }
+    return rgb;
+  }
+
+  private void record(Target target, String outcome, long nanos) {
+    Timer.builder("meer.images.variants")
+        .tag("target", target.name())
+        .tag("outcome", outcome)
+        .register(meterRegistry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+}
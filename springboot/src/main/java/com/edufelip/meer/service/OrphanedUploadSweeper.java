@@ -0,0 +1,192 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.domain.port.PhotoStoragePort;
+import com.edufelip.meer.domain.port.StorageCleanupPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes objects that were uploaded through a signed URL but never attached to a store photo,
+ * avatar or guide image. The keys behind every image URL column are loaded into a set (see {@link
+ * #keyOf} for URLs saved under an older host), then the
+ * bucket is listed page by page under {@link PhotoStoragePort#uploadPrefixes()}; unreferenced
+ * objects older than {@code meer.storage.orphan-sweep.grace} are queued on the {@code
+ * storage_deletion} outbox in batches, paced to {@code deletes-per-second} and capped at {@code
+ * max-deletes} per run. The grace period must stay well above the signed URL TTL so uploads that
+ * are still being confirmed are never touched.
+ *
+ * <p>In dry-run mode (the default) orphans are only logged and counted. Both modes publish {@code
+ * meer.storage.orphans} (tagged {@code action=queued|dry-run}).
+ */
+@Component
+@ConditionalOnProperty(prefix = "meer.storage.orphan-sweep", name = "enabled", havingValue = "true")
+public class OrphanedUploadSweeper {
+
+  private static final Logger log = LoggerFactory.getLogger(OrphanedUploadSweeper.class);
+
+  /** Every column that can hold one of our object URLs. */
+  private static final List<String> REFERENCE_QUERIES =
+      List.of(
+          "SELECT url, thumb_url, card_url, full_url FROM thrift_store_photo",
+          "SELECT photo_url, photo_thumb_url FROM auth_user",
+          "SELECT image_url, image_thumb_url, image_card_url FROM guide_content",
+          "SELECT cover_image_url FROM thrift_store",
+          "SELECT gallery_urls FROM thrift_store_gallery_urls");
+
+  public record SweepResult(long scanned, long orphaned) {}
+
+  private final JdbcTemplate jdbcTemplate;
+  private final PhotoStoragePort photoStoragePort;
+  private final StorageCleanupPort storageCleanupPort;
+  private final MeterRegistry meterRegistry;
+  private final Clock clock;
+  private final Duration grace;
+  private final boolean dryRun;
+  private final int maxDeletes;
+  private final int deletesPerSecond;
+
+  public OrphanedUploadSweeper(
+      JdbcTemplate jdbcTemplate,
+      PhotoStoragePort photoStoragePort,
+      StorageCleanupPort storageCleanupPort,
+      MeterRegistry meterRegistry,
+      Clock clock,
+      @Value("${meer.storage.orphan-sweep.grace:48h}") Duration grace,
+      @Value("${meer.storage.orphan-sweep.dry-run:true}") boolean dryRun,
+      @Value("${meer.storage.orphan-sweep.max-deletes:10000}") int maxDeletes,
+      @Value("${meer.storage.orphan-sweep.deletes-per-second:50}") int deletesPerSecond) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.photoStoragePort = photoStoragePort;
+    this.storageCleanupPort = storageCleanupPort;
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+    this.grace = grace;
+    this.dryRun = dryRun;
+    this.maxDeletes = Math.max(0, maxDeletes);
+    this.deletesPerSecond = Math.max(1, deletesPerSecond);
+  }
+
+  @Scheduled(cron = "${meer.storage.orphan-sweep.cron:0 15 4 * * *}")
+  public void sweepOrphans() {
+    try {
+      sweep();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException ex) {
+      log.warn("Orphaned upload sweep failed: {}", ex.getMessage());
+    }
+  }
+
+  public SweepResult sweep() throws InterruptedException {
+    long start = System.nanoTime();
+    Instant cutoff = clock.instant().minus(grace);
+    // Loaded before listing: anything attached after this point is younger than the cutoff.
+    Set<String> referenced = referencedKeys();
+    long scanned = 0;
+    long orphaned = 0;
+    List<String> pending = new ArrayList<>();
+    for (String prefix : photoStoragePort.uploadPrefixes()) {
+      try (Stream<PhotoStoragePort.ListedObject> objects = photoStoragePort.listObjects(prefix)) {
+        Iterator<PhotoStoragePort.ListedObject> it = objects.iterator();
+        while (it.hasNext() && orphaned < maxDeletes) {
+          PhotoStoragePort.ListedObject object = it.next();
+          scanned++;
+          if (object.createdAt() == null || !object.createdAt().isBefore(cutoff)) continue;
+          if (referenced.contains(object.fileKey())) continue;
+          orphaned++;
+          if (dryRun) {
+            log.info("Orphaned upload (dry run) key={}", object.fileKey());
+            continue;
+          }
+          pending.add(object.fileKey());
+          if (pending.size() >= PhotoStoragePort.MAX_DELETE_BATCH) flush(pending);
+        }
+      }
+    }
+    if (!pending.isEmpty()) flush(pending);
+    Counter.builder("meer.storage.orphans")
+        .tag("action", dryRun ? "dry-run" : "queued")
+        .register(meterRegistry)
+        .increment(orphaned);
+    log.info(
+        "Orphaned upload sweep scanned={} referenced={} orphaned={} dryRun={} in {} ms",
+        scanned,
+        referenced.size(),
+        orphaned,
+        dryRun,
+        (System.nanoTime() - start) / 1_000_000);
+    return new SweepResult(scanned, orphaned);
+  }
+
+  private Set<String> referencedKeys() {
+    Set<String> keys = new HashSet<>();
+    for (String sql : REFERENCE_QUERIES) {
+      jdbcTemplate.query(
+          sql,
+          rs -> {
+            int columns = rs.getMetaData().getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+              String key = keyOf(rs.getString(i));
+              if (key != null) keys.add(key);
+            }
+          });
+    }
+    return keys;
+  }
+
+  /**
+   * The object key behind {@code url}. Besides the URLs the storage port recognises, any URL whose
+   * path contains an upload prefix counts from that prefix on, so rows saved under an older or
+   * alternate base URL (a CDN host change, say) still protect their object. Listed objects all sit
+   * under those prefixes, so a URL without one cannot point at anything the sweep would delete.
+   */
+  String keyOf(String url) {
+    String key = photoStoragePort.fileKeyOf(url);
+    if (key != null || url == null) return key;
+    String path;
+    try {
+      path = URI.create(url.trim()).getPath();
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+    if (path == null) return null;
+    int start = -1;
+    for (String prefix : photoStoragePort.uploadPrefixes()) {
+      int at;
+      if (path.startsWith(prefix)) {
+        at = 0;
+      } else {
+        // Absolute paths start with "/", so the match that counts sits one past a slash.
+        int slash = path.indexOf("/" + prefix);
+        at = slash >= 0 ? slash + 1 : -1;
+      }
+      if (at >= 0 && (start < 0 || at < start)) start = at;
+    }
+    return start >= 0 ? path.substring(start) : null;
+  }
+
+  /** Queues one batch, then waits long enough to keep the run at {@code deletesPerSecond}. */
+  private void flush(List<String> pending) throws InterruptedException {
+    storageCleanupPort.deleteKeysLater(List.copyOf(pending));
+    long pauseMs = pending.size() * 1000L / deletesPerSecond;
+    pending.clear();
+    Thread.sleep(pauseMs);
+  }
+}
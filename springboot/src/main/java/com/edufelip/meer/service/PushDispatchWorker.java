@@ -0,0 +1,252 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.core.push.PushJob;
+import com.edufelip.meer.core.push.PushToken;
+import com.edufelip.meer.domain.PushBatchResult;
+import com.edufelip.meer.domain.PushNotificationException;
+import com.edufelip.meer.domain.port.PushNotificationPort;
+import com.edufelip.meer.domain.repo.PushJobRepository;
+import com.edufelip.meer.domain.repo.PushTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the {@code push_job} outbox. Due jobs are claimed with a lease and run on {@code
+ * pushDispatchExecutor}; each job pages through its audience with {@link PushSegmentReader} in
+ * batches of up to {@link PushNotificationPort#MAX_BATCH_SIZE}, retries transient per-token
+ * failures with exponential backoff, bulk-deletes unregistered tokens and checkpoints after every
+ * batch. A job whose sends keep failing is rescheduled with backoff, and a job whose instance died
+ * is picked up again once its lease expires. Every claim carries a fresh owner token that all
+ * later writes must match, so a worker that lost its lease stops at its next checkpoint. Delivery
+ * is at least once: a batch interrupted mid-flight is sent again.
+ *
+ * <p>Throughput is published as {@code meer.push.tokens} (tagged by audience and outcome) and
+ * {@code meer.push.batch} (FCM time per batch, including retries).
+ */
+@Component
+@ConditionalOnProperty(prefix = "firebase", name = "enabled", havingValue = "true")
+public class PushDispatchWorker {
+
+  private static final Logger log = LoggerFactory.getLogger(PushDispatchWorker.class);
+
+  private static final Duration MAX_JOB_BACKOFF = Duration.ofMinutes(30);
+  private static final int MAX_ERROR_LENGTH = 1024;
+
+  private record BatchOutcome(int sent, int failed, int removed) {}
+
+  private final PushJobRepository pushJobRepository;
+  private final PushTokenRepository pushTokenRepository;
+  private final PushSegmentReader pushSegmentReader;
+  private final PushNotificationPort pushNotificationPort;
+  private final MeterRegistry meterRegistry;
+  private final ThreadPoolTaskExecutor executor;
+  private final Clock clock;
+  private final int batchSize;
+  private final Duration lease;
+  private final int retryAttempts;
+  private final Duration retryBackoff;
+  private final int maxJobAttempts;
+  private final Duration jobRetryBackoff;
+
+  public PushDispatchWorker(
+      PushJobRepository pushJobRepository,
+      PushTokenRepository pushTokenRepository,
+      PushSegmentReader pushSegmentReader,
+      PushNotificationPort pushNotificationPort,
+      MeterRegistry meterRegistry,
+      @Qualifier("pushDispatchExecutor") ThreadPoolTaskExecutor executor,
+      Clock clock,
+      @Value("${meer.push.batch-size:500}") int batchSize,
+      @Value("${meer.push.lease:5m}") Duration lease,
+      @Value("${meer.push.retry.attempts:3}") int retryAttempts,
+      @Value("${meer.push.retry.backoff:500ms}") Duration retryBackoff,
+      @Value("${meer.push.job.max-attempts:5}") int maxJobAttempts,
+      @Value("${meer.push.job.retry-backoff:30s}") Duration jobRetryBackoff) {
+    this.pushJobRepository = pushJobRepository;
+    this.pushTokenRepository = pushTokenRepository;
+    this.pushSegmentReader = pushSegmentReader;
+    this.pushNotificationPort = pushNotificationPort;
+    this.meterRegistry = meterRegistry;
+    this.executor = executor;
+    this.clock = clock;
+    this.batchSize = Math.max(1, Math.min(batchSize, PushNotificationPort.MAX_BATCH_SIZE));
+    this.lease = lease;
+    this.retryAttempts = Math.max(1, retryAttempts);
+    this.retryBackoff = retryBackoff;
+    this.maxJobAttempts = Math.max(1, maxJobAttempts);
+    this.jobRetryBackoff = jobRetryBackoff;
+  }
+
+  @Scheduled(fixedDelayString = "${meer.push.poll-delay-ms:2000}")
+  public void dispatchDue() {
+    int free = executor.getMaxPoolSize() - executor.getActiveCount();
+    if (free <= 0) return;
+    Instant now = clock.instant();
+    for (UUID jobId : pushJobRepository.findDueIds(now, PageRequest.of(0, free))) {
+      UUID owner = UUID.randomUUID();
+      if (pushJobRepository.claim(jobId, owner, now, now.plus(lease)) != 1) continue;
+      try {
+        executor.execute(() -> process(jobId, owner));
+      } catch (TaskRejectedException ex) {
+        // never started, so it does not count as an attempt
+        pushJobRepository.release(jobId, owner, now);
+      }
+    }
+  }
+
+  /**
+   * Delivers a job claimed under {@code owner}, resuming after its last checkpointed token. Stops
+   * as soon as a checkpoint finds the lease gone, so a job taken over by another worker after its
+   * lease expired is not sent twice beyond the batch in flight.
+   */
+  public void process(UUID jobId, UUID owner) {
+    PushJob job = pushJobRepository.findById(jobId).orElse(null);
+    if (job == null) return;
+    long start = System.nanoTime();
+    long handled = 0;
+    PushSegmentReader.Cursor cursor = PushSegmentReader.Cursor.of(job);
+    try {
+      PushSegmentReader.Segment segment = pushSegmentReader.open(job);
+      while (true) {
+        List<PushToken> batch = segment.next(cursor, batchSize);
+        if (batch.isEmpty()) break;
+        BatchOutcome outcome = deliver(job, batch);
+        record(job, outcome);
+        handled += batch.size();
+        cursor = PushSegmentReader.Cursor.after(batch.get(batch.size() - 1));
+        Instant now = clock.instant();
+        int updated =
+            pushJobRepository.recordProgress(
+                jobId,
+                owner,
+                cursor.userId(),
+                cursor.tokenId(),
+                outcome.sent(),
+                outcome.failed(),
+                outcome.removed(),
+                now,
+                now.plus(lease));
+        if (updated == 0) {
+          log.warn("Push job {} lost its lease after {} tokens, stopping", jobId, handled);
+          return;
+        }
+        if (batch.size() < batchSize) break;
+      }
+      if (pushJobRepository.complete(jobId, owner, clock.instant()) == 0) {
+        log.warn("Push job {} lost its lease before completing", jobId);
+        return;
+      }
+      long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+      log.info(
+          "Push job {} ({}) completed: {} tokens in {} ms ({} tokens/s)",
+          jobId,
+          job.getAudience(),
+          handled,
+          elapsedMs,
+          handled * 1000 / elapsedMs);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      pushJobRepository.reschedule(jobId, owner, clock.instant(), "Interrupted");
+    } catch (PushNotificationException | RuntimeException ex) {
+      retryLater(job, owner, ex);
+    }
+  }
+
+  private BatchOutcome deliver(PushJob job, List<PushToken> batch)
+      throws PushNotificationException, InterruptedException {
+    long start = System.nanoTime();
+    List<PushToken> pending = batch;
+    List<UUID> invalid = new ArrayList<>();
+    int sent = 0;
+    int failed = 0;
+    try {
+      for (int attempt = 1; ; attempt++) {
+        PushBatchResult result;
+        try {
+          result =
+              pushNotificationPort.sendToTokens(
+                  pending, job.getTitle(), job.getBody(), job.getData());
+        } catch (PushNotificationException ex) {
+          if (attempt >= retryAttempts) throw ex;
+          Thread.sleep(backoff(retryBackoff, attempt).toMillis());
+          continue;
+        }
+        sent += result.sent();
+        failed += result.failed();
+        invalid.addAll(result.invalidTokenIds());
+        pending = result.retryable();
+        if (pending.isEmpty()) break;
+        if (attempt >= retryAttempts) {
+          failed += pending.size();
+          break;
+        }
+        Thread.sleep(backoff(retryBackoff, attempt).toMillis());
+      }
+    } finally {
+      Timer.builder("meer.push.batch")
+          .tag("audience", job.getAudience().name())
+          .register(meterRegistry)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      if (!invalid.isEmpty()) {
+        pushTokenRepository.deleteAllByIdInBatch(invalid);
+      }
+    }
+    return new BatchOutcome(sent, failed, invalid.size());
+  }
+
+  private void record(PushJob job, BatchOutcome outcome) {
+    String audience = job.getAudience().name();
+    tokens(audience, "sent").increment(outcome.sent());
+    tokens(audience, "failed").increment(outcome.failed());
+    tokens(audience, "removed").increment(outcome.removed());
+  }
+
+  private Counter tokens(String audience, String outcome) {
+    return Counter.builder("meer.push.tokens")
+        .tag("audience", audience)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private void retryLater(PushJob job, UUID owner, Exception ex) {
+    String error = truncate(String.valueOf(ex.getMessage()));
+    int attempts = job.getAttempts() != null ? job.getAttempts() : 1;
+    if (attempts >= maxJobAttempts) {
+      log.error("Push job {} failed after {} attempts", job.getId(), attempts, ex);
+      pushJobRepository.fail(job.getId(), owner, clock.instant(), error);
+      return;
+    }
+    Duration delay = backoff(jobRetryBackoff, attempts);
+    if (delay.compareTo(MAX_JOB_BACKOFF) > 0) delay = MAX_JOB_BACKOFF;
+    log.warn(
+        "Push job {} attempt {} failed, retrying in {}: {}", job.getId(), attempts, delay, error);
+    pushJobRepository.reschedule(job.getId(), owner, clock.instant().plus(delay), error);
+  }
+
+  /** {@code base * 2^(attempt - 1)}. */
+  private static Duration backoff(Duration base, int attempt) {
+    return base.multipliedBy(1L << Math.min(attempt - 1, 16));
+  }
+
+  private static String truncate(String value) {
+    return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+  }
+}
@@ -0,0 +1,110 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.core.push.PushAudience;
+import com.edufelip.meer.core.push.PushEnvironment;
+import com.edufelip.meer.core.push.PushJob;
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.repo.PushJobRepository;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Queues dashboard push sends for {@link PushDispatchWorker} and exposes their progress. */
+@Service
+@ConditionalOnProperty(prefix = "firebase", name = "enabled", havingValue = "true")
+public class PushJobService {
+
+  private final PushJobRepository pushJobRepository;
+  private final ThriftStoreRepository thriftStoreRepository;
+  private final Clock clock;
+
+  public PushJobService(
+      PushJobRepository pushJobRepository,
+      ThriftStoreRepository thriftStoreRepository,
+      Clock clock) {
+    this.pushJobRepository = pushJobRepository;
+    this.thriftStoreRepository = thriftStoreRepository;
+    this.clock = clock;
+  }
+
+  public PushJob enqueueToUser(
+      UUID userId,
+      PushEnvironment environment,
+      String title,
+      String body,
+      Map<String, String> data,
+      UUID requestedBy) {
+    PushJob job = newJob(PushAudience.USER, environment, title, body, data, requestedBy);
+    job.setTargetUserId(userId);
+    return pushJobRepository.save(job);
+  }
+
+  /** Queues a send to every user who favorited {@code storeId}. */
+  public PushJob enqueueToStoreFavorites(
+      UUID storeId,
+      PushEnvironment environment,
+      String title,
+      String body,
+      Map<String, String> data,
+      UUID requestedBy) {
+    requireStore(storeId);
+    PushJob job =
+        newJob(PushAudience.STORE_FAVORITES, environment, title, body, data, requestedBy);
+    job.setTargetStoreId(storeId);
+    return pushJobRepository.save(job);
+  }
+
+  /** Queues a send to devices last seen within {@code radiusMeters} of {@code storeId}. */
+  public PushJob enqueueNearStore(
+      UUID storeId,
+      int radiusMeters,
+      PushEnvironment environment,
+      String title,
+      String body,
+      Map<String, String> data,
+      UUID requestedBy) {
+    ThriftStore store = requireStore(storeId);
+    if (store.getLatitude() == null || store.getLongitude() == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Store has no location");
+    }
+    PushJob job = newJob(PushAudience.NEAR_STORE, environment, title, body, data, requestedBy);
+    job.setTargetStoreId(storeId);
+    job.setRadiusMeters(radiusMeters);
+    return pushJobRepository.save(job);
+  }
+
+  public Optional<PushJob> find(UUID jobId) {
+    return pushJobRepository.findById(jobId);
+  }
+
+  private ThriftStore requireStore(UUID storeId) {
+    return thriftStoreRepository
+        .findById(storeId)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Store not found"));
+  }
+
+  private PushJob newJob(
+      PushAudience audience,
+      PushEnvironment environment,
+      String title,
+      String body,
+      Map<String, String> data,
+      UUID requestedBy) {
+    PushJob job = new PushJob();
+    job.setAudience(audience);
+    job.setEnvironment(environment);
+    job.setTitle(title);
+    job.setBody(body);
+    job.setData(new HashMap<>(data));
+    job.setNextAttemptAt(clock.instant());
+    job.setCreatedByUserId(requestedBy);
+    return job;
+  }
+}
@@ -1,10 +1,10 @@
 package com.edufelip.meer.service;
 
-import com.edufelip.meer.core.push.PushEnvironment;
 import com.edufelip.meer.core.push.PushToken;
+import com.edufelip.meer.domain.PushBatchResult;
 import com.edufelip.meer.domain.PushNotificationException;
 import com.edufelip.meer.domain.port.PushNotificationPort;
-import com.edufelip.meer.domain.repo.PushTokenRepository;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
@@ -12,6 +12,10 @@ import com.google.firebase.messaging.MessagingErrorCode;
 import com.google.firebase.messaging.AndroidConfig;
 import com.google.firebase.messaging.AndroidNotification;
 import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -20,6 +24,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+/**
+ * FCM adapter. Every message is counted in {@code meer.push.messages}, tagged with {@code kind}
+ * ({@code test}, {@code topic}, {@code token}) and {@code outcome} ({@code sent}, {@code failed},
+ * {@code unregistered}, {@code retryable}, or {@code error} when the request itself failed).
+ */
 @Service
 @ConditionalOnProperty(prefix = "firebase", name = "enabled", havingValue = "true")
 public class PushNotificationService implements PushNotificationPort {
@@ -27,12 +36,11 @@ public class PushNotificationService implements PushNotificationPort {
   private static final String ANDROID_CHANNEL_ID = "default";
 
   private final FirebaseMessaging firebaseMessaging;
-  private final PushTokenRepository pushTokenRepository;
+  private final MeterRegistry meterRegistry;
 
-  public PushNotificationService(
-      FirebaseMessaging firebaseMessaging, PushTokenRepository pushTokenRepository) {
+  public PushNotificationService(FirebaseMessaging firebaseMessaging, MeterRegistry meterRegistry) {
     this.firebaseMessaging = firebaseMessaging;
-    this.pushTokenRepository = pushTokenRepository;
+    this.meterRegistry = meterRegistry;
   }
 
   @Override
@@ -51,8 +59,11 @@ public class PushNotificationService implements PushNotificationPort {
             .putData("id", id)
             .build();
     try {
-      return firebaseMessaging.send(message);
+      String messageId = firebaseMessaging.send(message);
+      count("test", "sent", 1);
+      return messageId;
     } catch (FirebaseMessagingException ex) {
+      count("test", "error", 1);
       throw new PushNotificationException("Failed to send test push", ex);
     }
   }
@@ -77,35 +88,71 @@ public class PushNotificationService implements PushNotificationPort {
       }
     }
     try {
-      return firebaseMessaging.send(builder.build());
+      String messageId = firebaseMessaging.send(builder.build());
+      count("topic", "sent", 1);
+      return messageId;
     } catch (FirebaseMessagingException ex) {
+      count("topic", "error", 1);
       throw new PushNotificationException("Failed to send topic push", ex);
     }
   }
 
   @Override
-  public int sendToUser(
-      UUID userId,
-      PushEnvironment environment,
-      String title,
-      String body,
-      Map<String, String> data) {
-    List<PushToken> tokens = pushTokenRepository.findByUserIdAndEnvironment(userId, environment);
+  public PushBatchResult sendToTokens(
+      List<PushToken> tokens, String title, String body, Map<String, String> data)
+      throws PushNotificationException {
+    if (tokens.isEmpty()) return new PushBatchResult(0, 0, List.of(), List.of());
+    if (tokens.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " tokens per batch");
+    }
+    List<Message> messages =
+        tokens.stream().map(token -> tokenMessage(token.getFcmToken(), title, body, data)).toList();
+    BatchResponse response;
+    try {
+      response = firebaseMessaging.sendEach(messages);
+    } catch (FirebaseMessagingException ex) {
+      count("token", "error", tokens.size());
+      throw new PushNotificationException("Failed to send push batch", ex);
+    }
     int sent = 0;
-    for (PushToken token : tokens) {
-      if (sendToStoredToken(token, title, body, data)) {
+    int failed = 0;
+    List<UUID> invalid = new ArrayList<>();
+    List<PushToken> retryable = new ArrayList<>();
+    List<SendResponse> responses = response.getResponses();
+    for (int i = 0; i < responses.size(); i++) {
+      SendResponse result = responses.get(i);
+      PushToken token = tokens.get(i);
+      if (result.isSuccessful()) {
         sent++;
+      } else if (shouldDeleteToken(result.getException())) {
+        invalid.add(token.getId());
+      } else if (isTransient(result.getException())) {
+        retryable.add(token);
+      } else {
+        log.warn("Failed to send push to token {}", token.getId(), result.getException());
+        failed++;
       }
     }
-    return sent;
+    count("token", "sent", sent);
+    count("token", "failed", failed);
+    count("token", "unregistered", invalid.size());
+    count("token", "retryable", retryable.size());
+    return new PushBatchResult(sent, failed, invalid, retryable);
+  }
+
+  private void count(String kind, String outcome, int amount) {
+    Counter.builder("meer.push.messages")
+        .tag("kind", kind)
+        .tag("outcome", outcome)
+        .register(meterRegistry)
+        .increment(amount);
   }
 
-  public boolean sendToStoredToken(
-      PushToken token, String title, String body, Map<String, String> data) {
-    log.debug("Sending push to token {} for user {}", token.getId(), token.getUserId());
+  private Message tokenMessage(
+      String fcmToken, String title, String body, Map<String, String> data) {
     Message.Builder builder =
         Message.builder()
-            .setToken(token.getFcmToken())
+            .setToken(fcmToken)
             .setNotification(Notification.builder().setTitle(title).setBody(body).build())
             .setAndroidConfig(
                 AndroidConfig.builder()
@@ -119,25 +166,22 @@ public class PushNotificationService implements PushNotificationPort {
         }
       }
     }
-    Message message = builder.build();
-    try {
-      firebaseMessaging.send(message);
-      return true;
-    } catch (FirebaseMessagingException ex) {
-      if (shouldDeleteToken(ex)) {
-        log.info("Removing invalid push token {} for user {}", token.getId(), token.getUserId());
-        pushTokenRepository.deleteById(token.getId());
-      } else {
-        log.warn("Failed to send push to token {}", token.getId(), ex);
-      }
-      return false;
-    }
+    return builder.build();
   }
 
   private boolean shouldDeleteToken(FirebaseMessagingException ex) {
+    if (ex == null) return false;
     MessagingErrorCode code = ex.getMessagingErrorCode();
     if (code == null) return false;
     String name = code.name();
     return "UNREGISTERED".equals(name) || "NOT_FOUND".equals(name);
   }
+
+  private boolean isTransient(FirebaseMessagingException ex) {
+    if (ex == null) return false;
+    MessagingErrorCode code = ex.getMessagingErrorCode();
+    return code == MessagingErrorCode.UNAVAILABLE
+        || code == MessagingErrorCode.INTERNAL
+        || code == MessagingErrorCode.QUOTA_EXCEEDED;
+  }
 }
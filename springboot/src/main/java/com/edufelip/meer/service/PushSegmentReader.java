@@ -0,0 +1,101 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.core.push.PushJob;
+import com.edufelip.meer.core.push.PushToken;
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.repo.PushTokenRepository;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves a {@link PushJob}'s audience into {@code push_token} rows one keyset page at a time.
+ * Each page is a short indexed query that continues from the previous page's last row, so a job
+ * holds at most one page in memory and no connection between pages, whatever the audience size.
+ */
+@Component
+@ConditionalOnProperty(prefix = "firebase", name = "enabled", havingValue = "true")
+public class PushSegmentReader {
+
+  private static final UUID START = new UUID(0L, 0L);
+  private static final double METERS_PER_DEGREE = 111_320d;
+
+  /** Keyset position; {@code userId} only matters for audiences ordered by user. */
+  public record Cursor(UUID userId, UUID tokenId) {
+
+    public static Cursor of(PushJob job) {
+      return new Cursor(
+          job.getCursorUserId() != null ? job.getCursorUserId() : START,
+          job.getCursorTokenId() != null ? job.getCursorTokenId() : START);
+    }
+
+    public static Cursor after(PushToken token) {
+      return new Cursor(token.getUserId(), token.getId());
+    }
+  }
+
+  /** An opened audience. A page shorter than {@code size} is the last one. */
+  @FunctionalInterface
+  public interface Segment {
+    List<PushToken> next(Cursor after, int size);
+  }
+
+  private final PushTokenRepository pushTokenRepository;
+  private final ThriftStoreRepository thriftStoreRepository;
+
+  public PushSegmentReader(
+      PushTokenRepository pushTokenRepository, ThriftStoreRepository thriftStoreRepository) {
+    this.pushTokenRepository = pushTokenRepository;
+    this.thriftStoreRepository = thriftStoreRepository;
+  }
+
+  public Segment open(PushJob job) {
+    String environment = job.getEnvironment().name();
+    return switch (job.getAudience()) {
+      case USER ->
+          (after, size) ->
+              pushTokenRepository.findUserBatch(
+                  job.getTargetUserId(),
+                  job.getEnvironment(),
+                  after.tokenId(),
+                  PageRequest.of(0, size));
+      case STORE_FAVORITES ->
+          (after, size) ->
+              pushTokenRepository.findStoreFavoritesBatch(
+                  job.getTargetStoreId(),
+                  environment,
+                  after.userId(),
+                  after.tokenId(),
+                  PageRequest.of(0, size));
+      case NEAR_STORE -> nearStore(job, environment);
+    };
+  }
+
+  /** The store is read once per run; its coordinates fix the bounding box for every page. */
+  private Segment nearStore(PushJob job, String environment) {
+    ThriftStore store = thriftStoreRepository.findById(job.getTargetStoreId()).orElse(null);
+    if (store == null || store.getLatitude() == null || store.getLongitude() == null) {
+      return (after, size) -> List.of();
+    }
+    double lat = store.getLatitude();
+    double lng = store.getLongitude();
+    double radius = job.getRadiusMeters();
+    double dLat = radius / METERS_PER_DEGREE;
+    double dLng = radius / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+    return (after, size) ->
+        pushTokenRepository.findNearBatch(
+            environment,
+            lat,
+            lng,
+            radius,
+            lat - dLat,
+            lat + dLat,
+            lng - dLng,
+            lng + dLng,
+            after.tokenId(),
+            PageRequest.of(0, size));
+  }
+}
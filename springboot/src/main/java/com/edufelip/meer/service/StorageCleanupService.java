@@ -0,0 +1,80 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.core.storage.StorageDeletion;
+import com.edufelip.meer.domain.port.PhotoStoragePort;
+import com.edufelip.meer.domain.port.StorageCleanupPort;
+import com.edufelip.meer.domain.repo.StorageDeletionRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes {@code storage_deletion} rows in the caller's transaction and wakes {@link
+ * StorageCleanupWorker} once it commits, so requests never wait on storage deletes. URLs that do
+ * not resolve to an object key (legacy local uploads, external links) are handed to {@link
+ * PhotoStoragePort#deleteByUrl} directly, which never calls out for them.
+ */
+@Service
+public class StorageCleanupService implements StorageCleanupPort {
+
+  private final StorageDeletionRepository storageDeletionRepository;
+  private final PhotoStoragePort photoStoragePort;
+  private final StorageCleanupWorker storageCleanupWorker;
+  private final Clock clock;
+
+  public StorageCleanupService(
+      StorageDeletionRepository storageDeletionRepository,
+      PhotoStoragePort photoStoragePort,
+      StorageCleanupWorker storageCleanupWorker,
+      Clock clock) {
+    this.storageDeletionRepository = storageDeletionRepository;
+    this.photoStoragePort = photoStoragePort;
+    this.storageCleanupWorker = storageCleanupWorker;
+    this.clock = clock;
+  }
+
+  @Override
+  public void deleteLater(Collection<String> urls) {
+    Set<String> keys = new LinkedHashSet<>();
+    urls.stream()
+        .filter(Objects::nonNull)
+        .filter(url -> !url.isBlank())
+        .forEach(
+            url -> {
+              String key = photoStoragePort.fileKeyOf(url);
+              if (key != null) {
+                keys.add(key);
+              } else {
+                photoStoragePort.deleteByUrl(url);
+              }
+            });
+    deleteKeysLater(keys);
+  }
+
+  @Override
+  public void deleteKeysLater(Collection<String> fileKeys) {
+    if (fileKeys.isEmpty()) return;
+    Instant now = clock.instant();
+    List<StorageDeletion> rows =
+        fileKeys.stream().distinct().map(key -> new StorageDeletion(key, now)).toList();
+    storageDeletionRepository.saveAll(rows);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              storageCleanupWorker.trigger();
+            }
+          });
+    } else {
+      storageCleanupWorker.trigger();
+    }
+  }
+}
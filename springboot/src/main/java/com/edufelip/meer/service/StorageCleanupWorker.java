@@ -0,0 +1,187 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.core.storage.StorageDeletion;
+import com.edufelip.meer.domain.port.PhotoStoragePort;
+import com.edufelip.meer.domain.repo.StorageDeletionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the {@code storage_deletion} outbox. Due rows are claimed in rounds, split into batch
+ * deletes of {@link PhotoStoragePort#MAX_DELETE_BATCH} keys and sent in parallel on {@code
+ * storageCleanupExecutor}.
+ * Keys that fail are retried with doubling backoff and given up on (kept with their last error)
+ * after {@code meer.storage.cleanup.max-attempts}. A claim pushes the row's due time out by the
+ * lease, so rows held by an instance that died are picked up again.
+ *
+ * <p>Runs right after a committing transaction queues rows, and on a fixed delay as a backstop.
+ * Outcomes are counted as {@code meer.storage.deletions} (tagged {@code deleted}, {@code retried}
+ * or {@code abandoned}).
+ */
+@Component
+public class StorageCleanupWorker {
+
+  private static final Logger log = LoggerFactory.getLogger(StorageCleanupWorker.class);
+
+  private static final Duration MAX_BACKOFF = Duration.ofHours(6);
+  private static final int MAX_ERROR_LENGTH = 1024;
+
+  private final StorageDeletionRepository storageDeletionRepository;
+  private final PhotoStoragePort photoStoragePort;
+  private final ThreadPoolTaskExecutor executor;
+  private final MeterRegistry meterRegistry;
+  private final Clock clock;
+  private final Duration lease;
+  private final int maxAttempts;
+  private final Duration retryBackoff;
+  private final AtomicBoolean draining = new AtomicBoolean();
+
+  public StorageCleanupWorker(
+      StorageDeletionRepository storageDeletionRepository,
+      PhotoStoragePort photoStoragePort,
+      @Qualifier("storageCleanupExecutor") ThreadPoolTaskExecutor executor,
+      MeterRegistry meterRegistry,
+      Clock clock,
+      @Value("${meer.storage.cleanup.lease:5m}") Duration lease,
+      @Value("${meer.storage.cleanup.max-attempts:10}") int maxAttempts,
+      @Value("${meer.storage.cleanup.retry-backoff:1m}") Duration retryBackoff) {
+    this.storageDeletionRepository = storageDeletionRepository;
+    this.photoStoragePort = photoStoragePort;
+    this.executor = executor;
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+    this.lease = lease;
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.retryBackoff = retryBackoff;
+  }
+
+  /**
+   * Starts a drain in the background unless one is already running. When the executor is full the
+   * drain is skipped and the rows wait for the next {@link #drainDue} poll.
+   */
+  public void trigger() {
+    if (!draining.compareAndSet(false, true)) return;
+    try {
+      executor.execute(this::drainAndRelease);
+    } catch (TaskRejectedException ex) {
+      draining.set(false);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${meer.storage.cleanup.poll-delay-ms:60000}")
+  public void drainDue() {
+    if (!draining.compareAndSet(false, true)) return;
+    drainAndRelease();
+  }
+
+  private void drainAndRelease() {
+    try {
+      drain();
+    } catch (RuntimeException ex) {
+      log.warn("Storage cleanup round failed: {}", ex.getMessage());
+    } finally {
+      draining.set(false);
+    }
+  }
+
+  /** Processes due rows until none are left. */
+  void drain() {
+    // One thread may be coordinating this drain; the others take the batches.
+    int roundSize = Math.max(1, executor.getMaxPoolSize() - 1) * PhotoStoragePort.MAX_DELETE_BATCH;
+    while (true) {
+      Instant now = clock.instant();
+      List<UUID> due = storageDeletionRepository.findDueIds(now, PageRequest.of(0, roundSize));
+      if (due.isEmpty()) return;
+      UUID token = UUID.randomUUID();
+      storageDeletionRepository.claim(due, token, now, now.plus(lease));
+      List<StorageDeletion> claimed = storageDeletionRepository.findByClaimToken(token);
+      List<CompletableFuture<Void>> batches = new ArrayList<>();
+      boolean saturated = false;
+      for (int from = 0; from < claimed.size(); from += PhotoStoragePort.MAX_DELETE_BATCH) {
+        List<StorageDeletion> batch =
+            claimed.subList(
+                from, Math.min(from + PhotoStoragePort.MAX_DELETE_BATCH, claimed.size()));
+        try {
+          batches.add(CompletableFuture.runAsync(() -> delete(batch), executor));
+        } catch (TaskRejectedException ex) {
+          // The rest stay claimed and come due again once the lease runs out.
+          saturated = true;
+          break;
+        }
+      }
+      CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+      if (saturated || due.size() < roundSize) return;
+    }
+  }
+
+  private void delete(List<StorageDeletion> batch) {
+    List<String> keys = batch.stream().map(StorageDeletion::getObjectKey).toList();
+    Set<String> failed;
+    String error = "Delete failed";
+    try {
+      failed = new HashSet<>(photoStoragePort.deleteAll(keys));
+    } catch (RuntimeException ex) {
+      failed = new HashSet<>(keys);
+      error = truncate(String.valueOf(ex.getMessage()));
+    }
+    List<UUID> deleted = new ArrayList<>();
+    for (StorageDeletion row : batch) {
+      if (failed.contains(row.getObjectKey())) {
+        retryLater(row, error);
+      } else {
+        deleted.add(row.getId());
+      }
+    }
+    if (!deleted.isEmpty()) {
+      storageDeletionRepository.deleteAllByIdInBatch(deleted);
+      deletions("deleted").increment(deleted.size());
+    }
+  }
+
+  private void retryLater(StorageDeletion row, String error) {
+    int attempts = row.getAttempts() != null ? row.getAttempts() : 1;
+    if (attempts >= maxAttempts) {
+      log.error(
+          "Giving up deleting storage object key={} after {} attempts: {}",
+          row.getObjectKey(),
+          attempts,
+          error);
+      storageDeletionRepository.retry(row.getId(), null, error);
+      deletions("abandoned").increment();
+      return;
+    }
+    Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+    if (delay.compareTo(MAX_BACKOFF) > 0) delay = MAX_BACKOFF;
+    storageDeletionRepository.retry(row.getId(), clock.instant().plus(delay), error);
+    deletions("retried").increment();
+  }
+
+  private Counter deletions(String outcome) {
+    return Counter.builder("meer.storage.deletions")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private static String truncate(String value) {
+    return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+  }
+}
@@ -1,14 +1,17 @@
 package com.edufelip.meer.service;
 
+import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import io.micrometer.core.annotation.Timed;
 import java.time.Clock;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import java.util.UUID;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class StoreFeedbackService {
@@ -16,28 +19,41 @@ public class StoreFeedbackService {
   public record Summary(Double rating, Long reviewCount) {}
 
   private final StoreFeedbackRepository repository;
+  private final ThriftStoreRepository thriftStoreRepository;
   private final Clock clock;
 
-  public StoreFeedbackService(StoreFeedbackRepository repository, Clock clock) {
+  public StoreFeedbackService(
+      StoreFeedbackRepository repository,
+      ThriftStoreRepository thriftStoreRepository,
+      Clock clock) {
     this.repository = repository;
+    this.thriftStoreRepository = thriftStoreRepository;
     this.clock = clock;
   }
 
-  @Cacheable(
-      value = "storeRatings",
-      key = "#storeIds",
-      unless = "#storeIds == null || #storeIds.isEmpty() || #storeIds.size() > 50")
-  public Map<java.util.UUID, Summary> getSummaries(List<java.util.UUID> storeIds) {
-    if (storeIds == null || storeIds.isEmpty()) return Map.of();
-    var aggregates = repository.aggregateByStoreIds(storeIds);
-    Map<java.util.UUID, Summary> map = new HashMap<>();
-    for (StoreFeedbackRepository.AggregateView view : aggregates) {
-      map.put(view.getStoreId(), new Summary(view.getAvgScore(), view.getCnt()));
+  /**
+   * Rating summaries read from the denormalized counters of already-loaded stores, so listings get
+   * ratings from the same row without another query. Stores without ratings are absent.
+   */
+  @Timed("meer.usecase")
+  public Map<UUID, Summary> summariesOf(Collection<ThriftStore> stores) {
+    if (stores == null || stores.isEmpty()) return Map.of();
+    Map<UUID, Summary> map = new HashMap<>();
+    for (ThriftStore store : stores) {
+      Summary summary = toSummary(store.getRatingSum(), store.getRatingCount());
+      if (summary != null) {
+        map.put(store.getId(), summary);
+      }
     }
     return map;
   }
 
-  @CacheEvict(cacheNames = "storeRatings", allEntries = true)
+  /**
+   * Creates or replaces the user's feedback and applies the score change to the store's rating
+   * counters in the same transaction.
+   */
+  @Timed("meer.usecase")
+  @Transactional
   public com.edufelip.meer.core.store.StoreFeedback upsert(
       com.edufelip.meer.core.auth.AuthUser user,
       com.edufelip.meer.core.store.ThriftStore store,
@@ -50,6 +66,7 @@ public class StoreFeedbackService {
     com.edufelip.meer.core.store.StoreFeedback fb =
         existing.orElseGet(
             () -> new com.edufelip.meer.core.store.StoreFeedback(user, store, null, null));
+    Integer previousScore = fb.getScore();
     Instant now = Instant.now(clock);
     fb.setScore(score);
     fb.setBody(body);
@@ -57,17 +74,51 @@ public class StoreFeedbackService {
     fb.setThriftStore(store);
     fb.setCreatedAt(now);
     fb.setUpdatedAt(now);
-    return repository.save(fb);
+    var saved = repository.save(fb);
+    adjustCounters(store.getId(), previousScore, score);
+    return saved;
   }
 
-  @CacheEvict(cacheNames = "storeRatings", allEntries = true)
   public java.util.Optional<com.edufelip.meer.core.store.StoreFeedback> find(
       java.util.UUID userId, java.util.UUID storeId) {
     return repository.findByUserIdAndThriftStoreId(userId, storeId);
   }
 
-  @CacheEvict(cacheNames = "storeRatings", allEntries = true)
+  @Timed("meer.usecase")
+  @Transactional
   public void delete(java.util.UUID userId, java.util.UUID storeId) {
-    repository.findByUserIdAndThriftStoreId(userId, storeId).ifPresent(repository::delete);
+    repository
+        .findByUserIdAndThriftStoreId(userId, storeId)
+        .ifPresent(
+            fb -> {
+              repository.delete(fb);
+              adjustCounters(storeId, fb.getScore(), null);
+            });
+  }
+
+  /**
+   * Deletes all feedback left by a user, taking each scored entry off its store's counters. Used
+   * when the account itself is removed.
+   */
+  @Transactional
+  public void deleteAllByUser(UUID userId) {
+    for (StoreFeedbackRepository.UserScoreView view : repository.findScoresByUserId(userId)) {
+      adjustCounters(view.getStoreId(), view.getScore(), null);
+    }
+    repository.deleteByUserId(userId);
+  }
+
+  private void adjustCounters(UUID storeId, Integer previousScore, Integer newScore) {
+    long sumDelta =
+        (newScore != null ? newScore : 0) - (long) (previousScore != null ? previousScore : 0);
+    long countDelta = (newScore != null ? 1 : 0) - (previousScore != null ? 1 : 0);
+    if (sumDelta == 0 && countDelta == 0) return;
+    thriftStoreRepository.adjustRating(storeId, sumDelta, countDelta);
+  }
+
+  private static Summary toSummary(Long ratingSum, Long ratingCount) {
+    if (ratingCount == null || ratingCount <= 0) return null;
+    long sum = ratingSum != null ? ratingSum : 0L;
+    return new Summary((double) sum / ratingCount, ratingCount);
   }
 }
@@ -0,0 +1,401 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.domain.NearbyArea;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-process grid index over store coordinates used to answer nearby (KNN) queries without hitting
+ * the database. Stores are bucketed into fixed-size lat/lng cells; a query scans rings of cells
+ * around the origin until no unvisited cell can hold a closer store than the current k-th result.
+ */
+@Service
+public class StoreGeoIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(StoreGeoIndex.class);
+
+  static final double CELL_DEGREES = 0.05; // ~5.5 km at the equator
+  private static final int ROWS = (int) Math.ceil(180 / CELL_DEGREES);
+  private static final int COLS = (int) Math.ceil(360 / CELL_DEGREES);
+  private static final double EARTH_RADIUS_METERS = 6_371_000.0;
+
+  /**
+   * Deepest rank {@link #nearest} serves. Ranking is a bounded heap of {@code offset + limit}
+   * entries, so pages below this are answered empty instead of sizing the heap from the request.
+   */
+  public static final int MAX_DEPTH = 10_000;
+
+  public record Neighbor(UUID storeId, double distanceMeters) {}
+
+  /** Receives one store of a {@link #forEachWithin} scan. */
+  @FunctionalInterface
+  public interface PointVisitor {
+    void visit(UUID storeId, double lat, double lng);
+  }
+
+  /** Notified after the snapshot changes, so derived caches can be refreshed incrementally. */
+  public interface ChangeListener {
+    /** A store appeared at, moved away from or was removed from ({@code lat}, {@code lng}). */
+    void positionChanged(double lat, double lng);
+
+    /** The whole snapshot was reloaded. */
+    void rebuilt();
+  }
+
+  private record StorePoint(UUID id, double lat, double lng, long cell) {}
+
+  /** Distance, then id in the unsigned byte order Postgres uses for uuid columns. */
+  private static final Comparator<Neighbor> ORDER =
+      Comparator.comparingDouble(Neighbor::distanceMeters)
+          .thenComparing(Neighbor::storeId, StoreGeoIndex::compareIds);
+
+  private final Map<UUID, StorePoint> points = new ConcurrentHashMap<>();
+  private final Map<Long, Set<UUID>> cells = new ConcurrentHashMap<>();
+  private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+  private final ThriftStoreRepository thriftStoreRepository;
+  private final boolean enabled;
+  private volatile boolean ready;
+
+  public StoreGeoIndex(
+      ThriftStoreRepository thriftStoreRepository,
+      @Value("${meer.geo-index.enabled:false}") boolean enabled) {
+    this.thriftStoreRepository = thriftStoreRepository;
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** True once the index has been fully loaded and may be used to answer queries. */
+  public boolean isReady() {
+    return enabled && ready;
+  }
+
+  public int size() {
+    return points.size();
+  }
+
+  public void addChangeListener(ChangeListener listener) {
+    listeners.add(listener);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    if (!enabled) return;
+    long start = System.nanoTime();
+    points.clear();
+    cells.clear();
+    for (ThriftStoreRepository.StoreCoordinateView view :
+        thriftStoreRepository.findAllCoordinates()) {
+      put(view.getId(), view.getLatitude(), view.getLongitude());
+    }
+    ready = true;
+    listeners.forEach(ChangeListener::rebuilt);
+    log.info(
+        "Store geo index built stores={} cells={} in {} ms",
+        points.size(),
+        cells.size(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  public void upsert(UUID storeId, Double lat, Double lng) {
+    if (!enabled || storeId == null) return;
+    if (lat == null || lng == null) {
+      remove(storeId);
+      return;
+    }
+    put(storeId, lat, lng);
+  }
+
+  /** Re-reads one store's coordinates, dropping it from the index when its row is gone. */
+  public void refresh(UUID storeId) {
+    if (!enabled || storeId == null) return;
+    thriftStoreRepository
+        .findCoordinatesById(storeId)
+        .ifPresentOrElse(
+            view -> upsert(storeId, view.getLatitude(), view.getLongitude()),
+            () -> remove(storeId));
+  }
+
+  public void remove(UUID storeId) {
+    if (!enabled || storeId == null) return;
+    StorePoint previous = points.remove(storeId);
+    if (previous != null) {
+      detach(previous);
+      notifyMoved(previous);
+    }
+  }
+
+  /**
+   * Visits every store inside the lat/lng box, in no particular order. Walks the cells overlapping
+   * the box, or every store when that would touch more cells than there are stores.
+   */
+  public void forEachWithin(
+      double minLat, double minLng, double maxLat, double maxLng, PointVisitor visitor) {
+    if (minLat > maxLat || minLng > maxLng) return;
+    int firstRow = row(minLat);
+    int lastRow = row(maxLat);
+    int firstCol = unwrappedCol(minLng);
+    int lastCol = Math.min(unwrappedCol(maxLng), COLS - 1);
+    long boxCells = (long) (lastRow - firstRow + 1) * (lastCol - firstCol + 1);
+    // Longitude 180 is bucketed with -180, so boxes touching it are scanned in full.
+    if (boxCells > points.size() || maxLng >= 180) {
+      for (StorePoint point : points.values()) {
+        if (point.lat() >= minLat
+            && point.lat() <= maxLat
+            && point.lng() >= minLng
+            && point.lng() <= maxLng) {
+          visitor.visit(point.id(), point.lat(), point.lng());
+        }
+      }
+      return;
+    }
+    for (int r = firstRow; r <= lastRow; r++) {
+      for (int c = firstCol; c <= lastCol; c++) {
+        Set<UUID> ids = cells.get(cellKey(r, c));
+        if (ids == null) continue;
+        for (UUID id : ids) {
+          StorePoint point = points.get(id);
+          if (point != null
+              && point.lat() >= minLat
+              && point.lat() <= maxLat
+              && point.lng() >= minLng
+              && point.lng() <= maxLng) {
+            visitor.visit(point.id(), point.lat(), point.lng());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the stores ranked {@code offset} to {@code offset + limit - 1} by distance from the
+   * origin, nearest first. Empty when that range reaches past {@link #MAX_DEPTH}.
+   */
+  public List<Neighbor> nearest(double lat, double lng, int offset, int limit) {
+    return nearest(lat, lng, NearbyArea.ANYWHERE, offset, limit);
+  }
+
+  /** {@link #nearest(double, double, int, int)} limited to the stores inside {@code area}. */
+  public List<Neighbor> nearest(double lat, double lng, NearbyArea area, int offset, int limit) {
+    if (offset < 0 || limit <= 0 || (long) offset + limit > MAX_DEPTH) return List.of();
+    return page(collect(lat, lng, area, offset + limit, neighbor -> true), offset);
+  }
+
+  /**
+   * Keyset variant of {@link #nearest}: returns up to {@code limit} stores strictly after the given
+   * (distance, id) position, ordered by distance and then id.
+   */
+  public List<Neighbor> nearestAfter(
+      double lat, double lng, double afterDistance, UUID afterId, int limit) {
+    return nearestAfter(lat, lng, NearbyArea.ANYWHERE, afterDistance, afterId, limit);
+  }
+
+  public List<Neighbor> nearestAfter(
+      double lat, double lng, NearbyArea area, double afterDistance, UUID afterId, int limit) {
+    if (limit <= 0) return List.of();
+    return collect(
+        lat,
+        lng,
+        area,
+        Math.min(limit, MAX_DEPTH),
+        neighbor ->
+            neighbor.distanceMeters() > afterDistance
+                || (neighbor.distanceMeters() == afterDistance
+                    && compareIds(neighbor.storeId(), afterId) > 0));
+  }
+
+  /**
+   * Walks rings outwards until the k-th result is closer than any unvisited cell, the rings leave
+   * the area's box, or every unvisited cell is farther than the area's radius.
+   */
+  private List<Neighbor> collect(
+      double lat, double lng, NearbyArea area, int k, Predicate<Neighbor> accept) {
+    if (points.isEmpty() || area.isEmpty()) return List.of();
+    PriorityQueue<Neighbor> best =
+        new PriorityQueue<>(Math.min(k, points.size()) + 1, ORDER.reversed());
+    int originRow = row(lat);
+    int originCol = col(lng);
+    int lastRing = lastRing(area, originRow, originCol);
+    long visitedCells = 0;
+
+    for (int ring = 0; ring <= lastRing; ring++) {
+      double lowerBound = ringLowerBoundMeters(lat, ring);
+      if (lowerBound > area.radiusMeters()) break;
+      if (best.size() >= k && best.peek().distanceMeters() < lowerBound) break;
+      // Sparse data or a far-away origin: a full scan is cheaper than walking empty rings.
+      if (2 * ring + 1 >= COLS || visitedCells > points.size()) {
+        return scanAll(lat, lng, area, k, accept);
+      }
+      for (int r = originRow - ring; r <= originRow + ring; r++) {
+        if (r < 0 || r >= ROWS) continue;
+        boolean edgeRow = r == originRow - ring || r == originRow + ring;
+        int step = edgeRow ? 1 : 2 * ring;
+        for (int c = originCol - ring; c <= originCol + ring; c += step) {
+          visitedCells++;
+          Set<UUID> ids = cells.get(cellKey(r, Math.floorMod(c, COLS)));
+          if (ids == null) continue;
+          for (UUID id : ids) {
+            StorePoint point = points.get(id);
+            if (point != null) offer(best, k, accept, lat, lng, area, point);
+          }
+        }
+      }
+    }
+    List<Neighbor> sorted = new ArrayList<>(best);
+    sorted.sort(ORDER);
+    return sorted;
+  }
+
+  private List<Neighbor> scanAll(
+      double lat, double lng, NearbyArea area, int k, Predicate<Neighbor> accept) {
+    PriorityQueue<Neighbor> best =
+        new PriorityQueue<>(Math.min(k, points.size()) + 1, ORDER.reversed());
+    for (StorePoint point : points.values()) {
+      offer(best, k, accept, lat, lng, area, point);
+    }
+    List<Neighbor> sorted = new ArrayList<>(best);
+    sorted.sort(ORDER);
+    return sorted;
+  }
+
+  private static List<Neighbor> page(List<Neighbor> sorted, int offset) {
+    if (offset >= sorted.size()) return List.of();
+    return List.copyOf(sorted.subList(offset, sorted.size()));
+  }
+
+  private static void offer(
+      PriorityQueue<Neighbor> best,
+      int k,
+      Predicate<Neighbor> accept,
+      double lat,
+      double lng,
+      NearbyArea area,
+      StorePoint point) {
+    if (!area.containsCoordinates(point.lat(), point.lng())) return;
+    double distance = haversineMeters(lat, lng, point.lat(), point.lng());
+    if (distance > area.radiusMeters()) return;
+    Neighbor candidate = new Neighbor(point.id(), distance);
+    if (!accept.test(candidate)) return;
+    if (best.size() < k) {
+      best.add(candidate);
+    } else if (ORDER.compare(candidate, best.peek()) < 0) {
+      best.poll();
+      best.add(candidate);
+    }
+  }
+
+  private void put(UUID id, double lat, double lng) {
+    StorePoint point = new StorePoint(id, lat, lng, cellKey(row(lat), col(lng)));
+    StorePoint previous = points.put(id, point);
+    if (previous != null && previous.cell() != point.cell()) {
+      detach(previous);
+    }
+    cells.computeIfAbsent(point.cell(), key -> ConcurrentHashMap.newKeySet()).add(id);
+    if (previous == null || previous.lat() != lat || previous.lng() != lng) {
+      if (previous != null) notifyMoved(previous);
+      notifyMoved(point);
+    }
+  }
+
+  private void notifyMoved(StorePoint point) {
+    if (!ready) return;
+    for (ChangeListener listener : listeners) {
+      listener.positionChanged(point.lat(), point.lng());
+    }
+  }
+
+  private void detach(StorePoint point) {
+    cells.computeIfPresent(
+        point.cell(),
+        (key, ids) -> {
+          ids.remove(point.id());
+          return ids.isEmpty() ? null : ids;
+        });
+  }
+
+  /**
+   * Ring that reaches the farthest cell of the area's box, or the whole grid when the box spans
+   * every longitude. Columns are compared before wrapping, which can only overestimate the ring.
+   */
+  private static int lastRing(NearbyArea area, int originRow, int originCol) {
+    if (area.minLng() <= -180 && area.maxLng() >= 180) return Integer.MAX_VALUE;
+    int rows =
+        Math.max(
+            Math.abs(row(area.minLat()) - originRow), Math.abs(row(area.maxLat()) - originRow));
+    int cols =
+        Math.max(
+            Math.abs(unwrappedCol(area.minLng()) - originCol),
+            Math.abs(unwrappedCol(area.maxLng()) - originCol));
+    return Math.max(rows, cols);
+  }
+
+  /**
+   * Smallest possible distance to any store outside the rings already visited. Before visiting
+   * ring {@code ring}, every unvisited cell is at least {@code ring - 1} cells away on one axis.
+   */
+  private static double ringLowerBoundMeters(double lat, int ring) {
+    if (ring <= 1) return 0;
+    double gapRadians = Math.toRadians((ring - 1) * CELL_DEGREES);
+    double latBound = EARTH_RADIUS_METERS * gapRadians;
+    double maxLat = Math.min(90.0, Math.abs(lat) + ring * CELL_DEGREES);
+    double lngBound =
+        2
+            * EARTH_RADIUS_METERS
+            * Math.asin(
+                Math.min(1.0, Math.cos(Math.toRadians(maxLat)) * Math.sin(gapRadians / 2)));
+    return Math.min(latBound, lngBound);
+  }
+
+  private static int row(double lat) {
+    int r = (int) Math.floor((lat + 90.0) / CELL_DEGREES);
+    return Math.max(0, Math.min(ROWS - 1, r));
+  }
+
+  private static int col(double lng) {
+    return Math.floorMod((int) Math.floor((lng + 180.0) / CELL_DEGREES), COLS);
+  }
+
+  private static int unwrappedCol(double lng) {
+    return (int) Math.floor((lng + 180.0) / CELL_DEGREES);
+  }
+
+  private static long cellKey(int row, int col) {
+    return ((long) row << 32) | (col & 0xffffffffL);
+  }
+
+  static int compareIds(UUID a, UUID b) {
+    int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+    return high != 0
+        ? high
+        : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+  }
+
+  static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+    double dLat = Math.toRadians(lat2 - lat1);
+    double dLng = Math.toRadians(lng2 - lng1);
+    double a =
+        Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2)
+                * Math.sin(dLng / 2);
+    return EARTH_RADIUS_METERS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+  }
+}
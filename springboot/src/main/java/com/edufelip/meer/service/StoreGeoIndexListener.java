@@ -0,0 +1,28 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.core.store.ThriftStoreChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Mirrors store writes into {@link StoreGeoIndex}. Changes are applied after commit, from the
+ * committed row, so a rolled-back transaction never leaks into the index.
+ */
+@Component
+public class StoreGeoIndexListener {
+
+  private final StoreGeoIndex storeGeoIndex;
+
+  public StoreGeoIndexListener(StoreGeoIndex storeGeoIndex) {
+    this.storeGeoIndex = storeGeoIndex;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+  public void onStoreChanged(ThriftStoreChangedEvent event) {
+    if (!storeGeoIndex.isEnabled()) return;
+    storeGeoIndex.refresh(event.storeId());
+  }
+}
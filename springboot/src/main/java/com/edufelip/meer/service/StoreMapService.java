@@ -0,0 +1,229 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Clusters store markers for zoomed-out map views. Every Web Mercator tile (z/x/y) is split into an
+ * {@value #CELLS_PER_TILE}x{@value #CELLS_PER_TILE} grid and each non-empty cell becomes one marker
+ * with its store count, centroid and the stores closest to that centroid. Clusters never straddle
+ * tiles, so a tile is computed once from the in-memory {@link StoreGeoIndex} snapshot (or the
+ * database while it is not loaded) and cached until a store inside it is written or {@code
+ * meer.map.tile-ttl} elapses. A viewport is answered by stitching the tiles that cover it.
+ */
+@Service
+public class StoreMapService implements StoreGeoIndex.ChangeListener {
+
+  public static final int MAX_ZOOM = 20;
+  static final int CELLS_PER_TILE = 8;
+  static final int REPRESENTATIVES = 3;
+  static final int MAX_VIEWPORT_TILES = 64;
+  private static final double MAX_MERCATOR_LAT = 85.05112878;
+  /** Widens the lookup box so rounding at tile edges never drops a store. */
+  private static final double EDGE_SLACK = 1e-9;
+
+  public record Cluster(double latitude, double longitude, int count, List<UUID> storeIds) {}
+
+  public record Tile(int z, int x, int y, List<Cluster> clusters) {}
+
+  private record TileKey(int z, int x, int y) {}
+
+  private record Point(UUID id, double lat, double lng) {}
+
+  private final StoreGeoIndex storeGeoIndex;
+  private final ThriftStoreRepository thriftStoreRepository;
+  private final Duration tileTtl;
+  private final Cache<TileKey, Tile> tiles;
+
+  public StoreMapService(
+      StoreGeoIndex storeGeoIndex,
+      ThriftStoreRepository thriftStoreRepository,
+      MeterRegistry meterRegistry,
+      @Value("${meer.map.tile-ttl:60s}") Duration tileTtl,
+      @Value("${meer.map.max-cached-tiles:20000}") long maxCachedTiles) {
+    this.storeGeoIndex = storeGeoIndex;
+    this.thriftStoreRepository = thriftStoreRepository;
+    this.tileTtl = tileTtl;
+    this.tiles =
+        Caffeine.newBuilder()
+            .expireAfterWrite(tileTtl)
+            .maximumSize(maxCachedTiles)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, tiles, "storeMapTiles");
+    storeGeoIndex.addChangeListener(this);
+  }
+
+  /** How long a tile may be served from a cache, ours or an HTTP one. */
+  public Duration tileTtl() {
+    return tileTtl;
+  }
+
+  public Tile tile(int z, int x, int y) {
+    if (z < 0 || z > MAX_ZOOM) {
+      throw badRequest("zoom must be between 0 and " + MAX_ZOOM);
+    }
+    int tilesPerAxis = 1 << z;
+    if (x < 0 || x >= tilesPerAxis || y < 0 || y >= tilesPerAxis) {
+      throw badRequest("Tile out of range");
+    }
+    return tiles.get(new TileKey(z, x, y), this::cluster);
+  }
+
+  /**
+   * Clusters for a viewport at {@code zoom}: the covering tiles are loaded (from cache when
+   * possible) and only clusters whose centroid falls inside the viewport are kept.
+   */
+  public List<Cluster> viewport(
+      double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+    if (!(minLat >= -90 && maxLat <= 90 && minLat <= maxLat)
+        || !(minLng >= -180 && maxLng <= 180 && minLng <= maxLng)) {
+      throw badRequest("Invalid bounding box");
+    }
+    if (zoom < 0 || zoom > MAX_ZOOM) {
+      throw badRequest("zoom must be between 0 and " + MAX_ZOOM);
+    }
+    int minX = tileX(minLng, zoom);
+    int maxX = tileX(maxLng, zoom);
+    int minY = tileY(maxLat, zoom);
+    int maxY = tileY(minLat, zoom);
+    if ((long) (maxX - minX + 1) * (maxY - minY + 1) > MAX_VIEWPORT_TILES) {
+      throw badRequest("Viewport too large for zoom " + zoom);
+    }
+    List<Cluster> clusters = new ArrayList<>();
+    for (int y = minY; y <= maxY; y++) {
+      for (int x = minX; x <= maxX; x++) {
+        for (Cluster cluster : tile(zoom, x, y).clusters()) {
+          if (cluster.latitude() >= minLat
+              && cluster.latitude() <= maxLat
+              && cluster.longitude() >= minLng
+              && cluster.longitude() <= maxLng) {
+            clusters.add(cluster);
+          }
+        }
+      }
+    }
+    return clusters;
+  }
+
+  /** Drops the tile holding ({@code lat}, {@code lng}) at every zoom level. */
+  @Override
+  public void positionChanged(double lat, double lng) {
+    for (int z = 0; z <= MAX_ZOOM; z++) {
+      tiles.invalidate(new TileKey(z, tileX(lng, z), tileY(lat, z)));
+    }
+  }
+
+  @Override
+  public void rebuilt() {
+    tiles.invalidateAll();
+  }
+
+  private Tile cluster(TileKey key) {
+    List<Point> points = pointsIn(key);
+    Map<Integer, List<Point>> cells = new TreeMap<>();
+    double scale = 1 << key.z();
+    for (Point point : points) {
+      int cellX = cell(mercatorX(point.lng()) * scale - key.x());
+      int cellY = cell(mercatorY(point.lat()) * scale - key.y());
+      cells.computeIfAbsent(cellY * CELLS_PER_TILE + cellX, k -> new ArrayList<>()).add(point);
+    }
+    List<Cluster> clusters = new ArrayList<>(cells.size());
+    for (List<Point> members : cells.values()) {
+      double lat = members.stream().mapToDouble(Point::lat).average().orElseThrow();
+      double lng = members.stream().mapToDouble(Point::lng).average().orElseThrow();
+      List<UUID> representatives =
+          members.stream()
+              .sorted(
+                  Comparator.<Point>comparingDouble(
+                          p -> StoreGeoIndex.haversineMeters(lat, lng, p.lat(), p.lng()))
+                      .thenComparing(Point::id, StoreGeoIndex::compareIds))
+              .limit(REPRESENTATIVES)
+              .map(Point::id)
+              .toList();
+      clusters.add(new Cluster(lat, lng, members.size(), representatives));
+    }
+    return new Tile(key.z(), key.x(), key.y(), List.copyOf(clusters));
+  }
+
+  /** Stores whose tile at that zoom is exactly {@code key}, so edge points belong to one tile. */
+  private List<Point> pointsIn(TileKey key) {
+    int last = (1 << key.z()) - 1;
+    double minLng = tileLng(key.x(), key.z()) - EDGE_SLACK;
+    double maxLng = tileLng(key.x() + 1, key.z()) + EDGE_SLACK;
+    double maxLat = key.y() == 0 ? 90 : tileLat(key.y(), key.z()) + EDGE_SLACK;
+    double minLat = key.y() == last ? -90 : tileLat(key.y() + 1, key.z()) - EDGE_SLACK;
+    List<Point> points = new ArrayList<>();
+    StoreGeoIndex.PointVisitor collect =
+        (id, lat, lng) -> {
+          if (tileX(lng, key.z()) == key.x() && tileY(lat, key.z()) == key.y()) {
+            points.add(new Point(id, lat, lng));
+          }
+        };
+    if (storeGeoIndex.isReady()) {
+      storeGeoIndex.forEachWithin(minLat, minLng, maxLat, maxLng, collect);
+    } else {
+      for (ThriftStoreRepository.StoreCoordinateView view :
+          thriftStoreRepository.findCoordinatesWithin(minLat, minLng, maxLat, maxLng)) {
+        collect.visit(view.getId(), view.getLatitude(), view.getLongitude());
+      }
+    }
+    return points;
+  }
+
+  static int tileX(double lng, int z) {
+    return clampTile((int) Math.floor(mercatorX(lng) * (1 << z)), z);
+  }
+
+  static int tileY(double lat, int z) {
+    return clampTile((int) Math.floor(mercatorY(lat) * (1 << z)), z);
+  }
+
+  /** Longitude of a tile's west edge. */
+  private static double tileLng(int x, int z) {
+    return x / (double) (1 << z) * 360.0 - 180.0;
+  }
+
+  /** Latitude of a tile's north edge. */
+  private static double tileLat(int y, int z) {
+    double n = Math.PI * (1 - 2.0 * y / (1 << z));
+    return Math.toDegrees(Math.atan(Math.sinh(n)));
+  }
+
+  private static double mercatorX(double lng) {
+    return (lng + 180.0) / 360.0;
+  }
+
+  private static double mercatorY(double lat) {
+    double clamped = Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat));
+    double radians = Math.toRadians(clamped);
+    return (1 - Math.log(Math.tan(radians) + 1 / Math.cos(radians)) / Math.PI) / 2;
+  }
+
+  private static int clampTile(int value, int z) {
+    return Math.max(0, Math.min((1 << z) - 1, value));
+  }
+
+  private static int cell(double offsetInTile) {
+    int cell = (int) Math.floor(offsetInTile * CELLS_PER_TILE);
+    return Math.max(0, Math.min(CELLS_PER_TILE - 1, cell));
+  }
+
+  private static ResponseStatusException badRequest(String message) {
+    return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+  }
+}
@@ -0,0 +1,38 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes the denormalized {@code rating_sum}/{@code rating_count} columns from
+ * {@code store_feedback}, fixing any drift left by bulk deletes or failed writes.
+ */
+@Component
+public class StoreRatingReconciliationJob {
+
+  private static final Logger log = LoggerFactory.getLogger(StoreRatingReconciliationJob.class);
+
+  private final ThriftStoreRepository thriftStoreRepository;
+
+  public StoreRatingReconciliationJob(ThriftStoreRepository thriftStoreRepository) {
+    this.thriftStoreRepository = thriftStoreRepository;
+  }
+
+  @Scheduled(cron = "${meer.ratings.reconcile-cron:0 30 3 * * *}")
+  public int reconcile() {
+    long start = System.nanoTime();
+    int corrected = thriftStoreRepository.reconcileRatings();
+    if (corrected > 0) {
+      log.warn(
+          "Store rating counters reconciled corrected={} in {} ms",
+          corrected,
+          (System.nanoTime() - start) / 1_000_000);
+    } else {
+      log.debug("Store rating counters in sync");
+    }
+    return corrected;
+  }
+}
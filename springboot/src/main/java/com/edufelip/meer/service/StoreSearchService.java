@@ -0,0 +1,126 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.StoreCursor;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+/**
+ * Store text search. On Postgres it uses the weighted, accent-insensitive tsvector and trigram
+ * indexes from V10; elsewhere (H2 in the {@code local} profile and tests) or if those objects are
+ * missing it uses the portable LIKE ranking. The choice is made once at startup: a failed query
+ * aborts the surrounding Postgres transaction, so there is no falling back per request.
+ */
+@Service
+public class StoreSearchService {
+
+  private static final Logger log = LoggerFactory.getLogger(StoreSearchService.class);
+
+  public record SearchHit(UUID storeId, double score) {}
+
+  private final ThriftStoreRepository thriftStoreRepository;
+  private final boolean preferFullText;
+  private volatile boolean fullTextEnabled;
+
+  public StoreSearchService(
+      ThriftStoreRepository thriftStoreRepository,
+      @Value("${spring.datasource.url:}") String datasourceUrl,
+      @Value("${meer.search.full-text.enabled:true}") boolean fullTextEnabled) {
+    this.thriftStoreRepository = thriftStoreRepository;
+    this.preferFullText =
+        fullTextEnabled && datasourceUrl != null && datasourceUrl.contains("postgresql");
+  }
+
+  /**
+   * Enables full-text search once the schema is migrated, when running on Postgres with {@code
+   * meer.search.full-text.enabled} and the V10 objects present.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void detectFullText() {
+    fullTextEnabled = preferFullText && hasFullTextObjects();
+    log.info("Store search served by {}", fullTextEnabled ? "full-text" : "LIKE ranking");
+  }
+
+  private boolean hasFullTextObjects() {
+    try {
+      return thriftStoreRepository.hasFullTextObjects();
+    } catch (DataAccessException ex) {
+      log.warn("Full-text search objects check failed: {}", ex.getMessage());
+      return false;
+    }
+  }
+
+  public boolean isFullTextEnabled() {
+    return fullTextEnabled;
+  }
+
+  /** Ranked search page; returns a slice so no count query is issued. */
+  public Slice<ThriftStore> search(String q, Pageable pageable) {
+    String term = q.trim();
+    if (fullTextEnabled) {
+      return thriftStoreRepository.searchFullText(term, toPrefixQuery(term), pageable);
+    }
+    return thriftStoreRepository.searchRanked(term, pageable);
+  }
+
+  /** Cursor kind matching the ordering {@link #searchAfter} uses. */
+  public String cursorKind() {
+    return fullTextEnabled ? StoreCursor.FULL_TEXT : StoreCursor.SEARCH;
+  }
+
+  /**
+   * Keyset search: up to {@code limit} hits strictly after {@code after} (null for the first page).
+   * Full-text scores descend; LIKE buckets ascend.
+   */
+  public List<SearchHit> searchAfter(String q, StoreCursor after, int limit) {
+    String term = q.trim();
+    Pageable pageable = PageRequest.of(0, limit);
+    if (fullTextEnabled) {
+      return thriftStoreRepository
+          .searchFullTextAfter(
+              term,
+              toPrefixQuery(term),
+              after != null ? after.rank() : Double.MAX_VALUE,
+              after != null ? after.createdAt() : StoreCursor.MAX_CREATED_AT,
+              after != null ? after.id() : StoreCursor.MAX_ID,
+              pageable)
+          .stream()
+          .map(hit -> new SearchHit(hit.getId(), hit.getScore()))
+          .toList();
+    }
+    return thriftStoreRepository
+        .searchRankedAfter(
+            term,
+            after != null ? after.rank().intValue() : -1,
+            after != null ? after.createdAt() : StoreCursor.MAX_CREATED_AT,
+            after != null ? after.id() : StoreCursor.MAX_ID,
+            pageable)
+        .stream()
+        .map(hit -> new SearchHit(hit.getId(), hit.getScore()))
+        .toList();
+  }
+
+  /**
+   * Turns free text into a prefix tsquery ({@code "brecho:* & centro:*"}) so results update as the
+   * user types. Anything but letters and digits is dropped, which also keeps tsquery syntax out.
+   */
+  static String toPrefixQuery(String q) {
+    return Arrays.stream(q.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+        .filter(token -> !token.isEmpty())
+        .map(token -> token + ":*")
+        .collect(Collectors.joining(" & "));
+  }
+}
@@ -0,0 +1,216 @@
+package com.edufelip.meer.service;
+
+import com.edufelip.meer.domain.port.PhotoStoragePort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.auth.Credentials;
+import com.google.auth.ServiceAccountSigner;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.HttpMethod;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.Storage.SignUrlOption;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Signs V4 {@code PUT} URLs for direct uploads. The credential's signer is resolved once and
+ * reused, and batches are signed in parallel on {@code uploadSigningExecutor}: with
+ * metadata-server or impersonated credentials every signature is a remote IAM {@code signBlob}
+ * call. When the executor is saturated the request thread signs the rest itself.
+ *
+ * <p>With {@code storage.gcs.signing.pool-size} above zero, each request also tops up a small pool
+ * of pre-signed slots for its object prefix and content type in the background, so the next burst
+ * for the same store or user is served without waiting on IAM. Pooled slots are only handed out
+ * while at least half of their TTL is left. Slots handed out are counted as {@code
+ * meer.storage.signing} (tagged {@code source=signed|pooled}) and each signature is timed as {@code
+ * meer.storage.signing.latency}.
+ */
+@Component
+public class UploadUrlSigner {
+
+  private static final Logger log = LoggerFactory.getLogger(UploadUrlSigner.class);
+
+  private record Pooled(PhotoStoragePort.UploadSlot slot, Instant expiresAt) {}
+
+  private final Storage storage;
+  private final Executor executor;
+  private final MeterRegistry meterRegistry;
+  private final Clock clock;
+  private final String bucket;
+  private final Duration ttl;
+  private final int poolSize;
+  private final Cache<String, ConcurrentLinkedDeque<Pooled>> pools;
+  private final Set<String> refilling = ConcurrentHashMap.newKeySet();
+  private volatile Optional<ServiceAccountSigner> signer;
+
+  public UploadUrlSigner(
+      Storage storage,
+      @Qualifier("uploadSigningExecutor") Executor executor,
+      MeterRegistry meterRegistry,
+      Clock clock,
+      @Value("${storage.gcs.bucket}") String bucket,
+      @Value("${storage.gcs.signed-url-ttl-minutes:120}") long ttlMinutes,
+      @Value("${storage.gcs.signing.pool-size:0}") int poolSize,
+      @Value("${storage.gcs.signing.max-pools:1000}") int maxPools) {
+    this.storage = storage;
+    this.executor = executor;
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+    this.bucket = bucket;
+    this.ttl = Duration.ofMinutes(ttlMinutes);
+    this.poolSize = Math.max(0, poolSize);
+    this.pools =
+        Caffeine.newBuilder()
+            .maximumSize(Math.max(1, maxPools))
+            .expireAfterAccess(this.ttl.dividedBy(2))
+            .build();
+  }
+
+  /**
+   * Returns one slot per content type, in order. Object keys are {@code namePrefix} followed by a
+   * random UUID.
+   */
+  public List<PhotoStoragePort.UploadSlot> sign(String namePrefix, List<String> contentTypes) {
+    PhotoStoragePort.UploadSlot[] slots = new PhotoStoragePort.UploadSlot[contentTypes.size()];
+    Instant freshUntil = clock.instant().plus(ttl.dividedBy(2));
+    List<CompletableFuture<Void>> pending = new ArrayList<>();
+    for (int i = 0; i < slots.length; i++) {
+      String contentType = contentTypes.get(i);
+      Pooled pooled = poolSize > 0 ? take(poolKey(namePrefix, contentType), freshUntil) : null;
+      if (pooled != null) {
+        slots[i] = pooled.slot();
+        count("pooled");
+        continue;
+      }
+      int index = i;
+      Runnable task = () -> slots[index] = signNew(namePrefix, contentType).slot();
+      if (slots.length == 1) {
+        task.run();
+        continue;
+      }
+      try {
+        pending.add(CompletableFuture.runAsync(task, executor));
+      } catch (RejectedExecutionException ex) {
+        task.run();
+      }
+    }
+    await(pending);
+    if (poolSize > 0) {
+      contentTypes.stream().distinct().forEach(contentType -> refill(namePrefix, contentType));
+    }
+    return Arrays.asList(slots);
+  }
+
+  private Pooled take(String key, Instant freshUntil) {
+    ConcurrentLinkedDeque<Pooled> pool = pools.getIfPresent(key);
+    if (pool == null) return null;
+    Pooled pooled;
+    while ((pooled = pool.pollFirst()) != null) {
+      if (pooled.expiresAt().isAfter(freshUntil)) return pooled;
+    }
+    return null;
+  }
+
+  private void refill(String namePrefix, String contentType) {
+    String key = poolKey(namePrefix, contentType);
+    if (!refilling.add(key)) return;
+    try {
+      executor.execute(
+          () -> {
+            try {
+              ConcurrentLinkedDeque<Pooled> pool =
+                  pools.get(key, k -> new ConcurrentLinkedDeque<>());
+              while (pool.size() < poolSize) {
+                pool.addLast(signNew(namePrefix, contentType));
+              }
+            } catch (RuntimeException ex) {
+              log.warn(
+                  "Failed to pre-sign upload slots prefix={}: {}", namePrefix, ex.getMessage());
+            } finally {
+              refilling.remove(key);
+            }
+          });
+    } catch (RejectedExecutionException ex) {
+      refilling.remove(key);
+    }
+  }
+
+  private Pooled signNew(String namePrefix, String contentType) {
+    String objectName = namePrefix + UUID.randomUUID();
+    BlobInfo blobInfo = BlobInfo.newBuilder(bucket, objectName).setContentType(contentType).build();
+    List<SignUrlOption> options = new ArrayList<>();
+    options.add(SignUrlOption.httpMethod(HttpMethod.PUT));
+    options.add(SignUrlOption.withV4Signature());
+    options.add(SignUrlOption.withContentType());
+    signer().ifPresent(s -> options.add(SignUrlOption.signWith(s)));
+    Instant expiresAt = clock.instant().plus(ttl);
+    long start = System.nanoTime();
+    URL url =
+        storage.signUrl(
+            blobInfo, ttl.toSeconds(), TimeUnit.SECONDS, options.toArray(new SignUrlOption[0]));
+    Timer.builder("meer.storage.signing.latency")
+        .register(meterRegistry)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    count("signed");
+    return new Pooled(
+        new PhotoStoragePort.UploadSlot(url.toString(), objectName, contentType), expiresAt);
+  }
+
+  /** The credential's signer, resolved on first use; empty lets the client pick its default. */
+  private Optional<ServiceAccountSigner> signer() {
+    Optional<ServiceAccountSigner> resolved = signer;
+    if (resolved == null) {
+      Credentials credentials = storage.getOptions().getCredentials();
+      resolved =
+          credentials instanceof ServiceAccountSigner accountSigner
+              ? Optional.of(accountSigner)
+              : Optional.empty();
+      signer = resolved;
+    }
+    return resolved;
+  }
+
+  private void count(String source) {
+    Counter.builder("meer.storage.signing")
+        .tag("source", source)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  private static void await(List<CompletableFuture<Void>> pending) {
+    if (pending.isEmpty()) return;
+    try {
+      CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) throw cause;
+      throw ex;
+    }
+  }
+
+  private static String poolKey(String namePrefix, String contentType) {
+    return namePrefix + "|" + contentType;
+  }
+}
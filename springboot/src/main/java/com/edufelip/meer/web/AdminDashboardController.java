@@ -2,27 +2,22 @@ package com.edufelip.meer.web;
 
 import com.edufelip.meer.core.auth.AuthUser;
 import com.edufelip.meer.core.auth.Role;
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.DeleteAccountUseCase;
+import com.edufelip.meer.domain.GetStoresAfterUseCase;
 import com.edufelip.meer.domain.repo.AuthUserRepository;
 import com.edufelip.meer.domain.repo.GuideContentCommentRepository;
 import com.edufelip.meer.domain.repo.GuideContentRepository;
-import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import com.edufelip.meer.dto.*;
 import com.edufelip.meer.mapper.Mappers;
 import com.edufelip.meer.security.token.TokenProvider;
-import com.edufelip.meer.service.GcsStorageService;
 import com.edufelip.meer.service.GuideContentEngagementService;
 import com.edufelip.meer.service.GuideContentModerationService;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -42,10 +37,10 @@ public class AdminDashboardController {
   private final ThriftStoreRepository thriftStoreRepository;
   private final GuideContentRepository guideContentRepository;
   private final GuideContentCommentRepository guideContentCommentRepository;
-  private final StoreFeedbackRepository storeFeedbackRepository;
-  private final GcsStorageService gcsStorageService;
   private final GuideContentEngagementService guideContentEngagementService;
   private final GuideContentModerationService guideContentModerationService;
+  private final GetStoresAfterUseCase getStoresAfterUseCase;
+  private final DeleteAccountUseCase deleteAccountUseCase;
 
   public AdminDashboardController(
       TokenProvider tokenProvider,
@@ -53,19 +48,19 @@ public class AdminDashboardController {
       ThriftStoreRepository thriftStoreRepository,
       GuideContentRepository guideContentRepository,
       GuideContentCommentRepository guideContentCommentRepository,
-      StoreFeedbackRepository storeFeedbackRepository,
-      GcsStorageService gcsStorageService,
       GuideContentEngagementService guideContentEngagementService,
-      GuideContentModerationService guideContentModerationService) {
+      GuideContentModerationService guideContentModerationService,
+      GetStoresAfterUseCase getStoresAfterUseCase,
+      DeleteAccountUseCase deleteAccountUseCase) {
     this.tokenProvider = tokenProvider;
     this.authUserRepository = authUserRepository;
     this.thriftStoreRepository = thriftStoreRepository;
     this.guideContentRepository = guideContentRepository;
     this.guideContentCommentRepository = guideContentCommentRepository;
-    this.storeFeedbackRepository = storeFeedbackRepository;
-    this.gcsStorageService = gcsStorageService;
     this.guideContentEngagementService = guideContentEngagementService;
     this.guideContentModerationService = guideContentModerationService;
+    this.getStoresAfterUseCase = getStoresAfterUseCase;
+    this.deleteAccountUseCase = deleteAccountUseCase;
   }
 
   @GetMapping("/stores")
@@ -74,14 +69,19 @@ public class AdminDashboardController {
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "20") int pageSize,
       @RequestParam(name = "search", required = false) String search,
-      @RequestParam(defaultValue = "newest") String sort) {
+      @RequestParam(defaultValue = "newest") String sort,
+      @RequestParam(name = "cursor", required = false) String cursor) {
     requireAdmin(authHeader);
     if (page < 0 || pageSize < 1 || pageSize > 100) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid pagination params");
     }
     String term = search;
+    boolean oldest = "oldest".equalsIgnoreCase(sort);
+    if (cursor != null) {
+      return listStoresKeyset(term, oldest, cursor, page, pageSize);
+    }
     Sort s =
-        "oldest".equalsIgnoreCase(sort)
+        oldest
             ? Sort.by(org.springframework.data.domain.Sort.Direction.ASC, "createdAt")
             : Sort.by(org.springframework.data.domain.Sort.Direction.DESC, "createdAt");
     Pageable pageable = PageRequest.of(page, pageSize, s);
@@ -90,15 +90,26 @@ public class AdminDashboardController {
             ? thriftStoreRepository.search(term.trim(), pageable)
             : thriftStoreRepository.findAll(pageable);
     List<DashboardStoreSummaryDto> items =
-        pageRes.getContent().stream()
-            .map(
-                ts ->
-                    new DashboardStoreSummaryDto(
-                        ts.getId(), ts.getName(), ts.getAddressLine(), ts.getCreatedAt()))
-            .toList();
+        pageRes.getContent().stream().map(this::toStoreSummary).toList();
     return new PageResponse<>(items, page, pageRes.hasNext());
   }
 
+  private PageResponse<DashboardStoreSummaryDto> listStoresKeyset(
+      String term, boolean oldest, String cursor, int page, int pageSize) {
+    var result =
+        oldest
+            ? getStoresAfterUseCase.oldest(term, cursor, pageSize)
+            : getStoresAfterUseCase.newest(term, cursor, pageSize);
+    List<DashboardStoreSummaryDto> items =
+        result.stores().stream().map(this::toStoreSummary).toList();
+    return new PageResponse<>(items, page, result.hasNext(), result.nextCursor());
+  }
+
+  private DashboardStoreSummaryDto toStoreSummary(ThriftStore ts) {
+    return new DashboardStoreSummaryDto(
+        ts.getId(), ts.getName(), ts.getAddressLine(), ts.getCreatedAt());
+  }
+
   @GetMapping("/contents")
   public PageResponse<GuideContentDto> listContents(
       @RequestHeader("Authorization") String authHeader,
@@ -118,22 +129,9 @@ public class AdminDashboardController {
         (q != null && !q.isBlank())
             ? guideContentRepository.searchSummaries(q, pageable)
             : guideContentRepository.findAllSummaries(pageable);
+    // Summaries carry the denormalized counters; admins have no liked-by-me flag to add.
     var items = slice.getContent().stream().map(Mappers::toDto).toList();
-    var ids = items.stream().map(GuideContentDto::id).toList();
-    var engagement = guideContentEngagementService.getEngagement(ids, null);
-    var enriched =
-        items.stream()
-            .map(
-                item -> {
-                  var summary =
-                      engagement.getOrDefault(
-                          item.id(),
-                          new GuideContentEngagementService.EngagementSummary(0L, 0L, false));
-                  return Mappers.withCounts(
-                      item, summary.likeCount(), summary.commentCount(), summary.likedByMe());
-                })
-            .toList();
-    return new PageResponse<>(enriched, page, slice.hasNext());
+    return new PageResponse<>(items, page, slice.hasNext());
   }
 
   @GetMapping("/contents/{id}")
@@ -302,33 +300,10 @@ public class AdminDashboardController {
   @DeleteMapping("/users/{id}")
   public org.springframework.http.ResponseEntity<Void> deleteUser(
       @RequestHeader("Authorization") String authHeader, @PathVariable UUID id) {
-    AuthUser admin = requireAdmin(authHeader);
-    var target =
-        authUserRepository
-            .findById(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-
-    // Clear owned thrift store links before deleting stores to satisfy FK constraints
-    if (target.getOwnedThriftStore() != null) {
-      target.setOwnedThriftStore(null);
-      authUserRepository.save(target);
-    }
-
-    deleteOwnedStores(target);
-
-    // Drop favorites join entries
-    target.getFavorites().clear();
-    authUserRepository.save(target);
-
-    // Delete avatar assets, if any
-    if (target.getPhotoUrl() != null) {
-      if (!deleteLocalIfUploads(target.getPhotoUrl())) {
-        gcsStorageService.deleteByUrl(target.getPhotoUrl());
-      }
-    }
-
-    storeFeedbackRepository.deleteByUserId(target.getId());
-    authUserRepository.delete(target);
+    requireAdmin(authHeader);
+    // stores, favorites and feedback go with the user; store photos and the avatar are removed
+    // from storage in the background
+    deleteAccountUseCase.execute(id);
     return org.springframework.http.ResponseEntity.noContent().build();
   }
 
@@ -358,50 +333,4 @@ public class AdminDashboardController {
     }
     throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing admin context");
   }
-
-  private void deleteOwnedStores(AuthUser user) {
-    Set<UUID> processed = new HashSet<>();
-
-    Optional.ofNullable(user.getOwnedThriftStore())
-        .flatMap(store -> thriftStoreRepository.findById(store.getId()))
-        .ifPresent(store -> deleteStoreWithAssets(store, processed));
-
-    thriftStoreRepository
-        .findByOwnerId(user.getId())
-        .forEach(store -> deleteStoreWithAssets(store, processed));
-  }
-
-  private void deleteStoreWithAssets(
-      com.edufelip.meer.core.store.ThriftStore store, Set<UUID> processed) {
-    if (!processed.add(store.getId())) return; // avoid duplicate deletes
-    // Remove dependent rows first to satisfy FK constraints
-    authUserRepository.deleteFavoritesByStoreId(store.getId());
-    storeFeedbackRepository.deleteByThriftStoreId(store.getId());
-
-    if (store.getPhotos() != null) {
-      store.getPhotos().forEach(p -> deletePhotoAsset(p.getUrl()));
-    }
-    thriftStoreRepository.delete(store);
-  }
-
-  private void deletePhotoAsset(String url) {
-    if (url == null) return;
-    if (!deleteLocalIfUploads(url)) {
-      try {
-        gcsStorageService.deleteByUrl(url);
-      } catch (Exception ignored) {
-      }
-    }
-  }
-
-  private boolean deleteLocalIfUploads(String url) {
-    if (url == null || !url.startsWith("/uploads/")) return false;
-    try {
-      Path path = Paths.get("springboot", url.substring(1));
-      Files.deleteIfExists(path);
-      return true;
-    } catch (Exception ignored) {
-      return false;
-    }
-  }
 }
@@ -1,6 +1,8 @@
 package com.edufelip.meer.web;
 
+import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.domain.GetCategoriesUseCase;
+import com.edufelip.meer.domain.GetStoresAfterUseCase;
 import com.edufelip.meer.domain.repo.CategoryRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import com.edufelip.meer.dto.CategoryDto;
@@ -24,14 +26,17 @@ public class CategoryController {
   private final CategoryRepository categoryRepository;
   private final ThriftStoreRepository thriftStoreRepository;
   private final GetCategoriesUseCase getCategoriesUseCase;
+  private final GetStoresAfterUseCase getStoresAfterUseCase;
 
   public CategoryController(
       CategoryRepository categoryRepository,
       ThriftStoreRepository thriftStoreRepository,
-      GetCategoriesUseCase getCategoriesUseCase) {
+      GetCategoriesUseCase getCategoriesUseCase,
+      GetStoresAfterUseCase getStoresAfterUseCase) {
     this.categoryRepository = categoryRepository;
     this.thriftStoreRepository = thriftStoreRepository;
     this.getCategoriesUseCase = getCategoriesUseCase;
+    this.getStoresAfterUseCase = getStoresAfterUseCase;
   }
 
   @GetMapping
@@ -43,7 +48,8 @@ public class CategoryController {
   public PageResponse<CategoryStoreItemDto> getStoresByCategory(
       @PathVariable String categoryId,
       @RequestParam(name = "page", defaultValue = "1") int page,
-      @RequestParam(name = "pageSize", defaultValue = "10") int pageSize) {
+      @RequestParam(name = "pageSize", defaultValue = "10") int pageSize,
+      @RequestParam(name = "cursor", required = false) String cursor) {
     if (page < 1 || pageSize < 1 || pageSize > 100) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid pagination params");
     }
@@ -52,11 +58,23 @@ public class CategoryController {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found");
     }
 
-    var pageable = PageRequest.of(page - 1, pageSize);
-    var result = thriftStoreRepository.findByCategoryId(categoryId, pageable);
+    List<ThriftStore> stores;
+    boolean hasNext;
+    String nextCursor = null;
+    if (cursor != null) {
+      var result = getStoresAfterUseCase.inCategory(categoryId, cursor, pageSize);
+      stores = result.stores();
+      hasNext = result.hasNext();
+      nextCursor = result.nextCursor();
+    } else {
+      var result =
+          thriftStoreRepository.findByCategoryId(categoryId, PageRequest.of(page - 1, pageSize));
+      stores = result.getContent();
+      hasNext = result.hasNext();
+    }
 
     var items =
-        result.getContent().stream()
+        stores.stream()
             .map(
                 store ->
                     new CategoryStoreItemDto(
@@ -70,6 +88,6 @@ public class CategoryController {
                         null))
             .toList();
 
-    return new PageResponse<>(items, page, result.hasNext());
+    return new PageResponse<>(items, page, hasNext, nextCursor);
   }
 }
@@ -6,15 +6,20 @@ import com.edufelip.meer.core.push.PushEnvironment;
 import com.edufelip.meer.domain.PushNotificationException;
 import com.edufelip.meer.domain.port.PushNotificationPort;
 import com.edufelip.meer.dto.PushBroadcastRequest;
+import com.edufelip.meer.dto.PushJobDto;
+import com.edufelip.meer.dto.PushSegmentRequest;
 import com.edufelip.meer.dto.PushTestRequest;
 import com.edufelip.meer.dto.PushUserNotificationRequest;
 import com.edufelip.meer.security.AdminContext;
+import com.edufelip.meer.service.PushJobService;
 import java.util.UUID;
 import jakarta.validation.Valid;
 import java.util.Map;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -27,10 +32,15 @@ import org.springframework.web.server.ResponseStatusException;
 @ConditionalOnProperty(prefix = "firebase", name = "enabled", havingValue = "true")
 public class DashboardPushController {
 
+  private static final double MAX_RADIUS_KM = 100;
+
   private final PushNotificationPort pushNotificationService;
+  private final PushJobService pushJobService;
 
-  public DashboardPushController(PushNotificationPort pushNotificationService) {
+  public DashboardPushController(
+      PushNotificationPort pushNotificationService, PushJobService pushJobService) {
     this.pushNotificationService = pushNotificationService;
+    this.pushJobService = pushJobService;
   }
 
   @PostMapping
@@ -67,22 +77,72 @@ public class DashboardPushController {
     }
   }
 
+  /**
+   * Queues the send and returns its job id at once; delivery runs in the background and its
+   * progress is available from {@code GET /dashboard/push/jobs/{id}}.
+   */
   @PostMapping("/user")
-  public ResponseEntity<Map<String, Integer>> sendUserPush(
+  public ResponseEntity<Map<String, UUID>> sendUserPush(
       @RequestHeader("Authorization") String authHeader,
       @RequestBody @Valid PushUserNotificationRequest body) {
-    requireAdmin(authHeader);
-    UUID userId = parseUserId(body.userId());
+    AuthUser admin = requireAdmin(authHeader);
+    UUID userId = parseId(body.userId(), "userId");
     PushEnvironment environment = PushEnvironment.parse(body.environment());
     String type = normalizeType(body.type());
-    int sent =
-        pushNotificationService.sendToUser(
+    var job =
+        pushJobService.enqueueToUser(
             userId,
             environment,
             body.title(),
             body.body(),
-            Map.of("type", type, "id", body.id()));
-    return ResponseEntity.ok(Map.of("sent", sent));
+            Map.of("type", type, "id", body.id()),
+            admin.getId());
+    return ResponseEntity.accepted().body(Map.of("jobId", job.getId()));
+  }
+
+  /**
+   * Queues a send to a segment resolved from the store: {@code store_favorites} reaches everyone
+   * who favorited it, {@code near_store} every device last seen within {@code radiusKm} of it.
+   */
+  @PostMapping("/segment")
+  public ResponseEntity<Map<String, UUID>> sendSegmentPush(
+      @RequestHeader("Authorization") String authHeader,
+      @RequestBody @Valid PushSegmentRequest body) {
+    AuthUser admin = requireAdmin(authHeader);
+    UUID storeId = parseId(body.storeId(), "storeId");
+    PushEnvironment environment = PushEnvironment.parse(body.environment());
+    String type = normalizeType(body.type());
+    Map<String, String> data = Map.of("type", type, "id", body.id());
+    String segment = body.segment().trim().toLowerCase();
+    var job =
+        switch (segment) {
+          case "store_favorites" ->
+              pushJobService.enqueueToStoreFavorites(
+                  storeId, environment, body.title(), body.body(), data, admin.getId());
+          case "near_store" ->
+              pushJobService.enqueueNearStore(
+                  storeId,
+                  radiusMeters(body.radiusKm()),
+                  environment,
+                  body.title(),
+                  body.body(),
+                  data,
+                  admin.getId());
+          default ->
+              throw new ResponseStatusException(
+                  HttpStatus.BAD_REQUEST, "segment must be store_favorites or near_store");
+        };
+    return ResponseEntity.accepted().body(Map.of("jobId", job.getId()));
+  }
+
+  @GetMapping("/jobs/{jobId}")
+  public PushJobDto getJob(
+      @RequestHeader("Authorization") String authHeader, @PathVariable UUID jobId) {
+    requireAdmin(authHeader);
+    return pushJobService
+        .find(jobId)
+        .map(PushJobDto::new)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found"));
   }
 
   private AuthUser requireAdmin(String authHeader) {
@@ -130,14 +190,22 @@ public class DashboardPushController {
     return audience + "-" + env;
   }
 
-  private UUID parseUserId(String userId) {
-    if (userId == null || userId.isBlank()) {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId is required");
+  private int radiusMeters(Double radiusKm) {
+    if (radiusKm == null || !(radiusKm > 0) || radiusKm > MAX_RADIUS_KM) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "radiusKm must be between 0 and " + (int) MAX_RADIUS_KM);
+    }
+    return (int) Math.round(radiusKm * 1000);
+  }
+
+  private UUID parseId(String value, String field) {
+    if (value == null || value.isBlank()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, field + " is required");
     }
     try {
-      return UUID.fromString(userId.trim());
+      return UUID.fromString(value.trim());
     } catch (IllegalArgumentException ex) {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId is invalid");
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, field + " is invalid");
     }
   }
 }
@@ -1,13 +1,14 @@
 package com.edufelip.meer.web;
 
 import com.edufelip.meer.core.auth.AuthUser;
-import com.edufelip.meer.domain.repo.AuthUserRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import com.edufelip.meer.dto.FavoriteStoreDto;
 import com.edufelip.meer.dto.FavoritesVersionDto;
 import com.edufelip.meer.security.AuthUserResolver;
+import com.edufelip.meer.service.FavoriteService;
 import com.edufelip.meer.service.StoreFeedbackService;
 import java.util.List;
+import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -25,17 +26,17 @@ import org.springframework.web.server.ResponseStatusException;
 public class FavoritesController {
 
   private final AuthUserResolver authUserResolver;
-  private final AuthUserRepository authUserRepository;
+  private final FavoriteService favoriteService;
   private final ThriftStoreRepository thriftStoreRepository;
   private final StoreFeedbackService storeFeedbackService;
 
   public FavoritesController(
       AuthUserResolver authUserResolver,
-      AuthUserRepository authUserRepository,
+      FavoriteService favoriteService,
       ThriftStoreRepository thriftStoreRepository,
       StoreFeedbackService storeFeedbackService) {
     this.authUserResolver = authUserResolver;
-    this.authUserRepository = authUserRepository;
+    this.favoriteService = favoriteService;
     this.thriftStoreRepository = thriftStoreRepository;
     this.storeFeedbackService = storeFeedbackService;
   }
@@ -46,8 +47,7 @@ public class FavoritesController {
       @RequestParam(name = "lat", required = false) Double lat,
       @RequestParam(name = "lng", required = false) Double lng) {
     AuthUser user = authUserResolver.requireUser(authHeader);
-    var ids = user.getFavorites().stream().map(f -> f.getId()).toList();
-    var summaries = storeFeedbackService.getSummaries(ids);
+    var summaries = storeFeedbackService.summariesOf(user.getFavorites());
     return user.getFavorites().stream()
         .map(
             store -> {
@@ -66,13 +66,10 @@ public class FavoritesController {
   public ResponseEntity<Void> addFavorite(
       @RequestHeader("Authorization") String authHeader, @PathVariable java.util.UUID storeId) {
     AuthUser user = authUserResolver.requireUser(authHeader);
-    var store =
-        thriftStoreRepository
-            .findById(storeId)
-            .orElseThrow(
-                () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Store not found"));
-    user.getFavorites().add(store); // idempotent: Set ensures no duplicates
-    authUserRepository.save(user);
+    if (!thriftStoreRepository.existsById(storeId)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Store not found");
+    }
+    favoriteService.add(user.getId(), storeId); // idempotent: skips an existing row
     return ResponseEntity.noContent().build();
   }
 
@@ -80,11 +77,10 @@ public class FavoritesController {
   public ResponseEntity<Void> removeFavorite(
       @RequestHeader("Authorization") String authHeader, @PathVariable java.util.UUID storeId) {
     AuthUser user = authUserResolver.requireUser(authHeader);
-    thriftStoreRepository
-        .findById(storeId)
-        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Store not found"));
-    user.getFavorites().removeIf(ts -> ts.getId().equals(storeId)); // idempotent removal
-    authUserRepository.save(user);
+    if (!thriftStoreRepository.existsById(storeId)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Store not found");
+    }
+    favoriteService.remove(user.getId(), storeId); // idempotent removal
     return ResponseEntity.noContent().build();
   }
 
@@ -92,7 +88,8 @@ public class FavoritesController {
   public FavoritesVersionDto getFavoritesVersioned(
       @RequestHeader("Authorization") String authHeader) {
     AuthUser user = authUserResolver.requireUser(authHeader);
-    var ids = user.getFavorites().stream().map(f -> f.getId().toString()).sorted().toList();
+    var ids =
+        favoriteService.favoriteIds(user.getId()).stream().map(UUID::toString).sorted().toList();
     String version = Integer.toHexString(ids.hashCode());
     return new FavoritesVersionDto(ids, version);
   }
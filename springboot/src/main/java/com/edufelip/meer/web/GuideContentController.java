@@ -313,19 +313,14 @@ public class GuideContentController {
   private List<GuideContentDto> enrichContentDtos(
       List<GuideContentDto> base, com.edufelip.meer.core.auth.AuthUser user) {
     if (base == null || base.isEmpty()) return base;
+    if (user == null) return base;
     var ids = base.stream().map(GuideContentDto::id).toList();
-    var engagement =
-        guideContentEngagementService.getEngagement(ids, user != null ? user.getId() : null);
+    var likedIds = guideContentEngagementService.likedContentIds(ids, user.getId());
     return base.stream()
         .map(
-            item -> {
-              var summary =
-                  engagement.getOrDefault(
-                      item.id(),
-                      new GuideContentEngagementService.EngagementSummary(0L, 0L, false));
-              return Mappers.withCounts(
-                  item, summary.likeCount(), summary.commentCount(), summary.likedByMe());
-            })
+            item ->
+                Mappers.withCounts(
+                    item, item.likeCount(), item.commentCount(), likedIds.contains(item.id())))
         .toList();
   }
 
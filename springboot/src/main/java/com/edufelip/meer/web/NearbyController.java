@@ -2,10 +2,11 @@ package com.edufelip.meer.web;
 
 import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.domain.GetThriftStoresUseCase;
+import com.edufelip.meer.domain.NearbyArea;
 import com.edufelip.meer.dto.NearbyStoreDto;
 import com.edufelip.meer.dto.PageResponse;
-import com.edufelip.meer.mapper.Mappers;
 import com.edufelip.meer.security.AuthUserResolver;
+import com.edufelip.meer.service.FavoriteService;
 import com.edufelip.meer.service.StoreFeedbackService;
 import java.util.List;
 import org.springframework.http.HttpStatus;
@@ -21,14 +22,17 @@ public class NearbyController {
   private final GetThriftStoresUseCase getThriftStoresUseCase;
   private final AuthUserResolver authUserResolver;
   private final StoreFeedbackService storeFeedbackService;
+  private final FavoriteService favoriteService;
 
   public NearbyController(
       GetThriftStoresUseCase getThriftStoresUseCase,
       AuthUserResolver authUserResolver,
-      StoreFeedbackService storeFeedbackService) {
+      StoreFeedbackService storeFeedbackService,
+      FavoriteService favoriteService) {
     this.getThriftStoresUseCase = getThriftStoresUseCase;
     this.authUserResolver = authUserResolver;
     this.storeFeedbackService = storeFeedbackService;
+    this.favoriteService = favoriteService;
   }
 
   @GetMapping("/nearby")
@@ -37,21 +41,30 @@ public class NearbyController {
       @RequestParam(name = "lat") double lat,
       @RequestParam(name = "lng") double lng,
       @RequestParam(name = "pageIndex", defaultValue = "0") int pageIndex,
-      @RequestParam(name = "pageSize", defaultValue = "10") int pageSize) {
+      @RequestParam(name = "pageSize", defaultValue = "10") int pageSize,
+      @RequestParam(name = "radiusMeters", required = false) Double radiusMeters,
+      @RequestParam(name = "minLat", required = false) Double minLat,
+      @RequestParam(name = "minLng", required = false) Double minLng,
+      @RequestParam(name = "maxLat", required = false) Double maxLat,
+      @RequestParam(name = "maxLng", required = false) Double maxLng) {
     if (pageIndex < 0 || pageSize < 1 || pageSize > 100) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid pagination params");
     }
+    NearbyArea area = NearbyArea.of(lat, lng, radiusMeters, minLat, minLng, maxLat, maxLng);
     var user = authUserResolver.optionalUser(authHeader);
-    var page = getThriftStoresUseCase.executeNearby(lat, lng, pageIndex, pageSize);
-    List<ThriftStore> stores = page.getContent();
+    var page = getThriftStoresUseCase.executeNearby(lat, lng, area, pageIndex, pageSize);
+    List<ThriftStore> stores =
+        page.getContent().stream().map(GetThriftStoresUseCase.NearbyStore::store).toList();
 
-    var summaries =
-        storeFeedbackService.getSummaries(stores.stream().map(ThriftStore::getId).toList());
+    var summaries = storeFeedbackService.summariesOf(stores);
+    var favoriteIds =
+        favoriteService.favoriteIdsAmong(user, stores.stream().map(ThriftStore::getId).toList());
 
     var items =
-        stores.stream()
+        page.getContent().stream()
             .map(
-                store -> {
+                hit -> {
+                  ThriftStore store = hit.store();
                   var summary = summaries.get(store.getId());
                   Double rating = summary != null ? summary.rating() : null;
                   Integer reviewCount =
@@ -60,9 +73,8 @@ public class NearbyController {
                           : null;
                   return new NearbyStoreDto(
                       store,
-                      lat,
-                      lng,
-                      Mappers.isFavorite(user, store.getId()),
+                      hit.distanceMeters(),
+                      favoriteIds.contains(store.getId()),
                       rating,
                       reviewCount);
                 })
@@ -1,10 +1,10 @@
 package com.edufelip.meer.web;
 
+import com.edufelip.meer.domain.DeleteAccountUseCase;
 import com.edufelip.meer.domain.auth.GetProfileUseCase;
 import com.edufelip.meer.domain.auth.UpdateProfileUseCase;
-import com.edufelip.meer.domain.repo.AuthUserRepository;
-import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
-import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.domain.port.ImageVariantPort;
+import com.edufelip.meer.domain.port.StorageCleanupPort;
 import com.edufelip.meer.dto.AvatarUploadResponse;
 import com.edufelip.meer.dto.DeleteAccountRequest;
 import com.edufelip.meer.dto.ErrorDto;
@@ -16,10 +16,7 @@ import com.edufelip.meer.security.token.InvalidTokenException;
 import com.edufelip.meer.service.GcsStorageService;
 import com.edufelip.meer.util.UrlValidatorUtil;
 import jakarta.validation.Valid;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Optional;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
@@ -47,11 +44,11 @@ public class ProfileController {
 
   private final GetProfileUseCase getProfileUseCase;
   private final UpdateProfileUseCase updateProfileUseCase;
-  private final AuthUserRepository authUserRepository;
-  private final StoreFeedbackRepository storeFeedbackRepository;
-  private final ThriftStoreRepository thriftStoreRepository;
+  private final DeleteAccountUseCase deleteAccountUseCase;
   private final GcsStorageService gcsStorageService;
   private final AuthUserResolver authUserResolver;
+  private final ImageVariantPort imageVariantPort;
+  private final StorageCleanupPort storageCleanupPort;
   private static final Set<String> ALLOWED_AVATAR_CONTENT_TYPES =
       Set.of("image/jpeg", "image/png", "image/webp");
   private static final long MAX_AVATAR_BYTES = 5 * 1024 * 1024;
@@ -59,18 +56,18 @@ public class ProfileController {
   public ProfileController(
       GetProfileUseCase getProfileUseCase,
       UpdateProfileUseCase updateProfileUseCase,
-      AuthUserRepository authUserRepository,
-      StoreFeedbackRepository storeFeedbackRepository,
-      ThriftStoreRepository thriftStoreRepository,
+      DeleteAccountUseCase deleteAccountUseCase,
       GcsStorageService gcsStorageService,
-      AuthUserResolver authUserResolver) {
+      AuthUserResolver authUserResolver,
+      ImageVariantPort imageVariantPort,
+      StorageCleanupPort storageCleanupPort) {
     this.getProfileUseCase = getProfileUseCase;
     this.updateProfileUseCase = updateProfileUseCase;
-    this.authUserRepository = authUserRepository;
-    this.storeFeedbackRepository = storeFeedbackRepository;
-    this.thriftStoreRepository = thriftStoreRepository;
+    this.deleteAccountUseCase = deleteAccountUseCase;
     this.gcsStorageService = gcsStorageService;
     this.authUserResolver = authUserResolver;
+    this.imageVariantPort = imageVariantPort;
+    this.storageCleanupPort = storageCleanupPort;
   }
 
   @GetMapping
@@ -111,6 +108,7 @@ public class ProfileController {
     if (body == null)
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body required");
     var currentUser = getProfileUseCase.execute(token);
+    String previousAvatar = currentUser.getPhotoUrl();
     String normalizedAvatar = normalizeAvatarUrl(body.avatarUrl(), currentUser.getId());
     var user =
         updateProfileUseCase.execute(
@@ -121,6 +119,7 @@ public class ProfileController {
                 body.bio(),
                 body.notifyNewStores(),
                 body.notifyPromos()));
+    requestAvatarVariantsIfReplaced(previousAvatar, user.getPhotoUrl());
     return Mappers.toProfileDto(user, true);
   }
 
@@ -139,6 +138,7 @@ public class ProfileController {
 
     var currentUser = getProfileUseCase.execute(token);
     String previousAvatar = currentUser.getPhotoUrl();
+    String previousThumb = currentUser.getPhotoThumbUrl();
     String normalizedAvatar = normalizeAvatarUrl(body.avatarUrl(), currentUser.getId());
 
     var command =
@@ -146,7 +146,9 @@ public class ProfileController {
             body.name(), normalizedAvatar, body.bio(), body.notifyNewStores(), body.notifyPromos());
 
     var user = updateProfileUseCase.execute(token, command);
+    requestAvatarVariantsIfReplaced(previousAvatar, user.getPhotoUrl());
     deleteOldAvatarIfReplaced(previousAvatar, user.getPhotoUrl());
+    deleteOldAvatarIfReplaced(previousThumb, user.getPhotoUrl());
     return Mappers.toProfileDto(user, true);
   }
 
@@ -159,34 +161,9 @@ public class ProfileController {
       throw new ResponseStatusException(
           HttpStatus.BAD_REQUEST, "Email confirmation does not match");
     }
-    // delete owned store + photos in GCS
-    Optional.ofNullable(user.getOwnedThriftStore())
-        .flatMap(store -> thriftStoreRepository.findById(store.getId()))
-        .ifPresent(
-            store -> {
-              if (store.getPhotos() != null) {
-                store
-                    .getPhotos()
-                    .forEach(
-                        p -> {
-                          if (!deleteLocalIfUploads(p.getUrl())) {
-                            gcsStorageService.deleteByUrl(p.getUrl());
-                          }
-                        });
-              }
-              thriftStoreRepository.delete(store);
-            });
-    // cleanup: favorites and feedbacks
-    user.getFavorites().clear();
-    // delete avatar if locally stored or GCS
-    if (user.getPhotoUrl() != null) {
-      if (!deleteLocalIfUploads(user.getPhotoUrl())) {
-        gcsStorageService.deleteByUrl(user.getPhotoUrl());
-      }
-    }
-    authUserRepository.save(user);
-    storeFeedbackRepository.deleteByUserId(user.getId());
-    authUserRepository.delete(user);
+    // owned store, favorites and feedback go with the account; its photos and avatar are
+    // removed from storage afterwards
+    deleteAccountUseCase.execute(user.getId());
     return ResponseEntity.noContent().build();
   }
 
@@ -196,6 +173,11 @@ public class ProfileController {
         .body(new ErrorDto(ex.getMessage()));
   }
 
+  private void requestAvatarVariantsIfReplaced(String oldUrl, String newUrl) {
+    if (newUrl == null || newUrl.equals(oldUrl)) return;
+    imageVariantPort.requestVariants(ImageVariantPort.Target.AVATAR, newUrl);
+  }
+
   private void deleteOldAvatarIfReplaced(String oldUrl, String newUrl) {
     if (oldUrl == null || newUrl == null) return;
     if (oldUrl.equals(newUrl)) return;
@@ -204,27 +186,14 @@ public class ProfileController {
     if (oldKey == null) return;
     if (!oldKey.startsWith(gcsStorageService.getAvatarsPrefix() + "/")) return;
     log.info("Deleting previous avatar key={} oldUrl={}", oldKey, oldUrl);
-    if (!deleteLocalIfUploads(oldUrl)) {
-      try {
-        gcsStorageService.deleteByUrl(oldUrl);
-      } catch (Exception ex) {
-        log.warn(
-            "Failed to delete previous avatar key={} url={} error={}",
-            oldKey,
-            oldUrl,
-            ex.getMessage());
-      }
-    }
-  }
-
-  private boolean deleteLocalIfUploads(String url) {
-    if (url == null || !url.startsWith("/uploads/")) return false;
     try {
-      Path path = Paths.get("springboot", url.substring(1));
-      Files.deleteIfExists(path);
-      return true;
-    } catch (Exception ignored) {
-      return false;
+      storageCleanupPort.deleteLater(List.of(oldUrl));
+    } catch (Exception ex) {
+      log.warn(
+          "Failed to queue previous avatar for deletion key={} url={} error={}",
+          oldKey,
+          oldUrl,
+          ex.getMessage());
     }
   }
 
@@ -48,7 +48,9 @@ public class PushTokenController {
         body.fcmToken(),
         platform,
         body.appVersion(),
-        environment);
+        environment,
+        body.latitude(),
+        body.longitude());
     return ResponseEntity.noContent().build();
   }
 
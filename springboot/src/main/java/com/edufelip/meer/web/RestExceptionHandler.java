@@ -1,5 +1,6 @@
 package com.edufelip.meer.web;
 
+import com.edufelip.meer.security.PrincipalNotFoundException;
 import com.edufelip.meer.security.token.InvalidRefreshTokenException;
 import com.edufelip.meer.security.token.InvalidTokenException;
 import java.util.Map;
@@ -30,6 +31,13 @@ public class RestExceptionHandler {
     return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", ex.getMessage()));
   }
 
+  /** A cached principal whose row is gone (deleted on another node) is no longer authenticated. */
+  @ExceptionHandler(PrincipalNotFoundException.class)
+  public ResponseEntity<Map<String, String>> handlePrincipalNotFound(
+      PrincipalNotFoundException ex) {
+    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "User not found"));
+  }
+
   @ExceptionHandler({MaxUploadSizeExceededException.class, MultipartException.class})
   public ResponseEntity<Map<String, String>> handleMultipartErrors(Exception ex) {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST)
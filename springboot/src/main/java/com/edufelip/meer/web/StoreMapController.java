@@ -0,0 +1,48 @@
+package com.edufelip.meer.web;
+
+import com.edufelip.meer.dto.MapTileDto;
+import com.edufelip.meer.dto.StoreMapDto;
+import com.edufelip.meer.mapper.Mappers;
+import com.edufelip.meer.service.StoreMapService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class StoreMapController {
+
+  private final StoreMapService storeMapService;
+
+  public StoreMapController(StoreMapService storeMapService) {
+    this.storeMapService = storeMapService;
+  }
+
+  @GetMapping("/stores/map")
+  public StoreMapDto map(
+      @RequestParam(name = "minLat") double minLat,
+      @RequestParam(name = "minLng") double minLng,
+      @RequestParam(name = "maxLat") double maxLat,
+      @RequestParam(name = "maxLng") double maxLng,
+      @RequestParam(name = "zoom") int zoom) {
+    var clusters = storeMapService.viewport(minLat, minLng, maxLat, maxLng, zoom);
+    return new StoreMapDto(zoom, clusters.stream().map(Mappers::toDto).toList());
+  }
+
+  /** Same clusters for one z/x/y tile; the URL is stable so HTTP caches and CDNs can keep it. */
+  @GetMapping("/stores/map/tiles/{z}/{x}/{y}")
+  public ResponseEntity<MapTileDto> tile(
+      @PathVariable("z") int z, @PathVariable("x") int x, @PathVariable("y") int y) {
+    var tile = storeMapService.tile(z, x, y);
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.maxAge(storeMapService.tileTtl()).cachePublic())
+        .body(
+            new MapTileDto(
+                tile.z(),
+                tile.x(),
+                tile.y(),
+                tile.clusters().stream().map(Mappers::toDto).toList()));
+  }
+}
@@ -1,11 +1,13 @@
 package com.edufelip.meer.web;
 
-import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.dto.PageResponse;
 import com.edufelip.meer.dto.ThriftStoreDto;
 import com.edufelip.meer.mapper.Mappers;
 import com.edufelip.meer.security.AuthUserResolver;
+import com.edufelip.meer.service.FavoriteService;
 import com.edufelip.meer.service.StoreFeedbackService;
+import com.edufelip.meer.service.StoreSearchService;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,17 +19,20 @@ import org.springframework.web.server.ResponseStatusException;
 @RestController
 public class StoreSearchController {
 
-  private final ThriftStoreRepository thriftStoreRepository;
+  private final StoreSearchService storeSearchService;
   private final AuthUserResolver authUserResolver;
   private final StoreFeedbackService storeFeedbackService;
+  private final FavoriteService favoriteService;
 
   public StoreSearchController(
-      ThriftStoreRepository thriftStoreRepository,
+      StoreSearchService storeSearchService,
       AuthUserResolver authUserResolver,
-      StoreFeedbackService storeFeedbackService) {
-    this.thriftStoreRepository = thriftStoreRepository;
+      StoreFeedbackService storeFeedbackService,
+      FavoriteService favoriteService) {
+    this.storeSearchService = storeSearchService;
     this.authUserResolver = authUserResolver;
     this.storeFeedbackService = storeFeedbackService;
+    this.favoriteService = favoriteService;
   }
 
   @GetMapping("/stores/search")
@@ -44,11 +49,12 @@ public class StoreSearchController {
     var user = authUserResolver.optionalUser(authHeader);
 
     var pageable = PageRequest.of(page - 1, pageSize);
-    var result = thriftStoreRepository.search(q, pageable);
+    var result = storeSearchService.search(q, pageable);
 
-    var ids =
-        result.getContent().stream().map(com.edufelip.meer.core.store.ThriftStore::getId).toList();
-    var summaries = storeFeedbackService.getSummaries(ids);
+    var summaries = storeFeedbackService.summariesOf(result.getContent());
+    var favoriteIds =
+        favoriteService.favoriteIdsAmong(
+            user, result.getContent().stream().map(ThriftStore::getId).toList());
 
     var items =
         result.getContent().stream()
@@ -63,7 +69,7 @@ public class StoreSearchController {
                   return Mappers.toDto(
                       store,
                       false,
-                      Mappers.isFavorite(user, store.getId()),
+                      favoriteIds.contains(store.getId()),
                       rating,
                       reviewCount,
                       null);
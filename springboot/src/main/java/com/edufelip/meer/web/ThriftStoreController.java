@@ -19,6 +19,7 @@ import com.edufelip.meer.dto.StoreRequest;
 import com.edufelip.meer.dto.ThriftStoreDto;
 import com.edufelip.meer.mapper.Mappers;
 import com.edufelip.meer.security.AuthUserResolver;
+import com.edufelip.meer.service.FavoriteService;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -50,6 +51,7 @@ public class ThriftStoreController {
   private final ReplaceStorePhotosUseCase replaceStorePhotosUseCase;
   private final CreateStoreGuideContentUseCase createStoreGuideContentUseCase;
   private final AuthUserResolver authUserResolver;
+  private final FavoriteService favoriteService;
   public ThriftStoreController(
       GetStoreListingsUseCase getStoreListingsUseCase,
       GetStoreDetailsUseCase getStoreDetailsUseCase,
@@ -60,7 +62,8 @@ public class ThriftStoreController {
       RequestStorePhotoUploadsUseCase requestStorePhotoUploadsUseCase,
       ReplaceStorePhotosUseCase replaceStorePhotosUseCase,
       CreateStoreGuideContentUseCase createStoreGuideContentUseCase,
-      AuthUserResolver authUserResolver) {
+      AuthUserResolver authUserResolver,
+      FavoriteService favoriteService) {
     this.getStoreListingsUseCase = getStoreListingsUseCase;
     this.getStoreDetailsUseCase = getStoreDetailsUseCase;
     this.getStoreContentsUseCase = getStoreContentsUseCase;
@@ -71,6 +74,7 @@ public class ThriftStoreController {
     this.replaceStorePhotosUseCase = replaceStorePhotosUseCase;
     this.createStoreGuideContentUseCase = createStoreGuideContentUseCase;
     this.authUserResolver = authUserResolver;
+    this.favoriteService = favoriteService;
   }
 
   @GetMapping
@@ -82,11 +86,30 @@ public class ThriftStoreController {
       @RequestHeader(name = "Authorization", required = false) String authHeader,
       @RequestParam(name = "q", required = false) String q,
       @RequestParam(name = "lat", required = false) Double lat,
-      @RequestParam(name = "lng", required = false) Double lng) {
+      @RequestParam(name = "lng", required = false) Double lng,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "radiusMeters", required = false) Double radiusMeters,
+      @RequestParam(name = "minLat", required = false) Double minLat,
+      @RequestParam(name = "minLng", required = false) Double minLng,
+      @RequestParam(name = "maxLat", required = false) Double maxLat,
+      @RequestParam(name = "maxLng", required = false) Double maxLng) {
     var user = authUserResolver.optionalUser(authHeader);
     var result =
         getStoreListingsUseCase.execute(
-            new GetStoreListingsUseCase.ListingQuery(type, categoryId, q, lat, lng, page, pageSize),
+            new GetStoreListingsUseCase.ListingQuery(
+                type,
+                categoryId,
+                q,
+                lat,
+                lng,
+                page,
+                pageSize,
+                cursor,
+                radiusMeters,
+                minLat,
+                minLng,
+                maxLat,
+                maxLng),
             user);
     var items =
         result.items().stream()
@@ -100,7 +123,7 @@ public class ThriftStoreController {
                         item.reviewCount(),
                         item.distanceMeters()))
             .toList();
-    return new PageResponse<>(items, page, result.hasNext());
+    return new PageResponse<>(items, page, result.hasNext(), result.nextCursor());
   }
 
   @GetMapping("/{id}")
@@ -168,7 +191,7 @@ public class ThriftStoreController {
     var refreshed =
         replaceStorePhotosUseCase.execute(
             user, storeId, Mappers.toReplacePhotosCommand(request));
-    return Mappers.toDtoForUser(refreshed, user, true);
+    return Mappers.toDto(refreshed, true, favoriteService.isFavorite(user, refreshed.getId()));
   }
 
   @GetMapping("/{storeId}/contents")
@@ -206,7 +229,7 @@ public class ThriftStoreController {
     var user = authUserResolver.requireUser(authHeader);
     var command = Mappers.toUpdateCommand(body);
     var refreshed = updateThriftStoreUseCase.execute(user, id, command);
-    return Mappers.toDtoForUser(refreshed, user, true);
+    return Mappers.toDto(refreshed, true, favoriteService.isFavorite(user, refreshed.getId()));
   }
 
   @DeleteMapping("/{id}")
@@ -0,0 +1,28 @@
+-- Accent-insensitive Portuguese full-text search for stores.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- unaccent() is only STABLE; pin the dictionary so it can back generated columns and indexes.
+CREATE OR REPLACE FUNCTION public.meer_unaccent(text)
+    RETURNS text
+    LANGUAGE sql
+    IMMUTABLE PARALLEL SAFE STRICT
+AS $$
+SELECT public.unaccent('public.unaccent'::regdictionary, $1)
+$$;
+
+ALTER TABLE public.thrift_store
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('portuguese'::regconfig, public.meer_unaccent(coalesce(name, ''))), 'A') ||
+            setweight(to_tsvector('portuguese'::regconfig, public.meer_unaccent(coalesce(neighborhood, ''))), 'B') ||
+            setweight(to_tsvector('portuguese'::regconfig, public.meer_unaccent(coalesce(tagline, ''))), 'B') ||
+            setweight(to_tsvector('portuguese'::regconfig, public.meer_unaccent(coalesce(description, ''))), 'C')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_thrift_store_search_vector
+    ON public.thrift_store USING gin (search_vector);
+
+-- Substring / typo-tolerant matching on names while the user is still typing.
+CREATE INDEX IF NOT EXISTS idx_thrift_store_name_trgm
+    ON public.thrift_store USING gin (public.meer_unaccent(lower(name)) gin_trgm_ops);
@@ -0,0 +1,14 @@
+ALTER TABLE public.thrift_store
+    ADD COLUMN IF NOT EXISTS rating_sum bigint NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS rating_count bigint NOT NULL DEFAULT 0;
+
+UPDATE public.thrift_store s
+SET rating_sum = agg.rating_sum,
+    rating_count = agg.rating_count
+FROM (
+    SELECT thrift_store_id, SUM(score) AS rating_sum, COUNT(*) AS rating_count
+    FROM public.store_feedback
+    WHERE score IS NOT NULL
+    GROUP BY thrift_store_id
+) agg
+WHERE agg.thrift_store_id = s.id;
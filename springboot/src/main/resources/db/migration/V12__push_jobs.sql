@@ -0,0 +1,46 @@
+-- Durable outbox for dashboard push sends, drained in batches by PushDispatchWorker.
+CREATE TABLE public.push_job (
+    id uuid NOT NULL,
+    audience character varying(32) NOT NULL,
+    target_user_id uuid,
+    environment character varying(16) NOT NULL,
+    title character varying(120) NOT NULL,
+    body character varying(2000) NOT NULL,
+    status character varying(16) NOT NULL,
+    attempts integer NOT NULL DEFAULT 0,
+    next_attempt_at timestamp(6) with time zone NOT NULL,
+    lease_until timestamp(6) with time zone,
+    cursor_token_id uuid,
+    sent_count integer NOT NULL DEFAULT 0,
+    failed_count integer NOT NULL DEFAULT 0,
+    removed_token_count integer NOT NULL DEFAULT 0,
+    last_error character varying(1024),
+    created_by_user_id uuid,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    completed_at timestamp(6) with time zone,
+    CONSTRAINT push_job_pkey PRIMARY KEY (id),
+    CONSTRAINT push_job_status_check CHECK ((status)::text = ANY ((ARRAY['PENDING'::character varying, 'RUNNING'::character varying, 'COMPLETED'::character varying, 'FAILED'::character varying])::text[])),
+    CONSTRAINT push_job_environment_check CHECK ((environment)::text = ANY ((ARRAY['DEV'::character varying, 'STAGING'::character varying, 'PROD'::character varying])::text[]))
+);
+
+-- Only unfinished jobs are polled.
+CREATE INDEX push_job_due_idx
+    ON public.push_job (next_attempt_at)
+    WHERE status IN ('PENDING', 'RUNNING');
+
+CREATE TABLE public.push_job_data (
+    push_job_id uuid NOT NULL,
+    data_key character varying(64) NOT NULL,
+    data_value character varying(1024) NOT NULL,
+    CONSTRAINT push_job_data_pkey PRIMARY KEY (push_job_id, data_key),
+    CONSTRAINT push_job_data_push_job_id_fkey
+        FOREIGN KEY (push_job_id) REFERENCES public.push_job(id) ON DELETE CASCADE
+);
+
+-- Keyset scans over a user's tokens in id order.
+CREATE INDEX push_token_user_env_id_idx
+    ON public.push_token (auth_user_id, environment, id);
+
+-- Superseded by the index above, which covers the same prefix.
+DROP INDEX IF EXISTS public.push_token_user_env_idx;
@@ -0,0 +1,20 @@
+-- Segment audiences for push jobs (PushAudience.STORE_FAVORITES / NEAR_STORE).
+ALTER TABLE public.push_job
+    ADD COLUMN target_store_id uuid,
+    ADD COLUMN radius_meters integer,
+    ADD COLUMN cursor_user_id uuid;
+
+-- Last location reported by the device with its token, used by NEAR_STORE.
+ALTER TABLE public.push_token
+    ADD COLUMN last_latitude double precision,
+    ADD COLUMN last_longitude double precision,
+    ADD COLUMN last_location_at timestamp(6) with time zone;
+
+-- NEAR_STORE walks located tokens of one environment in id order.
+CREATE INDEX push_token_env_located_id_idx
+    ON public.push_token (environment, id)
+    WHERE last_latitude IS NOT NULL AND last_longitude IS NOT NULL;
+
+-- STORE_FAVORITES walks a store's favoriters in user order; the primary key leads with the user.
+CREATE INDEX auth_user_favorites_store_user_idx
+    ON public.auth_user_favorites (thrift_store_id, auth_user_id);
@@ -0,0 +1,11 @@
+-- Shared GCRA buckets for JdbcRateLimiter (meer.rate-limit.backend=postgres). tat is the bucket's
+-- theoretical arrival time in epoch nanoseconds. Unlogged: losing buckets on a crash only resets
+-- limits, and skipping the WAL keeps the per-request upsert cheap.
+CREATE UNLOGGED TABLE public.rate_limit_bucket (
+    bucket_key character varying(512) NOT NULL,
+    tat bigint NOT NULL,
+    CONSTRAINT rate_limit_bucket_pkey PRIMARY KEY (bucket_key)
+);
+
+-- Purge of refilled buckets.
+CREATE INDEX rate_limit_bucket_tat_idx ON public.rate_limit_bucket (tat);
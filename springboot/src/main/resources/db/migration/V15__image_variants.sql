@@ -0,0 +1,18 @@
+-- Resized variants generated after upload by ImageVariantService. Null until generated (or when
+-- generation failed); clients fall back to the original URL.
+ALTER TABLE public.thrift_store_photo
+    ADD COLUMN thumb_url character varying(2048),
+    ADD COLUMN card_url character varying(2048),
+    ADD COLUMN full_url character varying(2048);
+
+ALTER TABLE public.auth_user
+    ADD COLUMN photo_thumb_url character varying(2048);
+
+ALTER TABLE public.guide_content
+    ADD COLUMN image_thumb_url character varying(2048),
+    ADD COLUMN image_card_url character varying(2048);
+
+-- Variant URLs are written back by source URL.
+CREATE INDEX thrift_store_photo_url_idx ON public.thrift_store_photo (url);
+CREATE INDEX auth_user_photo_url_idx ON public.auth_user (photo_url);
+CREATE INDEX guide_content_image_url_idx ON public.guide_content (image_url);
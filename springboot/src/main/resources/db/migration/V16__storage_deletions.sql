@@ -0,0 +1,20 @@
+-- Outbox of storage objects to delete, written in the transaction that drops their rows and
+-- drained after commit by StorageCleanupWorker. A null next_attempt_at marks an object given up on.
+CREATE TABLE public.storage_deletion (
+    id uuid NOT NULL,
+    object_key character varying(1024) NOT NULL,
+    attempts integer NOT NULL DEFAULT 0,
+    next_attempt_at timestamp(6) with time zone,
+    claim_token uuid,
+    last_error character varying(1024),
+    created_at timestamp(6) with time zone,
+    CONSTRAINT storage_deletion_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX storage_deletion_due_idx
+    ON public.storage_deletion (next_attempt_at)
+    WHERE next_attempt_at IS NOT NULL;
+
+CREATE INDEX storage_deletion_claim_idx
+    ON public.storage_deletion (claim_token)
+    WHERE claim_token IS NOT NULL;
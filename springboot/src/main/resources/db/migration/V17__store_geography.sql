@@ -0,0 +1,17 @@
+-- Stored geography point for nearby queries. Generated from latitude/longitude, so every insert
+-- and update keeps it in sync; the GiST index serves KNN ordering with <->. Replaces the optional
+-- expression index of the same name some environments created by hand.
+DROP INDEX IF EXISTS public.thrift_store_geog_idx;
+
+ALTER TABLE public.thrift_store
+    ADD COLUMN geog geography(Point, 4326)
+    GENERATED ALWAYS AS (
+        CASE
+            WHEN latitude IS NOT NULL AND longitude IS NOT NULL
+            THEN ST_SetSRID(ST_MakePoint(longitude, latitude), 4326)::geography
+        END
+    ) STORED;
+
+CREATE INDEX thrift_store_geog_idx ON public.thrift_store USING gist (geog);
+
+ANALYZE public.thrift_store;
@@ -0,0 +1,4 @@
+-- Range index for radius- and viewport-bounded nearby queries: the lat/lng box prunes candidates
+-- before distances are computed, on the Haversine path and next to ST_DWithin on the geog column.
+CREATE INDEX IF NOT EXISTS idx_thrift_store_lat_lng
+    ON public.thrift_store (latitude, longitude);
@@ -0,0 +1,53 @@
+-- Integer ids move from IDENTITY inserts to a pooled sequence so Hibernate can batch them: each
+-- nextval reserves the 50 ids ending at the returned value (allocationSize on the entities must
+-- match). Inserts that still rely on the column default consume a whole block and keep only its
+-- top value, so they never collide with Hibernate. Restarting past the current high-water mark
+-- makes the first block start right after the highest id already used.
+
+ALTER TABLE public.guide_content ALTER COLUMN id SET INCREMENT BY 50;
+SELECT setval(
+    'public.guide_content_id_seq',
+    GREATEST(
+        (SELECT last_value FROM public.guide_content_id_seq),
+        (SELECT COALESCE(MAX(id), 0) FROM public.guide_content)) + 50,
+    false);
+
+ALTER TABLE public.store_feedback ALTER COLUMN id SET INCREMENT BY 50;
+SELECT setval(
+    'public.store_feedback_id_seq',
+    GREATEST(
+        (SELECT last_value FROM public.store_feedback_id_seq),
+        (SELECT COALESCE(MAX(id), 0) FROM public.store_feedback)) + 50,
+    false);
+
+ALTER TABLE public.support_contact ALTER COLUMN id SET INCREMENT BY 50;
+SELECT setval(
+    'public.support_contact_id_seq',
+    GREATEST(
+        (SELECT last_value FROM public.support_contact_id_seq),
+        (SELECT COALESCE(MAX(id), 0) FROM public.support_contact)) + 50,
+    false);
+
+ALTER TABLE public.thrift_store_photo ALTER COLUMN id SET INCREMENT BY 50;
+SELECT setval(
+    'public.thrift_store_photo_id_seq',
+    GREATEST(
+        (SELECT last_value FROM public.thrift_store_photo_id_seq),
+        (SELECT COALESCE(MAX(id), 0) FROM public.thrift_store_photo)) + 50,
+    false);
+
+ALTER TABLE public.guide_content_like ALTER COLUMN id SET INCREMENT BY 50;
+SELECT setval(
+    'public.guide_content_like_id_seq',
+    GREATEST(
+        (SELECT last_value FROM public.guide_content_like_id_seq),
+        (SELECT COALESCE(MAX(id), 0) FROM public.guide_content_like)) + 50,
+    false);
+
+ALTER TABLE public.guide_content_comment ALTER COLUMN id SET INCREMENT BY 50;
+SELECT setval(
+    'public.guide_content_comment_id_seq',
+    GREATEST(
+        (SELECT last_value FROM public.guide_content_comment_id_seq),
+        (SELECT COALESCE(MAX(id), 0) FROM public.guide_content_comment)) + 50,
+    false);
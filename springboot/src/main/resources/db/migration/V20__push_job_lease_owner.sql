@@ -0,0 +1,4 @@
+-- Fencing token for the push_job lease: set on every claim and required by every later write, so
+-- a worker whose lease expired and was taken over stops instead of sending alongside the new one.
+ALTER TABLE public.push_job
+    ADD COLUMN lease_owner uuid;
@@ -0,0 +1,7 @@
+-- Support keyset (seek) pagination on store listings ordered by (created_at, id).
+CREATE INDEX IF NOT EXISTS idx_thrift_store_created_at_id
+    ON public.thrift_store (created_at DESC, id DESC);
+
+-- Category filter used by the keyset category listing.
+CREATE INDEX IF NOT EXISTS idx_thrift_store_categories_lower_store
+    ON public.thrift_store_categories (lower(categories), thrift_store_id);
@@ -5,3 +5,6 @@ create table if not exists support_contact (
     message text not null,
     created_at timestamp not null default current_timestamp
 );
+
+-- SupportContact draws pooled ids from this sequence (allocationSize = 50), as in V19.
+create sequence if not exists support_contact_id_seq start with 1 increment by 50;
@@ -0,0 +1,35 @@
+package com.edufelip.meer.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class CacheConfigTest {
+
+  @Test
+  void evictionsInsideATransactionWaitForItsCommit() {
+    CacheManager manager =
+        new CacheConfig().cacheManager(new ClassPathResource("caffeine-cache.properties"));
+    ((SimpleCacheManager) manager).afterPropertiesSet();
+    Cache cache = manager.getCache("categoriesAll");
+    cache.put("all", "cached");
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      cache.evict("all");
+      assertThat(cache.get("all")).isNotNull();
+
+      TransactionSynchronizationUtils.triggerAfterCommit();
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(cache.get("all")).isNull();
+  }
+}
@@ -0,0 +1,64 @@
+package com.edufelip.meer.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.service.StoreFeedbackService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@SpringBootTest(
+    classes = {
+      StoreFeedbackService.class,
+      MetricsConfigTest.MetricsTestConfig.class,
+      TestClockConfig.class
+    })
+class MetricsConfigTest {
+
+  @TestConfiguration
+  @EnableAspectJAutoProxy(proxyTargetClass = true)
+  @Import({MetricsConfig.class, CacheConfig.class})
+  static class MetricsTestConfig {
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  @Autowired private StoreFeedbackService storeFeedbackService;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @MockitoBean private StoreFeedbackRepository storeFeedbackRepository;
+  @MockitoBean private ThriftStoreRepository thriftStoreRepository;
+
+  @Test
+  void timedMethodsRecordUseCaseTimer() {
+    ThriftStore store = new ThriftStore();
+    store.setId(UUID.randomUUID());
+
+    storeFeedbackService.summariesOf(List.of(store));
+    storeFeedbackService.summariesOf(List.of(store));
+
+    Timer timer =
+        meterRegistry
+            .find("meer.usecase")
+            .tag("class", StoreFeedbackService.class.getName())
+            .tag("method", "summariesOf")
+            .timer();
+    assertThat(timer).isNotNull();
+    assertThat(timer.count()).isEqualTo(2);
+  }
+}
@@ -40,6 +40,7 @@ import com.edufelip.meer.domain.repo.SupportContactRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import com.edufelip.meer.domain.port.RateLimitPort;
 import com.edufelip.meer.security.AuthUserResolver;
+import com.edufelip.meer.security.PrincipalCache;
 import com.edufelip.meer.security.SanitizingJacksonModuleConfig;
 import com.edufelip.meer.security.token.TokenProvider;
 import com.edufelip.meer.service.GuideContentEngagementService;
@@ -71,7 +72,12 @@ import org.springframework.test.web.servlet.MockMvc;
       GuideContentController.class
     })
 @AutoConfigureMockMvc(addFilters = false)
-@Import({SanitizingJacksonModuleConfig.class, TestClockConfig.class, AuthUserResolver.class})
+@Import({
+  SanitizingJacksonModuleConfig.class,
+  TestClockConfig.class,
+  AuthUserResolver.class,
+  PrincipalCache.class
+})
 class PublicApiSnapshotTest {
 
   @Autowired private MockMvc mockMvc;
@@ -284,13 +290,16 @@ class PublicApiSnapshotTest {
             "How to thrift",
             "Desc",
             "https://img",
+            null,
+            null,
             storeId,
             "Store",
             "https://cover",
-            createdAt);
+            createdAt,
+            0L,
+            0L);
     var slice = new SliceImpl<>(List.of(summary), PageRequest.of(0, 20), false);
     when(guideContentRepository.findAllSummariesActive(any())).thenReturn(slice);
-    when(guideContentEngagementService.getEngagement(any(), any())).thenReturn(java.util.Map.of());
 
     String body =
         mockMvc
@@ -0,0 +1,166 @@
+package com.edufelip.meer.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.security.AuthContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ReadReplicaFilterTest {
+
+  private static final String LAST_WRITE = ReadReplicaFilter.LAST_WRITE_HEADER;
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+  private final ReadReplicaFilter filter = new ReadReplicaFilter(Duration.ofSeconds(5), clock);
+  private final List<Boolean> scopes = new ArrayList<>();
+
+  @Test
+  void anonymousReadsMayUseReplicas() throws Exception {
+    run(filter, "GET", null);
+    run(filter, "HEAD", null);
+    run(filter, "POST", null);
+
+    assertThat(scopes).containsExactly(true, true, false);
+    assertThat(ReplicaScope.isAllowed()).isFalse();
+  }
+
+  @Test
+  void readsStayOnThePrimaryRightAfterTheUsersOwnWrite() throws Exception {
+    AuthUser writer = user();
+    AuthUser other = user();
+
+    run(filter, "GET", writer);
+    run(filter, "PUT", writer);
+    run(filter, "GET", writer);
+    run(filter, "GET", other);
+    clock.advance(Duration.ofSeconds(6));
+    run(filter, "GET", writer);
+
+    assertThat(scopes).containsExactly(true, false, false, true, true);
+  }
+
+  @Test
+  void writeTimestampIsHonoredByAnyInstance() throws Exception {
+    ReadReplicaFilter otherNode = new ReadReplicaFilter(Duration.ofSeconds(5), clock);
+    MockHttpServletResponse write = run(filter, "POST", user());
+    Cookie cookie = write.getCookie(ReadReplicaFilter.LAST_WRITE_COOKIE);
+    String header = write.getHeader(ReadReplicaFilter.LAST_WRITE_HEADER);
+
+    assertThat(cookie).isNotNull();
+    assertThat(cookie.getMaxAge()).isEqualTo(5);
+    assertThat(header).isEqualTo(cookie.getValue());
+
+    clock.advance(Duration.ofSeconds(2));
+    run(otherNode, "GET", null, request -> request.setCookies(cookie));
+    run(otherNode, "GET", null, request -> request.addHeader(LAST_WRITE, header));
+    run(otherNode, "GET", null);
+    clock.advance(Duration.ofSeconds(4));
+    run(otherNode, "GET", null, request -> request.setCookies(cookie));
+
+    assertThat(scopes).containsExactly(false, false, false, true, true);
+  }
+
+  @Test
+  void malformedOrFarFutureTimestampsAreIgnored() throws Exception {
+    String future = Long.toString(clock.millis() + Duration.ofDays(365).toMillis());
+
+    run(filter, "GET", null, request -> request.addHeader(LAST_WRITE, "soon"));
+    run(filter, "GET", null, request -> request.addHeader(LAST_WRITE, future));
+
+    assertThat(scopes).containsExactly(true, true);
+  }
+
+  @Test
+  void scopeFollowsTasksHandedToAnExecutor() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      ReplicaScope.allow();
+      Future<?> inScope = executor.submit(ReplicaScope.propagate(this::recordScope));
+      inScope.get();
+      ReplicaScope.clear();
+      Future<?> outOfScope = executor.submit(ReplicaScope.propagate(this::recordScope));
+      outOfScope.get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(scopes).containsExactly(true, false);
+  }
+
+  private MockHttpServletResponse run(ReadReplicaFilter target, String method, AuthUser user)
+      throws Exception {
+    return run(target, method, user, request -> {});
+  }
+
+  private MockHttpServletResponse run(
+      ReadReplicaFilter target,
+      String method,
+      AuthUser user,
+      Consumer<MockHttpServletRequest> customizer)
+      throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, "/stores");
+    if (user != null) {
+      String token = "token-" + user.getId();
+      request.addHeader("Authorization", "Bearer " + token);
+      AuthContext.set(request, token, null, user);
+    }
+    customizer.accept(request);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    FilterChain chain = (req, res) -> recordScope();
+    target.doFilter(request, response, chain);
+    return response;
+  }
+
+  private void recordScope() {
+    scopes.add(ReplicaScope.isAllowed());
+  }
+
+  private static AuthUser user() {
+    AuthUser user = new AuthUser();
+    user.setId(UUID.randomUUID());
+    return user;
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.edufelip.meer.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.core.category.Category;
+import com.edufelip.meer.domain.repo.CategoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Replica routing through the real JPA stack: JpaTransactionManager, Hibernate and OSIV. */
+@SpringBootTest(
+    properties = {
+      "meer.read-replicas.enabled=true",
+      "meer.read-replicas.urls=" + ReadReplicaJpaRoutingTest.REPLICA_URL,
+      "meer.read-replicas.username=sa",
+      "meer.read-replicas.password="
+    })
+@ActiveProfiles("test")
+class ReadReplicaJpaRoutingTest {
+
+  static final String REPLICA_URL = "jdbc:h2:mem:meer-replica;DB_CLOSE_DELAY=-1";
+
+  @Autowired private CategoryRepository categoryRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private DataSource dataSource;
+
+  private final JdbcTemplate replica =
+      new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+  @BeforeEach
+  void seed() {
+    replica.execute(
+        """
+        create table if not exists category (
+            id varchar(64) primary key,
+            name_string_id varchar(255) not null,
+            image_res_id varchar(255) not null,
+            created_at timestamp with time zone not null)
+        """);
+    replica.update(
+        "merge into category (id, name_string_id, image_res_id, created_at) key (id)"
+            + " values ('replica-only', 'replica', 'img', current_timestamp)");
+    categoryRepository.save(new Category("primary-only", "primary", "img"));
+  }
+
+  @AfterEach
+  void cleanUp() {
+    ReplicaScope.clear();
+    categoryRepository.deleteAllById(List.of("primary-only", "written"));
+  }
+
+  @Test
+  void readOnlyRepositoryCallsInScopeReachTheReplica() {
+    ReplicaScope.allow();
+
+    assertThat(categoryRepository.findById("replica-only")).isPresent();
+    assertThat(categoryRepository.findById("primary-only")).isEmpty();
+
+    ReplicaScope.clear();
+
+    assertThat(categoryRepository.findById("primary-only")).isPresent();
+  }
+
+  @Test
+  void oneSessionReadsFromTheReplicaThenWritesToThePrimary() {
+    // What OpenEntityManagerInViewFilter does for a request.
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+    TransactionSynchronizationManager.bindResource(
+        entityManagerFactory, new EntityManagerHolder(entityManager));
+    try {
+      ReplicaScope.allow();
+      assertThat(categoryRepository.findById("replica-only")).isPresent();
+      categoryRepository.save(new Category("written", "written", "img"));
+    } finally {
+      TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+      entityManager.close();
+    }
+
+    assertThat(count(new JdbcTemplate(dataSource), "written")).isEqualTo(1);
+    assertThat(count(replica, "written")).isZero();
+  }
+
+  private static int count(JdbcTemplate jdbc, String id) {
+    return jdbc.queryForObject("select count(*) from category where id = ?", Integer.class, id);
+  }
+}
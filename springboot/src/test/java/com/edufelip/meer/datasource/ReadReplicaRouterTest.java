@@ -0,0 +1,144 @@
+package com.edufelip.meer.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadReplicaRouterTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private DataSource primary;
+  private DataSource replica;
+
+  @BeforeEach
+  void setUp() {
+    primary = database("primary");
+    replica = database("replica");
+  }
+
+  @AfterEach
+  void clearScope() {
+    ReplicaScope.clear();
+  }
+
+  @Test
+  void readOnlyTransactionsInScopeGoToTheReplica() {
+    DataSource routed = router(Map.of("replica-1", replica)).wrap(primary);
+
+    ReplicaScope.allow();
+
+    assertThat(readOnly(routed)).isEqualTo("replica");
+    assertThat(readWrite(routed)).isEqualTo("primary");
+    assertThat(new JdbcTemplate(routed).queryForObject("select name from marker", String.class))
+        .isEqualTo("primary");
+    assertThat(routes("replica-1", "replica")).isEqualTo(1);
+  }
+
+  @Test
+  void readsOutsideTheScopeStayOnThePrimary() {
+    DataSource routed = router(Map.of("replica-1", replica)).wrap(primary);
+
+    assertThat(readOnly(routed)).isEqualTo("primary");
+    assertThat(routes(ReadReplicaRouter.PRIMARY, "pinned")).isEqualTo(1);
+  }
+
+  @Test
+  void rotatesAcrossReplicas() {
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    replicas.put("replica-1", replica);
+    replicas.put("replica-2", database("replica-2"));
+    DataSource routed = router(replicas).wrap(primary);
+
+    ReplicaScope.allow();
+
+    assertThat(readOnly(routed)).isEqualTo("replica");
+    assertThat(readOnly(routed)).isEqualTo("replica-2");
+    assertThat(readOnly(routed)).isEqualTo("replica");
+  }
+
+  @Test
+  void failingReplicaFailsOverUntilTheHealthCheckSeesItAgain() throws Exception {
+    DataSource flaky = Mockito.mock(DataSource.class);
+    Mockito.when(flaky.getConnection())
+        .thenThrow(new SQLException("connection refused"))
+        .thenThrow(new SQLException("connection refused"))
+        .thenAnswer(invocation -> replica.getConnection());
+    ReadReplicaRouter router = router(Map.of("replica-1", flaky));
+    DataSource routed = router.wrap(primary);
+
+    ReplicaScope.allow();
+
+    assertThat(readOnly(routed)).isEqualTo("primary");
+    assertThat(healthy("replica-1")).isZero();
+    // Down replicas are not retried on the request path.
+    assertThat(readOnly(routed)).isEqualTo("primary");
+    assertThat(routes(ReadReplicaRouter.PRIMARY, "failover")).isEqualTo(2);
+
+    router.checkHealth();
+    assertThat(healthy("replica-1")).isZero();
+    router.checkHealth();
+    assertThat(healthy("replica-1")).isEqualTo(1);
+    assertThat(readOnly(routed)).isEqualTo("replica");
+  }
+
+  private ReadReplicaRouter router(Map<String, DataSource> replicas) {
+    return new ReadReplicaRouter(replicas, meterRegistry);
+  }
+
+  private static String readOnly(DataSource dataSource) {
+    TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    tx.setReadOnly(true);
+    return tx.execute(status -> marker(dataSource));
+  }
+
+  private static String readWrite(DataSource dataSource) {
+    TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    return tx.execute(status -> marker(dataSource));
+  }
+
+  private static String marker(DataSource dataSource) {
+    return new JdbcTemplate(dataSource).queryForObject("select name from marker", String.class);
+  }
+
+  private double routes(String target, String reason) {
+    var counter =
+        meterRegistry
+            .find("meer.datasource.routes")
+            .tag("target", target)
+            .tag("reason", reason)
+            .counter();
+    return counter == null ? 0 : counter.count();
+  }
+
+  private double healthy(String replica) {
+    return meterRegistry
+        .get("meer.datasource.replica.healthy")
+        .tag("replica", replica)
+        .gauge()
+        .value();
+  }
+
+  /** A separate in-memory H2 database whose marker table holds {@code name}. */
+  private static DataSource database(String name) {
+    DataSource dataSource =
+        new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("create table marker (name varchar(32))");
+    jdbc.update("insert into marker (name) values (?)", name);
+    return dataSource;
+  }
+}
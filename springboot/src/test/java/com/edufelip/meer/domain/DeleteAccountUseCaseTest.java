@@ -0,0 +1,98 @@
+package com.edufelip.meer.domain;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.core.store.ThriftStorePhoto;
+import com.edufelip.meer.domain.port.StorageCleanupPort;
+import com.edufelip.meer.domain.repo.AuthUserRepository;
+import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.service.StoreFeedbackService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.server.ResponseStatusException;
+
+class DeleteAccountUseCaseTest {
+
+  private final AuthUserRepository authUserRepository = Mockito.mock(AuthUserRepository.class);
+  private final ThriftStoreRepository thriftStoreRepository =
+      Mockito.mock(ThriftStoreRepository.class);
+  private final StoreFeedbackRepository storeFeedbackRepository =
+      Mockito.mock(StoreFeedbackRepository.class);
+  private final StoreFeedbackService storeFeedbackService =
+      Mockito.mock(StoreFeedbackService.class);
+  private final StorageCleanupPort storageCleanupPort = Mockito.mock(StorageCleanupPort.class);
+  private final DeleteAccountUseCase useCase =
+      new DeleteAccountUseCase(
+          authUserRepository,
+          thriftStoreRepository,
+          storeFeedbackRepository,
+          storeFeedbackService,
+          storageCleanupPort);
+
+  @Test
+  void removesStoresAssetsFavoritesAndFeedback() {
+    UUID targetId = UUID.randomUUID();
+    UUID storeId = UUID.randomUUID();
+
+    AuthUser target = new AuthUser();
+    target.setId(targetId);
+    target.setEmail("user@example.com");
+    target.setPhotoUrl("https://storage.googleapis.com/bucket/avatar.png");
+
+    ThriftStore store = new ThriftStore();
+    store.setId(storeId);
+    store.setOwner(target);
+    ThriftStorePhoto photo =
+        new ThriftStorePhoto(store, "https://storage.googleapis.com/bucket/photo-1.jpg", 0);
+    store.setPhotos(List.of(photo));
+    target.setOwnedThriftStore(store);
+
+    Set<ThriftStore> favorites = new HashSet<>();
+    favorites.add(store);
+    target.setFavorites(favorites);
+
+    when(authUserRepository.findById(targetId)).thenReturn(Optional.of(target));
+    when(thriftStoreRepository.findById(storeId)).thenReturn(Optional.of(store));
+    when(thriftStoreRepository.findByOwnerId(targetId)).thenReturn(List.of(store));
+
+    useCase.execute(targetId);
+
+    verify(thriftStoreRepository, times(1)).delete(argThat(ts -> ts.getId().equals(storeId)));
+    verify(authUserRepository, times(1)).deleteFavoritesByStoreId(storeId);
+    verify(storeFeedbackRepository, times(1)).deleteByThriftStoreId(storeId);
+    verify(storeFeedbackService, times(1)).deleteAllByUser(targetId);
+    verify(storageCleanupPort, times(1))
+        .deleteLater(
+            List.of(
+                "https://storage.googleapis.com/bucket/photo-1.jpg",
+                "https://storage.googleapis.com/bucket/avatar.png"));
+    verify(authUserRepository, times(1)).delete(target);
+    verify(authUserRepository, times(2)).save(target);
+  }
+
+  @Test
+  void missingUserIsNotFound() {
+    UUID userId = UUID.randomUUID();
+    when(authUserRepository.findById(userId)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> useCase.execute(userId))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("User not found");
+    verify(authUserRepository, never()).delete(any());
+    verify(storageCleanupPort, never()).deleteLater(any());
+  }
+}
@@ -7,7 +7,7 @@ import com.edufelip.meer.core.auth.AuthUser;
 import com.edufelip.meer.core.auth.Role;
 import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.core.store.ThriftStorePhoto;
-import com.edufelip.meer.domain.port.PhotoStoragePort;
+import com.edufelip.meer.domain.port.StorageCleanupPort;
 import com.edufelip.meer.domain.repo.AuthUserRepository;
 import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
@@ -25,7 +25,7 @@ class DeleteThriftStoreUseCaseTest {
     AuthUserRepository authUserRepository = Mockito.mock(AuthUserRepository.class);
     StoreFeedbackRepository storeFeedbackRepository =
         Mockito.mock(StoreFeedbackRepository.class);
-    PhotoStoragePort photoStoragePort = Mockito.mock(PhotoStoragePort.class);
+    StorageCleanupPort storageCleanupPort = Mockito.mock(StorageCleanupPort.class);
     StoreOwnershipService ownershipService = Mockito.mock(StoreOwnershipService.class);
 
     DeleteThriftStoreUseCase useCase =
@@ -33,7 +33,7 @@ class DeleteThriftStoreUseCaseTest {
             thriftStoreRepository,
             authUserRepository,
             storeFeedbackRepository,
-            photoStoragePort,
+            storageCleanupPort,
             ownershipService);
 
     UUID storeId = UUID.randomUUID();
@@ -60,7 +60,7 @@ class DeleteThriftStoreUseCaseTest {
     verify(authUserRepository).save(owner);
     verify(authUserRepository).deleteFavoritesByStoreId(storeId);
     verify(storeFeedbackRepository).deleteByThriftStoreId(storeId);
-    verify(photoStoragePort).deleteByUrl("/uploads/stores/photo.jpg");
+    verify(storageCleanupPort).deleteLater(List.of("/uploads/stores/photo.jpg"));
     verify(thriftStoreRepository).delete(store);
   }
 }
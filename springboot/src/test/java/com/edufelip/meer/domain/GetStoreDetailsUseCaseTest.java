@@ -8,12 +8,12 @@ import com.edufelip.meer.core.auth.AuthUser;
 import com.edufelip.meer.core.store.StoreFeedback;
 import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
+import com.edufelip.meer.service.FavoriteService;
 import com.edufelip.meer.service.GuideContentEngagementService;
 import com.edufelip.meer.service.StoreFeedbackService;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -32,12 +32,13 @@ class GetStoreDetailsUseCaseTest {
     store.setId(storeId);
 
     when(getThriftStoreUseCase.execute(storeId)).thenReturn(store);
-    when(storeFeedbackService.getSummaries(List.of(storeId)))
+    when(storeFeedbackService.summariesOf(List.of(store)))
         .thenReturn(Map.of(storeId, new StoreFeedbackService.Summary(4.0, 3L)));
 
     AuthUser user = new AuthUser();
     user.setId(UUID.randomUUID());
-    user.setFavorites(Set.of(store));
+    FavoriteService favoriteService = Mockito.mock(FavoriteService.class);
+    when(favoriteService.isFavorite(user, storeId)).thenReturn(true);
 
     StoreFeedback feedback = new StoreFeedback();
     feedback.setScore(5);
@@ -58,7 +59,8 @@ class GetStoreDetailsUseCaseTest {
             getThriftStoreUseCase,
             storeFeedbackService,
             storeFeedbackRepository,
-            getStoreContentsUseCase);
+            getStoreContentsUseCase,
+            favoriteService);
 
     var details = useCase.execute(storeId, user);
 
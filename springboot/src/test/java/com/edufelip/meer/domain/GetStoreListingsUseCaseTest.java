@@ -2,6 +2,8 @@ package com.edufelip.meer.domain;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -9,7 +11,10 @@ import com.edufelip.meer.core.auth.AuthUser;
 import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.domain.repo.CategoryRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.service.FavoriteService;
 import com.edufelip.meer.service.StoreFeedbackService;
+import com.edufelip.meer.service.StoreSearchService;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -17,6 +22,9 @@ import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -37,15 +45,22 @@ class GetStoreListingsUseCaseTest {
 
     when(getThriftStoresUseCase.executePaged(1, 20))
         .thenReturn(new PageImpl<>(List.of(store)));
-    when(storeFeedbackService.getSummaries(List.of(storeId)))
+    when(storeFeedbackService.summariesOf(List.of(store)))
         .thenReturn(Map.of(storeId, new StoreFeedbackService.Summary(4.5, 2L)));
 
     AuthUser user = new AuthUser();
-    user.setFavorites(Set.of(store));
+    user.setId(UUID.randomUUID());
+    FavoriteService favoriteService = Mockito.mock(FavoriteService.class);
+    when(favoriteService.favoriteIdsAmong(user, List.of(storeId))).thenReturn(Set.of(storeId));
 
     GetStoreListingsUseCase useCase =
         new GetStoreListingsUseCase(
-            getThriftStoresUseCase, thriftStoreRepository, storeFeedbackService, categoryRepository);
+            getThriftStoresUseCase,
+            thriftStoreRepository,
+            storeFeedbackService,
+            categoryRepository,
+            Mockito.mock(StoreSearchService.class),
+            favoriteService);
 
     var result =
         useCase.execute(
@@ -58,7 +73,7 @@ class GetStoreListingsUseCaseTest {
     assertThat(item.reviewCount()).isEqualTo(2);
     assertThat(item.distanceMeters()).isEqualTo(0.0);
     verify(getThriftStoresUseCase).executePaged(1, 20);
-    verify(storeFeedbackService).getSummaries(List.of(storeId));
+    verify(storeFeedbackService).summariesOf(List.of(store));
   }
 
   @Test
@@ -68,7 +83,9 @@ class GetStoreListingsUseCaseTest {
             Mockito.mock(GetThriftStoresUseCase.class),
             Mockito.mock(ThriftStoreRepository.class),
             Mockito.mock(StoreFeedbackService.class),
-            Mockito.mock(CategoryRepository.class));
+            Mockito.mock(CategoryRepository.class),
+            Mockito.mock(StoreSearchService.class),
+            Mockito.mock(FavoriteService.class));
 
     assertThatThrownBy(
             () ->
@@ -88,7 +105,9 @@ class GetStoreListingsUseCaseTest {
             Mockito.mock(GetThriftStoresUseCase.class),
             Mockito.mock(ThriftStoreRepository.class),
             Mockito.mock(StoreFeedbackService.class),
-            Mockito.mock(CategoryRepository.class));
+            Mockito.mock(CategoryRepository.class),
+            Mockito.mock(StoreSearchService.class),
+            Mockito.mock(FavoriteService.class));
 
     assertThatThrownBy(
             () ->
@@ -111,7 +130,9 @@ class GetStoreListingsUseCaseTest {
             Mockito.mock(GetThriftStoresUseCase.class),
             Mockito.mock(ThriftStoreRepository.class),
             Mockito.mock(StoreFeedbackService.class),
-            categoryRepository);
+            categoryRepository,
+            Mockito.mock(StoreSearchService.class),
+            Mockito.mock(FavoriteService.class));
 
     assertThatThrownBy(
             () ->
@@ -123,4 +144,151 @@ class GetStoreListingsUseCaseTest {
         .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
         .isEqualTo(HttpStatus.NOT_FOUND);
   }
+
+  @Test
+  void keysetModeFetchesOneExtraRowAndReturnsNextCursor() {
+    ThriftStoreRepository thriftStoreRepository = Mockito.mock(ThriftStoreRepository.class);
+    StoreFeedbackService storeFeedbackService = Mockito.mock(StoreFeedbackService.class);
+    when(storeFeedbackService.summariesOf(any())).thenReturn(Map.of());
+
+    ThriftStore first = storeCreatedAt("2024-01-03T00:00:00Z");
+    ThriftStore second = storeCreatedAt("2024-01-02T00:00:00Z");
+    ThriftStore third = storeCreatedAt("2024-01-01T00:00:00Z");
+    when(thriftStoreRepository.findNewestAfter(
+            StoreCursor.MAX_CREATED_AT, StoreCursor.MAX_ID, PageRequest.of(0, 3)))
+        .thenReturn(List.of(first, second, third));
+
+    GetStoreListingsUseCase useCase =
+        new GetStoreListingsUseCase(
+            Mockito.mock(GetThriftStoresUseCase.class),
+            thriftStoreRepository,
+            storeFeedbackService,
+            Mockito.mock(CategoryRepository.class),
+            Mockito.mock(StoreSearchService.class),
+            Mockito.mock(FavoriteService.class));
+
+    var result =
+        useCase.execute(
+            new GetStoreListingsUseCase.ListingQuery(null, null, null, null, null, 1, 2, ""),
+            null);
+
+    assertThat(result.items())
+        .extracting(item -> item.store().getId())
+        .containsExactly(first.getId(), second.getId());
+    assertThat(result.hasNext()).isTrue();
+    StoreCursor next = StoreCursor.decode(result.nextCursor(), StoreCursor.RECENT);
+    assertThat(next.createdAt()).isEqualTo(second.getCreatedAt());
+    assertThat(next.id()).isEqualTo(second.getId());
+    verify(thriftStoreRepository, never()).findAll(any(Pageable.class));
+  }
+
+  @Test
+  void rejectsCursorIssuedForAnotherOrdering() {
+    GetStoreListingsUseCase useCase =
+        new GetStoreListingsUseCase(
+            Mockito.mock(GetThriftStoresUseCase.class),
+            Mockito.mock(ThriftStoreRepository.class),
+            Mockito.mock(StoreFeedbackService.class),
+            Mockito.mock(CategoryRepository.class),
+            Mockito.mock(StoreSearchService.class),
+            Mockito.mock(FavoriteService.class));
+    String nearbyCursor = StoreCursor.nearby(120.5, UUID.randomUUID()).encode();
+
+    assertThatThrownBy(
+            () ->
+                useCase.execute(
+                    new GetStoreListingsUseCase.ListingQuery(
+                        null, null, null, null, null, 1, 10, nearbyCursor),
+                    null))
+        .isInstanceOf(ResponseStatusException.class)
+        .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  @Test
+  void nearbyListingKeepsTheDistancesItWasRankedBy() {
+    GetThriftStoresUseCase getThriftStoresUseCase = Mockito.mock(GetThriftStoresUseCase.class);
+    ThriftStore store = new ThriftStore();
+    store.setId(UUID.randomUUID());
+    store.setLatitude(-23.56);
+    store.setLongitude(-46.64);
+    NearbyArea area = NearbyArea.of(-23.55, -46.63, 2000.0, null, null, null, null);
+    when(getThriftStoresUseCase.executeNearby(-23.55, -46.63, area, 0, 10))
+        .thenReturn(
+            new SliceImpl<>(
+                List.of(new GetThriftStoresUseCase.NearbyStore(store, 1234.5)),
+                PageRequest.of(0, 10),
+                false));
+    GetStoreListingsUseCase useCase =
+        new GetStoreListingsUseCase(
+            getThriftStoresUseCase,
+            Mockito.mock(ThriftStoreRepository.class),
+            Mockito.mock(StoreFeedbackService.class),
+            Mockito.mock(CategoryRepository.class),
+            Mockito.mock(StoreSearchService.class),
+            Mockito.mock(FavoriteService.class));
+
+    var result =
+        useCase.execute(
+            new GetStoreListingsUseCase.ListingQuery(
+                "nearby",
+                null,
+                null,
+                -23.55,
+                -46.63,
+                1,
+                10,
+                null,
+                2000.0,
+                null,
+                null,
+                null,
+                null),
+            null);
+
+    assertThat(result.items()).hasSize(1);
+    assertThat(result.items().get(0).distanceMeters()).isEqualTo(1234.5);
+    assertThat(result.hasNext()).isFalse();
+  }
+
+  @Test
+  void rejectsAPartialBoundingBox() {
+    GetStoreListingsUseCase useCase =
+        new GetStoreListingsUseCase(
+            Mockito.mock(GetThriftStoresUseCase.class),
+            Mockito.mock(ThriftStoreRepository.class),
+            Mockito.mock(StoreFeedbackService.class),
+            Mockito.mock(CategoryRepository.class),
+            Mockito.mock(StoreSearchService.class),
+            Mockito.mock(FavoriteService.class));
+
+    assertThatThrownBy(
+            () ->
+                useCase.execute(
+                    new GetStoreListingsUseCase.ListingQuery(
+                        "nearby",
+                        null,
+                        null,
+                        -23.55,
+                        -46.63,
+                        1,
+                        10,
+                        null,
+                        null,
+                        -23.6,
+                        -46.7,
+                        null,
+                        null),
+                    null))
+        .isInstanceOf(ResponseStatusException.class)
+        .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  private static ThriftStore storeCreatedAt(String createdAt) {
+    ThriftStore store = new ThriftStore();
+    store.setId(UUID.randomUUID());
+    store.setCreatedAt(Instant.parse(createdAt));
+    return store;
+  }
 }
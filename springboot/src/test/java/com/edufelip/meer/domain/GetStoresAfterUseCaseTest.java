@@ -0,0 +1,70 @@
+package com.edufelip.meer.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+
+class GetStoresAfterUseCaseTest {
+
+  private ThriftStoreRepository repository;
+  private GetStoresAfterUseCase useCase;
+
+  @BeforeEach
+  void setUp() {
+    repository = Mockito.mock(ThriftStoreRepository.class);
+    useCase = new GetStoresAfterUseCase(repository);
+  }
+
+  @Test
+  void blankTermListsWithoutTheTextFilter() {
+    ThriftStore first = storeCreatedAt("2024-01-03T00:00:00Z");
+    ThriftStore second = storeCreatedAt("2024-01-02T00:00:00Z");
+    when(repository.findNewestAfter(
+            StoreCursor.MAX_CREATED_AT, StoreCursor.MAX_ID, PageRequest.of(0, 2)))
+        .thenReturn(List.of(first, second));
+
+    var page = useCase.newest("  ", "", 1);
+
+    assertThat(page.stores()).containsExactly(first);
+    assertThat(page.hasNext()).isTrue();
+    StoreCursor next = StoreCursor.decode(page.nextCursor(), StoreCursor.RECENT);
+    assertThat(next.createdAt()).isEqualTo(first.getCreatedAt());
+    assertThat(next.id()).isEqualTo(first.getId());
+    verify(repository, never()).searchNewestAfter(anyString(), any(), any(), any());
+  }
+
+  @Test
+  void termSearchContinuesAfterTheCursor() {
+    ThriftStore last = storeCreatedAt("2024-01-01T00:00:00Z");
+    String cursor = StoreCursor.oldest(last.getCreatedAt(), last.getId()).encode();
+    when(repository.searchOldestAfter(
+            "brecho", last.getCreatedAt(), last.getId(), PageRequest.of(0, 11)))
+        .thenReturn(List.of(storeCreatedAt("2024-01-02T00:00:00Z")));
+
+    var page = useCase.oldest(" brecho ", cursor, 10);
+
+    assertThat(page.stores()).hasSize(1);
+    assertThat(page.hasNext()).isFalse();
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  private static ThriftStore storeCreatedAt(String createdAt) {
+    ThriftStore store = new ThriftStore();
+    store.setId(UUID.randomUUID());
+    store.setCreatedAt(Instant.parse(createdAt));
+    return store;
+  }
+}
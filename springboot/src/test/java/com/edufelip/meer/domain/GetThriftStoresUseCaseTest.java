@@ -0,0 +1,182 @@
+package com.edufelip.meer.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.service.StoreGeoIndex;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+class GetThriftStoresUseCaseTest {
+
+  private static final String POSTGRES_URL = "jdbc:postgresql://localhost:5432/meer";
+  private static final NearbyArea AREA =
+      NearbyArea.of(-23.55, -46.63, 2_000.0, -23.6, -46.7, -23.5, -46.6);
+
+  private ThriftStoreRepository repository;
+  private StoreGeoIndex geoIndex;
+
+  @BeforeEach
+  void setUp() {
+    repository = Mockito.mock(ThriftStoreRepository.class);
+    geoIndex = new StoreGeoIndex(repository, false);
+    Slice<ThriftStoreRepository.NearbyHit> none = new SliceImpl<>(List.of());
+    when(repository.findNearbyWithin(
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            any(),
+            any()))
+        .thenReturn(none);
+    when(repository.findNearbyGeographyWithin(
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            any(),
+            any()))
+        .thenReturn(none);
+  }
+
+  @Test
+  void usesGeographyIndexWhenPresent() {
+    when(repository.hasGeographyIndex()).thenReturn(true);
+    GetThriftStoresUseCase useCase =
+        new GetThriftStoresUseCase(repository, POSTGRES_URL, true, geoIndex);
+
+    useCase.detectNearbyStrategy();
+    useCase.executeNearby(-23.55, -46.63, NearbyArea.ANYWHERE, 1, 10);
+    useCase.executeNearbyAfter(-23.55, -46.63, AREA, 120, StoreCursor.MIN_ID, 10);
+
+    assertThat(useCase.nearbyStrategy()).isEqualTo(GetThriftStoresUseCase.NearbyStrategy.POSTGIS);
+    verify(repository)
+        .findNearbyGeographyWithin(
+            eq(-23.55),
+            eq(-46.63),
+            eq(NearbyArea.ANYWHERE.radiusMeters()),
+            eq(-90.0),
+            eq(-180.0),
+            eq(90.0),
+            eq(180.0),
+            eq(-1.0),
+            eq(StoreCursor.MIN_ID),
+            eq(PageRequest.of(1, 10)));
+    verify(repository)
+        .findNearbyGeographyWithin(
+            eq(-23.55),
+            eq(-46.63),
+            eq(2_000.0),
+            eq(AREA.minLat()),
+            eq(AREA.minLng()),
+            eq(AREA.maxLat()),
+            eq(AREA.maxLng()),
+            eq(120.0),
+            eq(StoreCursor.MIN_ID),
+            eq(PageRequest.of(0, 10)));
+    verify(repository, never())
+        .findNearbyWithin(
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            anyDouble(),
+            any(),
+            any());
+  }
+
+  @Test
+  void fallsBackToHaversineWhenIndexIsMissing() {
+    when(repository.hasGeographyIndex()).thenReturn(false);
+    GetThriftStoresUseCase useCase =
+        new GetThriftStoresUseCase(repository, POSTGRES_URL, true, geoIndex);
+
+    useCase.detectNearbyStrategy();
+    useCase.executeNearby(-23.55, -46.63, AREA, 0, 10);
+
+    assertThat(useCase.nearbyStrategy())
+        .isEqualTo(GetThriftStoresUseCase.NearbyStrategy.HAVERSINE);
+    verify(repository)
+        .findNearbyWithin(
+            -23.55,
+            -46.63,
+            2_000.0,
+            AREA.minLat(),
+            AREA.minLng(),
+            AREA.maxLat(),
+            AREA.maxLng(),
+            -1,
+            StoreCursor.MIN_ID,
+            PageRequest.of(0, 10));
+  }
+
+  @Test
+  void disjointRadiusAndViewportSkipTheQuery() {
+    GetThriftStoresUseCase useCase =
+        new GetThriftStoresUseCase(repository, POSTGRES_URL, true, geoIndex);
+    NearbyArea disjoint = NearbyArea.of(-23.55, -46.63, 2_000.0, -22.95, -43.25, -22.85, -43.15);
+
+    assertThat(disjoint.isEmpty()).isTrue();
+    assertThat(useCase.executeNearby(-23.55, -46.63, disjoint, 0, 10)).isEmpty();
+    assertThat(useCase.executeNearbyAfter(-23.55, -46.63, disjoint, -1, StoreCursor.MIN_ID, 10))
+        .isEmpty();
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void pagesPastTheMaximumDepthSkipTheQuery() {
+    GetThriftStoresUseCase useCase =
+        new GetThriftStoresUseCase(repository, POSTGRES_URL, true, geoIndex);
+
+    assertThat(useCase.executeNearby(-23.55, -46.63, AREA, Integer.MAX_VALUE, 100)).isEmpty();
+    assertThat(useCase.executeNearby(-23.55, -46.63, AREA, StoreGeoIndex.MAX_DEPTH / 10, 10))
+        .isEmpty();
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void fallsBackToHaversineWhenIndexCheckFails() {
+    when(repository.hasGeographyIndex())
+        .thenThrow(new InvalidDataAccessResourceUsageException("to_regclass not found"));
+    GetThriftStoresUseCase useCase =
+        new GetThriftStoresUseCase(repository, POSTGRES_URL, true, geoIndex);
+
+    useCase.detectNearbyStrategy();
+
+    assertThat(useCase.nearbyStrategy())
+        .isEqualTo(GetThriftStoresUseCase.NearbyStrategy.HAVERSINE);
+  }
+
+  @Test
+  void skipsTheCheckOffPostgresOrWhenDisabled() {
+    new GetThriftStoresUseCase(repository, "jdbc:h2:mem:meer", true, geoIndex)
+        .detectNearbyStrategy();
+    new GetThriftStoresUseCase(repository, POSTGRES_URL, false, geoIndex).detectNearbyStrategy();
+
+    verify(repository, never()).hasGeographyIndex();
+  }
+}
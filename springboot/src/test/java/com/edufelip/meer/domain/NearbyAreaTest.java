@@ -0,0 +1,67 @@
+package com.edufelip.meer.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class NearbyAreaTest {
+
+  @Test
+  void withoutFiltersTheAreaIsUnbounded() {
+    NearbyArea area = NearbyArea.of(-23.55, -46.63, null, null, null, null, null);
+
+    assertThat(area.isAnywhere()).isTrue();
+    assertThat(area.isEmpty()).isFalse();
+  }
+
+  @Test
+  void radiusIsCircumscribedByTheBox() {
+    NearbyArea area = NearbyArea.of(-23.55, -46.63, 10_000.0, null, null, null, null);
+
+    assertThat(area.radiusMeters()).isEqualTo(10_000.0);
+    assertThat(area.minLat()).isCloseTo(-23.64, within(0.001));
+    assertThat(area.maxLat()).isCloseTo(-23.46, within(0.001));
+    // A degree of longitude is shorter away from the equator, so the box is wider than tall.
+    assertThat(area.maxLng() - area.minLng()).isGreaterThan(area.maxLat() - area.minLat());
+    assertThat(area.containsCoordinates(-23.55, -46.55)).isTrue();
+    assertThat(area.containsCoordinates(-23.55, -46.5)).isFalse();
+  }
+
+  @Test
+  void viewportIsIntersectedWithTheRadius() {
+    NearbyArea area = NearbyArea.of(-23.55, -46.63, 10_000.0, -23.6, -47.0, -23.0, -46.0);
+
+    assertThat(area.minLat()).isEqualTo(-23.6);
+    assertThat(area.maxLat()).isCloseTo(-23.46, within(0.001));
+    assertThat(area.minLng()).isGreaterThan(-47.0);
+  }
+
+  @Test
+  void circleAroundAPoleSpansEveryLongitude() {
+    NearbyArea area = NearbyArea.of(89.99, 10, 5_000.0, null, null, null, null);
+
+    assertThat(area.minLng()).isEqualTo(-180);
+    assertThat(area.maxLng()).isEqualTo(180);
+  }
+
+  @Test
+  void rejectsInvalidFilters() {
+    assertBadRequest(() -> NearbyArea.of(0, 0, 0.0, null, null, null, null));
+    assertBadRequest(() -> NearbyArea.of(0, 0, 600_000.0, null, null, null, null));
+    assertBadRequest(() -> NearbyArea.of(0, 0, null, -1.0, -1.0, 1.0, null));
+    assertBadRequest(() -> NearbyArea.of(0, 0, null, 1.0, -1.0, -1.0, 1.0));
+    assertBadRequest(() -> NearbyArea.of(0, 0, null, -1.0, 170.0, 1.0, -170.0));
+    assertBadRequest(() -> NearbyArea.of(0, 0, null, -91.0, -1.0, 1.0, 1.0));
+  }
+
+  private static void assertBadRequest(Runnable call) {
+    assertThatThrownBy(call::run)
+        .isInstanceOf(ResponseStatusException.class)
+        .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+}
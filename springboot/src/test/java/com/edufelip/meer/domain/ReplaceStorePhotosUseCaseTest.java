@@ -7,6 +7,8 @@ import static org.mockito.Mockito.when;
 import com.edufelip.meer.core.auth.AuthUser;
 import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.core.store.ThriftStorePhoto;
+import com.edufelip.meer.domain.port.ImageVariantPort;
+import com.edufelip.meer.domain.port.StorageCleanupPort;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import com.edufelip.meer.testutil.LocalPhotoStorageFake;
 import java.nio.file.Files;
@@ -25,9 +27,12 @@ class ReplaceStorePhotosUseCaseTest {
     StoreOwnershipService ownershipService = Mockito.mock(StoreOwnershipService.class);
     LocalPhotoStorageFake storageFake =
         new LocalPhotoStorageFake(Files.createTempDirectory("photos"));
+    ImageVariantPort imageVariantPort = Mockito.mock(ImageVariantPort.class);
+    StorageCleanupPort storageCleanupPort = Mockito.mock(StorageCleanupPort.class);
 
     ReplaceStorePhotosUseCase useCase =
-        new ReplaceStorePhotosUseCase(repo, ownershipService, storageFake);
+        new ReplaceStorePhotosUseCase(
+            repo, ownershipService, storageFake, imageVariantPort, storageCleanupPort);
 
     UUID storeId = UUID.randomUUID();
     ThriftStore store = new ThriftStore();
@@ -58,5 +63,9 @@ class ReplaceStorePhotosUseCaseTest {
     assertThat(result.getPhotos().get(1).getUrl()).isEqualTo("/uploads/" + newFileKey);
     assertThat(result.getCoverImageUrl()).isEqualTo("/uploads/stores/old.jpg");
     verify(ownershipService).ensureOwnerOrAdmin(user, store);
+    verify(imageVariantPort)
+        .requestVariants(ImageVariantPort.Target.STORE_PHOTO, "/uploads/" + newFileKey);
+    Mockito.verifyNoMoreInteractions(imageVariantPort);
+    Mockito.verifyNoInteractions(storageCleanupPort);
   }
 }
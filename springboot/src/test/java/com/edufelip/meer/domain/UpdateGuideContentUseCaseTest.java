@@ -8,6 +8,7 @@ import static org.mockito.Mockito.when;
 import com.edufelip.meer.core.auth.AuthUser;
 import com.edufelip.meer.core.content.GuideContent;
 import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.port.ImageVariantPort;
 import com.edufelip.meer.domain.repo.GuideContentRepository;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,8 +23,9 @@ class UpdateGuideContentUseCaseTest {
   void updatesFieldsAndDefaults() {
     GuideContentRepository repository = Mockito.mock(GuideContentRepository.class);
     StoreOwnershipService storeOwnershipService = Mockito.mock(StoreOwnershipService.class);
+    ImageVariantPort imageVariantPort = Mockito.mock(ImageVariantPort.class);
     UpdateGuideContentUseCase useCase =
-        new UpdateGuideContentUseCase(repository, storeOwnershipService);
+        new UpdateGuideContentUseCase(repository, storeOwnershipService, imageVariantPort);
 
     ThriftStore store = new ThriftStore();
     store.setId(UUID.randomUUID());
@@ -51,14 +53,17 @@ class UpdateGuideContentUseCaseTest {
     assertThat(updated.getCategoryLabel()).isEqualTo("general");
     assertThat(updated.getType()).isEqualTo("article");
     verify(storeOwnershipService).ensureOwnerOrAdminStrict(user, store);
+    verify(imageVariantPort)
+        .requestVariants(ImageVariantPort.Target.GUIDE_IMAGE, "https://example.com/image.jpg");
   }
 
   @Test
   void rejectsInvalidImageUrl() {
     GuideContentRepository repository = Mockito.mock(GuideContentRepository.class);
     StoreOwnershipService storeOwnershipService = Mockito.mock(StoreOwnershipService.class);
+    ImageVariantPort imageVariantPort = Mockito.mock(ImageVariantPort.class);
     UpdateGuideContentUseCase useCase =
-        new UpdateGuideContentUseCase(repository, storeOwnershipService);
+        new UpdateGuideContentUseCase(repository, storeOwnershipService, imageVariantPort);
 
     ThriftStore store = new ThriftStore();
     store.setId(UUID.randomUUID());
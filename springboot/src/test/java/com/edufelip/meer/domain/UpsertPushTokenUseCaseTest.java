@@ -114,4 +114,30 @@ class UpsertPushTokenUseCaseTest {
         .isEqualTo(Instant.parse("2024-06-01T00:00:00Z"));
     assertThat(existing.getLastSeenAt()).isEqualTo(Instant.parse("2025-03-01T08:00:00Z"));
   }
+
+  @Test
+  void recordsLocationOnlyWhenValid() {
+    PushTokenRepository repo = Mockito.mock(PushTokenRepository.class);
+    Clock clock = Clock.fixed(Instant.parse("2025-04-01T09:00:00Z"), ZoneOffset.UTC);
+    UUID userId = UUID.randomUUID();
+
+    PushToken existing = new PushToken();
+    existing.setUserId(userId);
+    existing.setDeviceId("device-4");
+    existing.setEnvironment(PushEnvironment.DEV);
+    existing.setFcmToken("token-4");
+
+    when(repo.findByUserIdAndDeviceIdAndEnvironment(userId, "device-4", PushEnvironment.DEV))
+        .thenReturn(Optional.of(existing));
+
+    UpsertPushTokenUseCase useCase = new UpsertPushTokenUseCase(repo, clock);
+    useCase.execute(
+        userId, "device-4", "token-4", PushPlatform.IOS, null, PushEnvironment.DEV, -23.5, -46.6);
+    useCase.execute(
+        userId, "device-4", "token-4", PushPlatform.IOS, null, PushEnvironment.DEV, 123.0, 10.0);
+
+    assertThat(existing.getLastLatitude()).isEqualTo(-23.5);
+    assertThat(existing.getLastLongitude()).isEqualTo(-46.6);
+    assertThat(existing.getLastLocationAt()).isEqualTo(Instant.parse("2025-04-01T09:00:00Z"));
+  }
 }
@@ -0,0 +1,43 @@
+package com.edufelip.meer.domain.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.support.TestFixtures;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class AuthUserRepositoryFavoritesTest {
+
+  @Autowired private AuthUserRepository authUserRepository;
+  @Autowired private ThriftStoreRepository thriftStoreRepository;
+
+  @Test
+  void favoriteIdQueriesReadTheJoinTableOnly() {
+    ThriftStore liked = thriftStoreRepository.save(TestFixtures.store("Liked"));
+    ThriftStore other = thriftStoreRepository.save(TestFixtures.store("Other"));
+    AuthUser user = authUserRepository.save(TestFixtures.user("fav@example.com", "Fav"));
+
+    assertThat(authUserRepository.addFavorite(user.getId(), liked.getId())).isEqualTo(1);
+    // Adding twice is a no-op rather than a primary key violation.
+    assertThat(authUserRepository.addFavorite(user.getId(), liked.getId())).isZero();
+
+    assertThat(authUserRepository.findFavoriteStoreIds(user.getId()))
+        .containsExactly(liked.getId());
+    assertThat(
+            authUserRepository.findFavoriteStoreIdsIn(
+                user.getId(), List.of(liked.getId(), other.getId())))
+        .containsExactly(liked.getId());
+
+    assertThat(authUserRepository.removeFavorite(user.getId(), liked.getId())).isEqualTo(1);
+    assertThat(authUserRepository.findFavoriteStoreIds(user.getId())).isEmpty();
+  }
+}
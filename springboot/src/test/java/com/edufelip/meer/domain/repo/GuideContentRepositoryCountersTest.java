@@ -0,0 +1,58 @@
+package com.edufelip.meer.domain.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.core.content.GuideContent;
+import com.edufelip.meer.core.content.GuideContentComment;
+import com.edufelip.meer.core.content.GuideContentLike;
+import com.edufelip.meer.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class GuideContentRepositoryCountersTest {
+
+  @Autowired private GuideContentRepository guideContentRepository;
+  @Autowired private GuideContentLikeRepository guideContentLikeRepository;
+  @Autowired private GuideContentCommentRepository guideContentCommentRepository;
+  @Autowired private AuthUserRepository authUserRepository;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  void reconcileRepairsDriftedCountersOnly() {
+    AuthUser user = authUserRepository.save(TestFixtures.user("c1@example.com", "C1"));
+    GuideContent drifted = guideContentRepository.save(content("Drifted"));
+    GuideContent inSync = guideContentRepository.save(content("In sync"));
+    guideContentLikeRepository.save(new GuideContentLike(user, drifted));
+    guideContentCommentRepository.save(new GuideContentComment(user, drifted, "Nice"));
+    guideContentCommentRepository.save(new GuideContentComment(user, drifted, "Again"));
+    drifted.setLikeCount(5L);
+    drifted.setCommentCount(0L);
+    guideContentRepository.saveAndFlush(drifted);
+
+    assertThat(guideContentRepository.reconcileCounters()).isEqualTo(1);
+    entityManager.clear();
+
+    var counters = guideContentRepository.findCounters(List.of(drifted.getId(), inSync.getId()));
+    assertThat(counters)
+        .extracting(
+            GuideContentRepository.CounterView::getId,
+            GuideContentRepository.CounterView::getLikeCount,
+            GuideContentRepository.CounterView::getCommentCount)
+        .containsExactlyInAnyOrder(tuple(drifted.getId(), 1L, 2L), tuple(inSync.getId(), 0L, 0L));
+    assertThat(guideContentRepository.reconcileCounters()).isZero();
+  }
+
+  private static GuideContent content(String title) {
+    return new GuideContent(null, title, "Desc", "cat", "type", "https://img", null);
+  }
+}
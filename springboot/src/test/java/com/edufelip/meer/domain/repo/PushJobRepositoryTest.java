@@ -0,0 +1,125 @@
+package com.edufelip.meer.domain.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.core.push.PushAudience;
+import com.edufelip.meer.core.push.PushEnvironment;
+import com.edufelip.meer.core.push.PushJob;
+import com.edufelip.meer.core.push.PushJobStatus;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PushJobRepositoryTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+  private static final Duration LEASE = Duration.ofMinutes(5);
+  private static final UUID OWNER = UUID.randomUUID();
+  private static final UUID OTHER = UUID.randomUUID();
+
+  @Autowired private PushJobRepository pushJobRepository;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  void claimSucceedsOnceUntilTheLeaseExpires() {
+    PushJob job = pushJobRepository.saveAndFlush(job(NOW.minusSeconds(1)));
+    PushJob later = pushJobRepository.saveAndFlush(job(NOW.plusSeconds(60)));
+
+    assertThat(pushJobRepository.findDueIds(NOW, PageRequest.of(0, 10)))
+        .containsExactly(job.getId());
+    assertThat(pushJobRepository.claim(job.getId(), OWNER, NOW, NOW.plus(LEASE))).isEqualTo(1);
+    assertThat(pushJobRepository.claim(job.getId(), OTHER, NOW, NOW.plus(LEASE))).isZero();
+    assertThat(pushJobRepository.claim(later.getId(), OWNER, NOW, NOW.plus(LEASE))).isZero();
+
+    Instant afterLease = NOW.plus(LEASE).plusSeconds(1);
+    assertThat(pushJobRepository.findDueIds(afterLease, PageRequest.of(0, 10)))
+        .contains(job.getId());
+    assertThat(pushJobRepository.claim(job.getId(), OTHER, afterLease, afterLease.plus(LEASE)))
+        .isEqualTo(1);
+
+    entityManager.clear();
+    assertThat(pushJobRepository.findById(job.getId()).orElseThrow().getAttempts()).isEqualTo(2);
+  }
+
+  @Test
+  void progressAccumulatesAndCompleteReleasesTheLease() {
+    PushJob job = pushJobRepository.saveAndFlush(job(NOW));
+    UUID cursor = UUID.randomUUID();
+    pushJobRepository.claim(job.getId(), OWNER, NOW, NOW.plus(LEASE));
+
+    pushJobRepository.recordProgress(
+        job.getId(), OWNER, null, cursor, 3, 1, 1, NOW, NOW.plus(LEASE));
+    pushJobRepository.recordProgress(
+        job.getId(), OWNER, null, cursor, 2, 0, 0, NOW, NOW.plus(LEASE));
+    assertThat(pushJobRepository.complete(job.getId(), OWNER, NOW)).isEqualTo(1);
+    entityManager.clear();
+
+    PushJob stored = pushJobRepository.findById(job.getId()).orElseThrow();
+    assertThat(stored.getStatus()).isEqualTo(PushJobStatus.COMPLETED);
+    assertThat(stored.getSentCount()).isEqualTo(5);
+    assertThat(stored.getFailedCount()).isEqualTo(1);
+    assertThat(stored.getRemovedTokenCount()).isEqualTo(1);
+    assertThat(stored.getCursorTokenId()).isEqualTo(cursor);
+    assertThat(stored.getLeaseUntil()).isNull();
+    assertThat(stored.getData()).containsEntry("type", "store");
+  }
+
+  @Test
+  void writesFromAWorkerThatLostItsLeaseAreRejected() {
+    PushJob job = pushJobRepository.saveAndFlush(job(NOW));
+    pushJobRepository.claim(job.getId(), OWNER, NOW, NOW.plus(LEASE));
+
+    Instant afterLease = NOW.plus(LEASE).plusSeconds(1);
+    assertThat(
+            pushJobRepository.recordProgress(
+                job.getId(), OWNER, null, null, 1, 0, 0, afterLease, afterLease.plus(LEASE)))
+        .isZero();
+    pushJobRepository.claim(job.getId(), OTHER, afterLease, afterLease.plus(LEASE));
+
+    assertThat(
+            pushJobRepository.recordProgress(
+                job.getId(), OWNER, null, null, 1, 0, 0, afterLease, afterLease.plus(LEASE)))
+        .isZero();
+    assertThat(pushJobRepository.complete(job.getId(), OWNER, afterLease)).isZero();
+    assertThat(pushJobRepository.reschedule(job.getId(), OWNER, afterLease, "late")).isZero();
+    assertThat(pushJobRepository.complete(job.getId(), OTHER, afterLease)).isEqualTo(1);
+  }
+
+  @Test
+  void releaseReturnsTheAttempt() {
+    PushJob job = pushJobRepository.saveAndFlush(job(NOW));
+    pushJobRepository.claim(job.getId(), OWNER, NOW, NOW.plus(LEASE));
+
+    assertThat(pushJobRepository.release(job.getId(), OWNER, NOW)).isEqualTo(1);
+    entityManager.clear();
+
+    PushJob stored = pushJobRepository.findById(job.getId()).orElseThrow();
+    assertThat(stored.getStatus()).isEqualTo(PushJobStatus.PENDING);
+    assertThat(stored.getAttempts()).isZero();
+    assertThat(stored.getLeaseOwner()).isNull();
+    assertThat(pushJobRepository.findDueIds(NOW, PageRequest.of(0, 10))).contains(job.getId());
+  }
+
+  private static PushJob job(Instant nextAttemptAt) {
+    PushJob job = new PushJob();
+    job.setAudience(PushAudience.USER);
+    job.setTargetUserId(UUID.randomUUID());
+    job.setEnvironment(PushEnvironment.DEV);
+    job.setTitle("Hello");
+    job.setBody("Body");
+    job.setData(Map.of("type", "store", "id", "1"));
+    job.setNextAttemptAt(nextAttemptAt);
+    return job;
+  }
+}
@@ -0,0 +1,106 @@
+package com.edufelip.meer.domain.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.core.push.PushEnvironment;
+import com.edufelip.meer.core.push.PushPlatform;
+import com.edufelip.meer.core.push.PushToken;
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.support.TestFixtures;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PushTokenRepositorySegmentsTest {
+
+  private static final UUID START = new UUID(0L, 0L);
+
+  @Autowired private PushTokenRepository pushTokenRepository;
+  @Autowired private AuthUserRepository authUserRepository;
+  @Autowired private ThriftStoreRepository thriftStoreRepository;
+
+  @Test
+  void storeFavoritesPagesThroughEveryFavoriterToken() {
+    ThriftStore store = thriftStoreRepository.save(TestFixtures.store("Favorited"));
+    AuthUser first = authUserRepository.save(TestFixtures.user("f1@example.com", "F1"));
+    AuthUser second = authUserRepository.save(TestFixtures.user("f2@example.com", "F2"));
+    AuthUser other = authUserRepository.save(TestFixtures.user("f3@example.com", "F3"));
+    authUserRepository.addFavorite(first.getId(), store.getId());
+    authUserRepository.addFavorite(second.getId(), store.getId());
+    PushToken a = token(first, "a", PushEnvironment.DEV, null, null);
+    PushToken b = token(first, "b", PushEnvironment.DEV, null, null);
+    PushToken c = token(second, "c", PushEnvironment.DEV, null, null);
+    token(second, "d", PushEnvironment.PROD, null, null);
+    token(other, "e", PushEnvironment.DEV, null, null);
+
+    List<PushToken> seen = new ArrayList<>();
+    UUID afterUser = START;
+    UUID afterId = START;
+    while (true) {
+      List<PushToken> page =
+          pushTokenRepository.findStoreFavoritesBatch(
+              store.getId(), "DEV", afterUser, afterId, PageRequest.of(0, 2));
+      seen.addAll(page);
+      if (page.size() < 2) break;
+      PushToken last = page.get(page.size() - 1);
+      afterUser = last.getUserId();
+      afterId = last.getId();
+    }
+
+    assertThat(seen)
+        .extracting(PushToken::getId)
+        .containsExactlyInAnyOrder(a.getId(), b.getId(), c.getId());
+  }
+
+  @Test
+  void nearBatchKeepsOnlyTokensWithinRadius() {
+    double lat = -23.55;
+    double lng = -46.63;
+    AuthUser user = authUserRepository.save(TestFixtures.user("n1@example.com", "N1"));
+    PushToken near = token(user, "near", PushEnvironment.DEV, lat + 0.009, lng);
+    token(user, "far", PushEnvironment.DEV, lat + 0.18, lng);
+    token(user, "unknown", PushEnvironment.DEV, null, null);
+    token(user, "other-env", PushEnvironment.PROD, lat, lng);
+    double delta = 5000 / 111_320d;
+
+    List<PushToken> page =
+        pushTokenRepository.findNearBatch(
+            "DEV",
+            lat,
+            lng,
+            5000,
+            lat - delta,
+            lat + delta,
+            lng - 2 * delta,
+            lng + 2 * delta,
+            START,
+            PageRequest.of(0, 10));
+
+    assertThat(page).extracting(PushToken::getId).containsExactly(near.getId());
+  }
+
+  private PushToken token(
+      AuthUser user, String device, PushEnvironment environment, Double lat, Double lng) {
+    PushToken token = new PushToken();
+    token.setUserId(user.getId());
+    token.setDeviceId(device);
+    token.setFcmToken("fcm-" + device);
+    token.setPlatform(PushPlatform.ANDROID);
+    token.setEnvironment(environment);
+    token.setLastSeenAt(Instant.now());
+    token.setLastLatitude(lat);
+    token.setLastLongitude(lng);
+    return pushTokenRepository.saveAndFlush(token);
+  }
+}
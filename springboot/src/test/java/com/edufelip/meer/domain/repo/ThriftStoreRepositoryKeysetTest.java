@@ -0,0 +1,167 @@
+package com.edufelip.meer.domain.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.NearbyArea;
+import com.edufelip.meer.domain.StoreCursor;
+import com.edufelip.meer.support.TestFixtures;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ThriftStoreRepositoryKeysetTest {
+
+  private static final int PAGE_SIZE = 3;
+
+  @Autowired private ThriftStoreRepository thriftStoreRepository;
+
+  @BeforeEach
+  void seed() {
+    List<ThriftStore> stores = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      ThriftStore store = TestFixtures.store("Keyset Brechó " + i);
+      store.setLatitude(-23.55 + i * 0.01);
+      store.setLongitude(-46.63);
+      stores.add(store);
+    }
+    // Co-located stores force the id tie-breaker.
+    ThriftStore twin = TestFixtures.store("Keyset Twin");
+    twin.setLatitude(-23.55);
+    twin.setLongitude(-46.63);
+    stores.add(twin);
+    thriftStoreRepository.saveAllAndFlush(stores);
+  }
+
+  @Test
+  void newestPagesMatchSingleScan() {
+    List<UUID> expected =
+        thriftStoreRepository
+            .searchNewestAfter(
+                "keyset",
+                StoreCursor.MAX_CREATED_AT,
+                StoreCursor.MAX_ID,
+                PageRequest.of(0, 100))
+            .stream()
+            .map(ThriftStore::getId)
+            .toList();
+
+    List<UUID> walked = new ArrayList<>();
+    Instant createdAt = StoreCursor.MAX_CREATED_AT;
+    UUID id = StoreCursor.MAX_ID;
+    while (true) {
+      var page =
+          thriftStoreRepository.searchNewestAfter(
+              "keyset", createdAt, id, PageRequest.of(0, PAGE_SIZE));
+      if (page.isEmpty()) break;
+      page.forEach(store -> walked.add(store.getId()));
+      ThriftStore last = page.get(page.size() - 1);
+      createdAt = last.getCreatedAt();
+      id = last.getId();
+    }
+
+    assertThat(expected).hasSize(9);
+    assertThat(walked).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void nearbyPagesMatchSingleScan() {
+    List<UUID> expected =
+        nearby(NearbyArea.ANYWHERE, -1, StoreCursor.MIN_ID, 100).stream()
+            .map(ThriftStoreRepository.NearbyHit::getId)
+            .toList();
+
+    List<UUID> walked = new ArrayList<>();
+    double distance = -1;
+    UUID id = StoreCursor.MIN_ID;
+    while (true) {
+      var page = nearby(NearbyArea.ANYWHERE, distance, id, PAGE_SIZE);
+      if (page.isEmpty()) break;
+      page.forEach(hit -> walked.add(hit.getId()));
+      var last = page.get(page.size() - 1);
+      distance = last.getDistance();
+      id = last.getId();
+    }
+
+    assertThat(walked).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void nearbyRadiusAndBoxPruneCandidates() {
+    // Seeded stores sit ~1.1 km apart going north from the origin.
+    NearbyArea radius = NearbyArea.of(-23.55, -46.63, 3_500.0, null, null, null, null);
+    NearbyArea radiusAndBox =
+        NearbyArea.of(-23.55, -46.63, 3_500.0, -23.535, -46.64, -23.5, -46.62);
+
+    assertThat(nearby(radius, -1, StoreCursor.MIN_ID, 100))
+        .extracting(ThriftStoreRepository.NearbyHit::getDistance)
+        .hasSize(5)
+        .allSatisfy(distance -> assertThat(distance).isLessThanOrEqualTo(3_500.0));
+    assertThat(nearby(radiusAndBox, -1, StoreCursor.MIN_ID, 100))
+        .extracting(ThriftStoreRepository.NearbyHit::getDistance)
+        .hasSize(2)
+        .allSatisfy(distance -> assertThat(distance).isBetween(2_000.0, 3_500.0));
+  }
+
+  @Test
+  void searchPagesMatchSingleScan() {
+    List<UUID> expected =
+        thriftStoreRepository
+            .searchRankedAfter(
+                "keyset",
+                -1,
+                StoreCursor.MAX_CREATED_AT,
+                StoreCursor.MAX_ID,
+                PageRequest.of(0, 100))
+            .stream()
+            .map(ThriftStoreRepository.SearchHit::getId)
+            .toList();
+
+    List<UUID> walked = new ArrayList<>();
+    int score = -1;
+    Instant createdAt = StoreCursor.MAX_CREATED_AT;
+    UUID id = StoreCursor.MAX_ID;
+    while (true) {
+      var page =
+          thriftStoreRepository.searchRankedAfter(
+              "keyset", score, createdAt, id, PageRequest.of(0, PAGE_SIZE));
+      if (page.isEmpty()) break;
+      page.forEach(hit -> walked.add(hit.getId()));
+      var last = page.get(page.size() - 1);
+      score = last.getScore();
+      createdAt = thriftStoreRepository.findById(last.getId()).orElseThrow().getCreatedAt();
+      id = last.getId();
+    }
+
+    assertThat(expected).hasSize(9);
+    assertThat(walked).containsExactlyElementsOf(expected);
+  }
+
+  private List<ThriftStoreRepository.NearbyHit> nearby(
+      NearbyArea area, double distance, UUID id, int limit) {
+    return thriftStoreRepository
+        .findNearbyWithin(
+            -23.55,
+            -46.63,
+            area.radiusMeters(),
+            area.minLat(),
+            area.minLng(),
+            area.maxLat(),
+            area.maxLng(),
+            distance,
+            id,
+            PageRequest.of(0, limit))
+        .getContent();
+  }
+}
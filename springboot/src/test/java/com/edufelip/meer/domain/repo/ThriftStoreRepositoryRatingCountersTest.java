@@ -0,0 +1,62 @@
+package com.edufelip.meer.domain.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.core.store.StoreFeedback;
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.support.TestFixtures;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ThriftStoreRepositoryRatingCountersTest {
+
+  @Autowired private ThriftStoreRepository thriftStoreRepository;
+  @Autowired private StoreFeedbackRepository storeFeedbackRepository;
+  @Autowired private AuthUserRepository authUserRepository;
+
+  @Test
+  void adjustRatingAppliesDeltasAndNeverGoesNegative() {
+    ThriftStore store = thriftStoreRepository.save(TestFixtures.store("Counter Store"));
+
+    thriftStoreRepository.adjustRating(store.getId(), 5, 1);
+    thriftStoreRepository.adjustRating(store.getId(), 3, 1);
+    assertCounters(store, 8L, 2L);
+
+    thriftStoreRepository.adjustRating(store.getId(), -20, -5);
+    assertThat(thriftStoreRepository.findRatingCounters(List.of(store.getId()))).isEmpty();
+  }
+
+  @Test
+  void reconcileRatingsFixesDriftFromFeedback() {
+    ThriftStore drifted = thriftStoreRepository.save(TestFixtures.store("Drifted Store"));
+    ThriftStore inSync = thriftStoreRepository.save(TestFixtures.store("In Sync Store"));
+
+    AuthUser user1 = authUserRepository.save(TestFixtures.user("r1@example.com", "R1"));
+    AuthUser user2 = authUserRepository.save(TestFixtures.user("r2@example.com", "R2"));
+    storeFeedbackRepository.save(new StoreFeedback(user1, drifted, 4, "ok"));
+    storeFeedbackRepository.save(new StoreFeedback(user2, drifted, 2, "meh"));
+    storeFeedbackRepository.save(new StoreFeedback(user1, inSync, null, "text only"));
+
+    thriftStoreRepository.adjustRating(drifted.getId(), 9, 3);
+
+    assertThat(thriftStoreRepository.reconcileRatings()).isEqualTo(1);
+    assertCounters(drifted, 6L, 2L);
+    assertThat(thriftStoreRepository.findRatingCounters(List.of(inSync.getId()))).isEmpty();
+    assertThat(thriftStoreRepository.reconcileRatings()).isZero();
+  }
+
+  private void assertCounters(ThriftStore store, long sum, long count) {
+    var views = thriftStoreRepository.findRatingCounters(List.of(store.getId()));
+    assertThat(views).hasSize(1);
+    assertThat(views.get(0).getRatingSum()).isEqualTo(sum);
+    assertThat(views.get(0).getRatingCount()).isEqualTo(count);
+  }
+}
@@ -0,0 +1,132 @@
+package com.edufelip.meer.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class RequestResponseLoggingFilterTest {
+
+  private final Clock clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+  private final Logger logger =
+      (Logger) LoggerFactory.getLogger(RequestResponseLoggingFilter.LOGGER_NAME);
+  private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+  @BeforeEach
+  void attach() {
+    appender.start();
+    logger.addAppender(appender);
+  }
+
+  @AfterEach
+  void detach() {
+    logger.detachAppender(appender);
+  }
+
+  @Test
+  void logsOneJsonLineWithoutBodiesByDefault() throws Exception {
+    RequestResponseLoggingFilter filter =
+        new RequestResponseLoggingFilter(new AccessLogProperties(), clock);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/stores/42");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, writing("/stores/{id}", 200, "{\"id\":42}"));
+
+    assertThat(response.getContentAsString()).isEqualTo("{\"id\":42}");
+    assertThat(lines()).hasSize(1);
+    String line = lines().get(0);
+    assertThat(line)
+        .startsWith("{\"ts\":\"2026-01-01T00:00:00Z\",\"method\":\"GET\"")
+        .contains("\"route\":\"/stores/{id}\"")
+        .contains("\"path\":\"/stores/42\"")
+        .contains("\"status\":200")
+        .contains("\"responseBytes\":9")
+        .doesNotContain("responseBody");
+  }
+
+  @Test
+  void logsTruncatedBodiesForConfiguredPaths() throws Exception {
+    AccessLogProperties properties = new AccessLogProperties();
+    properties.getBody().setPaths(List.of("/stores"));
+    properties.getBody().setMaxBytes(4);
+    RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter(properties, clock);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(
+        new MockHttpServletRequest("GET", "/stores"), response, writing(null, 200, "abc\"defgh"));
+
+    assertThat(response.getContentAsString()).isEqualTo("abc\"defgh");
+    assertThat(lines().get(0))
+        .contains("\"route\":null")
+        .contains("\"responseBody\":\"abc\\\"...<truncated>\"");
+  }
+
+  @Test
+  void errorBodiesAreLoggedWhenEnabledExceptOnSensitivePaths() throws Exception {
+    AccessLogProperties properties = new AccessLogProperties();
+    properties.getBody().setOnError(true);
+    RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter(properties, clock);
+
+    filter.doFilter(
+        new MockHttpServletRequest("GET", "/stores"),
+        new MockHttpServletResponse(),
+        writing(null, 200, "ok"));
+    filter.doFilter(
+        new MockHttpServletRequest("GET", "/stores/x"),
+        new MockHttpServletResponse(),
+        writing(null, 404, "missing"));
+    filter.doFilter(
+        new MockHttpServletRequest("POST", "/auth/login"),
+        new MockHttpServletResponse(),
+        writing(null, 401, "secret"));
+
+    assertThat(lines()).hasSize(3);
+    assertThat(lines().get(0)).doesNotContain("responseBody");
+    assertThat(lines().get(1)).contains("\"responseBody\":\"missing\"");
+    assertThat(lines().get(2)).contains("\"status\":401").doesNotContain("secret");
+  }
+
+  @Test
+  void samplingSkipsSuccessesButKeepsErrors() throws Exception {
+    AccessLogProperties properties = new AccessLogProperties();
+    properties.setSampleRate(0);
+    RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter(properties, clock);
+
+    filter.doFilter(
+        new MockHttpServletRequest("GET", "/stores"),
+        new MockHttpServletResponse(),
+        writing(null, 200, "ok"));
+    filter.doFilter(
+        new MockHttpServletRequest("GET", "/stores"),
+        new MockHttpServletResponse(),
+        writing(null, 503, "down"));
+
+    assertThat(lines()).singleElement().asString().contains("\"status\":503");
+  }
+
+  private List<String> lines() {
+    return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+  }
+
+  private static FilterChain writing(String route, int status, String body) {
+    return (req, res) -> {
+      if (route != null) req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+      ((jakarta.servlet.http.HttpServletResponse) res).setStatus(status);
+      res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+    };
+  }
+}
@@ -69,4 +69,121 @@ class FlywayMigrationTest {
       assertThat(rs.getInt("cnt")).isEqualTo(1);
     }
   }
+
+  @Test
+  void storeGeographyFollowsCoordinatesAndBacksNearbyQueries() throws Exception {
+    Flyway flyway =
+        Flyway.configure()
+            .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+            .locations("classpath:db/migration")
+            .baselineOnMigrate(true)
+            .load();
+    flyway.migrate();
+
+    try (Connection conn =
+            java.sql.DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Statement stmt = conn.createStatement()) {
+      stmt.execute(
+          """
+          insert into thrift_store (id, name, address_line, latitude, longitude, created_at,
+                                    updated_at)
+          values ('00000000-0000-0000-0000-0000000000a1', 'Geo', 'Road', -23.55, -46.63, now(),
+                  now())
+          """);
+      stmt.execute(
+          """
+          update thrift_store set latitude = -22.9
+          where id = '00000000-0000-0000-0000-0000000000a1'
+          """);
+      ResultSet rs =
+          stmt.executeQuery(
+              """
+              select ST_Y(geog::geometry) as lat from thrift_store
+              where id = '00000000-0000-0000-0000-0000000000a1'
+              """);
+      rs.next();
+      assertThat(rs.getDouble("lat")).isEqualTo(-22.9);
+
+      stmt.execute("set enable_seqscan = off");
+      assertThat(
+              plan(
+                  stmt,
+                  """
+                  explain select id from thrift_store where geog is not null
+                  order by geog <-> ST_MakePoint(-46.63, -23.55)::geography limit 10
+                  """))
+          .contains("thrift_store_geog_idx");
+      assertThat(
+              plan(
+                  stmt,
+                  """
+                  explain select id from thrift_store
+                  where ST_DWithin(geog, ST_MakePoint(-46.63, -23.55)::geography, 2000, false)
+                  """))
+          .contains("thrift_store_geog_idx");
+      assertThat(
+              plan(
+                  stmt,
+                  """
+                  explain select id from thrift_store
+                  where latitude between -23.6 and -23.5 and longitude between -46.7 and -46.6
+                  """))
+          .contains("idx_thrift_store_lat_lng");
+    }
+  }
+
+  @Test
+  void integerIdSequencesMatchTheEntityAllocationSize() throws Exception {
+    Flyway flyway =
+        Flyway.configure()
+            .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+            .locations("classpath:db/migration")
+            .baselineOnMigrate(true)
+            .load();
+    flyway.migrate();
+
+    try (Connection conn =
+            java.sql.DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Statement stmt = conn.createStatement()) {
+      ResultSet rs =
+          stmt.executeQuery(
+              """
+              select sequencename, increment_by from pg_sequences
+              where schemaname = 'public'
+                and sequencename in ('guide_content_id_seq', 'guide_content_comment_id_seq',
+                                     'guide_content_like_id_seq', 'store_feedback_id_seq',
+                                     'support_contact_id_seq', 'thrift_store_photo_id_seq')
+              """);
+      int sequences = 0;
+      while (rs.next()) {
+        assertThat(rs.getLong("increment_by")).as(rs.getString("sequencename")).isEqualTo(50);
+        sequences++;
+      }
+      assertThat(sequences).isEqualTo(6);
+
+      // A row inserted through the column default must not land in a block Hibernate reserves.
+      stmt.execute(
+          """
+          insert into support_contact (name, email, message, created_at)
+          values ('a', 'a@example.com', 'hi', now())
+          """);
+      rs =
+          stmt.executeQuery(
+              """
+              select max(id) as id, nextval('support_contact_id_seq') as hi
+              from support_contact
+              """);
+      rs.next();
+      assertThat(rs.getLong("hi") - 50).isGreaterThanOrEqualTo(rs.getLong("id"));
+    }
+  }
+
+  private static String plan(Statement stmt, String explain) throws Exception {
+    ResultSet plan = stmt.executeQuery(explain);
+    StringBuilder text = new StringBuilder();
+    while (plan.next()) text.append(plan.getString(1)).append('\n');
+    return text.toString();
+  }
 }
@@ -0,0 +1,160 @@
+package com.edufelip.meer.perf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.core.store.StoreFeedback;
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.core.store.ThriftStorePhoto;
+import com.edufelip.meer.domain.repo.AuthUserRepository;
+import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Insert throughput of bulk saves and photo replacement against Postgres with the production JDBC
+ * settings. Hibernate statistics count prepared statements, which drop to about one per batch
+ * once ids no longer come from IDENTITY inserts.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("perf")
+class BatchWriteBenchmarkTest {
+
+  private static final int STORES = 1_000;
+  private static final int PHOTOS_PER_STORE = 5;
+  private static final int RATERS = 100;
+  private static final int RATED_STORES = 20;
+  private static final int REPLACEMENTS = 100;
+
+  @Container
+  static final PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgis/postgis:15-3.4-alpine");
+
+  @DynamicPropertySource
+  static void postgresProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    registry.add(
+        "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", () -> "true");
+    registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    registry.add("spring.flyway.enabled", () -> "true");
+  }
+
+  @Autowired private ThriftStoreRepository thriftStoreRepository;
+  @Autowired private AuthUserRepository authUserRepository;
+  @Autowired private StoreFeedbackRepository storeFeedbackRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Test
+  void bulkSavesAreBatched() {
+    Statistics statistics = statistics();
+
+    statistics.clear();
+    long start = System.nanoTime();
+    List<ThriftStore> stores = thriftStoreRepository.saveAll(stores(STORES, "bulk"));
+    report("stores+photos", STORES * (1 + PHOTOS_PER_STORE), start, statistics);
+    assertThat(statistics.getPrepareStatementCount())
+        .isLessThan(STORES * (1 + PHOTOS_PER_STORE) / 10);
+
+    List<AuthUser> raters = new ArrayList<>();
+    for (int i = 0; i < RATERS; i++) {
+      AuthUser rater = new AuthUser();
+      rater.setEmail("batch-rater" + i + "@example.com");
+      rater.setDisplayName("Rater " + i);
+      rater.setPasswordHash("hash");
+      raters.add(rater);
+    }
+    raters = authUserRepository.saveAll(raters);
+    List<StoreFeedback> feedbacks = new ArrayList<>();
+    for (AuthUser rater : raters) {
+      for (int i = 0; i < RATED_STORES; i++) {
+        feedbacks.add(new StoreFeedback(rater, stores.get(i), 4, "Nice"));
+      }
+    }
+
+    statistics.clear();
+    start = System.nanoTime();
+    storeFeedbackRepository.saveAll(feedbacks);
+    report("feedback", feedbacks.size(), start, statistics);
+    assertThat(statistics.getPrepareStatementCount()).isLessThan(feedbacks.size() / 10);
+  }
+
+  @Test
+  void photoReplacementIsBatched() {
+    List<UUID> storeIds =
+        thriftStoreRepository.saveAll(stores(REPLACEMENTS, "replace")).stream()
+            .map(ThriftStore::getId)
+            .toList();
+    Statistics statistics = statistics();
+
+    statistics.clear();
+    long start = System.nanoTime();
+    for (UUID storeId : storeIds) {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            ThriftStore store = thriftStoreRepository.findById(storeId).orElseThrow();
+            store.getPhotos().clear();
+            addPhotos(store, "replaced");
+          });
+    }
+    report("photo replacement", REPLACEMENTS * PHOTOS_PER_STORE * 2, start, statistics);
+    // Store and photo selects plus one delete and one insert batch, where a row-by-row flush
+    // would cost 2 + 2 * PHOTOS_PER_STORE statements per replacement.
+    assertThat(statistics.getPrepareStatementCount()).isLessThan(REPLACEMENTS * 8L);
+  }
+
+  private static List<ThriftStore> stores(int count, String prefix) {
+    List<ThriftStore> stores = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      ThriftStore store = new ThriftStore();
+      store.setName(prefix + " store " + i);
+      store.setAddressLine("Road " + i);
+      store.setLatitude(-23.0 + (i * 0.0001));
+      store.setLongitude(-46.0 + (i * 0.0001));
+      addPhotos(store, prefix);
+      stores.add(store);
+    }
+    return stores;
+  }
+
+  private static void addPhotos(ThriftStore store, String prefix) {
+    for (int p = 0; p < PHOTOS_PER_STORE; p++) {
+      store
+          .getPhotos()
+          .add(new ThriftStorePhoto(store, "https://cdn.example.com/" + prefix + "/" + p, p));
+    }
+  }
+
+  private Statistics statistics() {
+    return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  private static void report(String label, int rows, long startNanos, Statistics statistics) {
+    double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    System.out.printf(
+        "%s: %d rows in %.1fms (%.0f rows/s), %d statements prepared%n",
+        label, rows, seconds * 1_000, rows / seconds, statistics.getPrepareStatementCount());
+  }
+}
@@ -12,6 +12,7 @@ import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import com.edufelip.meer.security.token.TokenProvider;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -126,6 +127,36 @@ class PerformanceGuardrailsTest {
     assertThat(avgMs).isLessThan(700);
   }
 
+  /** Prints p50/p99 for {@code /home}, whose sections load concurrently under a budget each. */
+  @Test
+  void homeP99LatencyUnderGuardrail() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      performHome();
+    }
+    int iterations = 200;
+    long[] samples = new long[iterations];
+    for (int i = 0; i < iterations; i++) {
+      long start = System.nanoTime();
+      performHome();
+      samples[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(samples);
+    double p50Ms = samples[iterations / 2] / 1_000_000.0;
+    double p99Ms = samples[(int) Math.ceil(iterations * 0.99) - 1] / 1_000_000.0;
+    System.out.printf("home latency p50=%.2fms p99=%.2fms%n", p50Ms, p99Ms);
+    assertThat(p99Ms).isLessThan(500);
+  }
+
+  private void performHome() throws Exception {
+    mockMvc
+        .perform(
+            get("/home")
+                .header("Authorization", authHeader)
+                .param("lat", "-23.0")
+                .param("lng", "-46.0"))
+        .andExpect(status().isOk());
+  }
+
   private void warmupRatings() throws Exception {
     for (int i = 0; i < 5; i++) {
       mockMvc
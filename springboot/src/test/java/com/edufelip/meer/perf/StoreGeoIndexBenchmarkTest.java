@@ -0,0 +1,189 @@
+package com.edufelip.meer.perf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.service.StoreGeoIndex;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Compares the two repository nearby strategies against {@link StoreGeoIndex} at increasing
+ * store counts. Sizes can be overridden with {@code -Dmeer.perf.geo.sizes=10000,100000}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@Tag("perf")
+class StoreGeoIndexBenchmarkTest {
+
+  private static final int QUERIES = 50;
+  private static final int PAGE_SIZE = 20;
+
+  private static final String GEOGRAPHY_SQL =
+      """
+      SELECT ts.id FROM thrift_store ts
+      WHERE ts.geog IS NOT NULL
+      ORDER BY ts.geog <-> ST_MakePoint(?, ?)::geography
+      LIMIT ?
+      """;
+
+  private static final String HAVERSINE_SQL =
+      """
+      SELECT ts.id FROM thrift_store ts
+      WHERE ts.latitude IS NOT NULL AND ts.longitude IS NOT NULL
+      ORDER BY (6371 * acos(
+          LEAST(1, cos(radians(?)) * cos(radians(ts.latitude)) *
+                    cos(radians(ts.longitude) - radians(?)) +
+                    sin(radians(?)) * sin(radians(ts.latitude))
+          ))) ASC
+      LIMIT ?
+      """;
+
+  @Container
+  static final PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgis/postgis:15-3.4-alpine");
+
+  @Test
+  void indexOutperformsDatabaseStrategies() throws Exception {
+    Flyway.configure()
+        .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+        .locations("classpath:db/migration")
+        .load()
+        .migrate();
+
+    try (Connection conn =
+        DriverManager.getConnection(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+      int seeded = 0;
+      for (int size : sizes()) {
+        seed(conn, seeded, size);
+        seeded = size;
+
+        StoreGeoIndex index = buildIndex(conn);
+        double geographyMs = timeSql(conn, GEOGRAPHY_SQL, false);
+        double haversineMs = timeSql(conn, HAVERSINE_SQL, true);
+        double indexMs = timeIndex(index);
+
+        System.out.printf(
+            "nearby stores=%d geography=%.2fms haversine=%.2fms index=%.3fms%n",
+            size, geographyMs, haversineMs, indexMs);
+        assertThat(index.size()).isEqualTo(size);
+        assertThat(indexMs).isLessThan(Math.min(geographyMs, haversineMs));
+      }
+    }
+  }
+
+  private static int[] sizes() {
+    String raw = System.getProperty("meer.perf.geo.sizes", "10000,100000,1000000");
+    return Arrays.stream(raw.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+  }
+
+  /** Grows the table to {@code to} stores spread over greater São Paulo. */
+  private static void seed(Connection conn, int from, int to) throws Exception {
+    try (PreparedStatement ps =
+        conn.prepareStatement(
+            """
+            INSERT INTO thrift_store (id, name, address_line, latitude, longitude, created_at, updated_at)
+            SELECT gen_random_uuid(), 'Store ' || g, 'Road ' || g,
+                   -24.0 + random() * 1.2, -47.2 + random() * 1.4, now(), now()
+            FROM generate_series(?, ?) g
+            """)) {
+      ps.setInt(1, from + 1);
+      ps.setInt(2, to);
+      ps.executeUpdate();
+    }
+    try (Statement st = conn.createStatement()) {
+      st.execute("ANALYZE thrift_store");
+    }
+  }
+
+  private static StoreGeoIndex buildIndex(Connection conn) throws Exception {
+    List<ThriftStoreRepository.StoreCoordinateView> rows = new ArrayList<>();
+    try (Statement st = conn.createStatement();
+        ResultSet rs = st.executeQuery("SELECT id, latitude, longitude FROM thrift_store")) {
+      while (rs.next()) {
+        rows.add(new Coordinate(rs.getObject(1, UUID.class), rs.getDouble(2), rs.getDouble(3)));
+      }
+    }
+    ThriftStoreRepository repository = Mockito.mock(ThriftStoreRepository.class);
+    Mockito.when(repository.findAllCoordinates()).thenReturn(rows);
+    StoreGeoIndex index = new StoreGeoIndex(repository, true);
+    index.rebuild();
+    return index;
+  }
+
+  private static double timeSql(Connection conn, String sql, boolean haversine) throws Exception {
+    try (PreparedStatement ps = conn.prepareStatement(sql)) {
+      long total = 0;
+      for (int i = 0; i < QUERIES; i++) {
+        double lat = -23.55 + (i % 10) * 0.01;
+        double lng = -46.63 + (i % 7) * 0.01;
+        if (haversine) {
+          ps.setDouble(1, lat);
+          ps.setDouble(2, lng);
+          ps.setDouble(3, lat);
+          ps.setInt(4, PAGE_SIZE);
+        } else {
+          ps.setDouble(1, lng);
+          ps.setDouble(2, lat);
+          ps.setInt(3, PAGE_SIZE);
+        }
+        long start = System.nanoTime();
+        try (ResultSet rs = ps.executeQuery()) {
+          while (rs.next()) {
+            rs.getObject(1);
+          }
+        }
+        total += System.nanoTime() - start;
+      }
+      return total / 1_000_000.0 / QUERIES;
+    }
+  }
+
+  private static double timeIndex(StoreGeoIndex index) {
+    // warm up the JIT so the figure reflects steady-state request latency
+    for (int i = 0; i < 200; i++) {
+      index.nearest(-23.55, -46.63, 0, PAGE_SIZE);
+    }
+    long total = 0;
+    for (int i = 0; i < QUERIES; i++) {
+      double lat = -23.55 + (i % 10) * 0.01;
+      double lng = -46.63 + (i % 7) * 0.01;
+      long start = System.nanoTime();
+      index.nearest(lat, lng, 0, PAGE_SIZE);
+      total += System.nanoTime() - start;
+    }
+    return total / 1_000_000.0 / QUERIES;
+  }
+
+  private record Coordinate(UUID id, Double latitude, Double longitude)
+      implements ThriftStoreRepository.StoreCoordinateView {
+    @Override
+    public UUID getId() {
+      return id;
+    }
+
+    @Override
+    public Double getLatitude() {
+      return latitude;
+    }
+
+    @Override
+    public Double getLongitude() {
+      return longitude;
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package com.edufelip.meer.perf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Compares the legacy LIKE ranking with the V10 full-text search on a seeded catalog. Size can be
+ * overridden with {@code -Dmeer.perf.search.size=200000}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@Tag("perf")
+class StoreSearchBenchmarkTest {
+
+  private static final int PAGE_SIZE = 20;
+  private static final List<String> TERMS = List.of("brecho", "vintage", "centro", "moda", "pin");
+
+  private static final String LIKE_SQL =
+      """
+      SELECT ts.id FROM thrift_store ts
+      WHERE lower(ts.name) LIKE concat('%', lower(?), '%')
+         OR lower(ts.tagline) LIKE concat('%', lower(?), '%')
+         OR lower(ts.description) LIKE concat('%', lower(?), '%')
+         OR lower(ts.neighborhood) LIKE concat('%', lower(?), '%')
+      ORDER BY
+          CASE
+              WHEN lower(ts.name) = lower(?) THEN 0
+              WHEN lower(ts.name) LIKE concat(lower(?), '%') THEN 1
+              WHEN lower(ts.name) LIKE concat('%', lower(?), '%') THEN 2
+              WHEN lower(ts.tagline) LIKE concat('%', lower(?), '%') THEN 3
+              WHEN lower(ts.description) LIKE concat('%', lower(?), '%') THEN 4
+              ELSE 5
+          END,
+          ts.created_at DESC
+      LIMIT ?
+      """;
+
+  private static final String FULL_TEXT_SQL =
+      """
+      SELECT ts.id FROM thrift_store ts
+      WHERE ts.search_vector @@ to_tsquery('portuguese', meer_unaccent(?))
+         OR meer_unaccent(lower(ts.name)) LIKE concat('%', meer_unaccent(lower(?)), '%')
+      ORDER BY ts_rank(ts.search_vector, to_tsquery('portuguese', meer_unaccent(?)))
+               + similarity(meer_unaccent(lower(ts.name)), meer_unaccent(lower(?))) DESC,
+               ts.created_at DESC,
+               ts.id DESC
+      LIMIT ?
+      """;
+
+  @Container
+  static final PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgis/postgis:15-3.4-alpine");
+
+  @Test
+  void fullTextBeatsLikeScan() throws Exception {
+    Flyway.configure()
+        .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+        .locations("classpath:db/migration")
+        .load()
+        .migrate();
+
+    int size = Integer.getInteger("meer.perf.search.size", 100_000);
+    try (Connection conn =
+        DriverManager.getConnection(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+      seed(conn, size);
+
+      double likeMs =
+          time(
+              conn,
+              LIKE_SQL,
+              (ps, term) -> {
+                for (int i = 1; i <= 9; i++) {
+                  ps.setString(i, term);
+                }
+                ps.setInt(10, PAGE_SIZE);
+              });
+      double fullTextMs =
+          time(
+              conn,
+              FULL_TEXT_SQL,
+              (ps, term) -> {
+                ps.setString(1, term + ":*");
+                ps.setString(2, term);
+                ps.setString(3, term + ":*");
+                ps.setString(4, term);
+                ps.setInt(5, PAGE_SIZE);
+              });
+
+      System.out.printf(
+          "store search stores=%d like=%.2fms fullText=%.2fms%n", size, likeMs, fullTextMs);
+      assertThat(fullTextMs).isLessThan(likeMs);
+    }
+  }
+
+  private static void seed(Connection conn, int size) throws Exception {
+    try (PreparedStatement ps =
+        conn.prepareStatement(
+            """
+            INSERT INTO thrift_store (id, name, address_line, tagline, description, neighborhood,
+                                      created_at, updated_at)
+            SELECT gen_random_uuid(),
+                   (ARRAY['Brechó', 'Bazar', 'Garimpo', 'Achados', 'Vintage'])[1 + g % 5]
+                       || ' ' || md5(g::text),
+                   'Rua ' || g,
+                   (ARRAY['Moda circular', 'Peças únicas', 'Roupas usadas'])[1 + g % 3],
+                   'Loja ' || md5((g * 7)::text),
+                   (ARRAY['Centro', 'Pinheiros', 'Mooca', 'Lapa'])[1 + g % 4],
+                   now() - (g || ' minutes')::interval,
+                   now()
+            FROM generate_series(1, ?) g
+            """)) {
+      ps.setInt(1, size);
+      ps.executeUpdate();
+    }
+    try (Statement st = conn.createStatement()) {
+      st.execute("ANALYZE thrift_store");
+    }
+  }
+
+  private interface Binder {
+    void bind(PreparedStatement ps, String term) throws SQLException;
+  }
+
+  /** Average latency over a few rounds of all search terms. */
+  private static double time(Connection conn, String sql, Binder binder) throws Exception {
+    try (PreparedStatement ps = conn.prepareStatement(sql)) {
+      long total = 0;
+      int runs = 0;
+      for (int round = 0; round < 5; round++) {
+        for (String term : TERMS) {
+          binder.bind(ps, term);
+          long start = System.nanoTime();
+          try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+              rs.getObject(1);
+            }
+          }
+          total += System.nanoTime() - start;
+          runs++;
+        }
+      }
+      return total / 1_000_000.0 / runs;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.edufelip.meer.perf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+/**
+ * Compares Tomcat's default 200-thread worker pool with virtual-thread workers when every request
+ * waits on a slow downstream (a sleep standing in for GCS, FCM or SMTP). Platform workers cap
+ * throughput at {@code threads / latency}; virtual workers are only bounded by the offered load.
+ * Needs Java 21: {@code ./gradlew perfTest -PjavaVersion=21}. Load can be overridden with {@code
+ * -Dmeer.perf.vt.requests} and {@code -Dmeer.perf.vt.latency-ms}.
+ */
+@Tag("perf")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadThroughputBenchmarkTest {
+
+  private static final int PLATFORM_THREADS = 200;
+  private static final int REQUESTS = Integer.getInteger("meer.perf.vt.requests", 4000);
+  private static final long LATENCY_MS = Long.getLong("meer.perf.vt.latency-ms", 100);
+
+  @Test
+  void virtualThreadsKeepServingWhileDownstreamIsSlow() throws Exception {
+    double platform = throughput(false);
+    double virtual = throughput(true);
+
+    System.out.printf(
+        "slow downstream latency=%dms requests=%d platform=%.0f req/s virtual=%.0f req/s%n",
+        LATENCY_MS, REQUESTS, platform, virtual);
+    assertThat(platform).isLessThan(PLATFORM_THREADS * 1000.0 / LATENCY_MS * 1.1);
+    assertThat(virtual).isGreaterThan(platform * 2);
+  }
+
+  private static double throughput(boolean virtualThreads) throws Exception {
+    Tomcat tomcat = new Tomcat();
+    tomcat.setBaseDir(Files.createTempDirectory("tomcat-vt").toString());
+    tomcat.setPort(0);
+    Connector connector = tomcat.getConnector();
+    connector.setProperty("maxThreads", String.valueOf(PLATFORM_THREADS));
+    connector.setProperty("acceptCount", String.valueOf(REQUESTS));
+    if (virtualThreads) {
+      connector.getProtocolHandler().setExecutor(new VirtualThreadExecutor("bench-vt-"));
+    }
+    Context context = tomcat.addContext("", null);
+    Tomcat.addServlet(context, "slow", new SlowDownstreamServlet());
+    context.addServletMappingDecoded("/slow", "slow");
+    tomcat.start();
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    try {
+      URI uri = URI.create("http://localhost:" + connector.getLocalPort() + "/slow");
+      HttpRequest request = HttpRequest.newBuilder(uri).build();
+      client.send(request, HttpResponse.BodyHandlers.discarding());
+      long start = System.nanoTime();
+      List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+      for (int i = 0; i < REQUESTS; i++) {
+        responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+      }
+      for (CompletableFuture<HttpResponse<Void>> response : responses) {
+        assertThat(response.join().statusCode()).isEqualTo(200);
+      }
+      return REQUESTS / ((System.nanoTime() - start) / 1_000_000_000d);
+    } finally {
+      tomcat.stop();
+      tomcat.destroy();
+    }
+  }
+
+  private static final class SlowDownstreamServlet extends HttpServlet {
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+      try {
+        Thread.sleep(LATENCY_MS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      response.getWriter().write("ok");
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.edufelip.meer.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.domain.repo.AuthUserRepository;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class PrincipalCacheTest {
+
+  @Test
+  void disabledCacheAlwaysLoadsTheUser() {
+    AuthUserRepository repository = mock(AuthUserRepository.class);
+    AuthUser user = user();
+    when(repository.findById(user.getId())).thenReturn(Optional.of(user));
+    PrincipalCache cache = new PrincipalCache(repository, false, Duration.ofMinutes(1), 100);
+
+    cache.findUser(user.getId());
+    cache.findUser(user.getId());
+
+    verify(repository, times(2)).findById(user.getId());
+    verify(repository, never()).getReferenceById(user.getId());
+  }
+
+  @Test
+  void cachedUserIsResolvedWithoutQuery() {
+    AuthUserRepository repository = mock(AuthUserRepository.class);
+    AuthUser user = user();
+    AuthUser reference = user();
+    when(repository.findById(user.getId())).thenReturn(Optional.of(user));
+    when(repository.getReferenceById(user.getId())).thenReturn(reference);
+    PrincipalCache cache = new PrincipalCache(repository, true, Duration.ofMinutes(1), 100);
+
+    assertThat(cache.findUser(user.getId())).containsSame(user);
+    assertThat(cache.findUser(user.getId())).containsSame(reference);
+
+    verify(repository, times(1)).findById(user.getId());
+  }
+
+  @Test
+  void missingUsersAreNotCachedAndEvictionForcesReload() {
+    AuthUserRepository repository = mock(AuthUserRepository.class);
+    UUID missing = UUID.randomUUID();
+    AuthUser user = user();
+    when(repository.findById(missing)).thenReturn(Optional.empty());
+    when(repository.findById(user.getId())).thenReturn(Optional.of(user));
+    PrincipalCache cache = new PrincipalCache(repository, true, Duration.ofMinutes(1), 100);
+
+    assertThat(cache.findUser(missing)).isEmpty();
+    assertThat(cache.findUser(missing)).isEmpty();
+    verify(repository, times(2)).findById(missing);
+
+    cache.findUser(user.getId());
+    cache.evict(user.getId());
+    cache.findUser(user.getId());
+    verify(repository, times(2)).findById(user.getId());
+    verify(repository, never()).getReferenceById(user.getId());
+  }
+
+  private static AuthUser user() {
+    AuthUser user = new AuthUser();
+    user.setId(UUID.randomUUID());
+    return user;
+  }
+}
@@ -0,0 +1,79 @@
+package com.edufelip.meer.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.security.ratelimit.InMemoryRateLimiter;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitFilterTest {
+
+  private final RateLimitFilter filter =
+      new RateLimitFilter(
+          new InMemoryRateLimiter(Clock.systemUTC(), 1_000, Duration.ofMinutes(1)),
+          List.of(new RateLimitProperties.Route("/auth/login", 3, Duration.ofMinutes(1))));
+
+  @Test
+  void guardedRouteReturns429OnceLimitIsSpent() throws Exception {
+    AtomicInteger passed = new AtomicInteger();
+
+    int lastStatus = 0;
+    for (int i = 0; i < 4; i++) {
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      filter.doFilter(
+          request("POST", "/auth/login", "10.0.0.1"),
+          response,
+          (req, res) -> passed.incrementAndGet());
+      lastStatus = response.getStatus();
+    }
+
+    assertThat(passed.get()).isEqualTo(3);
+    assertThat(lastStatus).isEqualTo(429);
+  }
+
+  @Test
+  void clientsAreLimitedSeparately() throws Exception {
+    AtomicInteger passed = new AtomicInteger();
+    for (int i = 0; i < 3; i++) {
+      filter.doFilter(
+          request("POST", "/auth/login", "10.0.0.1"),
+          new MockHttpServletResponse(),
+          (req, res) -> passed.incrementAndGet());
+    }
+
+    filter.doFilter(
+        request("POST", "/auth/login", "10.0.0.2"),
+        new MockHttpServletResponse(),
+        (req, res) -> passed.incrementAndGet());
+
+    assertThat(passed.get()).isEqualTo(4);
+  }
+
+  @Test
+  void otherMethodsAndPathsAreNotLimited() throws Exception {
+    AtomicInteger passed = new AtomicInteger();
+    for (int i = 0; i < 10; i++) {
+      filter.doFilter(
+          request("GET", "/auth/login", "10.0.0.1"),
+          new MockHttpServletResponse(),
+          (req, res) -> passed.incrementAndGet());
+      filter.doFilter(
+          request("POST", "/stores", "10.0.0.1"),
+          new MockHttpServletResponse(),
+          (req, res) -> passed.incrementAndGet());
+    }
+
+    assertThat(passed.get()).isEqualTo(20);
+  }
+
+  private static MockHttpServletRequest request(String method, String path, String ip) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+    request.setRemoteAddr(ip);
+    return request;
+  }
+}
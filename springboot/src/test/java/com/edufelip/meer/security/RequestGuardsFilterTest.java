@@ -2,6 +2,8 @@ package com.edufelip.meer.security;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.edufelip.meer.core.auth.AuthUser;
@@ -14,6 +16,7 @@ import com.edufelip.meer.security.token.TokenProvider;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -58,6 +61,14 @@ class RequestGuardsFilterTest {
     contentsResponse = new MockHttpServletResponse();
     filter.doFilter(contentsRequest, contentsResponse, chain);
     assertThat(chainCalled.get()).isTrue();
+
+    chainCalled.set(false);
+    MockHttpServletRequest tileRequest =
+        new MockHttpServletRequest("GET", "/stores/map/tiles/9/189/288");
+    tileRequest.setServletPath("/stores/map/tiles/9/189/288");
+    tileRequest.addHeader(AppHeaderGuard.APP_HEADER, "com.edufelip.meer");
+    filter.doFilter(tileRequest, new MockHttpServletResponse(), chain);
+    assertThat(chainCalled.get()).isTrue();
   }
 
   @Test
@@ -262,6 +273,110 @@ class RequestGuardsFilterTest {
     assertThat(response.getStatus()).isEqualTo(200);
   }
 
+  @Test
+  void authenticatedRequestParsesTokenAndLoadsUserOnce() throws Exception {
+    SecurityProperties props = new SecurityProperties();
+    props.setRequireAppHeader(false);
+    props.setDisableAuth(false);
+
+    TokenProvider tokenProvider = mock(TokenProvider.class);
+    AuthUserRepository authUserRepository = mock(AuthUserRepository.class);
+    AuthUser admin = new AuthUser();
+    admin.setId(UUID.randomUUID());
+    admin.setRole(Role.ADMIN);
+    when(tokenProvider.parseAccessToken("token"))
+        .thenReturn(new TokenPayload(admin.getId(), "admin@example.com", "Admin", Role.ADMIN));
+    when(authUserRepository.findById(admin.getId())).thenReturn(Optional.of(admin));
+
+    PrincipalCache principalCache = principalCache(authUserRepository);
+    RequestGuardsFilter guards = new RequestGuardsFilter(props, tokenProvider, principalCache);
+    DashboardAdminGuardFilter dashboardGuard =
+        new DashboardAdminGuardFilter(tokenProvider, principalCache);
+    AtomicBoolean chainCalled = new AtomicBoolean(false);
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/dashboard/stores");
+    request.setServletPath("/dashboard/stores");
+    request.addHeader(FirebaseAuthGuard.AUTH_HEADER, "Bearer token");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    guards.doFilter(
+        request,
+        response,
+        (req, res) -> dashboardGuard.doFilter(req, res, (r, s) -> chainCalled.set(true)));
+
+    assertThat(chainCalled.get()).isTrue();
+    assertThat(AuthContext.get(request, "token").map(AuthContext.Authentication::user))
+        .containsSame(admin);
+    assertThat(request.getAttribute("adminUser")).isSameAs(admin);
+    verify(tokenProvider, times(1)).parseAccessToken("token");
+    verify(authUserRepository, times(1)).findById(admin.getId());
+  }
+
+  @Test
+  void adminRoleIsReadFromTheRowNotTheCache() throws Exception {
+    TokenProvider tokenProvider = mock(TokenProvider.class);
+    AuthUserRepository authUserRepository = mock(AuthUserRepository.class);
+    AuthUser admin = new AuthUser();
+    admin.setId(UUID.randomUUID());
+    admin.setRole(Role.ADMIN);
+    AuthUser demoted = new AuthUser();
+    demoted.setId(admin.getId());
+    demoted.setRole(Role.USER);
+    when(tokenProvider.parseAccessToken("admin"))
+        .thenReturn(new TokenPayload(admin.getId(), "admin@example.com", "Admin", Role.ADMIN));
+    when(authUserRepository.findById(admin.getId())).thenReturn(Optional.of(admin));
+    when(authUserRepository.getReferenceById(admin.getId())).thenReturn(demoted);
+    DashboardAdminGuardFilter adminGuard =
+        new DashboardAdminGuardFilter(
+            tokenProvider,
+            new PrincipalCache(authUserRepository, true, Duration.ofMinutes(1), 100));
+
+    assertThat(actuatorStatus(adminGuard, "GET", "/actuator/metrics", "admin")).isEqualTo(200);
+    // demoted on another node: this node's cache still knows the user, but not its role
+    assertThat(actuatorStatus(adminGuard, "GET", "/actuator/metrics", "admin")).isEqualTo(403);
+  }
+
+  @Test
+  void actuatorEndpointsOtherThanProbesRequireAdmin() throws Exception {
+    TokenProvider tokenProvider = mock(TokenProvider.class);
+    AuthUserRepository authUserRepository = mock(AuthUserRepository.class);
+    AuthUser user = new AuthUser();
+    user.setId(UUID.randomUUID());
+    AuthUser admin = new AuthUser();
+    admin.setId(UUID.randomUUID());
+    admin.setRole(Role.ADMIN);
+    when(tokenProvider.parseAccessToken("user"))
+        .thenReturn(new TokenPayload(user.getId(), "user@example.com", "User", Role.USER));
+    when(tokenProvider.parseAccessToken("admin"))
+        .thenReturn(new TokenPayload(admin.getId(), "admin@example.com", "Admin", Role.ADMIN));
+    when(authUserRepository.findById(user.getId())).thenReturn(Optional.of(user));
+    when(authUserRepository.findById(admin.getId())).thenReturn(Optional.of(admin));
+    DashboardAdminGuardFilter adminGuard =
+        new DashboardAdminGuardFilter(tokenProvider, principalCache(authUserRepository));
+
+    assertThat(actuatorStatus(adminGuard, "GET", "/actuator/health/readiness", null))
+        .isEqualTo(200);
+    assertThat(actuatorStatus(adminGuard, "GET", "/actuator/info", null)).isEqualTo(200);
+    assertThat(actuatorStatus(adminGuard, "GET", "/actuator/metrics", null)).isEqualTo(401);
+    assertThat(actuatorStatus(adminGuard, "DELETE", "/actuator/caches", "user")).isEqualTo(403);
+    assertThat(actuatorStatus(adminGuard, "GET", "/actuator", "user")).isEqualTo(403);
+    assertThat(actuatorStatus(adminGuard, "GET", "/actuator/prometheus", "admin"))
+        .isEqualTo(200);
+  }
+
+  private static int actuatorStatus(
+      DashboardAdminGuardFilter adminGuard, String method, String path, String token)
+      throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+    request.setServletPath(path);
+    if (token != null) request.addHeader(FirebaseAuthGuard.AUTH_HEADER, "Bearer " + token);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    AtomicBoolean chainCalled = new AtomicBoolean(false);
+    adminGuard.doFilter(request, response, (req, res) -> chainCalled.set(true));
+    assertThat(chainCalled.get()).isEqualTo(response.getStatus() == 200);
+    return response.getStatus();
+  }
+
   private RequestGuardsFilter buildFilter(SecurityProperties props) {
     TokenProvider tokenProvider = mock(TokenProvider.class);
     AuthUserRepository authUserRepository = mock(AuthUserRepository.class);
@@ -273,6 +388,10 @@ class RequestGuardsFilterTest {
     user.setId(userId);
     user.setRole(Role.USER);
     when(authUserRepository.findById(userId)).thenReturn(Optional.of(user));
-    return new RequestGuardsFilter(props, tokenProvider, authUserRepository);
+    return new RequestGuardsFilter(props, tokenProvider, principalCache(authUserRepository));
+  }
+
+  private PrincipalCache principalCache(AuthUserRepository authUserRepository) {
+    return new PrincipalCache(authUserRepository, false, Duration.ofMinutes(1), 100);
   }
 }
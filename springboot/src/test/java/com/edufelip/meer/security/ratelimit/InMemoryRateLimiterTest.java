@@ -0,0 +1,112 @@
+package com.edufelip.meer.security.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class InMemoryRateLimiterTest {
+
+  private static final RateLimitRule TEN_PER_MINUTE = new RateLimitRule(10, Duration.ofMinutes(1));
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+  @Test
+  void allowsBurstThenRefillsOneTokenPerInterval() {
+    InMemoryRateLimiter limiter = new InMemoryRateLimiter(clock, 1_000, Duration.ofMinutes(1));
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(limiter.tryAcquire("login|1.2.3.4", TEN_PER_MINUTE)).isTrue();
+    }
+    assertThat(limiter.tryAcquire("login|1.2.3.4", TEN_PER_MINUTE)).isFalse();
+
+    clock.advance(Duration.ofSeconds(5));
+    assertThat(limiter.tryAcquire("login|1.2.3.4", TEN_PER_MINUTE)).isFalse();
+    clock.advance(Duration.ofSeconds(1));
+    assertThat(limiter.tryAcquire("login|1.2.3.4", TEN_PER_MINUTE)).isTrue();
+    assertThat(limiter.tryAcquire("login|1.2.3.4", TEN_PER_MINUTE)).isFalse();
+  }
+
+  @Test
+  void refusedRequestsDoNotDrainTheBucket() {
+    InMemoryRateLimiter limiter = new InMemoryRateLimiter(clock, 1_000, Duration.ofMinutes(1));
+    for (int i = 0; i < 50; i++) limiter.tryAcquire("k", TEN_PER_MINUTE);
+
+    clock.advance(Duration.ofMinutes(1));
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(limiter.tryAcquire("k", TEN_PER_MINUTE)).isTrue();
+    }
+  }
+
+  @Test
+  void keysAreIndependent() {
+    InMemoryRateLimiter limiter = new InMemoryRateLimiter(clock, 1_000, Duration.ofMinutes(1));
+    RateLimitRule once = new RateLimitRule(1, Duration.ofHours(1));
+
+    assertThat(limiter.tryAcquire("a", once)).isTrue();
+    assertThat(limiter.tryAcquire("a", once)).isFalse();
+    assertThat(limiter.tryAcquire("b", once)).isTrue();
+  }
+
+  @Test
+  void admitsExactlyTheLimitUnderContention() throws Exception {
+    InMemoryRateLimiter limiter = new InMemoryRateLimiter(clock, 1_000, Duration.ofMinutes(1));
+    RateLimitRule rule = new RateLimitRule(100, Duration.ofHours(1));
+    AtomicInteger admitted = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    for (int i = 0; i < 1_000; i++) {
+      pool.execute(
+          () -> {
+            if (limiter.tryAcquire("hot", rule)) admitted.incrementAndGet();
+          });
+    }
+    pool.shutdown();
+    assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(admitted.get()).isEqualTo(100);
+  }
+
+  @Test
+  void bucketCountStaysBounded() {
+    InMemoryRateLimiter limiter = new InMemoryRateLimiter(clock, 100, Duration.ofMinutes(1));
+
+    for (int i = 0; i < 10_000; i++) limiter.tryAcquire("ip-" + i, TEN_PER_MINUTE);
+
+    assertThat(limiter.size()).isLessThanOrEqualTo(100);
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    @Override
+    public java.time.ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(java.time.ZoneId zone) {
+      return this;
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.edufelip.meer.security.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@Tag("slow")
+class JdbcRateLimiterTest {
+
+  @Container
+  static final PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgis/postgis:15-3.4-alpine");
+
+  private static NamedParameterJdbcTemplate jdbc;
+
+  @BeforeAll
+  static void migrate() {
+    Flyway.configure()
+        .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+        .locations("classpath:db/migration")
+        .baselineOnMigrate(true)
+        .load()
+        .migrate();
+    jdbc =
+        new NamedParameterJdbcTemplate(
+            new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+  }
+
+  @Test
+  void limitIsSharedAcrossInstances() {
+    Clock clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+    RateLimiter first = new JdbcRateLimiter(jdbc, clock);
+    RateLimiter second = new JdbcRateLimiter(jdbc, clock);
+    RateLimitRule rule = new RateLimitRule(4, Duration.ofMinutes(1));
+
+    assertThat(first.tryAcquire("shared", rule)).isTrue();
+    assertThat(second.tryAcquire("shared", rule)).isTrue();
+    assertThat(first.tryAcquire("shared", rule)).isTrue();
+    assertThat(second.tryAcquire("shared", rule)).isTrue();
+    assertThat(first.tryAcquire("shared", rule)).isFalse();
+    assertThat(second.tryAcquire("shared", rule)).isFalse();
+    assertThat(first.tryAcquire("other", rule)).isTrue();
+  }
+
+  @Test
+  void refillsAndPurgesIdleBuckets() {
+    RateLimitRule rule = new RateLimitRule(2, Duration.ofMinutes(1));
+    Instant start = Instant.parse("2026-02-01T00:00:00Z");
+    JdbcRateLimiter limiter = new JdbcRateLimiter(jdbc, Clock.fixed(start, ZoneOffset.UTC));
+    assertThat(limiter.tryAcquire("refill", rule)).isTrue();
+    assertThat(limiter.tryAcquire("refill", rule)).isTrue();
+    assertThat(limiter.tryAcquire("refill", rule)).isFalse();
+
+    JdbcRateLimiter later =
+        new JdbcRateLimiter(jdbc, Clock.fixed(start.plusSeconds(30), ZoneOffset.UTC));
+    assertThat(later.tryAcquire("refill", rule)).isTrue();
+    assertThat(later.tryAcquire("refill", rule)).isFalse();
+
+    JdbcRateLimiter idle =
+        new JdbcRateLimiter(jdbc, Clock.fixed(start.plus(Duration.ofHours(1)), ZoneOffset.UTC));
+    assertThat(idle.purgeIdle()).isGreaterThanOrEqualTo(1);
+    Integer remaining =
+        jdbc.getJdbcTemplate()
+            .queryForObject(
+                "select count(*) from rate_limit_bucket where bucket_key = 'refill'",
+                Integer.class);
+    assertThat(remaining).isZero();
+  }
+}
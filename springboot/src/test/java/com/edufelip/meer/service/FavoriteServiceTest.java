@@ -0,0 +1,43 @@
+package com.edufelip.meer.service;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.edufelip.meer.domain.repo.AuthUserRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class FavoriteServiceTest {
+
+  private final AuthUserRepository authUserRepository = mock(AuthUserRepository.class);
+  private final FavoriteService favoriteService = new FavoriteService(authUserRepository);
+
+  @Test
+  void concurrentDuplicateInsertIsTreatedAsAdded() {
+    UUID userId = UUID.randomUUID();
+    UUID storeId = UUID.randomUUID();
+    when(authUserRepository.addFavorite(userId, storeId))
+        .thenThrow(new DataIntegrityViolationException("duplicate key"));
+    when(authUserRepository.findFavoriteStoreIdsIn(userId, List.of(storeId)))
+        .thenReturn(List.of(storeId));
+
+    assertThatCode(() -> favoriteService.add(userId, storeId)).doesNotThrowAnyException();
+  }
+
+  @Test
+  void otherIntegrityViolationsPropagate() {
+    UUID userId = UUID.randomUUID();
+    UUID storeId = UUID.randomUUID();
+    when(authUserRepository.addFavorite(userId, storeId))
+        .thenThrow(new DataIntegrityViolationException("foreign key"));
+    when(authUserRepository.findFavoriteStoreIdsIn(userId, List.of(storeId)))
+        .thenReturn(List.of());
+
+    assertThatThrownBy(() -> favoriteService.add(userId, storeId))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+}
@@ -0,0 +1,185 @@
+package com.edufelip.meer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.core.content.GuideContent;
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.GetGuideContentUseCase;
+import com.edufelip.meer.domain.GetThriftStoresUseCase;
+import com.edufelip.meer.dto.HomeResponse;
+import com.edufelip.meer.support.TestFixtures;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+class HomeFeedServiceTest {
+
+  private final GetThriftStoresUseCase storesUseCase = Mockito.mock(GetThriftStoresUseCase.class);
+  private final GetGuideContentUseCase guidesUseCase = Mockito.mock(GetGuideContentUseCase.class);
+  private final StoreFeedbackService feedbackService = Mockito.mock(StoreFeedbackService.class);
+  private final GuideContentEngagementService engagementService =
+      Mockito.mock(GuideContentEngagementService.class);
+  private final FavoriteService favoriteService = Mockito.mock(FavoriteService.class);
+  private final PlatformTransactionManager transactionManager =
+      Mockito.mock(PlatformTransactionManager.class);
+  private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void assemblesAllSectionsUsingStoredCounters() {
+    AuthUser user = TestFixtures.user("home@example.com", "Home");
+    ThriftStore featured = TestFixtures.store("Featured");
+    ThriftStore near = TestFixtures.store("Near");
+    GuideContent guide = guide(7);
+    when(storesUseCase.executeRecentTop10()).thenReturn(List.of(featured));
+    when(storesUseCase.executeNearbyAfter(anyDouble(), anyDouble(), anyDouble(), any(), anyInt()))
+        .thenReturn(List.of(new GetThriftStoresUseCase.NearbyStore(near, 120.0)));
+    when(feedbackService.summariesOf(List.of(near)))
+        .thenReturn(Map.of(near.getId(), new StoreFeedbackService.Summary(4.5, 2L)));
+    when(favoriteService.favoriteIdsAmong(user, List.of(near.getId())))
+        .thenReturn(Set.of(near.getId()));
+    when(guidesUseCase.executeRecentTop10()).thenReturn(List.of(guide));
+    when(engagementService.getEngagement(List.of(7), user.getId()))
+        .thenReturn(Map.of(7, new GuideContentEngagementService.EngagementSummary(3L, 1L, true)));
+
+    HomeResponse response = service(Duration.ofSeconds(5)).load(user, -23.5, -46.6);
+
+    assertThat(response.featured()).extracting(f -> f.id()).containsExactly(featured.getId());
+    assertThat(response.nearby())
+        .singleElement()
+        .satisfies(
+            n -> {
+              assertThat(n.isFavorite()).isTrue();
+              assertThat(n.rating()).isEqualTo(4.5);
+              assertThat(n.reviewCount()).isEqualTo(2);
+            });
+    assertThat(response.content())
+        .singleElement()
+        .satisfies(
+            c -> {
+              assertThat(c.likeCount()).isEqualTo(3L);
+              assertThat(c.commentCount()).isEqualTo(1L);
+              assertThat(c.likedByMe()).isTrue();
+            });
+  }
+
+  @Test
+  void slowOrFailingSectionsDegradeToEmpty() {
+    when(storesUseCase.executeRecentTop10())
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(2_000);
+              return List.of(TestFixtures.store("Too late"));
+            });
+    when(storesUseCase.executeNearbyAfter(anyDouble(), anyDouble(), anyDouble(), any(), anyInt()))
+        .thenThrow(new IllegalStateException("db down"));
+    when(guidesUseCase.executeRecentTop10()).thenReturn(List.of(guide(1)));
+    when(engagementService.getEngagement(anyList(), any())).thenReturn(Map.of());
+
+    long start = System.nanoTime();
+    HomeResponse response = service(Duration.ofMillis(200)).load(null, 0, 0);
+    long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+    assertThat(response.featured()).isEmpty();
+    assertThat(response.nearby()).isEmpty();
+    assertThat(response.content()).hasSize(1);
+    assertThat(elapsedMs).isLessThan(1_500);
+  }
+
+  @Test
+  void overrunningSectionsAreCancelledAndCarryAStatementTimeout() throws Exception {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    when(storesUseCase.executeRecentTop10())
+        .thenAnswer(
+            invocation -> {
+              try {
+                Thread.sleep(5_000);
+              } catch (InterruptedException ex) {
+                interrupted.countDown();
+              }
+              return List.of();
+            });
+    when(guidesUseCase.executeRecentTop10()).thenReturn(List.of());
+
+    service(Duration.ofMillis(200)).load(null, 0, 0);
+
+    assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    ArgumentCaptor<TransactionDefinition> definitions =
+        ArgumentCaptor.forClass(TransactionDefinition.class);
+    verify(transactionManager, Mockito.times(3)).getTransaction(definitions.capture());
+    assertThat(definitions.getAllValues())
+        .allSatisfy(
+            definition -> {
+              assertThat(definition.isReadOnly()).isTrue();
+              assertThat(definition.getTimeout()).isEqualTo(1);
+            });
+  }
+
+  @Test
+  void saturatedPoolReturnsEmptySectionsWithoutRunningThemOnTheCaller() {
+    AsyncTaskExecutor saturated =
+        new TaskExecutorAdapter(
+            task -> {
+              throw new RejectedExecutionException("queue full");
+            });
+
+    HomeResponse response = service(Duration.ofSeconds(5), saturated).load(null, 0, 0);
+
+    assertThat(response.featured()).isEmpty();
+    assertThat(response.nearby()).isEmpty();
+    assertThat(response.content()).isEmpty();
+    verify(storesUseCase, never()).executeRecentTop10();
+    verify(guidesUseCase, never()).executeRecentTop10();
+  }
+
+  private HomeFeedService service(Duration budget) {
+    return service(budget, new TaskExecutorAdapter(executor));
+  }
+
+  private HomeFeedService service(Duration budget, AsyncTaskExecutor taskExecutor) {
+    return new HomeFeedService(
+        storesUseCase,
+        guidesUseCase,
+        feedbackService,
+        engagementService,
+        favoriteService,
+        transactionManager,
+        taskExecutor,
+        budget,
+        budget,
+        budget);
+  }
+
+  private static GuideContent guide(int id) {
+    GuideContent content = new GuideContent();
+    content.setId(id);
+    content.setTitle("Guide " + id);
+    return content;
+  }
+}
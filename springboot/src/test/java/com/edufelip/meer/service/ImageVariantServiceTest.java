@@ -0,0 +1,158 @@
+package com.edufelip.meer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.edufelip.meer.domain.port.ImageVariantPort;
+import com.edufelip.meer.domain.repo.AuthUserRepository;
+import com.edufelip.meer.domain.repo.GuideContentRepository;
+import com.edufelip.meer.domain.repo.ThriftStorePhotoRepository;
+import com.edufelip.meer.testutil.LocalPhotoStorageFake;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class ImageVariantServiceTest {
+
+  private static final String KEY = "stores/s1/photos/p1";
+  private static final String URL = "/uploads/" + KEY;
+
+  private LocalPhotoStorageFake storage;
+  private ThriftStorePhotoRepository photoRepository;
+  private AuthUserRepository authUserRepository;
+  private GuideContentRepository guideContentRepository;
+  private SimpleMeterRegistry meterRegistry;
+  private ImageVariantService service;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    storage = new LocalPhotoStorageFake(Files.createTempDirectory("variants"));
+    photoRepository = mock(ThriftStorePhotoRepository.class);
+    authUserRepository = mock(AuthUserRepository.class);
+    guideContentRepository = mock(GuideContentRepository.class);
+    meterRegistry = new SimpleMeterRegistry();
+    service = newService(1_000_000);
+  }
+
+  @Test
+  void storePhotoGetsThreeVariantsWithoutUpscaling() throws Exception {
+    storage.storeObject(KEY, "image/jpeg", jpeg(2000, 1000));
+    when(photoRepository.updateVariants(eq(URL), anyString(), anyString(), anyString()))
+        .thenReturn(1);
+
+    service.generate(ImageVariantPort.Target.STORE_PHOTO, URL, KEY);
+
+    ArgumentCaptor<String> thumb = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<String> card = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<String> full = ArgumentCaptor.forClass(String.class);
+    verify(photoRepository)
+        .updateVariants(eq(URL), thumb.capture(), card.capture(), full.capture());
+    assertThat(width(thumb.getValue())).isEqualTo(240);
+    assertThat(width(card.getValue())).isEqualTo(720);
+    assertThat(width(full.getValue())).isEqualTo(1600);
+    assertThat(thumb.getValue()).startsWith(URL + "-thumb.");
+    assertThat(outcomeCount("generated")).isEqualTo(1);
+  }
+
+  @Test
+  void smallImagesKeepTheirSize() throws Exception {
+    storage.storeObject(KEY, "image/jpeg", jpeg(200, 100));
+    when(authUserRepository.updatePhotoThumb(eq(URL), anyString())).thenReturn(1);
+
+    service.generate(ImageVariantPort.Target.AVATAR, URL, KEY);
+
+    ArgumentCaptor<String> thumb = ArgumentCaptor.forClass(String.class);
+    verify(authUserRepository).updatePhotoThumb(eq(URL), thumb.capture());
+    assertThat(width(thumb.getValue())).isEqualTo(200);
+  }
+
+  @Test
+  void variantsOfAReplacedImageAreDiscarded() throws Exception {
+    storage.storeObject(KEY, "image/jpeg", jpeg(800, 800));
+    when(guideContentRepository.updateImageVariants(eq(URL), any(), any())).thenReturn(0);
+
+    service.generate(ImageVariantPort.Target.GUIDE_IMAGE, URL, KEY);
+
+    ArgumentCaptor<String> thumb = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<String> card = ArgumentCaptor.forClass(String.class);
+    verify(guideContentRepository).updateImageVariants(eq(URL), thumb.capture(), card.capture());
+    assertThat(storage.contains(storage.fileKeyOf(thumb.getValue()))).isFalse();
+    assertThat(storage.contains(storage.fileKeyOf(card.getValue()))).isFalse();
+    assertThat(outcomeCount("stale")).isEqualTo(1);
+  }
+
+  @Test
+  void sourcesOverThePixelLimitAreSkipped() throws Exception {
+    storage.storeObject(KEY, "image/jpeg", jpeg(2000, 2000));
+
+    service.generate(ImageVariantPort.Target.STORE_PHOTO, URL, KEY);
+
+    verifyNoInteractions(photoRepository);
+    assertThat(outcomeCount("oversized")).isEqualTo(1);
+  }
+
+  @Test
+  void sourcesOverTheByteLimitAreSkippedBeforeDownload() throws Exception {
+    byte[] source = jpeg(400, 400);
+    storage.storeObject(KEY, "image/jpeg", source);
+    service = newService(source.length - 1);
+
+    service.generate(ImageVariantPort.Target.STORE_PHOTO, URL, KEY);
+
+    verifyNoInteractions(photoRepository);
+    assertThat(outcomeCount("oversized")).isEqualTo(1);
+  }
+
+  @Test
+  void undecodableSourceIsRecordedAsFailure() {
+    storage.storeObject(KEY, "image/jpeg", new byte[] {1, 2, 3});
+
+    service.generate(ImageVariantPort.Target.STORE_PHOTO, URL, KEY);
+
+    verifyNoInteractions(photoRepository);
+    assertThat(outcomeCount("failed")).isEqualTo(1);
+  }
+
+  private ImageVariantService newService(long maxBytes) {
+    return new ImageVariantService(
+        storage,
+        photoRepository,
+        authUserRepository,
+        guideContentRepository,
+        mock(ThreadPoolTaskExecutor.class),
+        meterRegistry,
+        true,
+        0.8f,
+        maxBytes,
+        3_000_000);
+  }
+
+  private long outcomeCount(String outcome) {
+    return meterRegistry.get("meer.images.variants").tag("outcome", outcome).timer().count();
+  }
+
+  private int width(String url) throws Exception {
+    byte[] bytes = storage.download(storage.fileKeyOf(url));
+    return ImageIO.read(new ByteArrayInputStream(bytes)).getWidth();
+  }
+
+  private static byte[] jpeg(int width, int height) throws Exception {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(image, "jpg", out);
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,156 @@
+package com.edufelip.meer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.edufelip.meer.core.auth.AuthUser;
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.core.store.ThriftStorePhoto;
+import com.edufelip.meer.domain.port.StorageCleanupPort;
+import com.edufelip.meer.domain.repo.AuthUserRepository;
+import com.edufelip.meer.domain.repo.ThriftStorePhotoRepository;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.support.TestFixtures;
+import com.edufelip.meer.testutil.LocalPhotoStorageFake;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class OrphanedUploadSweeperTest {
+
+  private static final Instant NOW = Instant.parse("2024-01-10T00:00:00Z");
+  private static final Instant OLD = NOW.minus(Duration.ofDays(3));
+  private static final Instant RECENT = NOW.minus(Duration.ofHours(1));
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private ThriftStoreRepository thriftStoreRepository;
+  @Autowired private ThriftStorePhotoRepository thriftStorePhotoRepository;
+  @Autowired private AuthUserRepository authUserRepository;
+
+  private LocalPhotoStorageFake storage;
+  private StorageCleanupPort storageCleanupPort;
+  private SimpleMeterRegistry meterRegistry;
+  private String photoKey;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    storage = new LocalPhotoStorageFake(Files.createTempDirectory("orphans"));
+    storageCleanupPort = mock(StorageCleanupPort.class);
+    meterRegistry = new SimpleMeterRegistry();
+
+    ThriftStore store = thriftStoreRepository.saveAndFlush(TestFixtures.store("Sweep"));
+    photoKey = "stores/%s/photos/attached".formatted(store.getId());
+    ThriftStorePhoto photo = new ThriftStorePhoto(store, storage.publicUrl(photoKey), 0);
+    photo.setThumbUrl(storage.publicUrl(photoKey + "-thumb.webp"));
+    thriftStorePhotoRepository.saveAndFlush(photo);
+    AuthUser user = TestFixtures.user("sweep@example.com", "Sweep");
+    user.setPhotoUrl(storage.publicUrl("avatars/u1-attached"));
+    authUserRepository.saveAndFlush(user);
+
+    storage.storeObject(photoKey, "image/jpeg", new byte[] {1}, OLD);
+    storage.storeObject(photoKey + "-thumb.webp", "image/webp", new byte[] {1}, OLD);
+    storage.storeObject(photoKey + "-card.webp", "image/webp", new byte[] {1}, OLD);
+    storage.storeObject("avatars/u1-attached", "image/jpeg", new byte[] {1}, OLD);
+    storage.storeObject("avatars/u1-abandoned", "image/jpeg", new byte[] {1}, OLD);
+    storage.storeObject("stores/s2/photos/abandoned", "image/jpeg", new byte[] {1}, OLD);
+    storage.storeObject("stores/s2/photos/in-flight", "image/jpeg", new byte[] {1}, RECENT);
+    storage.storeObject("stores/s2/photos/undated", "image/jpeg", new byte[] {1});
+  }
+
+  @Test
+  void queuesOnlyUnreferencedObjectsOlderThanTheGracePeriod() throws Exception {
+    OrphanedUploadSweeper.SweepResult result = sweeper(false, 100).sweep();
+
+    assertThat(result.scanned()).isEqualTo(8);
+    assertThat(result.orphaned()).isEqualTo(3);
+    verify(storageCleanupPort)
+        .deleteKeysLater(
+            List.of(
+                photoKey + "-card.webp", "stores/s2/photos/abandoned", "avatars/u1-abandoned"));
+    assertThat(orphans("queued")).isEqualTo(3);
+  }
+
+  @Test
+  void dryRunOnlyCountsOrphans() throws Exception {
+    OrphanedUploadSweeper.SweepResult result = sweeper(true, 100).sweep();
+
+    assertThat(result.orphaned()).isEqualTo(3);
+    verifyNoInteractions(storageCleanupPort);
+    assertThat(orphans("dry-run")).isEqualTo(3);
+  }
+
+  @Test
+  void stopsAtTheDeleteCap() throws Exception {
+    OrphanedUploadSweeper.SweepResult result = sweeper(false, 2).sweep();
+
+    assertThat(result.orphaned()).isEqualTo(2);
+    verify(storageCleanupPort)
+        .deleteKeysLater(List.of(photoKey + "-card.webp", "stores/s2/photos/abandoned"));
+  }
+
+  @Test
+  void urlsUnderAnotherHostStillProtectTheirObjects() throws Exception {
+    jdbcTemplate.update(
+        "UPDATE thrift_store_photo SET card_url = ? WHERE url = ?",
+        "https://storage.googleapis.com/old-bucket/" + photoKey + "-card.webp",
+        storage.publicUrl(photoKey));
+    jdbcTemplate.update(
+        "UPDATE auth_user SET photo_thumb_url = ? WHERE email = ?",
+        "https://old-cdn.example.com/avatars/u1-abandoned?v=2",
+        "sweep@example.com");
+
+    OrphanedUploadSweeper.SweepResult result = sweeper(false, 100).sweep();
+
+    assertThat(result.orphaned()).isEqualTo(1);
+    verify(storageCleanupPort).deleteKeysLater(List.of("stores/s2/photos/abandoned"));
+  }
+
+  @Test
+  void mapsUrlsByTheirUploadPrefix() {
+    OrphanedUploadSweeper sweeper = sweeper(false, 100);
+
+    assertThat(sweeper.keyOf("https://cdn.example.com/stores/s1/a%20b.jpg?x=1"))
+        .isEqualTo("stores/s1/a b.jpg");
+    assertThat(sweeper.keyOf("https://cdn.example.com/bucket/avatars/stores/u1"))
+        .isEqualTo("avatars/stores/u1");
+    assertThat(sweeper.keyOf("https://old-cdn.example.com/avatars/u1-a?v=2"))
+        .isEqualTo("avatars/u1-a");
+    assertThat(sweeper.keyOf("stores/s1/photo")).isEqualTo("stores/s1/photo");
+    assertThat(sweeper.keyOf("https://lh3.googleusercontent.com/a/photo")).isNull();
+    assertThat(sweeper.keyOf("not a url")).isNull();
+    assertThat(sweeper.keyOf(null)).isNull();
+  }
+
+  private OrphanedUploadSweeper sweeper(boolean dryRun, int maxDeletes) {
+    return new OrphanedUploadSweeper(
+        jdbcTemplate,
+        storage,
+        storageCleanupPort,
+        meterRegistry,
+        Clock.fixed(NOW, ZoneOffset.UTC),
+        Duration.ofHours(48),
+        dryRun,
+        maxDeletes,
+        1000);
+  }
+
+  private double orphans(String action) {
+    return meterRegistry.get("meer.storage.orphans").tag("action", action).counter().count();
+  }
+}
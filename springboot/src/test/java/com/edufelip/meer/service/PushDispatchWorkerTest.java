@@ -0,0 +1,285 @@
+package com.edufelip.meer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.edufelip.meer.core.push.PushAudience;
+import com.edufelip.meer.core.push.PushEnvironment;
+import com.edufelip.meer.core.push.PushJob;
+import com.edufelip.meer.core.push.PushToken;
+import com.edufelip.meer.domain.PushBatchResult;
+import com.edufelip.meer.domain.PushNotificationException;
+import com.edufelip.meer.domain.port.PushNotificationPort;
+import com.edufelip.meer.domain.repo.PushJobRepository;
+import com.edufelip.meer.domain.repo.PushTokenRepository;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class PushDispatchWorkerTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+  private static final UUID START = new UUID(0L, 0L);
+  private static final UUID OWNER = UUID.randomUUID();
+
+  private final PushJobRepository jobs = Mockito.mock(PushJobRepository.class);
+  private final PushTokenRepository tokens = Mockito.mock(PushTokenRepository.class);
+  private final ThriftStoreRepository stores = Mockito.mock(ThriftStoreRepository.class);
+  private final PushNotificationPort port = Mockito.mock(PushNotificationPort.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ThreadPoolTaskExecutor executor = Mockito.mock(ThreadPoolTaskExecutor.class);
+  private final PushDispatchWorker worker =
+      new PushDispatchWorker(
+          jobs,
+          tokens,
+          new PushSegmentReader(tokens, stores),
+          port,
+          meterRegistry,
+          executor,
+          Clock.fixed(NOW, ZoneOffset.UTC),
+          2,
+          Duration.ofMinutes(5),
+          3,
+          Duration.ofMillis(1),
+          3,
+          Duration.ofSeconds(30));
+
+  @Test
+  void processWalksBatchesRemovesInvalidTokensAndCompletes() throws Exception {
+    PushJob job = job(1);
+    PushToken first = token();
+    PushToken second = token();
+    PushToken third = token();
+    when(tokens.findUserBatch(
+            eq(job.getTargetUserId()), eq(PushEnvironment.DEV), eq(START), any(Pageable.class)))
+        .thenReturn(List.of(first, second));
+    when(tokens.findUserBatch(
+            eq(job.getTargetUserId()), eq(PushEnvironment.DEV), eq(second.getId()), any()))
+        .thenReturn(List.of(third));
+    when(port.sendToTokens(List.of(first, second), "Hello", "Body", job.getData()))
+        .thenReturn(new PushBatchResult(1, 0, List.of(second.getId()), List.of()));
+    when(port.sendToTokens(List.of(third), "Hello", "Body", job.getData()))
+        .thenReturn(new PushBatchResult(1, 0, List.of(), List.of()));
+
+    worker.process(job.getId(), OWNER);
+
+    verify(tokens).deleteAllByIdInBatch(List.of(second.getId()));
+    verify(jobs)
+        .recordProgress(
+            eq(job.getId()),
+            eq(OWNER),
+            any(),
+            eq(second.getId()),
+            eq(1),
+            eq(0),
+            eq(1),
+            eq(NOW),
+            any());
+    verify(jobs)
+        .recordProgress(
+            eq(job.getId()),
+            eq(OWNER),
+            any(),
+            eq(third.getId()),
+            eq(1),
+            eq(0),
+            eq(0),
+            eq(NOW),
+            any());
+    verify(jobs).complete(job.getId(), OWNER, NOW);
+    assertThat(
+            meterRegistry
+                .counter("meer.push.tokens", "audience", "USER", "outcome", "sent")
+                .count())
+        .isEqualTo(2.0);
+  }
+
+  @Test
+  void processRetriesTransientFailuresThenCountsThemFailed() throws Exception {
+    PushJob job = job(1);
+    PushToken token = token();
+    when(tokens.findUserBatch(any(), any(), eq(START), any())).thenReturn(List.of(token));
+    when(port.sendToTokens(eq(List.of(token)), anyString(), anyString(), anyMap()))
+        .thenReturn(new PushBatchResult(0, 0, List.of(), List.of(token)));
+
+    worker.process(job.getId(), OWNER);
+
+    verify(port, Mockito.times(3)).sendToTokens(eq(List.of(token)), any(), any(), any());
+    verify(jobs)
+        .recordProgress(
+            eq(job.getId()),
+            eq(OWNER),
+            any(),
+            eq(token.getId()),
+            eq(0),
+            eq(1),
+            eq(0),
+            eq(NOW),
+            any());
+    verify(jobs).complete(job.getId(), OWNER, NOW);
+  }
+
+  @Test
+  void processReschedulesWithBackoffWhenSendsKeepFailing() throws Exception {
+    PushJob job = job(2);
+    when(tokens.findUserBatch(any(), any(), any(), any())).thenReturn(List.of(token()));
+    when(port.sendToTokens(any(), any(), any(), any()))
+        .thenThrow(new PushNotificationException("unavailable"));
+
+    worker.process(job.getId(), OWNER);
+
+    verify(jobs).reschedule(job.getId(), OWNER, NOW.plusSeconds(60), "unavailable");
+    verify(jobs, never()).complete(any(), any(), any());
+    verify(jobs, never())
+        .recordProgress(
+            any(), any(), any(), any(), anyInt(), anyInt(), anyInt(), any(), any());
+  }
+
+  @Test
+  void processFailsJobAfterMaxAttempts() throws Exception {
+    PushJob job = job(3);
+    when(tokens.findUserBatch(any(), any(), any(), any())).thenReturn(List.of(token()));
+    when(port.sendToTokens(any(), any(), any(), any()))
+        .thenThrow(new PushNotificationException("unavailable"));
+
+    worker.process(job.getId(), OWNER);
+
+    verify(jobs).fail(job.getId(), OWNER, NOW, "unavailable");
+    verify(jobs, never()).reschedule(any(), any(), any(), any());
+  }
+
+  @Test
+  void processResumesStoreFavoritesFromCheckpoint() throws Exception {
+    PushJob job = job(1);
+    job.setAudience(PushAudience.STORE_FAVORITES);
+    job.setTargetStoreId(UUID.randomUUID());
+    job.setCursorUserId(UUID.randomUUID());
+    job.setCursorTokenId(UUID.randomUUID());
+    PushToken token = token();
+    when(tokens.findStoreFavoritesBatch(
+            eq(job.getTargetStoreId()),
+            eq("DEV"),
+            eq(job.getCursorUserId()),
+            eq(job.getCursorTokenId()),
+            any()))
+        .thenReturn(List.of(token));
+    when(port.sendToTokens(any(), any(), any(), any()))
+        .thenReturn(new PushBatchResult(1, 0, List.of(), List.of()));
+
+    worker.process(job.getId(), OWNER);
+
+    verify(port).sendToTokens(eq(List.of(token)), any(), any(), any());
+    verify(jobs).complete(job.getId(), OWNER, NOW);
+  }
+
+  @Test
+  void processCompletesNearStoreJobWhenStoreIsGone() throws Exception {
+    PushJob job = job(1);
+    job.setAudience(PushAudience.NEAR_STORE);
+    job.setTargetStoreId(UUID.randomUUID());
+    job.setRadiusMeters(1000);
+    when(stores.findById(job.getTargetStoreId())).thenReturn(Optional.empty());
+
+    worker.process(job.getId(), OWNER);
+
+    verify(port, never()).sendToTokens(any(), any(), any(), any());
+    verify(jobs).complete(job.getId(), OWNER, NOW);
+  }
+
+  @Test
+  void processStopsWhenTheLeaseWasTakenOver() throws Exception {
+    PushJob job = job(1);
+    PushToken first = token();
+    PushToken second = token();
+    when(tokens.findUserBatch(any(), any(), eq(START), any())).thenReturn(List.of(first, second));
+    when(port.sendToTokens(any(), any(), any(), any()))
+        .thenReturn(new PushBatchResult(2, 0, List.of(), List.of()));
+    when(jobs.recordProgress(
+            any(), any(), any(), any(), anyInt(), anyInt(), anyInt(), any(), any()))
+        .thenReturn(0);
+
+    worker.process(job.getId(), OWNER);
+
+    verify(port, Mockito.times(1)).sendToTokens(any(), any(), any(), any());
+    verify(tokens, never()).findUserBatch(any(), any(), eq(second.getId()), any());
+    verify(jobs, never()).complete(any(), any(), any());
+  }
+
+  @Test
+  void dispatchDueOnlyRunsJobsItClaims() {
+    UUID claimed = UUID.randomUUID();
+    UUID taken = UUID.randomUUID();
+    when(executor.getMaxPoolSize()).thenReturn(4);
+    when(executor.getActiveCount()).thenReturn(1);
+    when(jobs.findDueIds(eq(NOW), any())).thenReturn(List.of(claimed, taken));
+    when(jobs.claim(eq(claimed), any(), eq(NOW), eq(NOW.plus(Duration.ofMinutes(5)))))
+        .thenReturn(1);
+    when(jobs.claim(eq(taken), any(), eq(NOW), eq(NOW.plus(Duration.ofMinutes(5)))))
+        .thenReturn(0);
+
+    worker.dispatchDue();
+
+    verify(executor, Mockito.times(1)).execute(any(Runnable.class));
+  }
+
+  @Test
+  void rejectedDispatchReleasesTheJobWithoutUsingAnAttempt() {
+    UUID jobId = UUID.randomUUID();
+    when(executor.getMaxPoolSize()).thenReturn(1);
+    when(jobs.findDueIds(eq(NOW), any())).thenReturn(List.of(jobId));
+    when(jobs.claim(eq(jobId), any(), eq(NOW), any())).thenReturn(1);
+    Mockito.doThrow(new TaskRejectedException("full")).when(executor).execute(any(Runnable.class));
+
+    worker.dispatchDue();
+
+    ArgumentCaptor<UUID> owner = ArgumentCaptor.forClass(UUID.class);
+    verify(jobs).claim(eq(jobId), owner.capture(), eq(NOW), any());
+    verify(jobs).release(jobId, owner.getValue(), NOW);
+    verify(jobs, never()).reschedule(any(), any(), any(), any());
+  }
+
+  private PushJob job(int attempts) {
+    PushJob job = new PushJob();
+    job.setId(UUID.randomUUID());
+    job.setAudience(PushAudience.USER);
+    job.setTargetUserId(UUID.randomUUID());
+    job.setEnvironment(PushEnvironment.DEV);
+    job.setTitle("Hello");
+    job.setBody("Body");
+    job.setData(Map.of("type", "store", "id", "1"));
+    job.setAttempts(attempts);
+    when(jobs.findById(job.getId())).thenReturn(Optional.of(job));
+    when(jobs.recordProgress(
+            eq(job.getId()), eq(OWNER), any(), any(), anyInt(), anyInt(), anyInt(), any(), any()))
+        .thenReturn(1);
+    when(jobs.complete(eq(job.getId()), eq(OWNER), any())).thenReturn(1);
+    return job;
+  }
+
+  private static PushToken token() {
+    PushToken token = new PushToken();
+    token.setId(UUID.randomUUID());
+    token.setFcmToken("fcm-" + token.getId());
+    return token;
+  }
+}
@@ -1,17 +1,20 @@
 package com.edufelip.meer.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
 
 import com.edufelip.meer.core.push.PushToken;
-import com.edufelip.meer.domain.repo.PushTokenRepository;
+import com.edufelip.meer.domain.PushBatchResult;
+import com.edufelip.meer.domain.PushNotificationException;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
-import com.google.firebase.messaging.Message;
 import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -19,71 +22,118 @@ import org.mockito.Mockito;
 
 class PushNotificationServiceTest {
 
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
   @Test
-  void sendToStoredTokenReturnsTrueOnSuccess() throws Exception {
+  void sendToTokensSendsWholeBatchInOneCall() throws Exception {
     FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
-    PushTokenRepository repository = Mockito.mock(PushTokenRepository.class);
-    PushNotificationService service = new PushNotificationService(firebaseMessaging, repository);
-
-    PushToken token = new PushToken();
-    token.setId(UUID.randomUUID());
-    token.setUserId(UUID.randomUUID());
-    token.setFcmToken("token-1");
-
-    when(firebaseMessaging.send(any(Message.class))).thenReturn("msg-1");
-
-    boolean result =
-        service.sendToStoredToken(
-            token, "Title", "Body", Map.of("type", "guide_content", "id", "123"));
-
-    assertThat(result).isTrue();
-    verify(repository, never()).deleteById(any());
+    PushNotificationService service = new PushNotificationService(firebaseMessaging, meterRegistry);
+    List<PushToken> tokens = List.of(token("token-1"), token("token-2"));
+    BatchResponse batch = batch(success(), success());
+    when(firebaseMessaging.sendEach(anyList())).thenReturn(batch);
+
+    PushBatchResult result =
+        service.sendToTokens(tokens, "Title", "Body", Map.of("type", "guide_content", "id", "1"));
+
+    assertThat(result.sent()).isEqualTo(2);
+    assertThat(result.failed()).isZero();
+    assertThat(result.invalidTokenIds()).isEmpty();
+    assertThat(result.retryable()).isEmpty();
+    Mockito.verify(firebaseMessaging, Mockito.times(1)).sendEach(anyList());
   }
 
   @Test
-  void sendToStoredTokenDeletesOnUnregistered() throws Exception {
+  void sendToTokensClassifiesFailures() throws Exception {
     FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
-    PushTokenRepository repository = Mockito.mock(PushTokenRepository.class);
-    PushNotificationService service = new PushNotificationService(firebaseMessaging, repository);
-
-    PushToken token = new PushToken();
-    UUID tokenId = UUID.randomUUID();
-    token.setId(tokenId);
-    token.setUserId(UUID.randomUUID());
-    token.setFcmToken("token-2");
+    PushNotificationService service = new PushNotificationService(firebaseMessaging, meterRegistry);
+    PushToken ok = token("token-ok");
+    PushToken unregistered = token("token-gone");
+    PushToken unavailable = token("token-busy");
+    PushToken invalid = token("token-bad");
+    BatchResponse batch =
+        batch(
+            success(),
+            failure(MessagingErrorCode.UNREGISTERED),
+            failure(MessagingErrorCode.UNAVAILABLE),
+            failure(MessagingErrorCode.INVALID_ARGUMENT));
+    when(firebaseMessaging.sendEach(anyList())).thenReturn(batch);
+
+    PushBatchResult result =
+        service.sendToTokens(
+            List.of(ok, unregistered, unavailable, invalid),
+            "Title",
+            "Body",
+            Map.of("type", "store", "id", "abc"));
+
+    assertThat(result.sent()).isEqualTo(1);
+    assertThat(result.failed()).isEqualTo(1);
+    assertThat(result.invalidTokenIds()).containsExactly(unregistered.getId());
+    assertThat(result.retryable()).containsExactly(unavailable);
+    assertThat(messages("sent")).isEqualTo(1);
+    assertThat(messages("failed")).isEqualTo(1);
+    assertThat(messages("unregistered")).isEqualTo(1);
+    assertThat(messages("retryable")).isEqualTo(1);
+  }
 
+  @Test
+  void sendToTokensWrapsRequestFailure() throws Exception {
+    FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+    PushNotificationService service = new PushNotificationService(firebaseMessaging, meterRegistry);
     FirebaseMessagingException ex = Mockito.mock(FirebaseMessagingException.class);
-    when(ex.getMessagingErrorCode()).thenReturn(MessagingErrorCode.UNREGISTERED);
-    when(firebaseMessaging.send(any(Message.class))).thenThrow(ex);
-
-    boolean result =
-        service.sendToStoredToken(
-            token, "Title", "Body", Map.of("type", "store", "id", "abc"));
+    when(firebaseMessaging.sendEach(anyList())).thenThrow(ex);
 
-    assertThat(result).isFalse();
-    verify(repository).deleteById(tokenId);
+    assertThatThrownBy(
+            () -> service.sendToTokens(List.of(token("token-1")), "Title", "Body", Map.of()))
+        .isInstanceOf(PushNotificationException.class);
+    assertThat(messages("error")).isEqualTo(1);
   }
 
   @Test
-  void sendToStoredTokenKeepsTokenOnOtherErrors() throws Exception {
+  void sendToTokensRejectsOversizedBatch() {
     FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
-    PushTokenRepository repository = Mockito.mock(PushTokenRepository.class);
-    PushNotificationService service = new PushNotificationService(firebaseMessaging, repository);
+    PushNotificationService service = new PushNotificationService(firebaseMessaging, meterRegistry);
+    List<PushToken> tokens =
+        java.util.stream.IntStream.rangeClosed(0, PushNotificationService.MAX_BATCH_SIZE)
+            .mapToObj(i -> token("token-" + i))
+            .toList();
+
+    assertThatThrownBy(() -> service.sendToTokens(tokens, "Title", "Body", Map.of()))
+        .isInstanceOf(IllegalArgumentException.class);
+    Mockito.verifyNoInteractions(firebaseMessaging);
+  }
+
+  private double messages(String outcome) {
+    return meterRegistry
+        .counter("meer.push.messages", "kind", "token", "outcome", outcome)
+        .count();
+  }
 
+  private static PushToken token(String fcmToken) {
     PushToken token = new PushToken();
     token.setId(UUID.randomUUID());
     token.setUserId(UUID.randomUUID());
-    token.setFcmToken("token-3");
+    token.setFcmToken(fcmToken);
+    return token;
+  }
 
-    FirebaseMessagingException ex = Mockito.mock(FirebaseMessagingException.class);
-    when(ex.getMessagingErrorCode()).thenReturn(MessagingErrorCode.INTERNAL);
-    when(firebaseMessaging.send(any(Message.class))).thenThrow(ex);
+  private static BatchResponse batch(SendResponse... responses) {
+    BatchResponse batch = Mockito.mock(BatchResponse.class);
+    when(batch.getResponses()).thenReturn(List.of(responses));
+    return batch;
+  }
 
-    boolean result =
-        service.sendToStoredToken(
-            token, "Title", "Body", Map.of("type", "store", "id", "xyz"));
+  private static SendResponse success() {
+    SendResponse response = Mockito.mock(SendResponse.class);
+    when(response.isSuccessful()).thenReturn(true);
+    return response;
+  }
 
-    assertThat(result).isFalse();
-    verify(repository, never()).deleteById(any());
+  private static SendResponse failure(MessagingErrorCode code) {
+    FirebaseMessagingException ex = Mockito.mock(FirebaseMessagingException.class);
+    when(ex.getMessagingErrorCode()).thenReturn(code);
+    SendResponse response = Mockito.mock(SendResponse.class);
+    when(response.isSuccessful()).thenReturn(false);
+    when(response.getException()).thenReturn(ex);
+    return response;
   }
 }
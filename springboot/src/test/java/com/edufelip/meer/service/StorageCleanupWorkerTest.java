@@ -0,0 +1,206 @@
+package com.edufelip.meer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.core.storage.StorageDeletion;
+import com.edufelip.meer.domain.repo.StorageDeletionRepository;
+import com.edufelip.meer.testutil.LocalPhotoStorageFake;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StorageCleanupWorkerTest {
+
+  // Far ahead of the context's fixed clock, so its own worker never finds these rows due.
+  private final MutableClock clock = new MutableClock(Instant.parse("2100-01-01T00:00:00Z"));
+
+  @Autowired private StorageDeletionRepository storageDeletionRepository;
+
+  private LocalPhotoStorageFake storage;
+  private ThreadPoolTaskExecutor executor;
+  private SimpleMeterRegistry meterRegistry;
+  private StorageCleanupWorker worker;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    storageDeletionRepository.deleteAll();
+    storage = new LocalPhotoStorageFake(Files.createTempDirectory("cleanup"));
+    executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(3);
+    executor.setMaxPoolSize(3);
+    executor.initialize();
+    meterRegistry = new SimpleMeterRegistry();
+    worker =
+        new StorageCleanupWorker(
+            storageDeletionRepository,
+            storage,
+            executor,
+            meterRegistry,
+            clock,
+            Duration.ofMinutes(5),
+            2,
+            Duration.ofMinutes(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+    storageDeletionRepository.deleteAll();
+  }
+
+  @Test
+  void deletesQueuedObjectsInParallelBatches() {
+    List<String> keys = IntStream.range(0, 250).mapToObj(i -> "stores/s1/photos/p" + i).toList();
+    keys.forEach(key -> storage.storeObject(key, "image/jpeg", new byte[] {1}));
+    storageDeletionRepository.saveAll(
+        keys.stream().map(key -> new StorageDeletion(key, clock.instant())).toList());
+
+    worker.drain();
+
+    assertThat(keys).noneMatch(storage::contains);
+    assertThat(storageDeletionRepository.count()).isZero();
+    assertThat(deletions("deleted")).isEqualTo(250);
+  }
+
+  @Test
+  void failedDeletesBackOffAndAreGivenUpAfterMaxAttempts() {
+    String key = "avatars/u1-a";
+    storage.storeObject(key, "image/jpeg", new byte[] {1});
+    storage.failDeletesOf(key);
+    storageDeletionRepository.save(new StorageDeletion(key, clock.instant()));
+
+    worker.drain();
+
+    StorageDeletion row = storageDeletionRepository.findAll().get(0);
+    assertThat(row.getAttempts()).isEqualTo(1);
+    assertThat(row.getNextAttemptAt()).isEqualTo(clock.instant().plus(Duration.ofMinutes(1)));
+    assertThat(row.getClaimToken()).isNull();
+    assertThat(row.getLastError()).isNotBlank();
+
+    worker.drain();
+    assertThat(storageDeletionRepository.findAll().get(0).getAttempts()).isEqualTo(1);
+
+    clock.advance(Duration.ofMinutes(1));
+    worker.drain();
+
+    row = storageDeletionRepository.findAll().get(0);
+    assertThat(row.getAttempts()).isEqualTo(2);
+    assertThat(row.getNextAttemptAt()).isNull();
+    assertThat(storage.contains(key)).isTrue();
+    assertThat(deletions("retried")).isEqualTo(1);
+    assertThat(deletions("abandoned")).isEqualTo(1);
+  }
+
+  @Test
+  void rowsHeldByAnotherWorkerAreLeftAlone() {
+    storage.storeObject("stores/s1/photos/a", "image/jpeg", new byte[] {1});
+    storageDeletionRepository.save(
+        new StorageDeletion("stores/s1/photos/a", clock.instant().plus(Duration.ofMinutes(5))));
+
+    worker.drain();
+
+    assertThat(storage.contains("stores/s1/photos/a")).isTrue();
+    clock.advance(Duration.ofMinutes(5));
+    worker.drain();
+    assertThat(storage.contains("stores/s1/photos/a")).isFalse();
+  }
+
+  @Test
+  void saturatedExecutorLeavesTheRowsForThePoll() throws Exception {
+    ThreadPoolTaskExecutor busy = new ThreadPoolTaskExecutor();
+    busy.setCorePoolSize(1);
+    busy.setMaxPoolSize(1);
+    busy.setQueueCapacity(1);
+    busy.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    busy.initialize();
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch drained = new CountDownLatch(1);
+    try {
+      busy.execute(
+          () -> {
+            try {
+              release.await();
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+          });
+      busy.execute(drained::countDown);
+      StorageCleanupWorker saturated =
+          new StorageCleanupWorker(
+              storageDeletionRepository,
+              storage,
+              busy,
+              meterRegistry,
+              clock,
+              Duration.ofMinutes(5),
+              2,
+              Duration.ofMinutes(1));
+      storage.storeObject("avatars/u1-a", "image/jpeg", new byte[] {1});
+      storageDeletionRepository.save(new StorageDeletion("avatars/u1-a", clock.instant()));
+
+      saturated.trigger();
+
+      assertThat(storage.contains("avatars/u1-a")).isTrue();
+      assertThat(storageDeletionRepository.count()).isEqualTo(1);
+
+      release.countDown();
+      assertThat(drained.await(5, TimeUnit.SECONDS)).isTrue();
+      saturated.drainDue();
+
+      assertThat(storage.contains("avatars/u1-a")).isFalse();
+      assertThat(storageDeletionRepository.count()).isZero();
+    } finally {
+      release.countDown();
+      busy.shutdown();
+    }
+  }
+
+  private double deletions(String outcome) {
+    return meterRegistry.get("meer.storage.deletions").tag("outcome", outcome).counter().count();
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
@@ -8,9 +8,11 @@ import com.edufelip.meer.core.auth.AuthUser;
 import com.edufelip.meer.core.store.StoreFeedback;
 import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import com.edufelip.meer.support.TestFixtures;
 import java.time.Clock;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -22,7 +24,11 @@ class StoreFeedbackServiceTest {
   void upsertRefreshesCreatedAtForExistingFeedback() {
     StoreFeedbackRepository repository = Mockito.mock(StoreFeedbackRepository.class);
     Clock clock = Clock.fixed(TestFixtures.fixedInstant(), java.time.ZoneOffset.UTC);
-    StoreFeedbackService service = new StoreFeedbackService(repository, clock);
+    StoreFeedbackService service =
+        new StoreFeedbackService(
+            repository,
+            Mockito.mock(ThriftStoreRepository.class),
+            clock);
 
     UUID userId = UUID.randomUUID();
     UUID storeId = UUID.randomUUID();
@@ -49,4 +55,82 @@ class StoreFeedbackServiceTest {
     assertNotEquals(originalCreatedAt, saved.getCreatedAt());
     assertEquals(TestFixtures.fixedInstant(), saved.getCreatedAt());
   }
+
+  @Test
+  void upsertAppliesScoreDeltaToStoreCounters() {
+    StoreFeedbackRepository repository = Mockito.mock(StoreFeedbackRepository.class);
+    ThriftStoreRepository thriftStoreRepository = Mockito.mock(ThriftStoreRepository.class);
+    StoreFeedbackService service = newService(repository, thriftStoreRepository);
+
+    AuthUser user = new AuthUser();
+    user.setId(UUID.randomUUID());
+    ThriftStore store = new ThriftStore();
+    store.setId(UUID.randomUUID());
+
+    Mockito.when(repository.findByUserIdAndThriftStoreId(user.getId(), store.getId()))
+        .thenReturn(Optional.empty());
+    Mockito.when(repository.save(Mockito.any(StoreFeedback.class)))
+        .thenAnswer(inv -> inv.getArgument(0, StoreFeedback.class));
+    service.upsert(user, store, 4, "first");
+    Mockito.verify(thriftStoreRepository).adjustRating(store.getId(), 4, 1);
+
+    StoreFeedback existing = new StoreFeedback(user, store, 4, "first");
+    Mockito.when(repository.findByUserIdAndThriftStoreId(user.getId(), store.getId()))
+        .thenReturn(Optional.of(existing));
+    service.upsert(user, store, 2, "changed");
+    Mockito.verify(thriftStoreRepository).adjustRating(store.getId(), -2, 0);
+
+    // Clearing the score keeps the comment but takes the rating off the counters.
+    service.upsert(user, store, null, "comment only");
+    Mockito.verify(thriftStoreRepository).adjustRating(store.getId(), -2, -1);
+
+    Mockito.clearInvocations(thriftStoreRepository);
+    service.upsert(user, store, null, "edited comment");
+    Mockito.verifyNoInteractions(thriftStoreRepository);
+  }
+
+  @Test
+  void deleteRemovesScoreFromStoreCounters() {
+    StoreFeedbackRepository repository = Mockito.mock(StoreFeedbackRepository.class);
+    ThriftStoreRepository thriftStoreRepository = Mockito.mock(ThriftStoreRepository.class);
+    StoreFeedbackService service = newService(repository, thriftStoreRepository);
+
+    UUID userId = UUID.randomUUID();
+    UUID storeId = UUID.randomUUID();
+    StoreFeedback existing = new StoreFeedback(new AuthUser(), new ThriftStore(), 5, "great");
+    Mockito.when(repository.findByUserIdAndThriftStoreId(userId, storeId))
+        .thenReturn(Optional.of(existing));
+
+    service.delete(userId, storeId);
+
+    Mockito.verify(repository).delete(existing);
+    Mockito.verify(thriftStoreRepository).adjustRating(storeId, -5, -1);
+  }
+
+  @Test
+  void summariesOfReadsStoreCounters() {
+    StoreFeedbackService service =
+        newService(
+            Mockito.mock(StoreFeedbackRepository.class),
+            Mockito.mock(ThriftStoreRepository.class));
+
+    ThriftStore rated = new ThriftStore();
+    rated.setId(UUID.randomUUID());
+    rated.setRatingSum(9L);
+    rated.setRatingCount(2L);
+    ThriftStore unrated = new ThriftStore();
+    unrated.setId(UUID.randomUUID());
+
+    var summaries = service.summariesOf(List.of(rated, unrated));
+
+    assertEquals(1, summaries.size());
+    assertEquals(4.5, summaries.get(rated.getId()).rating());
+    assertEquals(2L, summaries.get(rated.getId()).reviewCount());
+  }
+
+  private static StoreFeedbackService newService(
+      StoreFeedbackRepository repository, ThriftStoreRepository thriftStoreRepository) {
+    Clock clock = Clock.fixed(TestFixtures.fixedInstant(), java.time.ZoneOffset.UTC);
+    return new StoreFeedbackService(repository, thriftStoreRepository, clock);
+  }
 }
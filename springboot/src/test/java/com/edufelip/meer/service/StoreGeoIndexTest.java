@@ -0,0 +1,239 @@
+package com.edufelip.meer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.domain.NearbyArea;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class StoreGeoIndexTest {
+
+  record Coordinate(UUID id, Double latitude, Double longitude)
+      implements ThriftStoreRepository.StoreCoordinateView {
+    @Override
+    public UUID getId() {
+      return id;
+    }
+
+    @Override
+    public Double getLatitude() {
+      return latitude;
+    }
+
+    @Override
+    public Double getLongitude() {
+      return longitude;
+    }
+  }
+
+  @Test
+  void nearestMatchesBruteForceOrdering() {
+    Random random = new Random(42);
+    List<Coordinate> coordinates = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      coordinates.add(
+          new Coordinate(
+              UUID.randomUUID(),
+              -23.8 + random.nextDouble() * 1.2,
+              -47.0 + random.nextDouble() * 1.5));
+    }
+    StoreGeoIndex index = buildIndex(coordinates);
+
+    double lat = -23.55;
+    double lng = -46.63;
+    List<UUID> expected =
+        coordinates.stream()
+            .sorted(
+                Comparator.comparingDouble(
+                    c -> StoreGeoIndex.haversineMeters(lat, lng, c.latitude(), c.longitude())))
+            .skip(20)
+            .limit(20)
+            .map(Coordinate::id)
+            .toList();
+
+    List<UUID> actual =
+        index.nearest(lat, lng, 20, 20).stream().map(StoreGeoIndex.Neighbor::storeId).toList();
+
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void nearestAfterWalksPagesWithoutGapsOrDuplicates() {
+    Random random = new Random(7);
+    List<Coordinate> coordinates = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      coordinates.add(
+          new Coordinate(
+              UUID.randomUUID(),
+              -23.6 + random.nextDouble() * 0.2,
+              -46.7 + random.nextDouble() * 0.2));
+    }
+    // Same spot twice to exercise the id tie-breaker.
+    coordinates.add(new Coordinate(UUID.randomUUID(), -23.5, -46.6));
+    coordinates.add(new Coordinate(UUID.randomUUID(), -23.5, -46.6));
+    StoreGeoIndex index = buildIndex(coordinates);
+
+    List<UUID> walked = new ArrayList<>();
+    double afterDistance = -1;
+    UUID afterId = new UUID(0L, 0L);
+    while (true) {
+      List<StoreGeoIndex.Neighbor> page =
+          index.nearestAfter(-23.5, -46.6, afterDistance, afterId, 37);
+      if (page.isEmpty()) break;
+      page.forEach(neighbor -> walked.add(neighbor.storeId()));
+      StoreGeoIndex.Neighbor last = page.get(page.size() - 1);
+      afterDistance = last.distanceMeters();
+      afterId = last.storeId();
+    }
+
+    List<UUID> expected =
+        index.nearest(-23.5, -46.6, 0, coordinates.size()).stream()
+            .map(StoreGeoIndex.Neighbor::storeId)
+            .toList();
+    assertThat(walked).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void nearestFallsBackToFullScanForSparseData() {
+    Coordinate saoPaulo = new Coordinate(UUID.randomUUID(), -23.55, -46.63);
+    Coordinate lisbon = new Coordinate(UUID.randomUUID(), 38.72, -9.14);
+    StoreGeoIndex index = buildIndex(List.of(lisbon, saoPaulo));
+
+    List<StoreGeoIndex.Neighbor> result = index.nearest(-22.9, -43.2, 0, 10);
+
+    assertThat(result)
+        .extracting(StoreGeoIndex.Neighbor::storeId)
+        .containsExactly(saoPaulo.id(), lisbon.id());
+    assertThat(result.get(0).distanceMeters()).isLessThan(result.get(1).distanceMeters());
+  }
+
+  @Test
+  void nearestHonoursRadiusAndBoundingBox() {
+    Random random = new Random(11);
+    List<Coordinate> coordinates = new ArrayList<>();
+    for (int i = 0; i < 5_000; i++) {
+      coordinates.add(
+          new Coordinate(
+              UUID.randomUUID(),
+              -24.5 + random.nextDouble() * 2,
+              -47.5 + random.nextDouble() * 2));
+    }
+    StoreGeoIndex index = buildIndex(coordinates);
+    double lat = -23.55;
+    double lng = -46.63;
+    NearbyArea area = NearbyArea.of(lat, lng, 8_000.0, -23.6, -46.7, -23.5, -46.6);
+
+    List<UUID> expected =
+        coordinates.stream()
+            .filter(c -> c.latitude() >= -23.6 && c.latitude() <= -23.5)
+            .filter(c -> c.longitude() >= -46.7 && c.longitude() <= -46.6)
+            .filter(
+                c -> StoreGeoIndex.haversineMeters(lat, lng, c.latitude(), c.longitude()) <= 8_000)
+            .sorted(
+                Comparator.comparingDouble(
+                    c -> StoreGeoIndex.haversineMeters(lat, lng, c.latitude(), c.longitude())))
+            .map(Coordinate::id)
+            .toList();
+    List<UUID> actual =
+        index.nearest(lat, lng, area, 0, 1_000).stream()
+            .map(StoreGeoIndex.Neighbor::storeId)
+            .toList();
+
+    assertThat(expected).isNotEmpty();
+    assertThat(actual).containsExactlyElementsOf(expected);
+    assertThat(index.nearestAfter(lat, lng, area, -1, new UUID(0L, 0L), 1_000))
+        .extracting(StoreGeoIndex.Neighbor::storeId)
+        .containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void viewportAwayFromTheOriginStillFindsItsStores() {
+    Coordinate saoPaulo = new Coordinate(UUID.randomUUID(), -23.55, -46.63);
+    Coordinate rio = new Coordinate(UUID.randomUUID(), -22.9, -43.2);
+    StoreGeoIndex index = buildIndex(List.of(saoPaulo, rio));
+
+    NearbyArea area = NearbyArea.of(-23.55, -46.63, null, -23.0, -43.3, -22.8, -43.1);
+
+    assertThat(index.nearest(-23.55, -46.63, area, 0, 10))
+        .extracting(StoreGeoIndex.Neighbor::storeId)
+        .containsExactly(rio.id());
+  }
+
+  @Test
+  void pagesPastTheMaximumDepthAreEmpty() {
+    StoreGeoIndex index =
+        buildIndex(List.of(new Coordinate(UUID.randomUUID(), -23.55, -46.63)));
+
+    assertThat(index.nearest(-23.55, -46.63, StoreGeoIndex.MAX_DEPTH, 1)).isEmpty();
+    assertThat(index.nearest(-23.55, -46.63, Integer.MAX_VALUE - 5, 10)).isEmpty();
+    assertThat(index.nearest(-23.55, -46.63, 0, StoreGeoIndex.MAX_DEPTH)).hasSize(1);
+  }
+
+  @Test
+  void upsertMovesStoreAndRemoveDropsIt() {
+    UUID storeId = UUID.randomUUID();
+    StoreGeoIndex index = buildIndex(List.of(new Coordinate(storeId, -23.55, -46.63)));
+
+    index.upsert(storeId, 10.0, 10.0);
+    assertThat(index.nearest(10.0, 10.0, 0, 1).get(0).distanceMeters()).isLessThan(1.0);
+    assertThat(index.size()).isEqualTo(1);
+
+    index.upsert(storeId, null, null);
+    assertThat(index.size()).isZero();
+    assertThat(index.nearest(10.0, 10.0, 0, 1)).isEmpty();
+
+    index.upsert(storeId, -23.55, -46.63);
+    index.remove(storeId);
+    assertThat(index.size()).isZero();
+  }
+
+  @Test
+  void refreshFollowsTheCommittedRow() {
+    UUID storeId = UUID.randomUUID();
+    ThriftStoreRepository repository = Mockito.mock(ThriftStoreRepository.class);
+    Mockito.when(repository.findAllCoordinates()).thenReturn(List.of());
+    Mockito.when(repository.findCoordinatesById(storeId))
+        .thenReturn(Optional.of(new Coordinate(storeId, 10.0, 10.0)))
+        .thenReturn(Optional.empty());
+    StoreGeoIndex index = new StoreGeoIndex(repository, true);
+    index.rebuild();
+
+    index.refresh(storeId);
+    assertThat(index.nearest(10.0, 10.0, 0, 1))
+        .extracting(StoreGeoIndex.Neighbor::storeId)
+        .containsExactly(storeId);
+
+    index.refresh(storeId);
+    assertThat(index.size()).isZero();
+  }
+
+  @Test
+  void disabledIndexIsNeverReady() {
+    ThriftStoreRepository repository = Mockito.mock(ThriftStoreRepository.class);
+    StoreGeoIndex index = new StoreGeoIndex(repository, false);
+
+    index.rebuild();
+    index.upsert(UUID.randomUUID(), 1.0, 1.0);
+
+    assertThat(index.isReady()).isFalse();
+    assertThat(index.size()).isZero();
+    Mockito.verifyNoInteractions(repository);
+  }
+
+  private static StoreGeoIndex buildIndex(List<Coordinate> coordinates) {
+    ThriftStoreRepository repository = Mockito.mock(ThriftStoreRepository.class);
+    Mockito.when(repository.findAllCoordinates())
+        .thenReturn(new ArrayList<ThriftStoreRepository.StoreCoordinateView>(coordinates));
+    StoreGeoIndex index = new StoreGeoIndex(repository, true);
+    index.rebuild();
+    assertThat(index.isReady()).isTrue();
+    return index;
+  }
+}
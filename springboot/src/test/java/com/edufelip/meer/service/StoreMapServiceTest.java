@@ -0,0 +1,166 @@
+package com.edufelip.meer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyDouble;
+
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import com.edufelip.meer.service.StoreGeoIndexTest.Coordinate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class StoreMapServiceTest {
+
+  @Test
+  void everyStoreLandsInExactlyOneClusterPerZoom() {
+    List<Coordinate> coordinates = saoPauloStores(1_000);
+    StoreMapService map = service(index(coordinates));
+
+    for (int zoom : new int[] {0, 6, 10}) {
+      int minX = StoreMapService.tileX(-47.5, zoom);
+      int maxX = StoreMapService.tileX(-45.5, zoom);
+      int minY = StoreMapService.tileY(-22.5, zoom);
+      int maxY = StoreMapService.tileY(-24.5, zoom);
+      int total = 0;
+      List<UUID> representatives = new ArrayList<>();
+      for (int x = minX; x <= maxX; x++) {
+        for (int y = minY; y <= maxY; y++) {
+          for (StoreMapService.Cluster cluster : map.tile(zoom, x, y).clusters()) {
+            total += cluster.count();
+            assertThat(cluster.storeIds())
+                .hasSize(Math.min(cluster.count(), StoreMapService.REPRESENTATIVES));
+            representatives.addAll(cluster.storeIds());
+          }
+        }
+      }
+      assertThat(total).isEqualTo(coordinates.size());
+      assertThat(representatives).doesNotHaveDuplicates();
+    }
+  }
+
+  @Test
+  void zoomedOutTileMergesARegionIntoOneCluster() {
+    StoreMapService map = service(index(saoPauloStores(1_000)));
+
+    StoreMapService.Tile world = map.tile(0, 0, 0);
+
+    assertThat(world.clusters()).hasSize(1);
+    StoreMapService.Cluster cluster = world.clusters().get(0);
+    assertThat(cluster.count()).isEqualTo(1_000);
+    assertThat(cluster.latitude()).isBetween(-24.5, -22.5);
+    assertThat(cluster.longitude()).isBetween(-47.5, -45.5);
+  }
+
+  @Test
+  void viewportKeepsClustersWhoseCentroidIsVisible() {
+    Coordinate inside = new Coordinate(UUID.randomUUID(), -23.55, -46.63);
+    Coordinate outside = new Coordinate(UUID.randomUUID(), -23.0, -46.0);
+    StoreMapService map = service(index(List.of(inside, outside)));
+
+    List<StoreMapService.Cluster> clusters = map.viewport(-23.6, -46.7, -23.5, -46.6, 14);
+
+    assertThat(clusters).hasSize(1);
+    assertThat(clusters.get(0).storeIds()).containsExactly(inside.id());
+  }
+
+  @Test
+  void writesOnlyRefreshTheTilesTheyTouch() {
+    UUID storeId = UUID.randomUUID();
+    Coordinate far = new Coordinate(UUID.randomUUID(), 38.72, -9.14);
+    StoreGeoIndex index = index(List.of(new Coordinate(storeId, -23.55, -46.63), far));
+    StoreMapService map = service(index);
+    int x = StoreMapService.tileX(-46.63, 12);
+    int y = StoreMapService.tileY(-23.55, 12);
+    StoreMapService.Tile before = map.tile(12, x, y);
+    StoreMapService.Tile lisbon =
+        map.tile(12, StoreMapService.tileX(-9.14, 12), StoreMapService.tileY(38.72, 12));
+
+    assertThat(map.tile(12, x, y)).isSameAs(before);
+    index.upsert(UUID.randomUUID(), -23.5501, -46.6301);
+
+    assertThat(map.tile(12, x, y).clusters().get(0).count()).isEqualTo(2);
+    assertThat(map.tile(12, StoreMapService.tileX(-9.14, 12), StoreMapService.tileY(38.72, 12)))
+        .isSameAs(lisbon);
+
+    index.remove(storeId);
+    assertThat(map.tile(12, x, y).clusters().get(0).count()).isEqualTo(1);
+  }
+
+  @Test
+  void fallsBackToTheDatabaseUntilTheIndexIsLoaded() {
+    ThriftStoreRepository repository = Mockito.mock(ThriftStoreRepository.class);
+    Mockito.when(
+            repository.findCoordinatesWithin(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+        .thenReturn(
+            List.of(
+                new Coordinate(UUID.randomUUID(), -23.55, -46.63),
+                new Coordinate(UUID.randomUUID(), -23.56, -46.64)));
+    StoreMapService map =
+        new StoreMapService(
+            new StoreGeoIndex(repository, false),
+            repository,
+            new SimpleMeterRegistry(),
+            Duration.ofSeconds(60),
+            100);
+
+    List<StoreMapService.Cluster> clusters = map.tile(0, 0, 0).clusters();
+    assertThat(clusters).hasSize(1);
+    assertThat(clusters.get(0).count()).isEqualTo(2);
+  }
+
+  @Test
+  void rejectsOutOfRangeTilesAndOversizedViewports() {
+    StoreMapService map = service(index(List.of()));
+
+    assertBadRequest(() -> map.tile(StoreMapService.MAX_ZOOM + 1, 0, 0));
+    assertBadRequest(() -> map.tile(3, 8, 0));
+    assertBadRequest(() -> map.viewport(-30, -50, -20, -40, 14));
+    assertBadRequest(() -> map.viewport(-20, -50, -30, -40, 4));
+  }
+
+  private static List<Coordinate> saoPauloStores(int count) {
+    Random random = new Random(3);
+    List<Coordinate> coordinates = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      coordinates.add(
+          new Coordinate(
+              UUID.randomUUID(),
+              -24.5 + random.nextDouble() * 2,
+              -47.5 + random.nextDouble() * 2));
+    }
+    return coordinates;
+  }
+
+  private static StoreGeoIndex index(List<Coordinate> coordinates) {
+    ThriftStoreRepository repository = Mockito.mock(ThriftStoreRepository.class);
+    Mockito.when(repository.findAllCoordinates())
+        .thenReturn(new ArrayList<ThriftStoreRepository.StoreCoordinateView>(coordinates));
+    StoreGeoIndex index = new StoreGeoIndex(repository, true);
+    index.rebuild();
+    return index;
+  }
+
+  private static StoreMapService service(StoreGeoIndex index) {
+    return new StoreMapService(
+        index,
+        Mockito.mock(ThriftStoreRepository.class),
+        new SimpleMeterRegistry(),
+        Duration.ofSeconds(60),
+        1_000);
+  }
+
+  private static void assertBadRequest(Runnable call) {
+    assertThatThrownBy(call::run)
+        .isInstanceOf(ResponseStatusException.class)
+        .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+}
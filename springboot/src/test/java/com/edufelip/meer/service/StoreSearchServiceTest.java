@@ -0,0 +1,93 @@
+package com.edufelip.meer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.edufelip.meer.core.store.ThriftStore;
+import com.edufelip.meer.domain.StoreCursor;
+import com.edufelip.meer.domain.repo.ThriftStoreRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+class StoreSearchServiceTest {
+
+  private static final String POSTGRES_URL = "jdbc:postgresql://localhost:5432/meer";
+  private static final String H2_URL = "jdbc:h2:mem:meer";
+
+  @Test
+  void buildsAccentPreservingPrefixQuery() {
+    assertThat(StoreSearchService.toPrefixQuery("  Brechó  do Centro!"))
+        .isEqualTo("brechó:* & do:* & centro:*");
+    assertThat(StoreSearchService.toPrefixQuery("a & b | !c")).isEqualTo("a:* & b:* & c:*");
+    assertThat(StoreSearchService.toPrefixQuery("***")).isEmpty();
+  }
+
+  @Test
+  void usesFullTextOnPostgres() {
+    ThriftStoreRepository repository = Mockito.mock(ThriftStoreRepository.class);
+    Pageable pageable = PageRequest.of(0, 10);
+    when(repository.searchFullText("vintage sp", "vintage:* & sp:*", pageable))
+        .thenReturn(new SliceImpl<>(List.of(new ThriftStore())));
+    when(repository.hasFullTextObjects()).thenReturn(true);
+    StoreSearchService service = new StoreSearchService(repository, POSTGRES_URL, true);
+    service.detectFullText();
+
+    var result = service.search(" vintage sp ", pageable);
+
+    assertThat(result.getContent()).hasSize(1);
+    assertThat(service.cursorKind()).isEqualTo(StoreCursor.FULL_TEXT);
+    verify(repository, never()).searchRanked(anyString(), any());
+  }
+
+  @Test
+  void usesLikeRankingWhenFullTextObjectsAreMissing() {
+    ThriftStoreRepository repository = Mockito.mock(ThriftStoreRepository.class);
+    Pageable pageable = PageRequest.of(0, 10);
+    when(repository.hasFullTextObjects()).thenReturn(false);
+    when(repository.searchRanked("vintage", pageable)).thenReturn(new SliceImpl<>(List.of()));
+    StoreSearchService service = new StoreSearchService(repository, POSTGRES_URL, true);
+    service.detectFullText();
+
+    service.search("vintage", pageable);
+
+    assertThat(service.cursorKind()).isEqualTo(StoreCursor.SEARCH);
+    verify(repository).searchRanked("vintage", pageable);
+    verify(repository, never()).searchFullText(anyString(), anyString(), any());
+  }
+
+  @Test
+  void usesLikeRankingWhenTheFullTextCheckFails() {
+    ThriftStoreRepository repository = Mockito.mock(ThriftStoreRepository.class);
+    when(repository.hasFullTextObjects())
+        .thenThrow(new InvalidDataAccessResourceUsageException("function to_regprocedure missing"));
+    StoreSearchService service = new StoreSearchService(repository, POSTGRES_URL, true);
+    service.detectFullText();
+
+    assertThat(service.isFullTextEnabled()).isFalse();
+    assertThat(service.cursorKind()).isEqualTo(StoreCursor.SEARCH);
+  }
+
+  @Test
+  void usesLikeRankingOnH2() {
+    ThriftStoreRepository repository = Mockito.mock(ThriftStoreRepository.class);
+    Pageable pageable = PageRequest.of(0, 10);
+    when(repository.searchRanked("vintage", pageable)).thenReturn(new SliceImpl<>(List.of()));
+    StoreSearchService service = new StoreSearchService(repository, H2_URL, true);
+    service.detectFullText();
+
+    service.search("vintage", pageable);
+
+    assertThat(service.cursorKind()).isEqualTo(StoreCursor.SEARCH);
+    verify(repository, never()).searchFullText(anyString(), anyString(), any());
+    verify(repository, never()).hasFullTextObjects();
+  }
+}
@@ -0,0 +1,140 @@
+package com.edufelip.meer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.edufelip.meer.domain.port.PhotoStoragePort;
+import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.contrib.nio.testing.LocalStorageHelper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.KeyPairGenerator;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UploadUrlSignerTest {
+
+  private static final String PREFIX = "stores/s1/photos/";
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+  private SimpleMeterRegistry meterRegistry;
+  private Storage storage;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    ServiceAccountCredentials credentials =
+        ServiceAccountCredentials.newBuilder()
+            .setClientEmail("uploader@meer-test.iam.gserviceaccount.com")
+            .setPrivateKey(generator.generateKeyPair().getPrivate())
+            .setProjectId("meer-test")
+            .build();
+    storage =
+        LocalStorageHelper.getOptions().toBuilder()
+            .setCredentials(credentials)
+            .build()
+            .getService();
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void signsBatchInParallelWithOneSlotPerContentType() {
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      UploadUrlSigner signer = signer(pool, 0);
+
+      List<PhotoStoragePort.UploadSlot> slots =
+          signer.sign(PREFIX, List.of("image/jpeg", "image/png", "image/webp"));
+
+      assertThat(slots)
+          .extracting(PhotoStoragePort.UploadSlot::contentType)
+          .containsExactly("image/jpeg", "image/png", "image/webp");
+      assertThat(slots)
+          .extracting(PhotoStoragePort.UploadSlot::fileKey)
+          .allMatch(key -> key.startsWith(PREFIX))
+          .doesNotHaveDuplicates();
+      assertThat(slots)
+          .allSatisfy(
+              slot ->
+                  assertThat(slot.uploadUrl())
+                      .contains("/meer-uploads/" + slot.fileKey())
+                      .contains("X-Goog-Signature="));
+      assertThat(count("signed")).isEqualTo(3);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void poolServesTheNextRequestWithoutSigning() {
+    UploadUrlSigner signer = signer(Runnable::run, 2);
+
+    signer.sign(PREFIX, List.of("image/jpeg"));
+    assertThat(count("signed")).isEqualTo(3);
+
+    PhotoStoragePort.UploadSlot pooled = signer.sign(PREFIX, List.of("image/jpeg")).get(0);
+
+    assertThat(count("pooled")).isEqualTo(1);
+    assertThat(count("signed")).isEqualTo(4);
+    assertThat(pooled.fileKey()).startsWith(PREFIX);
+    assertThat(signer.sign("stores/s2/photos/", List.of("image/jpeg")).get(0).fileKey())
+        .startsWith("stores/s2/photos/");
+  }
+
+  @Test
+  void pooledSlotsPastHalfTheirTtlAreDiscarded() {
+    UploadUrlSigner signer = signer(Runnable::run, 1);
+    signer.sign(PREFIX, List.of("image/jpeg"));
+
+    clock.advance(Duration.ofMinutes(61));
+    signer.sign(PREFIX, List.of("image/jpeg"));
+
+    assertThat(count("pooled")).isZero();
+  }
+
+  private UploadUrlSigner signer(Executor executor, int poolSize) {
+    return new UploadUrlSigner(
+        storage, executor, meterRegistry, clock, "meer-uploads", 120, poolSize, 100);
+  }
+
+  private double count(String source) {
+    var counter = meterRegistry.find("meer.storage.signing").tag("source", source).counter();
+    return counter != null ? counter.count() : 0;
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
@@ -1,19 +1,25 @@
 package com.edufelip.meer.testutil;
 
 import com.edufelip.meer.domain.port.PhotoStoragePort;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 public class LocalPhotoStorageFake implements PhotoStoragePort {
   private final Path baseDir;
-  private final Map<String, StoredObject> objects = new HashMap<>();
+  private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+  private final Map<String, Instant> createdAt = new ConcurrentHashMap<>();
+  private final Set<String> failingDeletes = ConcurrentHashMap.newKeySet();
 
   public LocalPhotoStorageFake(Path baseDir) {
     this.baseDir = baseDir;
@@ -56,18 +62,94 @@ public class LocalPhotoStorageFake implements PhotoStoragePort {
     return "/uploads/" + fileKey;
   }
 
+  @Override
+  public String fileKeyOf(String url) {
+    if (url == null || !url.startsWith("/uploads/")) return null;
+    return url.substring("/uploads/".length());
+  }
+
+  @Override
+  public byte[] download(String fileKey) {
+    try {
+      return Files.readAllBytes(baseDir.resolve(fileKey));
+    } catch (Exception ex) {
+      throw new IllegalStateException("Missing object " + fileKey, ex);
+    }
+  }
+
+  @Override
+  public InputStream openStream(String fileKey) {
+    try {
+      return Files.newInputStream(baseDir.resolve(fileKey));
+    } catch (Exception ex) {
+      throw new IllegalStateException("Missing object " + fileKey, ex);
+    }
+  }
+
+  @Override
+  public String upload(String fileKey, String contentType, byte[] content) {
+    storeObject(fileKey, contentType, content);
+    return publicUrl(fileKey);
+  }
+
   @Override
   public void deleteByUrl(String url) {
     if (url == null) return;
     if (!url.startsWith("/uploads/")) return;
     String key = url.substring("/uploads/".length());
     objects.remove(key);
+    createdAt.remove(key);
     try {
       Files.deleteIfExists(baseDir.resolve(key));
     } catch (Exception ignored) {
     }
   }
 
+  @Override
+  public List<String> deleteAll(List<String> fileKeys) {
+    List<String> failed = new ArrayList<>();
+    for (String key : fileKeys) {
+      if (failingDeletes.contains(key)) {
+        failed.add(key);
+      } else {
+        deleteByUrl(publicUrl(key));
+      }
+    }
+    return failed;
+  }
+
+  @Override
+  public List<String> uploadPrefixes() {
+    return List.of("stores/", "avatars/");
+  }
+
+  /** Objects stored without a creation time are listed with a null {@code createdAt}. */
+  @Override
+  public Stream<ListedObject> listObjects(String prefix) {
+    return objects.keySet().stream()
+        .filter(key -> key.startsWith(prefix))
+        .sorted()
+        .map(key -> new ListedObject(key, createdAt.get(key)));
+  }
+
+  /** Makes {@link #deleteAll} report {@code fileKey} as failed until cleared. */
+  public void failDeletesOf(String fileKey) {
+    failingDeletes.add(fileKey);
+  }
+
+  public void clearDeleteFailures() {
+    failingDeletes.clear();
+  }
+
+  public boolean contains(String fileKey) {
+    return objects.containsKey(fileKey);
+  }
+
+  public void storeObject(String fileKey, String contentType, byte[] bytes, Instant created) {
+    storeObject(fileKey, contentType, bytes);
+    createdAt.put(fileKey, created);
+  }
+
   public void storeObject(String fileKey, String contentType, byte[] bytes) {
     objects.put(fileKey, new StoredObject(contentType, (long) bytes.length));
     try {
@@ -1,6 +1,5 @@
 package com.edufelip.meer.web;
 
-import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -16,22 +15,19 @@ import com.edufelip.meer.core.auth.Role;
 import com.edufelip.meer.core.content.GuideContent;
 import com.edufelip.meer.core.content.GuideContentComment;
 import com.edufelip.meer.core.store.ThriftStore;
-import com.edufelip.meer.core.store.ThriftStorePhoto;
+import com.edufelip.meer.domain.DeleteAccountUseCase;
+import com.edufelip.meer.domain.GetStoresAfterUseCase;
 import com.edufelip.meer.domain.GuideContentSummary;
 import com.edufelip.meer.domain.repo.AuthUserRepository;
 import com.edufelip.meer.domain.repo.GuideContentCommentRepository;
 import com.edufelip.meer.domain.repo.GuideContentRepository;
-import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import com.edufelip.meer.security.token.TokenProvider;
-import com.edufelip.meer.service.GcsStorageService;
 import com.edufelip.meer.service.GuideContentEngagementService;
 import com.edufelip.meer.service.GuideContentModerationService;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -57,44 +53,18 @@ class AdminDashboardControllerTest {
   @MockitoBean private ThriftStoreRepository thriftStoreRepository;
   @MockitoBean private GuideContentRepository guideContentRepository;
   @MockitoBean private GuideContentCommentRepository guideContentCommentRepository;
-  @MockitoBean private StoreFeedbackRepository storeFeedbackRepository;
-  @MockitoBean private GcsStorageService gcsStorageService;
   @MockitoBean private GuideContentEngagementService guideContentEngagementService;
   @MockitoBean private GuideContentModerationService guideContentModerationService;
+  @MockitoBean private GetStoresAfterUseCase getStoresAfterUseCase;
+  @MockitoBean private DeleteAccountUseCase deleteAccountUseCase;
 
   @Test
-  void deleteUserRemovesStoresAssetsFavoritesAndFeedback() throws Exception {
-    UUID adminId = UUID.randomUUID();
-    UUID targetId = UUID.randomUUID();
-    UUID storeId = UUID.randomUUID();
-
+  void deleteUserDelegatesToTheUseCase() throws Exception {
     AuthUser admin = new AuthUser();
-    admin.setId(adminId);
+    admin.setId(UUID.randomUUID());
     admin.setRole(Role.ADMIN);
     admin.setEmail("admin@example.com");
-
-    AuthUser target = new AuthUser();
-    target.setId(targetId);
-    target.setEmail("user@example.com");
-    target.setDisplayName("Target User");
-    target.setPasswordHash("hash");
-    target.setPhotoUrl("https://storage.googleapis.com/bucket/avatar.png");
-
-    ThriftStore store = new ThriftStore();
-    store.setId(storeId);
-    store.setOwner(target);
-    ThriftStorePhoto photo =
-        new ThriftStorePhoto(store, "https://storage.googleapis.com/bucket/photo-1.jpg", 0);
-    store.setPhotos(List.of(photo));
-    target.setOwnedThriftStore(store);
-
-    Set<ThriftStore> favorites = new HashSet<>();
-    favorites.add(store);
-    target.setFavorites(favorites);
-
-    when(authUserRepository.findById(targetId)).thenReturn(Optional.of(target));
-    when(thriftStoreRepository.findById(storeId)).thenReturn(Optional.of(store));
-    when(thriftStoreRepository.findByOwnerId(targetId)).thenReturn(List.of(store));
+    UUID targetId = UUID.randomUUID();
 
     mockMvc
         .perform(
@@ -104,16 +74,7 @@ class AdminDashboardControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
         .andExpect(status().isNoContent());
 
-    verify(thriftStoreRepository, times(1)).delete(argThat(ts -> ts.getId().equals(storeId)));
-    verify(authUserRepository, times(1)).deleteFavoritesByStoreId(storeId);
-    verify(storeFeedbackRepository, times(1)).deleteByThriftStoreId(storeId);
-    verify(storeFeedbackRepository, times(1)).deleteByUserId(targetId);
-    verify(gcsStorageService, times(1))
-        .deleteByUrl("https://storage.googleapis.com/bucket/avatar.png");
-    verify(gcsStorageService, times(1))
-        .deleteByUrl("https://storage.googleapis.com/bucket/photo-1.jpg");
-    verify(authUserRepository, times(1)).delete(target);
-    verify(authUserRepository, times(2)).save(target);
+    verify(deleteAccountUseCase).execute(targetId);
   }
 
   @Test
@@ -124,11 +85,6 @@ class AdminDashboardControllerTest {
     admin.setId(adminId);
     admin.setRole(Role.ADMIN);
     admin.setEmail("admin@example.com");
-    admin.setDisplayName("Admin");
-    admin.setPasswordHash("hash");
-
-    when(authUserRepository.findById(adminId)).thenReturn(Optional.of(admin));
-    when(thriftStoreRepository.findByOwnerId(adminId)).thenReturn(List.of());
 
     mockMvc
         .perform(
@@ -138,8 +94,7 @@ class AdminDashboardControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
         .andExpect(status().isNoContent());
 
-    verify(storeFeedbackRepository, times(1)).deleteByUserId(adminId);
-    verify(authUserRepository, times(1)).delete(admin);
+    verify(deleteAccountUseCase).execute(adminId);
   }
 
   @Test
@@ -159,14 +114,14 @@ class AdminDashboardControllerTest {
             null,
             null,
             null,
-            java.time.Instant.parse("2024-01-01T00:00:00Z"));
+            null,
+            null,
+            java.time.Instant.parse("2024-01-01T00:00:00Z"),
+            5L,
+            7L);
 
     when(guideContentRepository.findAllSummaries(org.mockito.ArgumentMatchers.any()))
         .thenReturn(new SliceImpl<>(List.of(summary)));
-    when(guideContentEngagementService.getEngagement(eq(List.of(10)), eq(null)))
-        .thenReturn(
-            Map.of(
-                10, new GuideContentEngagementService.EngagementSummary(5L, 7L, false)));
 
     mockMvc
         .perform(
@@ -1,8 +1,10 @@
 package com.edufelip.meer.web;
 
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -10,9 +12,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.edufelip.meer.config.TestClockConfig;
 import com.edufelip.meer.core.auth.AuthUser;
 import com.edufelip.meer.core.auth.Role;
+import com.edufelip.meer.core.push.PushAudience;
 import com.edufelip.meer.core.push.PushEnvironment;
+import com.edufelip.meer.core.push.PushJob;
+import com.edufelip.meer.core.push.PushJobStatus;
 import com.edufelip.meer.domain.PushNotificationException;
 import com.edufelip.meer.domain.port.PushNotificationPort;
+import com.edufelip.meer.service.PushJobService;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +38,7 @@ class DashboardPushControllerTest {
   @Autowired private MockMvc mockMvc;
 
   @MockitoBean private PushNotificationPort pushNotificationService;
+  @MockitoBean private PushJobService pushJobService;
 
   @Test
   void sendTestPushReturnsMessageId() throws Exception {
@@ -108,16 +116,18 @@ class DashboardPushControllerTest {
   }
 
   @Test
-  void sendUserPushReturnsCount() throws Exception {
+  void sendUserPushQueuesJob() throws Exception {
     AuthUser admin = adminUser();
     UUID userId = UUID.randomUUID();
-    when(pushNotificationService.sendToUser(
+    PushJob job = job(userId);
+    when(pushJobService.enqueueToUser(
             eq(userId),
             eq(PushEnvironment.DEV),
             eq("Hello"),
             eq("Body"),
-            eq(java.util.Map.of("type", "guide_content", "id", "123"))))
-        .thenReturn(2);
+            eq(java.util.Map.of("type", "guide_content", "id", "123")),
+            eq(admin.getId())))
+        .thenReturn(job);
 
     mockMvc
         .perform(
@@ -129,8 +139,123 @@ class DashboardPushControllerTest {
                     "{\"userId\":\""
                         + userId
                         + "\",\"environment\":\"dev\",\"title\":\"Hello\",\"body\":\"Body\",\"type\":\"guide_content\",\"id\":\"123\"}"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.jobId").value(job.getId().toString()));
+
+    verifyNoInteractions(pushNotificationService);
+  }
+
+  @Test
+  void sendSegmentPushQueuesStoreFavoritesJob() throws Exception {
+    AuthUser admin = adminUser();
+    UUID storeId = UUID.randomUUID();
+    PushJob job = job(null);
+    when(pushJobService.enqueueToStoreFavorites(
+            eq(storeId),
+            eq(PushEnvironment.PROD),
+            eq("Hello"),
+            eq("Body"),
+            eq(java.util.Map.of("type", "store", "id", storeId.toString())),
+            eq(admin.getId())))
+        .thenReturn(job);
+
+    mockMvc
+        .perform(
+            post("/dashboard/push/segment")
+                .requestAttr("adminUser", admin)
+                .header("Authorization", "Bearer token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"segment\":\"store_favorites\",\"storeId\":\""
+                        + storeId
+                        + "\",\"environment\":\"prod\",\"title\":\"Hello\",\"body\":\"Body\",\"type\":\"store\",\"id\":\""
+                        + storeId
+                        + "\"}"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.jobId").value(job.getId().toString()));
+  }
+
+  @Test
+  void sendSegmentPushQueuesNearStoreJobInMeters() throws Exception {
+    AuthUser admin = adminUser();
+    UUID storeId = UUID.randomUUID();
+    PushJob job = job(null);
+    when(pushJobService.enqueueNearStore(
+            eq(storeId),
+            eq(2500),
+            eq(PushEnvironment.DEV),
+            eq("Hello"),
+            eq("Body"),
+            eq(java.util.Map.of("type", "store", "id", "1")),
+            eq(admin.getId())))
+        .thenReturn(job);
+
+    mockMvc
+        .perform(
+            post("/dashboard/push/segment")
+                .requestAttr("adminUser", admin)
+                .header("Authorization", "Bearer token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"segment\":\"near_store\",\"storeId\":\""
+                        + storeId
+                        + "\",\"radiusKm\":2.5,\"environment\":\"dev\",\"title\":\"Hello\",\"body\":\"Body\",\"type\":\"store\",\"id\":\"1\"}"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.jobId").value(job.getId().toString()));
+  }
+
+  @Test
+  void sendSegmentPushRejectsMissingRadius() throws Exception {
+    AuthUser admin = adminUser();
+
+    mockMvc
+        .perform(
+            post("/dashboard/push/segment")
+                .requestAttr("adminUser", admin)
+                .header("Authorization", "Bearer token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"segment\":\"near_store\",\"storeId\":\""
+                        + UUID.randomUUID()
+                        + "\",\"environment\":\"dev\",\"title\":\"Hello\",\"body\":\"Body\",\"type\":\"store\",\"id\":\"1\"}"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(pushJobService);
+  }
+
+  @Test
+  void getJobReturnsProgress() throws Exception {
+    AuthUser admin = adminUser();
+    PushJob job = job(UUID.randomUUID());
+    job.setStatus(PushJobStatus.COMPLETED);
+    job.setSentCount(3);
+    job.setRemovedTokenCount(1);
+    when(pushJobService.find(job.getId())).thenReturn(Optional.of(job));
+
+    mockMvc
+        .perform(
+            get("/dashboard/push/jobs/" + job.getId())
+                .requestAttr("adminUser", admin)
+                .header("Authorization", "Bearer token"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.sent").value(2));
+        .andExpect(jsonPath("$.status").value("COMPLETED"))
+        .andExpect(jsonPath("$.sent").value(3))
+        .andExpect(jsonPath("$.removedTokens").value(1));
+  }
+
+  @Test
+  void getJobReturnsNotFoundForUnknownId() throws Exception {
+    AuthUser admin = adminUser();
+    UUID jobId = UUID.randomUUID();
+    when(pushJobService.find(jobId)).thenReturn(Optional.empty());
+
+    mockMvc
+        .perform(
+            get("/dashboard/push/jobs/" + jobId)
+                .requestAttr("adminUser", admin)
+                .header("Authorization", "Bearer token"))
+        .andExpect(status().isNotFound());
+    verify(pushJobService).find(jobId);
   }
 
   @Test
@@ -185,6 +310,17 @@ class DashboardPushControllerTest {
         .andExpect(status().isBadRequest());
   }
 
+  private PushJob job(UUID userId) {
+    PushJob job = new PushJob();
+    job.setId(UUID.randomUUID());
+    job.setAudience(PushAudience.USER);
+    job.setTargetUserId(userId);
+    job.setEnvironment(PushEnvironment.DEV);
+    job.setTitle("Hello");
+    job.setBody("Body");
+    return job;
+  }
+
   private AuthUser adminUser() {
     AuthUser user = new AuthUser();
     user.setId(UUID.randomUUID());
@@ -53,6 +53,14 @@ class ErrorHandlingContractTest {
         .andExpect(jsonPath("$.message").value("Missing Authorization header"));
   }
 
+  @Test
+  void deletedCachedUserReturnsUnauthorized() throws Exception {
+    mockMvc
+        .perform(get("/test/error/missing-user"))
+        .andExpect(status().isUnauthorized())
+        .andExpect(jsonPath("$.message").value("User not found"));
+  }
+
   @Test
   void invalidPathVariableReturnsBadRequest() throws Exception {
     mockMvc
@@ -31,6 +31,7 @@ import com.edufelip.meer.domain.repo.GuideContentRepository;
 import com.edufelip.meer.domain.port.PhotoStoragePort;
 import com.edufelip.meer.domain.port.RateLimitPort;
 import com.edufelip.meer.security.AuthUserResolver;
+import com.edufelip.meer.security.PrincipalCache;
 import com.edufelip.meer.security.token.TokenPayload;
 import com.edufelip.meer.security.token.TokenProvider;
 import com.edufelip.meer.service.GuideContentEngagementService;
@@ -51,7 +52,12 @@ import org.springframework.web.server.ResponseStatusException;
 
 @WebMvcTest(GuideContentController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import({RestExceptionHandler.class, TestClockConfig.class, AuthUserResolver.class})
+@Import({
+  RestExceptionHandler.class,
+  TestClockConfig.class,
+  AuthUserResolver.class,
+  PrincipalCache.class
+})
 class GuideContentControllerTest {
 
   @Autowired private MockMvc mockMvc;
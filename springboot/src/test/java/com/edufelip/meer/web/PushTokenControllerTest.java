@@ -1,6 +1,7 @@
 package com.edufelip.meer.web;
 
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -15,6 +16,7 @@ import com.edufelip.meer.domain.UpsertPushTokenUseCase;
 import com.edufelip.meer.config.TestClockConfig;
 import com.edufelip.meer.domain.repo.AuthUserRepository;
 import com.edufelip.meer.security.AuthUserResolver;
+import com.edufelip.meer.security.PrincipalCache;
 import com.edufelip.meer.security.token.TokenPayload;
 import com.edufelip.meer.security.token.TokenProvider;
 import java.util.UUID;
@@ -29,7 +31,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 @WebMvcTest(PushTokenController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import({RestExceptionHandler.class, TestClockConfig.class, AuthUserResolver.class})
+@Import({
+  RestExceptionHandler.class,
+  TestClockConfig.class,
+  AuthUserResolver.class,
+  PrincipalCache.class
+})
 class PushTokenControllerTest {
 
   @Autowired private MockMvc mockMvc;
@@ -61,7 +68,9 @@ class PushTokenControllerTest {
             eq("fcm"),
             eq(PushPlatform.ANDROID),
             eq("1.0.0"),
-            eq(PushEnvironment.DEV));
+            eq(PushEnvironment.DEV),
+            isNull(),
+            isNull());
   }
 
   @Test
@@ -17,6 +17,7 @@ import com.edufelip.meer.core.store.ThriftStore;
 import com.edufelip.meer.domain.repo.AuthUserRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import com.edufelip.meer.security.AuthUserResolver;
+import com.edufelip.meer.security.PrincipalCache;
 import com.edufelip.meer.security.token.InvalidTokenException;
 import com.edufelip.meer.security.token.TokenPayload;
 import com.edufelip.meer.security.token.TokenProvider;
@@ -34,7 +35,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 @WebMvcTest(StoreFeedbackController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import({RestExceptionHandler.class, TestClockConfig.class, AuthUserResolver.class})
+@Import({
+  RestExceptionHandler.class,
+  TestClockConfig.class,
+  AuthUserResolver.class,
+  PrincipalCache.class
+})
 class StoreFeedbackControllerTest {
 
   @Autowired private MockMvc mockMvc;
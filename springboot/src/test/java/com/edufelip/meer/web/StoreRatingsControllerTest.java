@@ -17,6 +17,7 @@ import com.edufelip.meer.domain.repo.StoreFeedbackRepository;
 import com.edufelip.meer.domain.repo.ThriftStoreRepository;
 import com.edufelip.meer.domain.StoreRatingView;
 import com.edufelip.meer.security.AuthUserResolver;
+import com.edufelip.meer.security.PrincipalCache;
 import com.edufelip.meer.security.token.InvalidTokenException;
 import com.edufelip.meer.security.token.TokenPayload;
 import com.edufelip.meer.security.token.TokenProvider;
@@ -37,7 +38,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 @WebMvcTest(StoreRatingsController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import({RestExceptionHandler.class, TestClockConfig.class, AuthUserResolver.class})
+@Import({
+  RestExceptionHandler.class,
+  TestClockConfig.class,
+  AuthUserResolver.class,
+  PrincipalCache.class
+})
 class StoreRatingsControllerTest {
 
   @Autowired private MockMvc mockMvc;
@@ -26,8 +26,10 @@ import com.edufelip.meer.domain.UpdateThriftStoreUseCase;
 import com.edufelip.meer.domain.repo.AuthUserRepository;
 import com.edufelip.meer.domain.port.PhotoStoragePort;
 import com.edufelip.meer.security.AuthUserResolver;
+import com.edufelip.meer.security.PrincipalCache;
 import com.edufelip.meer.security.token.TokenPayload;
 import com.edufelip.meer.security.token.TokenProvider;
+import com.edufelip.meer.service.FavoriteService;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -43,7 +45,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 @WebMvcTest(ThriftStoreController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import({TestClockConfig.class, AuthUserResolver.class})
+@Import({TestClockConfig.class, AuthUserResolver.class, PrincipalCache.class})
 class ThriftStoreControllerTest {
 
   @Autowired private MockMvc mockMvc;
@@ -57,6 +59,7 @@ class ThriftStoreControllerTest {
   @MockitoBean private RequestStorePhotoUploadsUseCase requestStorePhotoUploadsUseCase;
   @MockitoBean private ReplaceStorePhotosUseCase replaceStorePhotosUseCase;
   @MockitoBean private CreateStoreGuideContentUseCase createStoreGuideContentUseCase;
+  @MockitoBean private FavoriteService favoriteService;
   @MockitoBean private AuthUserRepository authUserRepository;
   @MockitoBean private TokenProvider tokenProvider;
 
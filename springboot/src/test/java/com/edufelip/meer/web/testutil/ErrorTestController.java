@@ -1,6 +1,8 @@
 package com.edufelip.meer.web.testutil;
 
+import com.edufelip.meer.security.PrincipalNotFoundException;
 import java.util.Map;
+import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -30,6 +32,11 @@ public class ErrorTestController {
     throw new RuntimeException("boom");
   }
 
+  @GetMapping("/missing-user")
+  public Map<String, String> missingUser() {
+    throw new PrincipalNotFoundException(UUID.randomUUID());
+  }
+
   @GetMapping("/auth")
   public Map<String, String> auth(@RequestHeader("Authorization") String authHeader) {
     return Map.of("ok", authHeader);